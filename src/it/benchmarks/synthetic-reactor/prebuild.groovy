@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+// Generate the modules of the synthetic reactor. The scale comes from the script variables of the
+// macro-benchmark profile: each module depends on the previous one, and its classes are spread in packages of
+// 20 classes which reference the classes of the previous module.
+
+def moduleCount = Integer.parseInt( modules )
+def classCount = Integer.parseInt( classes )
+def withJpms = Boolean.parseBoolean( jpms )
+def classesPerModule = Math.max( 1, classCount.intdiv( moduleCount ) )
+def classesPerPackage = 20
+
+def rootPom = new File( basedir, 'pom.xml' )
+def moduleEntries = ( 1..moduleCount ).collect { "    <module>m${it}</module>" }.join( '\n' )
+rootPom.text = rootPom.text
+        .replace( '    <!-- benchmark:modules -->', moduleEntries )
+        .replace( '<benchmark.includeDependencySources>false</benchmark.includeDependencySources>',
+                  "<benchmark.includeDependencySources>${includeDependencySources}</benchmark.includeDependencySources>" )
+
+for ( int m = 1; m <= moduleCount; m++ )
+{
+    def moduleDir = new File( basedir, "m${m}" )
+    def sourceDir = new File( moduleDir, 'src/main/java' )
+    sourceDir.mkdirs()
+
+    def dependency = m == 1 ? '' : """
+  <dependencies>
+    <dependency>
+      <groupId>org.apache.maven.plugins.javadoc.it.benchmark</groupId>
+      <artifactId>m${m - 1}</artifactId>
+      <version>1.0-SNAPSHOT</version>
+    </dependency>
+  </dependencies>
+"""
+    new File( moduleDir, 'pom.xml' ).text = """<?xml version="1.0" encoding="UTF-8"?>
+<project xmlns="http://maven.apache.org/POM/4.0.0">
+  <modelVersion>4.0.0</modelVersion>
+  <parent>
+    <groupId>org.apache.maven.plugins.javadoc.it.benchmark</groupId>
+    <artifactId>synthetic-reactor</artifactId>
+    <version>1.0-SNAPSHOT</version>
+  </parent>
+  <artifactId>m${m}</artifactId>
+${dependency}</project>
+"""
+
+    def packages = [] as Set
+    for ( int c = 0; c < classesPerModule; c++ )
+    {
+        def packageName = "org.example.m${m}.p${c.intdiv( classesPerPackage )}".toString()
+        packages << packageName
+        def packageDir = new File( sourceDir, packageName.replace( '.', '/' ) )
+        packageDir.mkdirs()
+
+        def used = m == 1 ? 'java.lang.String' : "org.example.m${m - 1}.p0.C0"
+        new File( packageDir, "C${c}.java" ).text = """package ${packageName};
+
+/**
+ * Class ${c} of the module ${m}.
+ * <p>
+ * It uses {@link ${used}}.
+ */
+public class C${c}
+{
+    /**
+     * A value.
+     */
+    protected int value;
+
+    /**
+     * Compute something.
+     *
+     * @param input the input
+     * @param count the count
+     * @return the result
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public ${used} compute( ${used} input, int count )
+    {
+        if ( count < 0 )
+        {
+            throw new IllegalArgumentException( "count" );
+        }
+        return input;
+    }
+
+    /**
+     * @return the value
+     */
+    public int getValue()
+    {
+        return value;
+    }
+}
+"""
+    }
+
+    if ( withJpms )
+    {
+        def requires = m == 1 ? '' : "    requires transitive benchmark.m${m - 1};\n"
+        def exports = packages.collect { "    exports ${it};" }.join( '\n' )
+        new File( sourceDir, 'module-info.java' ).text = "module benchmark.m${m} {\n${requires}${exports}\n}\n"
+    }
+}
+
+println "Generated ${moduleCount} modules of ${classesPerModule} classes" + ( withJpms ? ' with module descriptors' : '' )
+return true
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import groovy.json.JsonOutput
+
+import java.text.SimpleDateFormat
+
+// Record the wall-clock time, the time spent in each plugin goal and the peak heap of the cold and warm runs in
+// benchmark-results.json.
+
+assert new File( basedir, 'target/reports/apidocs/index.html' ).exists()
+assert new File( basedir, 'm1/target/m1-1.0-SNAPSHOT-javadoc.jar' ).exists()
+
+def dateFormat = new SimpleDateFormat( "yyyy-MM-dd'T'HH:mm:ss.SSS" )
+def linePattern = ~/^(\d{4}-\d\d-\d\dT\d\d:\d\d:\d\d\.\d{3}) \[\w+\] (.*)$/
+def mojoPattern = ~/^--- (\S+):\S+:(\S+) \(\S+\) @ \S+ ---$/
+def gcPattern = ~/(\d+)M->\d+M\(\d+M\)/
+
+// the runs of the build log, each one starting with the scan of the projects
+def runs = []
+new File( basedir, 'build.log' ).eachLine { line ->
+    def matcher = linePattern.matcher( line )
+    if ( !matcher.matches() )
+    {
+        return
+    }
+    def time = dateFormat.parse( matcher.group( 1 ) ).time
+    def message = matcher.group( 2 )
+    if ( message.startsWith( 'Scanning for projects' ) )
+    {
+        runs << [ start: time, end: time, events: [] ]
+    }
+    else if ( !runs.isEmpty() )
+    {
+        runs[-1].end = time
+        def mojo = mojoPattern.matcher( message )
+        if ( mojo.matches() )
+        {
+            runs[-1].events << [ time: time, goal: mojo.group( 1 ) + ':' + mojo.group( 2 ) ]
+        }
+        else if ( message.startsWith( 'Building ' ) || message.startsWith( 'Reactor Summary' )
+                  || message.startsWith( 'BUILD ' ) )
+        {
+            runs[-1].events << [ time: time, goal: null ]
+        }
+    }
+}
+assert runs.size() == 2
+
+def peakHeap = { String prefix, long start, long end ->
+    def peak = 0
+    basedir.listFiles().findAll { it.name.startsWith( prefix ) && it.lastModified() >= start - 1000
+                                  && it.lastModified() <= end + 1000 }.each { file ->
+        file.eachLine { line ->
+            def matcher = gcPattern.matcher( line )
+            while ( matcher.find() )
+            {
+                peak = Math.max( peak, Integer.parseInt( matcher.group( 1 ) ) )
+            }
+        }
+    }
+    return peak
+}
+
+def results = []
+[ 'cold', 'warm' ].eachWithIndex { name, i ->
+    def run = runs[i]
+    def phases = new TreeMap()
+    run.events.eachWithIndex { event, j ->
+        if ( event.goal != null )
+        {
+            def end = j + 1 < run.events.size() ? run.events[j + 1].time : run.end
+            phases[event.goal] = ( phases[event.goal] ?: 0 ) + ( end - event.time )
+        }
+    }
+    results << [ run: name,
+                 wallClockMillis: run.end - run.start,
+                 phaseMillis: phases,
+                 peakHeapMegabytes: [ maven: peakHeap( 'gc-maven-', run.start, run.end ),
+                                      javadoc: peakHeap( 'gc-javadoc-', run.start, run.end ) ] ]
+}
+
+def json = JsonOutput.prettyPrint( JsonOutput.toJson( [ modules: modules, classes: classes, jpms: jpms,
+                                                        includeDependencySources: includeDependencySources,
+                                                        runs: results ] ) )
+new File( basedir, 'benchmark-results.json' ).text = json
+println json
+return true
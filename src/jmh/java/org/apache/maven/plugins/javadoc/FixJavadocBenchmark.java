@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.thoughtworks.qdox.JavaProjectBuilder;
+import com.thoughtworks.qdox.model.JavaAnnotatedElement;
+import com.thoughtworks.qdox.model.JavaClass;
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.testing.SilentLog;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the comment manipulation routines of {@link AbstractFixJavadocMojo}, and of the fix of a whole
+ * source file, over a corpus of Java files of various sizes and comment densities: the fix unit test sources with and
+ * without Javadoc, and two sources of this plugin. The paths are relative to the project base directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FixJavadocBenchmark {
+    private static final String EOL = System.lineSeparator();
+
+    @Param({
+        "src/test/resources/unit/fix-test/src/main/java/fix/test/ClassWithNoJavadoc.java",
+        "src/test/resources/unit/fix-test/src/main/java/fix/test/ClassWithJavadoc.java",
+        "src/main/java/org/apache/maven/plugins/javadoc/JavadocUtil.java",
+        "src/main/java/org/apache/maven/plugins/javadoc/AbstractJavadocMojo.java"
+    })
+    private String sourceFile;
+
+    private String content;
+
+    /**
+     * The copy of the source file, rewritten by the fix.
+     */
+    private Path javaFile;
+
+    private JavaClass javaClass;
+
+    /**
+     * The class and its fields, constructors and methods.
+     */
+    private final List<JavaAnnotatedElement> entities = new ArrayList<>();
+
+    /**
+     * The original Javadoc comments of the entities, with trailing empty lines.
+     */
+    private final List<String> comments = new ArrayList<>();
+
+    private Path workDirectory;
+
+    private FixJavadocMojo mojo;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        content = StringUtils.unifyLineSeparators(
+                new String(Files.readAllBytes(Paths.get(sourceFile)), StandardCharsets.UTF_8));
+
+        workDirectory = Files.createTempDirectory("jmh-fix");
+        Path sourceDirectory = Files.createDirectories(workDirectory.resolve("src"));
+        javaFile = sourceDirectory.resolve(Paths.get(sourceFile).getFileName());
+        javaClass = parseOriginalSource();
+
+        entities.add(javaClass);
+        entities.addAll(javaClass.getFields());
+        entities.addAll(javaClass.getConstructors());
+        entities.addAll(javaClass.getMethods());
+        JavaSourceIndex index = JavaSourceIndex.of(content);
+        for (JavaAnnotatedElement entity : entities) {
+            if (entity.getComment() != null) {
+                String comment = AbstractFixJavadocMojo.extractOriginalJavadocContent(index, entity);
+                comments.add(comment + EOL + "     *" + EOL + "     * ");
+            }
+        }
+
+        // the fix goal runs after compile, and looks up the inherited methods in the compiled classes
+        Path classesDirectory = Files.createDirectories(workDirectory.resolve("target/classes"));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path sourceRoot = Paths.get(sourceFile).toAbsolutePath().getParent();
+        for (int i = 0; i < javaClass.getPackageName().split("\\.").length; i++) {
+            sourceRoot = sourceRoot.getParent();
+        }
+        int result = compiler.run(
+                null,
+                null,
+                null,
+                "-proc:none",
+                "-nowarn",
+                "-encoding",
+                "UTF-8",
+                "-classpath",
+                System.getProperty("java.class.path"),
+                "-sourcepath",
+                sourceRoot.toString(),
+                "-d",
+                classesDirectory.toString(),
+                sourceFile);
+        if (result != 0) {
+            throw new IllegalStateException("Unable to compile " + sourceFile);
+        }
+
+        mojo = newFixJavadocMojo(sourceDirectory, workDirectory.resolve("generated"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(workDirectory.toFile());
+    }
+
+    @Benchmark
+    public void extractOriginalJavadoc(Blackhole blackhole) throws IOException {
+        // the source is indexed once for all its entities, as the fix does
+        JavaSourceIndex index = JavaSourceIndex.of(content);
+        for (JavaAnnotatedElement entity : entities) {
+            blackhole.consume(AbstractFixJavadocMojo.extractOriginalJavadoc(index, entity));
+        }
+    }
+
+    @Benchmark
+    public void extractOriginalJavadocContent(Blackhole blackhole) throws IOException {
+        // the source is indexed once for all its entities, as the fix does
+        JavaSourceIndex index = JavaSourceIndex.of(content);
+        for (JavaAnnotatedElement entity : entities) {
+            blackhole.consume(AbstractFixJavadocMojo.extractOriginalJavadocContent(index, entity));
+        }
+    }
+
+    @Benchmark
+    public void getJavadocComment(Blackhole blackhole) throws IOException {
+        // the source is indexed once for all its entities, as the fix does
+        JavaSourceIndex index = JavaSourceIndex.of(content);
+        for (JavaAnnotatedElement entity : entities) {
+            blackhole.consume(AbstractFixJavadocMojo.getJavadocComment(index, entity));
+        }
+    }
+
+    @Benchmark
+    public void replaceLinkTags(Blackhole blackhole) {
+        for (JavaAnnotatedElement entity : entities) {
+            if (entity.getComment() != null) {
+                blackhole.consume(AbstractFixJavadocMojo.replaceLinkTags(entity.getComment(), entity));
+            }
+        }
+    }
+
+    @Benchmark
+    public void alignIndentationJavadocLines(Blackhole blackhole) throws IOException {
+        for (String comment : comments) {
+            blackhole.consume(AbstractFixJavadocMojo.alignIndentationJavadocLines(comment, "    "));
+        }
+    }
+
+    @Benchmark
+    public void removeLastEmptyJavadocLines(Blackhole blackhole) throws IOException {
+        for (String comment : comments) {
+            blackhole.consume(AbstractFixJavadocMojo.removeLastEmptyJavadocLines(comment));
+        }
+    }
+
+    @Benchmark
+    public String[] getLines() throws IOException {
+        return AbstractFixJavadocMojo.getLines(content);
+    }
+
+    /**
+     * Fix the original source file from its QDox model, and write the fixed file.
+     */
+    @Benchmark
+    public void processFix(FixState state) throws IOException, MojoExecutionException {
+        mojo.processFix(state.javaClass);
+    }
+
+    /**
+     * The model of the original source file for each fix, as the previous fix has rewritten the file.
+     */
+    @State(Scope.Thread)
+    public static class FixState {
+        private JavaClass javaClass;
+
+        @Setup(Level.Invocation)
+        public void setUp(FixJavadocBenchmark benchmark) throws IOException {
+            javaClass = benchmark.parseOriginalSource();
+        }
+    }
+
+    /**
+     * Write the original content in the source file and parse it.
+     *
+     * @return the class of the source file
+     * @throws IOException if any
+     */
+    private JavaClass parseOriginalSource() throws IOException {
+        Files.write(javaFile, content.getBytes(StandardCharsets.UTF_8));
+
+        JavaProjectBuilder builder = new JavaProjectBuilder();
+        builder.setEncoding("UTF-8");
+        return builder.addSource(javaFile.toFile()).getClasses().get(0);
+    }
+
+    private static FixJavadocMojo newFixJavadocMojo(Path sourceDirectory, Path outputDirectory) throws Exception {
+        Build build = new Build();
+        build.setSourceDirectory(sourceDirectory.toString());
+        build.setDirectory(outputDirectory.getParent().resolve("target").toString());
+        build.setOutputDirectory(
+                outputDirectory.getParent().resolve("target/classes").toString());
+        MavenProject project = new MavenProject();
+        project.setBuild(build);
+
+        FixJavadocMojo mojo = new FixJavadocMojo(null, null);
+        mojo.setLog(new SilentLog());
+        setField(mojo, "project", project);
+        setField(mojo, "outputDirectory", outputDirectory.toFile());
+        setField(mojo, "encoding", "UTF-8");
+        setField(mojo, "fixTags", "all");
+        setField(mojo, "level", "protected");
+        setField(mojo, "defaultSince", "1.0");
+        setField(mojo, "defaultAuthor", "jmh");
+        setField(mojo, "fixClassComment", true);
+        setField(mojo, "fixFieldComment", true);
+        setField(mojo, "fixMethodComment", true);
+        setField(mojo, "removeUnknownThrows", true);
+        setField(mojo, "ignoreClirr", true);
+        mojo.init();
+        return mojo;
+    }
+
+    private static void setField(Object object, String name, Object value) throws ReflectiveOperationException {
+        for (Class<?> c = object.getClass(); c != null; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(object, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // look in the superclass
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+}
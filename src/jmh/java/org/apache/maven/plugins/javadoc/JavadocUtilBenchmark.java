@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the source scanning and command line helpers of {@link JavadocUtil}, on a synthetic source tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JavadocUtilBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int sourceFiles;
+
+    private SyntheticSourceTree tree;
+
+    private File sourceDirectory;
+
+    private String[] fileList;
+
+    private Map<Path, Collection<String>> sourcePaths;
+
+    private Collection<String> excludePackages;
+
+    private String classPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tree = new SyntheticSourceTree(sourceFiles);
+        sourceDirectory = tree.getRoot().toFile();
+        fileList = tree.getFiles().stream()
+                .map(f -> f.replace('/', File.separatorChar))
+                .toArray(String[]::new);
+        sourcePaths = Collections.singletonMap(tree.getRoot(), tree.getFiles());
+        excludePackages = Collections.singletonList("org.example.m1.*");
+        classPath = IntStream.range(0, 200)
+                .mapToObj(i -> tree.getRoot()
+                        .resolve("repository/lib" + i + "/lib-" + i + ".jar")
+                        .toString())
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        tree.delete();
+    }
+
+    @Benchmark
+    public List<String> getFilesFromSource() {
+        return JavadocUtil.getFilesFromSource(sourceDirectory, null, null, excludePackages);
+    }
+
+    @Benchmark
+    public List<String> getExcludedPackages() {
+        return JavadocUtil.getExcludedPackages(Collections.singletonList(tree.getRoot()), excludePackages);
+    }
+
+    @Benchmark
+    public List<String> getIncludedFiles() {
+        return JavadocUtil.getIncludedFiles(sourceDirectory, fileList, excludePackages);
+    }
+
+    @Benchmark
+    public List<String> getPackageNames() {
+        return JavadocUtil.getPackageNames(sourcePaths);
+    }
+
+    @Benchmark
+    public String quotedArgument() {
+        return JavadocUtil.quotedArgument(classPath);
+    }
+
+    @Benchmark
+    public String quotedPathArgument() {
+        return JavadocUtil.quotedPathArgument(classPath);
+    }
+
+    @Benchmark
+    public String[] splitPath() {
+        return JavadocUtil.splitPath(classPath);
+    }
+
+    @Benchmark
+    public String extractJavadocVersion() {
+        return JavadocUtil.extractJavadocVersion("javadoc 17.0.12\n");
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.reporting.MavenReportException;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link StaleHelper#getStaleData(Commandline)} for a javadoc command line with an
+ * <code>&#64;options</code> file, with a class path of jars and a source path of the packages of a synthetic source
+ * tree, and an <code>&#64;files</code> file listing its source files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StaleHelperBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int sourceFiles;
+
+    @Param({"50"})
+    private int classPathJars;
+
+    private SyntheticSourceTree tree;
+
+    private Commandline cmd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tree = new SyntheticSourceTree(sourceFiles);
+
+        List<String> jars = new ArrayList<>();
+        for (int i = 0; i < classPathJars; i++) {
+            Path jar = tree.getRoot().resolve("repository/lib-" + i + ".jar");
+            Files.createDirectories(jar.getParent());
+            Files.write(jar, new byte[0]);
+            jars.add(jar.toString());
+        }
+
+        // one source path entry by package, as for an aggregated build
+        List<String> sourcePath = new ArrayList<>();
+        List<String> files = new ArrayList<>();
+        for (String file : tree.getFiles()) {
+            String packageDirectory = tree.getRoot().resolve(file).getParent().toString();
+            if (file.endsWith(".java")) {
+                files.add("'" + tree.getRoot().resolve(file) + "'");
+                if (!sourcePath.contains(packageDirectory)) {
+                    sourcePath.add(packageDirectory);
+                }
+            }
+        }
+
+        Path outputDirectory = Files.createDirectories(tree.getRoot().resolve("apidocs"));
+        List<String> options = Arrays.asList(
+                "-classpath",
+                "'" + String.join(File.pathSeparator, jars) + "'",
+                "-sourcepath",
+                "'" + String.join(File.pathSeparator, sourcePath) + "'",
+                "-d",
+                "'" + outputDirectory + "'");
+        Files.write(outputDirectory.resolve("options"), options, StandardCharsets.UTF_8);
+        Files.write(outputDirectory.resolve("files"), files, StandardCharsets.UTF_8);
+
+        cmd = new Commandline();
+        cmd.setWorkingDirectory(outputDirectory.toFile());
+        cmd.createArg().setValue("@options");
+        cmd.createArg().setValue("@files");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        tree.delete();
+    }
+
+    @Benchmark
+    public List<String> getStaleData() throws MavenReportException {
+        return StaleHelper.getStaleData(cmd);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * A generated source tree of <code>sourceFiles</code> Java files, spread in packages of
+ * {@link #FILES_PER_PACKAGE} files under ten top-level modules, i.e. <code>org/example/m3/p42/C7.java</code>.
+ * Every package also has a <code>doc-files</code> resource, like a real source tree.
+ */
+final class SyntheticSourceTree {
+    static final int FILES_PER_PACKAGE = 20;
+
+    private final Path root;
+
+    private final List<String> files = new ArrayList<>();
+
+    SyntheticSourceTree(int sourceFiles) throws IOException {
+        root = Files.createTempDirectory("jmh-sources");
+        for (int i = 0; i < sourceFiles; i++) {
+            int p = i / FILES_PER_PACKAGE;
+            String packageName = "org.example.m" + (p % 10) + ".p" + p;
+            String packagePath = packageName.replace('.', '/');
+            String file = packagePath + "/C" + i + ".java";
+
+            Path javaFile = root.resolve(file);
+            if (i % FILES_PER_PACKAGE == 0) {
+                Files.createDirectories(javaFile.getParent().resolve("doc-files"));
+                Files.write(javaFile.getParent().resolve("doc-files/image.txt"), new byte[0]);
+                files.add(packagePath + "/doc-files/image.txt");
+            }
+            String content = "package " + packageName + ";\n\n/** Class " + i + ". */\npublic class C" + i + " {}\n";
+            Files.write(javaFile, content.getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+    }
+
+    /**
+     * @return the root directory of the tree
+     */
+    Path getRoot() {
+        return root;
+    }
+
+    /**
+     * @return the relative paths of the files of the tree, with <code>/</code> separators
+     */
+    List<String> getFiles() {
+        return files;
+    }
+
+    void delete() throws IOException {
+        FileUtils.deleteDirectory(root.toFile());
+    }
+}
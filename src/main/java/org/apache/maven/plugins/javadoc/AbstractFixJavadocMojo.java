@@ -24,7 +24,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
-import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -32,11 +31,13 @@ import java.net.URLClassLoader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -47,6 +48,10 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -64,11 +69,11 @@ import com.thoughtworks.qdox.model.JavaGenericDeclaration;
 import com.thoughtworks.qdox.model.JavaMember;
 import com.thoughtworks.qdox.model.JavaMethod;
 import com.thoughtworks.qdox.model.JavaParameter;
+import com.thoughtworks.qdox.model.JavaSource;
 import com.thoughtworks.qdox.model.JavaType;
 import com.thoughtworks.qdox.model.JavaTypeVariable;
 import com.thoughtworks.qdox.parser.ParseException;
 import com.thoughtworks.qdox.type.TypeResolver;
-import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.reflect.MethodUtils;
 import org.apache.commons.text.StringEscapeUtils;
 import org.apache.maven.artifact.Artifact;
@@ -77,7 +82,10 @@ import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.javadoc.ClassHierarchyIndex.ClassInfo;
+import org.apache.maven.plugins.javadoc.ClassHierarchyIndex.MethodInfo;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.settings.Settings;
 import org.apache.maven.shared.invoker.MavenInvocationException;
@@ -85,6 +93,16 @@ import org.codehaus.plexus.components.interactivity.InputHandler;
 import org.codehaus.plexus.languages.java.version.JavaVersion;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.version.Version;
 
 /**
  * Abstract class to fix Javadoc documentation and tags in source files.
@@ -220,8 +238,11 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      */
     private InputHandler inputHandler;
 
-    public AbstractFixJavadocMojo(InputHandler inputHandler) {
+    private RepositorySystem repoSystem;
+
+    public AbstractFixJavadocMojo(InputHandler inputHandler, RepositorySystem repoSystem) {
         this.inputHandler = inputHandler;
+        this.repoSystem = repoSystem;
     }
 
     // ----------------------------------------------------------------------
@@ -229,8 +250,8 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
     // ----------------------------------------------------------------------
 
     /**
-     * Version to compare the current code against using the
-     * <a href="https://www.mojohaus.org/clirr-maven-plugin/">Clirr Maven Plugin</a>.
+     * Version to compare the current code against, to find the new classes and methods. The highest released
+     * version in the range is compared.
      * <br/>
      * See <a href="#defaultSince">defaultSince</a>.
      */
@@ -318,11 +339,55 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
     private boolean force;
 
     /**
-     * Flag to ignore or not Clirr.
+     * The number of threads used to fix the source files. With more than one thread, the source files are fixed in
+     * parallel, the classes of a same source file being always fixed by the same thread, and the log messages of
+     * each file are written in the order of the files. The source files of a batch are split by package between the
+     * threads, every thread parsing only its own files, the types of the other files being resolved from the
+     * compiled classes.
+     *
+     * @since 3.11.3
+     */
+    @Parameter(property = "fixThreads", defaultValue = "1")
+    private int fixThreads;
+
+    /**
+     * Only fix the source files which are new or changed since the last run with the same configuration. The content
+     * hash of the processed source files is kept in a manifest in the build directory. The types of the unchanged
+     * source files are still resolved from the compiled classes.
+     *
+     * @since 3.11.3
+     */
+    @Parameter(property = "incremental", defaultValue = "false")
+    private boolean incremental;
+
+    /**
+     * The maximum number of source files parsed and fixed together, to bound the memory used on large source trees.
+     * The source files are grouped by package, a package being only split when it alone exceeds this size. Only the
+     * parsed model of the current batch is kept in memory, the types of the other source files being resolved from
+     * the compiled classes. With <code>0</code>, all the source files are parsed together.
+     *
+     * @since 3.11.3
+     */
+    @Parameter(property = "fixBatchSize", defaultValue = "0")
+    private int fixBatchSize;
+
+    /**
+     * Flag to ignore or not the API differences, found in-process or with Clirr.
      */
     @Parameter(property = "ignoreClirr", defaultValue = "false")
     protected boolean ignoreClirr;
 
+    /**
+     * Flag to find the API differences with the
+     * <a href="https://www.mojohaus.org/clirr-maven-plugin/">Clirr Maven Plugin</a>, run in a Maven subprocess,
+     * instead of comparing the class files of the <a href="#comparisonVersion">comparisonVersion</a> artifact with
+     * the compiled classes in-process.
+     *
+     * @since 3.11.3
+     */
+    @Parameter(property = "useClirrPlugin", defaultValue = "false")
+    private boolean useClirrPlugin;
+
     /**
      * Comma separated includes Java files, i.e. <code>&#42;&#42;/&#42;Test.java</code>.
      * <p/>
@@ -375,6 +440,11 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      */
     private ClassLoader projectClassLoader;
 
+    /**
+     * The class hierarchy of the project compile class path.
+     */
+    private ClassHierarchyIndex classHierarchyIndex;
+
     /**
      * Split {@link #fixTags} by comma.
      *
@@ -393,9 +463,21 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
     private Map<String, List<String>> clirrNewMethods;
 
     /**
-     * List of classes where <code>&#42;since</code> is added. Will be used to add or not this tag in the methods.
+     * Classes where <code>&#42;since</code> is added. Will be used to add or not this tag in the methods.
      */
-    private List<String> sinceClasses;
+    private final Set<String> sinceClasses = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The manifest of the source files fixed by the last run, in incremental mode.
+     *
+     * @see #incremental
+     */
+    private FixManifest fixManifest;
+
+    /**
+     * The log of the source file being fixed by the current thread, when the source files are fixed in parallel.
+     */
+    private final ThreadLocal<Log> fileLog = new ThreadLocal<>();
 
     /**
      * {@inheritDoc}
@@ -420,9 +502,13 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
             return;
         }
 
-        // run clirr
+        // find the API differences
         try {
-            executeClirr();
+            if (useClirrPlugin || ignoreClirr) {
+                executeClirr();
+            } else {
+                executeApiDiff();
+            }
         } catch (MavenInvocationException e) {
             if (getLog().isDebugEnabled()) {
                 getLog().error("MavenInvocationException: " + e.getMessage(), e);
@@ -434,18 +520,48 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
 
         // run qdox and process
         try {
-            Collection<JavaClass> javaClasses = getQdoxClasses();
+            List<File> javaFiles = getJavaFiles();
+
+            if (javaFiles != null) {
+                List<List<File>> batches = getBatches(javaFiles, fixBatchSize);
+                for (int i = 0; i < batches.size(); i++) {
+                    if (batches.size() > 1 && getLog().isDebugEnabled()) {
+                        getLog().debug("Fixing batch " + (i + 1) + "/" + batches.size() + " of "
+                                + batches.get(i).size() + " source file(s)");
+                    }
 
-            if (javaClasses != null) {
-                for (JavaClass javaClass : javaClasses) {
-                    processFix(javaClass);
+                    if (fixThreads > 1) {
+                        processFixInParallel(batches.get(i));
+                    } else {
+                        for (JavaClass javaClass : getQdoxClasses(batches.get(i))) {
+                            processFix(javaClass);
+                        }
+                    }
                 }
             }
+
+            if (fixManifest != null) {
+                fixManifest.store();
+            }
         } catch (IOException e) {
             throw new MojoExecutionException("IOException: " + e.getMessage(), e);
+        } finally {
+            closeClassHierarchyIndex();
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * When the source files are fixed in parallel, this is the log of the source file being fixed by the current
+     * thread.
+     */
+    @Override
+    public Log getLog() {
+        Log log = fileLog.get();
+        return log != null ? log : super.getLog();
+    }
+
     // ----------------------------------------------------------------------
     // protected methods
     // ----------------------------------------------------------------------
@@ -472,6 +588,15 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
                 : new LinkedList<>(p.getCompileSourceRoots());
     }
 
+    /**
+     * @return the name of the manifest file in the build directory, used in incremental mode.
+     * @see #incremental
+     * @since 3.11.3
+     */
+    protected String getFixManifestName() {
+        return "maven-javadoc-plugin-fix.properties";
+    }
+
     /**
      * @param p not null
      * @return the compile classpath elements
@@ -499,7 +624,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
     /**
      * Init goal parameters.
      */
-    private void init() {
+    void init() {
         // defaultSince
         int i = defaultSince.indexOf("-" + Artifact.SNAPSHOT_VERSION);
         if (i != -1) {
@@ -611,6 +736,85 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
         return new File(project.getBuild().getSourceDirectory());
     }
 
+    /**
+     * Compare the class files of the <code>comparisonVersion</code> artifact with the compiled classes to find the
+     * API differences. The result is kept in the build directory as long as both are unchanged.
+     */
+    private void executeApiDiff() {
+        File classesDirectory = new File(project.getBuild().getOutputDirectory());
+        if (!classesDirectory.isDirectory()) {
+            getLog().info("No compiled classes found, the API differences are ignored.");
+            return;
+        }
+
+        org.eclipse.aether.artifact.Artifact previousArtifact = resolveComparisonArtifact();
+        if (previousArtifact == null) {
+            getLog().warn("No previous artifact has been deployed, the API differences are ignored.");
+            return;
+        }
+
+        Path apiDiffFile = Paths.get(project.getBuild().getDirectory(), "maven-javadoc-plugin-api-diff.properties");
+        try {
+            String key = previousArtifact + "|" + ApiDiff.getClassesHash(classesDirectory);
+            ApiDiff apiDiff = ApiDiff.load(apiDiffFile, key);
+            if (apiDiff == null) {
+                apiDiff = ApiDiff.compare(previousArtifact.getFile(), classesDirectory);
+                apiDiff.store(apiDiffFile, key);
+            } else {
+                getLog().debug("Reusing the API differences with " + previousArtifact + " from " + apiDiffFile);
+            }
+
+            clirrNewClasses = new LinkedList<>(apiDiff.getNewClasses());
+            clirrNewMethods = new LinkedHashMap<>(apiDiff.getNewMethods());
+        } catch (IOException e) {
+            if (getLog().isDebugEnabled()) {
+                getLog().debug("IOException: " + e.getMessage(), e);
+            }
+            getLog().info("IOException when comparing the API with " + previousArtifact
+                    + ", the API differences are ignored.");
+            return;
+        }
+
+        if (clirrNewClasses.isEmpty() && clirrNewMethods.isEmpty()) {
+            getLog().info("No API differences found with " + previousArtifact.getVersion() + ".");
+        } else {
+            getLog().info("API differences found with " + previousArtifact.getVersion()
+                    + "; e.g. new classes, interfaces, or methods.");
+        }
+    }
+
+    /**
+     * @return the highest released artifact of the project in the <code>comparisonVersion</code> range, or
+     * <code>null</code> if none could be resolved.
+     */
+    private org.eclipse.aether.artifact.Artifact resolveComparisonArtifact() {
+        org.eclipse.aether.artifact.Artifact artifact =
+                new DefaultArtifact(project.getGroupId(), project.getArtifactId(), "jar", comparisonVersion);
+        RepositorySystemSession repoSession = session.getRepositorySession();
+        List<RemoteRepository> repositories = project.getRemoteProjectRepositories();
+        try {
+            VersionRangeResult rangeResult =
+                    repoSystem.resolveVersionRange(repoSession, new VersionRangeRequest(artifact, repositories, null));
+            List<Version> versions = new ArrayList<>(rangeResult.getVersions());
+            Collections.reverse(versions);
+            for (Version version : versions) {
+                if (version.toString().endsWith(Artifact.SNAPSHOT_VERSION)) {
+                    continue;
+                }
+                ArtifactRequest request =
+                        new ArtifactRequest(artifact.setVersion(version.toString()), repositories, null);
+                try {
+                    return repoSystem.resolveArtifact(repoSession, request).getArtifact();
+                } catch (ArtifactResolutionException e) {
+                    getLog().debug("Unable to resolve " + request.getArtifact() + ": " + e.getMessage());
+                }
+            }
+        } catch (VersionRangeResolutionException e) {
+            getLog().debug("Unable to resolve the versions of " + artifact + ": " + e.getMessage());
+        }
+        return null;
+    }
+
     /**
      * Invoke Maven to run clirr-maven-plugin to find API differences.
      *
@@ -776,14 +980,10 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
     }
 
     /**
-     * Calling Qdox to find {@link JavaClass} objects from the Maven project sources.
-     * Ignore java class if Qdox has parsing errors.
-     *
-     * @return an array of {@link JavaClass} found by QDox
-     * @throws IOException            if any
-     * @throws MojoExecutionException if any
+     * @return the source files of the Maven project to fix, or <code>null</code> if the project has no sources.
+     * @throws IOException if any
      */
-    private Collection<JavaClass> getQdoxClasses() throws IOException, MojoExecutionException {
+    private List<File> getJavaFiles() throws IOException {
         if ("pom".equalsIgnoreCase(project.getPackaging())) {
             getLog().warn("This project has 'pom' packaging, no Java sources is available.");
             return null;
@@ -801,27 +1001,122 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
             }
         }
 
+        if (incremental) {
+            fixManifest = new FixManifest(
+                    new File(project.getBuild().getDirectory(), getFixManifestName()).toPath(), getFixConfiguration());
+            List<File> changedFiles = fixManifest.getChangedFiles(javaFiles);
+            if (getLog().isInfoEnabled()) {
+                getLog().info("Fixing " + changedFiles.size() + " new or changed source file(s), "
+                        + (javaFiles.size() - changedFiles.size()) + " unchanged since the last run.");
+            }
+            javaFiles = changedFiles;
+        }
+
+        return javaFiles;
+    }
+
+    /**
+     * Split the source files in batches of at most <code>batchSize</code> files, keeping the files of a same package
+     * together as long as the package does not exceed the batch size.
+     *
+     * @param javaFiles the source files, not null
+     * @param batchSize the maximum number of files of a batch, <code>0</code> or less for a single batch
+     * @return the batches, in the order of the packages
+     */
+    static List<List<File>> getBatches(List<File> javaFiles, int batchSize) {
+        if (batchSize <= 0 || javaFiles.size() <= batchSize) {
+            return Collections.singletonList(javaFiles);
+        }
+
+        Map<File, List<File>> filesByPackage = new LinkedHashMap<>();
+        for (File javaFile : javaFiles) {
+            filesByPackage
+                    .computeIfAbsent(javaFile.getAbsoluteFile().getParentFile(), k -> new ArrayList<>())
+                    .add(javaFile);
+        }
+
+        List<List<File>> batches = new ArrayList<>();
+        List<File> batch = new ArrayList<>();
+        for (List<File> packageFiles : filesByPackage.values()) {
+            if (!batch.isEmpty() && batch.size() + packageFiles.size() > batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+            }
+            for (File javaFile : packageFiles) {
+                if (batch.size() == batchSize) {
+                    batches.add(batch);
+                    batch = new ArrayList<>();
+                }
+                batch.add(javaFile);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Calling Qdox to find {@link JavaClass} objects from the given source files.
+     * Ignore java class if Qdox has parsing errors.
+     * <br/>
+     * A new builder is used for each call, so that the parsed model of the previous batch can be collected. The types
+     * declared in other source files are resolved from the project class loader.
+     *
+     * @param javaFiles the source files, not null
+     * @return an array of {@link JavaClass} found by QDox
+     * @throws IOException            if any
+     * @throws MojoExecutionException if any
+     */
+    private Collection<JavaClass> getQdoxClasses(List<File> javaFiles) throws IOException, MojoExecutionException {
+        return getQdoxBuilder(javaFiles, new HashSet<>()).getClasses();
+    }
+
+    /**
+     * @param javaFiles     not null
+     * @param ignoredFiles  not null, the files not parsed so far, to warn only once about each of them
+     * @return a new QDox builder with the given source files
+     * @throws IOException            if any
+     * @throws MojoExecutionException if any
+     */
+    private JavaProjectBuilder getQdoxBuilder(List<File> javaFiles, Set<File> ignoredFiles)
+            throws IOException, MojoExecutionException {
         ClassLibraryBuilder classLibraryBuilder = new OrderedClassLibraryBuilder();
         classLibraryBuilder.appendClassLoader(getProjectClassLoader());
 
         JavaProjectBuilder builder = new JavaProjectBuilder(classLibraryBuilder);
         builder.setEncoding(encoding);
         for (File f : javaFiles) {
-            if (!f.getAbsolutePath().toLowerCase(Locale.ENGLISH).endsWith(".java") && getLog().isWarnEnabled()) {
-                getLog().warn("'" + f + "' is not a Java file. Ignored it.");
+            if (!f.getAbsolutePath().toLowerCase(Locale.ENGLISH).endsWith(".java")) {
+                if (ignoredFiles.add(f) && getLog().isWarnEnabled()) {
+                    getLog().warn("'" + f + "' is not a Java file. Ignored it.");
+                }
                 continue;
             }
 
             try {
                 builder.addSource(f);
             } catch (ParseException e) {
-                if (getLog().isWarnEnabled()) {
+                if (ignoredFiles.add(f) && getLog().isWarnEnabled()) {
                     getLog().warn("QDOX ParseException: " + e.getMessage() + ". Can't fix it.");
                 }
             }
         }
 
-        return builder.getClasses();
+        return builder;
+    }
+
+    /**
+     * @return the parameters changing the result of a fix, recorded in the manifest of the incremental mode.
+     */
+    private String getFixConfiguration() {
+        return "fixTags=" + fixTags + ";level=" + level + ";force=" + force + ";comparisonVersion=" + comparisonVersion
+                + ";fixClassComment=" + fixClassComment
+                + ";fixFieldComment=" + fixFieldComment + ";fixMethodComment=" + fixMethodComment
+                + ";removeUnknownThrows=" + removeUnknownThrows + ";ignoreClirr=" + ignoreClirr
+                + ";useClirrPlugin=" + useClirrPlugin
+                + ";defaultAuthor=" + defaultAuthor + ";defaultSince=" + defaultSince + ";defaultVersion="
+                + defaultVersion + ";encoding=" + encoding + ";outputDirectory=" + outputDirectory;
     }
 
     /**
@@ -846,20 +1141,144 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
                 }
             }
 
-            ClassLoader parent = null;
-            if (JAVA_VERSION.isAtLeast("9")) {
+            projectClassLoader = new URLClassLoader(urls.toArray(new URL[0]), getPlatformClassLoader());
+        }
+
+        return projectClassLoader;
+    }
+
+    /**
+     * @return the platform class loader, or null for the bootstrap class loader before Java 9
+     * @throws MojoExecutionException if any
+     */
+    private static ClassLoader getPlatformClassLoader() throws MojoExecutionException {
+        if (!JAVA_VERSION.isAtLeast("9")) {
+            return null;
+        }
+
+        try {
+            return (ClassLoader) MethodUtils.invokeStaticMethod(ClassLoader.class, "getPlatformClassLoader");
+        } catch (Exception e) {
+            throw new MojoExecutionException("Failed to invoke ClassLoader#getPlatformClassLoader() dynamically", e);
+        }
+    }
+
+    /**
+     * @return the class hierarchy index of the project compile class path using lazy instantiation.
+     * @throws MojoExecutionException if any
+     */
+    private synchronized ClassHierarchyIndex getClassHierarchyIndex() throws MojoExecutionException {
+        if (classHierarchyIndex == null) {
+            List<String> classPath;
+            try {
+                classPath = getCompileClasspathElements(project);
+            } catch (DependencyResolutionRequiredException e) {
+                throw new MojoExecutionException("DependencyResolutionRequiredException: " + e.getMessage(), e);
+            }
+
+            classHierarchyIndex = new ClassHierarchyIndex(
+                    session != null ? session.getRepositorySession() : null, getPlatformClassLoader(), classPath);
+        }
+
+        return classHierarchyIndex;
+    }
+
+    /**
+     * Close the jars read by the class hierarchy index, if any.
+     */
+    private synchronized void closeClassHierarchyIndex() {
+        if (classHierarchyIndex != null) {
+            try {
+                classHierarchyIndex.close();
+            } catch (IOException e) {
+                getLog().debug("Unable to close the class path jars: " + e.getMessage(), e);
+            }
+            classHierarchyIndex = null;
+        }
+    }
+
+    /**
+     * Process the given source files on {@link #fixThreads} threads. QDox resolves the types lazily and its model
+     * is not thread safe, so the source files are split by package between the threads, as in
+     * {@link #getBatches(List, int)}, and every thread parses its own files in its own builder before fixing them.
+     * The types of the other files are resolved from the project class loader, so no thread reads a file being
+     * rewritten by another one. The log messages of each source file are buffered, and written in the order of the
+     * source files once they are all processed.
+     *
+     * @param javaFiles not null
+     * @throws IOException            if any
+     * @throws MojoExecutionException if any
+     */
+    private void processFixInParallel(final List<File> javaFiles) throws IOException, MojoExecutionException {
+        // force the lazy initialization of the class loader shared by the builders
+        getProjectClassLoader();
+
+        final Set<File> ignoredFiles = ConcurrentHashMap.newKeySet();
+        final Map<Path, BufferedLog> fileLogs = new ConcurrentHashMap<>();
+        final Log log = getLog();
+        ForkJoinPool pool = new ForkJoinPool(fixThreads);
+        try {
+            List<ForkJoinTask<Void>> tasks = new ArrayList<>();
+            for (List<File> threadFiles : getBatches(javaFiles, (javaFiles.size() + fixThreads - 1) / fixThreads)) {
+                tasks.add(pool.submit(() -> {
+                    for (JavaSource source :
+                            getQdoxBuilder(threadFiles, ignoredFiles).getSources()) {
+                        BufferedLog bufferedLog = new BufferedLog(log);
+                        fileLogs.put(
+                                getSourceFile(source).toPath().toAbsolutePath().normalize(), bufferedLog);
+                        fileLog.set(bufferedLog);
+                        try {
+                            for (JavaClass javaClass : source.getClasses()) {
+                                processFix(javaClass);
+                            }
+                        } finally {
+                            fileLog.remove();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (ForkJoinTask<Void> task : tasks) {
                 try {
-                    parent = (ClassLoader) MethodUtils.invokeStaticMethod(ClassLoader.class, "getPlatformClassLoader");
-                } catch (Exception e) {
-                    throw new MojoExecutionException(
-                            "Failed to invoke ClassLoader#getPlatformClassLoader() dynamically", e);
+                    task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MojoExecutionException("Interrupted while fixing the source files", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    }
+                    if (e.getCause() instanceof MojoExecutionException) {
+                        throw (MojoExecutionException) e.getCause();
+                    }
+                    throw new MojoExecutionException(e.getCause().getMessage(), e.getCause());
                 }
             }
+        } finally {
+            pool.shutdownNow();
+        }
 
-            projectClassLoader = new URLClassLoader(urls.toArray(new URL[0]), parent);
+        for (File javaFile : javaFiles) {
+            BufferedLog bufferedLog =
+                    fileLogs.get(javaFile.toPath().toAbsolutePath().normalize());
+            if (bufferedLog != null) {
+                bufferedLog.flush();
+            }
         }
+    }
 
-        return projectClassLoader;
+    /**
+     * @param source not null
+     * @return the file of the given source
+     * @throws MojoExecutionException if the source is not a file
+     */
+    private static File getSourceFile(JavaSource source) throws MojoExecutionException {
+        try {
+            return Paths.get(source.getURL().toURI()).toFile();
+        } catch (URISyntaxException e) {
+            throw new MojoExecutionException(e.getMessage());
+        }
     }
 
     /**
@@ -869,18 +1288,13 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      * @throws IOException            if any
      * @throws MojoExecutionException if any
      */
-    private void processFix(JavaClass javaClass) throws IOException, MojoExecutionException {
+    void processFix(JavaClass javaClass) throws IOException, MojoExecutionException {
         // Skipping inner classes
         if (javaClass.isInner()) {
             return;
         }
 
-        File javaFile;
-        try {
-            javaFile = Paths.get(javaClass.getSource().getURL().toURI()).toFile();
-        } catch (URISyntaxException e) {
-            throw new MojoExecutionException(e.getMessage());
-        }
+        File javaFile = getSourceFile(javaClass.getSource());
 
         // the original java content in memory
         final String originalContent = StringUtils.unifyLineSeparators(FileUtils.fileRead(javaFile, encoding));
@@ -889,74 +1303,49 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
             getLog().debug("Analyzing " + javaClass.getFullyQualifiedName());
         }
 
-        final StringWriter stringWriter = new StringWriter();
+        // the entities to fix by line number, in the order they are fixed on a same line
+        final Map<Integer, List<JavaAnnotatedElement>> entitiesByLine = new HashMap<>();
+        if (javaClass.getComment() == null
+                && javaClass.getAnnotations() != null
+                && !javaClass.getAnnotations().isEmpty()) {
+            addEntity(entitiesByLine, javaClass.getAnnotations().get(0).getLineNumber(), javaClass);
+        } else {
+            addEntity(entitiesByLine, javaClass.getLineNumber(), javaClass);
+        }
+        if (javaClass.getFields() != null) {
+            for (JavaField field : javaClass.getFields()) {
+                addEntity(entitiesByLine, field.getLineNumber(), field);
+            }
+        }
+        if (javaClass.getConstructors() != null) {
+            for (JavaConstructor constructor : javaClass.getConstructors()) {
+                addEntity(entitiesByLine, constructor.getLineNumber(), constructor);
+            }
+        }
+        for (JavaMethod method : javaClass.getMethods()) {
+            if (method.getComment() == null && !method.getAnnotations().isEmpty()) {
+                addEntity(entitiesByLine, method.getAnnotations().get(0).getLineNumber(), method);
+            } else {
+                addEntity(entitiesByLine, method.getLineNumber(), method);
+            }
+        }
+
+        final StringWriter stringWriter = new StringWriter(originalContent.length() + originalContent.length() / 4);
         boolean changeDetected = false;
-        try (BufferedReader reader = new BufferedReader(new StringReader(originalContent))) {
+        final JavaSourceIndex index = JavaSourceIndex.of(originalContent);
+        for (int i = 0; i < index.getLineCount(); i++) {
+            final String line = index.getLine(i);
 
-            int lineNumber = 0;
-            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
-                lineNumber++;
+            List<JavaAnnotatedElement> entities = entitiesByLine.get(i + 1);
+            if (entities != null) {
                 final String indent = autodetectIndentation(line);
-
-                // fixing classes
-                if (javaClass.getComment() == null
-                        && javaClass.getAnnotations() != null
-                        && !javaClass.getAnnotations().isEmpty()) {
-                    if (lineNumber == javaClass.getAnnotations().get(0).getLineNumber()) {
-                        changeDetected |= fixClassComment(stringWriter, originalContent, javaClass, indent);
-
-                        takeCareSingleComment(stringWriter, originalContent, javaClass);
-                    }
-                } else if (lineNumber == javaClass.getLineNumber()) {
-                    changeDetected |= fixClassComment(stringWriter, originalContent, javaClass, indent);
-
-                    takeCareSingleComment(stringWriter, originalContent, javaClass);
-                }
-
-                // fixing fields
-                if (javaClass.getFields() != null) {
-                    for (JavaField field : javaClass.getFields()) {
-                        if (lineNumber == field.getLineNumber()) {
-                            changeDetected |= fixFieldComment(stringWriter, javaClass, field, indent);
-                        }
-                    }
+                for (JavaAnnotatedElement entity : entities) {
+                    changeDetected |= fixEntityComment(stringWriter, index, entity, indent);
                 }
-
-                // fixing methods
-                if (javaClass.getConstructors() != null) {
-                    for (JavaConstructor method : javaClass.getConstructors()) {
-                        if (lineNumber == method.getLineNumber()) {
-                            final boolean commentUpdated =
-                                    fixMethodComment(stringWriter, originalContent, method, indent);
-                            if (commentUpdated) {
-                                takeCareSingleComment(stringWriter, originalContent, method);
-                            }
-                            changeDetected |= commentUpdated;
-                        }
-                    }
-                }
-
-                // fixing methods
-                for (JavaMethod method : javaClass.getMethods()) {
-                    int methodLineNumber;
-                    if (method.getComment() == null && !method.getAnnotations().isEmpty()) {
-                        methodLineNumber = method.getAnnotations().get(0).getLineNumber();
-                    } else {
-                        methodLineNumber = method.getLineNumber();
-                    }
-
-                    if (lineNumber == methodLineNumber) {
-                        final boolean commentUpdated = fixMethodComment(stringWriter, originalContent, method, indent);
-                        if (commentUpdated) {
-                            takeCareSingleComment(stringWriter, originalContent, method);
-                        }
-                        changeDetected |= commentUpdated;
-                    }
-                }
-
-                stringWriter.write(line);
-                stringWriter.write(EOL);
             }
+
+            stringWriter.write(line);
+            stringWriter.write(EOL);
         }
 
         if (changeDetected) {
@@ -983,6 +1372,47 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
         }
     }
 
+    private static void addEntity(
+            Map<Integer, List<JavaAnnotatedElement>> entitiesByLine, int lineNumber, JavaAnnotatedElement entity) {
+        entitiesByLine.computeIfAbsent(lineNumber, k -> new ArrayList<>()).add(entity);
+    }
+
+    /**
+     * Add/update the Javadoc comment of a class, a field, a constructor or a method, before writing the line where
+     * it is declared.
+     *
+     * @param stringWriter    not null
+     * @param sourceIndex     not null
+     * @param entity          not null
+     * @param indent          not null
+     * @return {@code true} if the comment is updated, otherwise {@code false}
+     * @throws MojoExecutionException if any
+     * @throws IOException            if any
+     */
+    private boolean fixEntityComment(
+            final StringWriter stringWriter,
+            final JavaSourceIndex sourceIndex,
+            final JavaAnnotatedElement entity,
+            final String indent)
+            throws MojoExecutionException, IOException {
+        if (entity instanceof JavaClass) {
+            boolean commentUpdated = fixClassComment(stringWriter, sourceIndex, (JavaClass) entity, indent);
+
+            takeCareSingleComment(stringWriter, sourceIndex, entity);
+            return commentUpdated;
+        }
+
+        if (entity instanceof JavaField) {
+            return fixFieldComment(stringWriter, ((JavaField) entity).getDeclaringClass(), (JavaField) entity, indent);
+        }
+
+        boolean commentUpdated = fixMethodComment(stringWriter, sourceIndex, (JavaExecutable) entity, indent);
+        if (commentUpdated) {
+            takeCareSingleComment(stringWriter, sourceIndex, entity);
+        }
+        return commentUpdated;
+    }
+
     /**
      * Take care of block or single comments between Javadoc comment and entity declaration ie:
      * <br/>
@@ -1008,19 +1438,19 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      * </code>
      *
      * @param stringWriter    not null
-     * @param originalContent not null
+     * @param sourceIndex     not null
      * @param entity          not null
      * @throws IOException if any
      * @see #extractOriginalJavadoc
      */
     private void takeCareSingleComment(
-            final StringWriter stringWriter, final String originalContent, final JavaAnnotatedElement entity)
+            final StringWriter stringWriter, final JavaSourceIndex sourceIndex, final JavaAnnotatedElement entity)
             throws IOException {
         if (entity.getComment() == null) {
             return;
         }
 
-        String javadocComment = trimRight(extractOriginalJavadoc(originalContent, entity));
+        String javadocComment = trimRight(extractOriginalJavadoc(sourceIndex, entity));
         String extraComment = javadocComment.substring(javadocComment.indexOf(END_JAVADOC) + END_JAVADOC.length());
         if (extraComment != null && !extraComment.isEmpty()) {
             if (extraComment.contains(EOL)) {
@@ -1036,7 +1466,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      * Add/update Javadoc class comment.
      *
      * @param stringWriter
-     * @param originalContent
+     * @param sourceIndex
      * @param javaClass
      * @param indent
      * @return {@code true} if the comment is updated, otherwise {@code false}
@@ -1045,7 +1475,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      */
     private boolean fixClassComment(
             final StringWriter stringWriter,
-            final String originalContent,
+            final JavaSourceIndex sourceIndex,
             final JavaClass javaClass,
             final String indent)
             throws MojoExecutionException, IOException {
@@ -1064,7 +1494,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
         }
 
         // update
-        return updateEntityComment(stringWriter, originalContent, javaClass, indent);
+        return updateEntityComment(stringWriter, sourceIndex, javaClass, indent);
     }
 
     /**
@@ -1269,7 +1699,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      * Add/update Javadoc method comment.
      *
      * @param stringWriter    not null
-     * @param originalContent not null
+     * @param sourceIndex     not null
      * @param javaExecutable      not null
      * @param indent          not null
      * @return {@code true} if comment was updated, otherwise {@code false}
@@ -1278,7 +1708,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      */
     private boolean fixMethodComment(
             final StringWriter stringWriter,
-            final String originalContent,
+            final JavaSourceIndex sourceIndex,
             final JavaExecutable javaExecutable,
             final String indent)
             throws MojoExecutionException, IOException {
@@ -1297,7 +1727,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
         }
 
         // update
-        return updateEntityComment(stringWriter, originalContent, javaExecutable, indent);
+        return updateEntityComment(stringWriter, sourceIndex, javaExecutable, indent);
     }
 
     /**
@@ -1397,7 +1827,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
 
     /**
      * @param stringWriter    not null
-     * @param originalContent not null
+     * @param sourceIndex     not null
      * @param entity          not null
      * @param indent          not null
      * @return the updated changeDetected flag
@@ -1406,31 +1836,27 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      */
     private boolean updateEntityComment(
             final StringWriter stringWriter,
-            final String originalContent,
+            final JavaSourceIndex sourceIndex,
             final JavaAnnotatedElement entity,
             final String indent)
             throws MojoExecutionException, IOException {
         boolean changeDetected = false;
 
         String old = null;
-        String s = stringWriter.toString();
-        int i = s.lastIndexOf(START_JAVADOC);
+        StringBuffer buffer = stringWriter.getBuffer();
+        int i = buffer.lastIndexOf(START_JAVADOC);
         if (i != -1) {
-            String tmp = s.substring(0, i);
-            if (tmp.lastIndexOf(EOL) != -1) {
-                tmp = tmp.substring(0, tmp.lastIndexOf(EOL));
-            }
+            old = buffer.substring(i);
 
-            old = stringWriter.getBuffer().substring(i);
-
-            stringWriter.getBuffer().delete(0, stringWriter.getBuffer().length());
-            stringWriter.write(tmp);
+            // remove the original comment from the line where it starts
+            int lineEnd = buffer.lastIndexOf(EOL, i - EOL.length());
+            buffer.setLength(lineEnd != -1 ? lineEnd : i);
             stringWriter.write(EOL);
         } else {
             changeDetected = true;
         }
 
-        updateJavadocComment(stringWriter, originalContent, entity, indent);
+        updateJavadocComment(stringWriter, sourceIndex, entity, indent);
 
         if (changeDetected) {
             return true; // return now if we already know there's a change
@@ -1441,7 +1867,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
 
     /**
      * @param stringWriter    not null
-     * @param originalContent not null
+     * @param sourceIndex     not null
      * @param entity          not null
      * @param indent          not null
      * @throws MojoExecutionException if any
@@ -1449,7 +1875,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      */
     private void updateJavadocComment(
             final StringWriter stringWriter,
-            final String originalContent,
+            final JavaSourceIndex sourceIndex,
             final JavaAnnotatedElement entity,
             final String indent)
             throws MojoExecutionException, IOException {
@@ -1475,7 +1901,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
                     return;
                 }
 
-                String javadoc = getJavadocComment(originalContent, javaMethod);
+                String javadoc = getJavadocComment(sourceIndex, javaMethod);
 
                 // case: /** {@inheritDoc} */ or no tags
                 if (hasInheritedTag(javadoc)
@@ -1511,7 +1937,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
                             continue;
                         }
 
-                        String s = getJavadocComment(originalContent, entity, docletTag);
+                        String s = getJavadocComment(sourceIndex, entity, docletTag);
                         s = removeLastEmptyJavadocLines(s);
                         s = alignIndentationJavadocLines(s, indent);
                         sb.append(s);
@@ -1539,13 +1965,13 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
 
         // comment
         if (StringUtils.isNotEmpty(entity.getComment())) {
-            updateJavadocComment(sb, originalContent, entity, indent);
+            updateJavadocComment(sb, sourceIndex, entity, indent);
         } else {
             addDefaultJavadocComment(sb, entity, indent, isJavaExecutable);
         }
 
         // tags
-        updateJavadocTags(sb, originalContent, entity, indent, isJavaExecutable);
+        updateJavadocTags(sb, sourceIndex, entity, indent, isJavaExecutable);
 
         sb = new StringBuilder(removeLastEmptyJavadocLines(sb.toString())).append(EOL);
 
@@ -1557,18 +1983,18 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
 
     /**
      * @param sb              not null
-     * @param originalContent not null
+     * @param sourceIndex     not null
      * @param entity          not null
      * @param indent          not null
      * @throws IOException if any
      */
     private void updateJavadocComment(
             final StringBuilder sb,
-            final String originalContent,
+            final JavaSourceIndex sourceIndex,
             final JavaAnnotatedElement entity,
             final String indent)
             throws IOException {
-        String comment = getJavadocComment(originalContent, entity);
+        String comment = getJavadocComment(sourceIndex, entity);
         comment = removeLastEmptyJavadocLines(comment);
         comment = alignIndentationJavadocLines(comment, indent);
 
@@ -1673,7 +2099,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
 
     /**
      * @param sb              not null
-     * @param originalContent not null
+     * @param sourceIndex     not null
      * @param entity          not null
      * @param indent          not null
      * @param isJavaExecutable
@@ -1682,7 +2108,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      */
     private void updateJavadocTags(
             final StringBuilder sb,
-            final String originalContent,
+            final JavaSourceIndex sourceIndex,
             final JavaAnnotatedElement entity,
             final String indent,
             final boolean isJavaExecutable)
@@ -1690,7 +2116,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
         appendSeparator(sb, indent);
 
         // parse tags
-        JavaEntityTags javaEntityTags = parseJavadocTags(originalContent, entity, indent, isJavaExecutable);
+        JavaEntityTags javaEntityTags = parseJavadocTags(sourceIndex, entity, indent, isJavaExecutable);
 
         // update and write tags
         updateJavadocTags(sb, entity, isJavaExecutable, javaEntityTags);
@@ -1702,7 +2128,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
     /**
      * Parse entity tags
      *
-     * @param originalContent not null
+     * @param sourceIndex     not null
      * @param entity          not null
      * @param indent          not null
      * @param isJavaMethod
@@ -1710,14 +2136,14 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      * @throws IOException if any
      */
     JavaEntityTags parseJavadocTags(
-            final String originalContent,
+            final JavaSourceIndex sourceIndex,
             final JavaAnnotatedElement entity,
             final String indent,
             final boolean isJavaMethod)
             throws IOException {
         JavaEntityTags javaEntityTags = new JavaEntityTags(entity, isJavaMethod);
         for (DocletTag docletTag : entity.getTags()) {
-            String originalJavadocTag = getJavadocComment(originalContent, entity, docletTag);
+            String originalJavadocTag = getJavadocComment(sourceIndex, entity, docletTag);
             originalJavadocTag = removeLastEmptyJavadocLines(originalJavadocTag);
             originalJavadocTag = alignIndentationJavadocLines(originalJavadocTag, indent);
 
@@ -1932,15 +2358,15 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
             }
         }
 
-        Class<?> clazz = getClass(javaExecutable.getDeclaringClass(), exceptionClassName);
+        ClassInfo clazz = getClass(javaExecutable.getDeclaringClass(), exceptionClassName);
 
         if (clazz != null) {
-            if (RuntimeException.class.isAssignableFrom(clazz)) {
+            if (isSubclassOf(clazz, RuntimeException.class)) {
                 sb.append(StringUtils.replace(originalJavadocTag, exceptionClassName, clazz.getName()));
 
                 // added qualified name
                 javaEntityTags.putJavadocThrowsTag(clazz.getName(), originalJavadocTag);
-            } else if (Throwable.class.isAssignableFrom(clazz)) {
+            } else if (isSubclassOf(clazz, Throwable.class)) {
                 getLog().debug("Removing '" + originalJavadocTag + "'; Throwable not specified by "
                         + getJavaMethodAsString(javaExecutable) + " and it is not a RuntimeException.");
             } else {
@@ -2042,14 +2468,12 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
                     if (isNewMethodFromLastRevision((JavaExecutable) entity)) {
                         appendDefaultSinceTag(sb, indent);
                     }
-                } else if (sinceClasses != null) {
-                    if (entity instanceof JavaMember
-                            && !sinceClassesContains(((JavaMember) entity).getDeclaringClass())) {
-                        appendDefaultSinceTag(sb, indent);
-                    } else if (entity instanceof JavaClass
-                            && !sinceClassesContains(((JavaClass) entity).getDeclaringClass())) {
-                        appendDefaultSinceTag(sb, indent);
-                    }
+                } else if (entity instanceof JavaMember
+                        && !sinceClassesContains(((JavaMember) entity).getDeclaringClass())) {
+                    appendDefaultSinceTag(sb, indent);
+                } else if (entity instanceof JavaClass
+                        && !sinceClassesContains(((JavaClass) entity).getDeclaringClass())) {
+                    appendDefaultSinceTag(sb, indent);
                 }
             }
         }
@@ -2300,17 +2724,18 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
             }
         }
 
-        Class<?> clazz = getClass(javaMethod.getDeclaringClass().getFullyQualifiedName());
+        ClassHierarchyIndex index = getClassHierarchyIndex();
+        ClassInfo clazz = getClass(javaMethod.getDeclaringClass().getFullyQualifiedName());
 
-        List<Class<?>> interfaces = ClassUtils.getAllInterfaces(clazz);
-        for (Class<?> intface : interfaces) {
+        List<ClassInfo> interfaces = index.getAllInterfaces(clazz);
+        for (ClassInfo intface : interfaces) {
             if (isInherited(intface, javaMethod)) {
                 return true;
             }
         }
 
-        List<Class<?>> classes = ClassUtils.getAllSuperclasses(clazz);
-        for (Class<?> superClass : classes) {
+        List<ClassInfo> classes = index.getAllSuperclasses(clazz);
+        for (ClassInfo superClass : classes) {
             if (isInherited(superClass, javaMethod)) {
                 return true;
             }
@@ -2320,26 +2745,26 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
     }
 
     /**
-     * @param clazz      the Java class object, not null
+     * @param clazz      the class read from the class path, not null
      * @param javaMethod the QDox JavaMethod object not null
      * @return <code>true</code> if <code>javaMethod</code> exists in the given <code>clazz</code>,
      *         <code>false</code> otherwise.
      * @see #isInherited(JavaExecutable)
      */
-    private boolean isInherited(Class<?> clazz, JavaExecutable javaMethod) {
-        for (Method method : clazz.getDeclaredMethods()) {
+    private boolean isInherited(ClassInfo clazz, JavaExecutable javaMethod) {
+        for (MethodInfo method : clazz.getDeclaredMethods()) {
             if (!method.getName().equals(javaMethod.getName())) {
                 continue;
             }
 
-            if (method.getParameterTypes().length != javaMethod.getParameters().size()) {
+            if (method.getParameterTypes().size() != javaMethod.getParameters().size()) {
                 continue;
             }
 
             boolean found = false;
             int j = 0;
-            for (Class<?> paramType : method.getParameterTypes()) {
-                String name1 = paramType.getName();
+            for (String paramType : method.getParameterTypes()) {
+                String name1 = paramType;
                 String name2 = javaMethod.getParameters().get(j++).getType().getFullyQualifiedName();
                 found = name1.equals(name2); // TODO check algo, seems broken (only takes in account the last param)
             }
@@ -2450,17 +2875,17 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
 
     /**
      * @param className not null
-     * @return the Class corresponding to the given class name using the project classloader.
+     * @return the class corresponding to the given class name in the project compile class path.
      * @throws MojoExecutionException if class not found
-     * @see ClassUtils#getClass(ClassLoader, String, boolean)
-     * @see #getProjectClassLoader()
+     * @see ClassHierarchyIndex#findClass(String)
+     * @see #getClassHierarchyIndex()
      */
-    private Class<?> getClass(String className) throws MojoExecutionException {
-        try {
-            return ClassUtils.getClass(getProjectClassLoader(), className, false);
-        } catch (ClassNotFoundException e) {
-            throw new MojoExecutionException("ClassNotFoundException: " + e.getMessage(), e);
+    private ClassInfo getClass(String className) throws MojoExecutionException {
+        ClassInfo classInfo = getClassHierarchyIndex().findClass(className);
+        if (classInfo == null) {
+            throw new MojoExecutionException("ClassNotFoundException: " + className);
         }
+        return classInfo;
     }
 
     /**
@@ -2478,7 +2903,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      * @return the class if found, otherwise {@code null}.
      * @see #getClass(String)
      */
-    private Class<?> getClass(JavaClass currentClass, String exceptionClassName) {
+    private ClassInfo getClass(JavaClass currentClass, String exceptionClassName) {
         String[] potentialClassNames = new String[] {
             exceptionClassName,
             currentClass.getPackage().getName() + "." + exceptionClassName,
@@ -2486,7 +2911,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
             "java.lang." + exceptionClassName
         };
 
-        Class<?> clazz = null;
+        ClassInfo clazz = null;
         for (String potentialClassName : potentialClassNames) {
             try {
                 clazz = getClass(potentialClassName);
@@ -2501,13 +2926,24 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
         return null;
     }
 
+    /**
+     * @param clazz      not null
+     * @param superClass not null
+     * @return <code>true</code> if the class is the given super class or one of its subclasses
+     * @see ClassHierarchyIndex#isSubclassOf(ClassInfo, String)
+     */
+    private boolean isSubclassOf(ClassInfo clazz, Class<?> superClass) {
+        try {
+            return getClassHierarchyIndex().isSubclassOf(clazz, superClass.getName());
+        } catch (MojoExecutionException e) {
+            return false;
+        }
+    }
+
     /**
      * @param javaClass not null
      */
     private void addSinceClasses(JavaClass javaClass) {
-        if (sinceClasses == null) {
-            sinceClasses = new ArrayList<>();
-        }
         sinceClasses.add(javaClass.getFullyQualifiedName());
     }
 
@@ -2696,18 +3132,29 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      */
     static String getJavadocComment(final String javaClassContent, final JavaAnnotatedElement entity)
             throws IOException {
+        return getJavadocComment(JavaSourceIndex.of(javaClassContent), entity);
+    }
+
+    /**
+     * @param sourceIndex the lines of the original class content, not null
+     * @param entity      not null
+     * @return the javadoc comment for the entity without any tags.
+     * @throws IOException if any
+     * @see #getJavadocComment(String, JavaAnnotatedElement)
+     */
+    static String getJavadocComment(final JavaSourceIndex sourceIndex, final JavaAnnotatedElement entity)
+            throws IOException {
         if (entity.getComment() == null) {
             return "";
         }
 
-        String originalJavadoc = extractOriginalJavadocContent(javaClassContent, entity);
+        String originalJavadoc = extractOriginalJavadocContent(sourceIndex, entity);
 
         StringBuilder sb = new StringBuilder();
         BufferedReader lr = new BufferedReader(new StringReader(originalJavadoc));
         String line;
         while ((line = lr.readLine()) != null) {
-            String l = StringUtils.removeDuplicateWhitespace(line.trim());
-            if (l.startsWith("* @") || l.startsWith("*@")) {
+            if (isTagLine(line.trim())) {
                 break;
             }
             sb.append(line).append(EOL);
@@ -2716,6 +3163,25 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
         return trimRight(sb.toString());
     }
 
+    /**
+     * @param line a trimmed Javadoc line, not null
+     * @return <code>true</code> if the line starts a block tag, i.e. <code>* @param</code> or <code>*@param</code>
+     */
+    private static boolean isTagLine(final String line) {
+        if (line.length() < 2 || line.charAt(0) != '*') {
+            return false;
+        }
+
+        int i = 1;
+        if (line.charAt(i) == ' ') {
+            // same as removing the duplicate whitespaces
+            while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+        }
+        return i < line.length() && line.charAt(i) == '@';
+    }
+
     /**
      * Work around for QDOX-146 about whitespace.
      * Ideally we want to use <code>docletTag.getValue()</code>
@@ -2759,11 +3225,25 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
     String getJavadocComment(
             final String javaClassContent, final JavaAnnotatedElement entity, final DocletTag docletTag)
             throws IOException {
+        return getJavadocComment(JavaSourceIndex.of(javaClassContent), entity, docletTag);
+    }
+
+    /**
+     * @param sourceIndex the lines of the original class content, not null
+     * @param entity      not null
+     * @param docletTag   not null
+     * @return the javadoc comment for the entity without Javadoc tags.
+     * @throws IOException if any
+     * @see #getJavadocComment(String, JavaAnnotatedElement, DocletTag)
+     */
+    String getJavadocComment(
+            final JavaSourceIndex sourceIndex, final JavaAnnotatedElement entity, final DocletTag docletTag)
+            throws IOException {
         if (docletTag.getValue() == null || docletTag.getParameters().isEmpty()) {
             return "";
         }
 
-        String originalJavadoc = extractOriginalJavadocContent(javaClassContent, entity);
+        String originalJavadoc = extractOriginalJavadocContent(sourceIndex, entity);
 
         StringBuilder sb = new StringBuilder();
         BufferedReader lr = new BufferedReader(new StringReader(originalJavadoc));
@@ -2845,24 +3325,36 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      */
     static String extractOriginalJavadoc(final String javaClassContent, final JavaAnnotatedElement entity)
             throws IOException {
+        return extractOriginalJavadoc(JavaSourceIndex.of(javaClassContent), entity);
+    }
+
+    /**
+     * @param index  the lines of the original class content, not null
+     * @param entity not null
+     * @return return the original javadoc as String for the current entity
+     * @see #extractOriginalJavadoc(String, JavaAnnotatedElement)
+     */
+    static String extractOriginalJavadoc(final JavaSourceIndex index, final JavaAnnotatedElement entity) {
         if (entity.getComment() == null) {
             return "";
         }
 
-        String[] javaClassContentLines = getLines(javaClassContent);
-        List<String> list = new LinkedList<>();
-        for (int i = entity.getLineNumber() - 2; i >= 0; i--) {
-            String line = javaClassContentLines[i];
+        int end = Math.min(entity.getLineNumber() - 2, index.getLineCount() - 1);
+        if (end < 0) {
+            return "";
+        }
 
-            list.add(trimRight(line));
-            if (line.trim().startsWith(START_JAVADOC)) {
-                break;
+        // from the nearest line starting a Javadoc comment, or from the beginning of the content
+        int start = Math.max(index.getJavadocStart(end), 0);
+        StringBuilder sb = new StringBuilder();
+        for (int i = start; i <= end; i++) {
+            if (i > start) {
+                sb.append(EOL);
             }
+            sb.append(trimRight(index.getLine(i)));
         }
 
-        Collections.reverse(list);
-
-        return StringUtils.join(list.iterator(), EOL);
+        return sb.toString();
     }
 
     /**
@@ -2908,11 +3400,21 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      */
     static String extractOriginalJavadocContent(final String javaClassContent, final JavaAnnotatedElement entity)
             throws IOException {
+        return extractOriginalJavadocContent(JavaSourceIndex.of(javaClassContent), entity);
+    }
+
+    /**
+     * @param sourceIndex the lines of the original class content, not null
+     * @param entity      not null
+     * @return return the original javadoc as String for the current entity
+     * @see #extractOriginalJavadocContent(String, JavaAnnotatedElement)
+     */
+    static String extractOriginalJavadocContent(final JavaSourceIndex sourceIndex, final JavaAnnotatedElement entity) {
         if (entity.getComment() == null) {
             return "";
         }
 
-        String originalJavadoc = extractOriginalJavadoc(javaClassContent, entity);
+        String originalJavadoc = extractOriginalJavadoc(sourceIndex, entity);
         int index = originalJavadoc.indexOf(START_JAVADOC);
         if (index != -1) {
             originalJavadoc = originalJavadoc.substring(index + START_JAVADOC.length());
@@ -2936,7 +3438,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      * @throws IOException if any
      * @see #getJavadocComment(String, JavaAnnotatedElement, DocletTag)
      */
-    private static String removeLastEmptyJavadocLines(final String content) throws IOException {
+    static String removeLastEmptyJavadocLines(final String content) throws IOException {
         if (!content.contains(EOL)) {
             return content;
         }
@@ -2971,7 +3473,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      * @throws IOException if any
      * @see #getJavadocComment(String, JavaAnnotatedElement, DocletTag)
      */
-    private static String alignIndentationJavadocLines(final String content, final String indent) throws IOException {
+    static String alignIndentationJavadocLines(final String content, final String indent) throws IOException {
         StringBuilder sb = new StringBuilder();
         for (String line : getLines(content)) {
             if (sb.length() > 0) {
@@ -3011,7 +3513,7 @@ public abstract class AbstractFixJavadocMojo extends AbstractMojo {
      * @return an array of all content lines
      * @throws IOException if any
      */
-    private static String[] getLines(final String content) throws IOException {
+    static String[] getLines(final String content) throws IOException {
         List<String> lines = new LinkedList<>();
 
         BufferedReader reader = new BufferedReader(new StringReader(content));
@@ -26,11 +26,11 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.URLClassLoader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
@@ -51,8 +51,16 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -74,6 +82,7 @@ import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.javadoc.ModuleResolutionCache.ResolvedPath;
 import org.apache.maven.plugins.javadoc.options.BootclasspathArtifact;
 import org.apache.maven.plugins.javadoc.options.DocletArtifact;
 import org.apache.maven.plugins.javadoc.options.Group;
@@ -112,8 +121,6 @@ import org.codehaus.plexus.components.io.fileselectors.IncludeExcludeFileSelecto
 import org.codehaus.plexus.languages.java.jpms.JavaModuleDescriptor;
 import org.codehaus.plexus.languages.java.jpms.LocationManager;
 import org.codehaus.plexus.languages.java.jpms.ModuleNameSource;
-import org.codehaus.plexus.languages.java.jpms.ResolvePathRequest;
-import org.codehaus.plexus.languages.java.jpms.ResolvePathResult;
 import org.codehaus.plexus.languages.java.jpms.ResolvePathsRequest;
 import org.codehaus.plexus.languages.java.jpms.ResolvePathsResult;
 import org.codehaus.plexus.languages.java.version.JavaVersion;
@@ -199,6 +206,55 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      */
     protected static final String FILES_FILE_NAME = "files";
 
+    /**
+     * The marker file name in the output directory, recording the extracted <code>resourcesArtifacts</code>.
+     *
+     * @since 3.11.3
+     */
+    protected static final String RESOURCES_ARTIFACTS_MARKER_FILE_NAME = ".resources-artifacts";
+
+    /**
+     * The Java Flight Recorder recording file name of the javadoc process in the profile directory, when
+     * <code>profileJavadoc</code> is on.
+     *
+     * @since 3.11.3
+     */
+    protected static final String PROFILE_RECORDING_FILE_NAME = "javadoc.jfr";
+
+    /**
+     * The summary file name of the recording of the javadoc process in the profile directory, when
+     * <code>profileJavadoc</code> is on.
+     *
+     * @since 3.11.3
+     */
+    protected static final String PROFILE_SUMMARY_FILE_NAME = "javadoc-profile.txt";
+
+    /**
+     * The directory of the profiles of the javadoc processes in the build directory, one sub-directory by output
+     * directory, when <code>profileJavadoc</code> is on.
+     *
+     * @since 3.11.3
+     */
+    protected static final String PROFILE_DIRECTORY_NAME = "javadoc-profile";
+
+    /**
+     * The JVM option recording the javadoc process with the Java Flight Recorder, followed by the recording path.
+     */
+    private static final String PROFILE_OPTION =
+            "-J-XX:StartFlightRecording=dumponexit=true,settings=profile,filename=";
+
+    /**
+     * The number of the slowest packages and classes listed in the timings of the javadoc process, when
+     * <code>verbose</code> is on.
+     */
+    private static final int TIMINGS_REPORT_LIMIT = 20;
+
+    /**
+     * The maximum heap of a javadoc process in megabytes, as weighted by the memory budget, when it is not set and
+     * has not been measured.
+     */
+    private static final long DEFAULT_FORK_MEMORY = 512;
+
     /**
      * Default CSS file name, used as file name in the output directory for the temporary custom stylesheet file
      * loaded from classloader resources.
@@ -272,6 +328,46 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
 
     final LocationManager locationManager = new LocationManager();
 
+    /**
+     * The module resolution cache of the session, loaded on first use.
+     *
+     * @see #getModuleResolutionCache()
+     */
+    private ModuleResolutionCache moduleResolutionCache;
+
+    /**
+     * The cache directory of the dependency sources claimed by the execution, on first use.
+     *
+     * @see #getSourceDependencyCacheDir()
+     */
+    private File claimedSourceDependencyCacheDir;
+
+    /**
+     * The metrics of the execution, created on first use.
+     *
+     * @see #getMetrics()
+     */
+    private JavadocMetrics javadocMetrics;
+
+    /**
+     * The lookup of the stylesheet, help file and additional stylesheets resources, created on first use.
+     *
+     * @see #getResource(File, String)
+     */
+    private ResourceLocator resourceLocator;
+
+    /**
+     * The files of the Javadoc plugin dependencies, resolved on first use.
+     *
+     * @see #getPluginDependenciesPath()
+     */
+    private Optional<List<File>> pluginDependenciesPath;
+
+    /**
+     * The resources already looked up by this execution, by output file and resource name.
+     */
+    private final Map<String, Optional<File>> resolvedResources = new HashMap<>();
+
     // ----------------------------------------------------------------------
     // Mojo parameters
     // ----------------------------------------------------------------------
@@ -714,6 +810,12 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      * The memory unit depends on the JVM used. The units supported could be: <code>k</code>, <code>kb</code>,
      * <code>m</code>, <code>mb</code>, <code>g</code>, <code>gb</code>, <code>t</code>, <code>tb</code>.
      * If no unit specified, the default unit is <code>m</code>.
+     * <br/>
+     * Since 3.11.3, <code>auto</code> sizes the heap from the previous javadoc run, scaled by the number of source
+     * files: twice the live heap logged by the garbage collector with a javadoc tool from Java 9, or the peak
+     * resident set size before, at most the default heap of the JVM. The resources are sampled on Linux only, and
+     * stored next to the <a href="#staleDataPath">stale data</a>. Without a previous run, the default heap of the JVM
+     * is used.
      */
     @Parameter(property = "maxmemory")
     private String maxmemory;
@@ -826,6 +928,12 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
 
     /**
      * Provides more detailed messages while javadoc is running.
+     * <br/>
+     * Since 3.11.3, the verbose output is also parsed into the time of the phases of javadoc, and of the parsing and
+     * generation of each package and class: the slowest ones are listed in
+     * <code>${project.build.directory}/maven-javadoc-plugin-timings/&lt;goal&gt;-&lt;executionId&gt;.txt</code>,
+     * or in <code>&lt;goal&gt;-&lt;executionId&gt;-shard-&lt;n&gt;.txt</code> for each of the <a href="#shards">shards</a>.
+     * The phases and the generated pages are only printed when <code>quiet</code> is off.
      * @see <a href="https://docs.oracle.com/en/java/javase/17/docs/specs/man/javadoc.html#options-for-javadoc">Javadoc option verbose</a>.
      */
     @Parameter(property = "verbose", defaultValue = "false")
@@ -1623,6 +1731,165 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
             defaultValue = "${project.build.directory}/maven-javadoc-plugin-stale-data.txt")
     private File staleDataPath;
 
+    /**
+     * <p>
+     * Location of the file used to store the module names resolved from the jars of the classpath, i.e. from their
+     * <code>module-info.class</code> or <code>Automatic-Module-Name</code>. Each jar is keyed by its path, size and
+     * last modification time, so only new or changed jars are read again by the next build.
+     * </p>
+     *
+     * @since 3.11.3
+     */
+    @Parameter(
+            property = "maven.javadoc.moduleResolutionCachePath",
+            defaultValue = "${project.build.directory}/maven-javadoc-plugin-module-cache.properties")
+    private File moduleResolutionCachePath;
+
+    /**
+     * <p>
+     * Record the wall time, the CPU time and the allocated bytes of the main phases of the execution, e.g. the scan
+     * of the sources, the resolution of the module path, the validation of the links or the javadoc process.
+     * </p>
+     * <p>
+     * The metrics are written as JSON to the <code>maven-javadoc-plugin-metrics</code> directory of the build
+     * directory, one file per goal and execution, and summarized for the reactor in
+     * <code>maven-javadoc-plugin-metrics.json</code> in the build directory of the top level project.
+     * </p>
+     *
+     * @since 3.11.3
+     */
+    @Parameter(property = "maven.javadoc.metrics", defaultValue = "false")
+    private boolean metrics;
+
+    /**
+     * <p>
+     * Profile the javadoc process with the Java Flight Recorder, to find out where the time of a slow javadoc run
+     * goes, e.g. in doclint, in the HTML writing, in the reading of the classpath or in the GC.
+     * </p>
+     * <p>
+     * The recording is kept as <code>javadoc.jfr</code> in <code>${project.build.directory}/javadoc-profile/</code>,
+     * in a directory named after the output directory, e.g. <code>apidocs</code>, so that it is neither archived nor
+     * published with the documentation. It is summarized there in <code>javadoc-profile.txt</code> and in the log: the
+     * hottest methods and packages, the GC pauses and the allocation rate. The recording needs a javadoc tool from
+     * Java 11, and its summary a Maven JVM from Java 11.
+     * </p>
+     *
+     * @since 3.11.3
+     */
+    @Parameter(property = "maven.javadoc.profileJavadoc", defaultValue = "false")
+    private boolean profileJavadoc;
+
+    /**
+     * <p>
+     * Start the javadoc processes from a class data sharing archive of the JVM of the javadoc tool, to cut their
+     * startup, which dominates the javadoc runs of small modules.
+     * </p>
+     * <p>
+     * The archive is dumped by the first javadoc process, and mapped by the next ones, of all the modules and builds
+     * sharing the <a href="#classDataSharingDirectory">classDataSharingDirectory</a>. There is one archive by javadoc
+     * executable, dumped again when its JDK changes. This needs a javadoc tool from Java 13.
+     * </p>
+     *
+     * @since 3.11.3
+     */
+    @Parameter(property = "maven.javadoc.classDataSharing", defaultValue = "false")
+    private boolean classDataSharing;
+
+    /**
+     * The directory of the class data sharing archives of the javadoc tools, when
+     * <a href="#classDataSharing">classDataSharing</a> is on. By default, the
+     * <code>maven-javadoc-plugin-cds</code> directory of the build directory of the top level project, so the
+     * archives are shared by the modules of the reactor, until it is cleaned.
+     *
+     * @since 3.11.3
+     */
+    @Parameter(property = "maven.javadoc.classDataSharingDirectory")
+    private File classDataSharingDirectory;
+
+    /**
+     * <p>
+     * The memory budget of the javadoc processes of the build session, to build the modules of a reactor in parallel
+     * with <code>-T</code> without overcommitting the memory. Either a memory size, with the same syntax as
+     * <a href="#maxmemory">maxmemory</a>, or <code>auto</code> for three quarters of the physical memory. By
+     * default, there is no budget.
+     * </p>
+     * <p>
+     * Each javadoc process waits until its maximum heap fits in the budget: its <code>-J-Xmx</code> option, e.g. from
+     * <a href="#maxmemory">maxmemory</a>, or the peak memory of its previous run, or 512 MB. The waiting modules with
+     * the most downstream modules in the reactor go first, then the ones with the largest heaps. The wait is recorded
+     * as the <code>forkSlot</code> phase of the <a href="#metrics">metrics</a>.
+     * </p>
+     *
+     * @since 3.11.3
+     */
+    @Parameter(property = "maven.javadoc.forkMemoryBudget")
+    private String forkMemoryBudget;
+
+    /**
+     * <p>
+     * Split the packages of a large module in shards of similar source sizes, documented by separate javadoc
+     * processes and merged in the output directory, so the maximum heap needed grows with the size of a shard instead
+     * of the size of the module. By default, or with a value lower than 2, there is a single javadoc process.
+     * </p>
+     * <p>
+     * The shards link to each other with <code>-linkoffline</code> and run concurrently within the
+     * <a href="#forkMemoryBudget">forkMemoryBudget</a>, or three quarters of the physical memory without budget. The
+     * merge combines the overview, the <code>all*-index.html</code> pages, the index and the search indexes, and
+     * appends the content of the other common pages, e.g. the tree or the constant values, of the shards. As each
+     * javadoc process only knows the classes of its shard, the <i>Direct Known Subclasses</i>, <i>All Known
+     * Implementing Classes</i> and <i>All Known Subinterfaces</i> of a class, and its page of <a href="#use">use</a>,
+     * don't list the classes of the other shards. Each shard gets an explicit maximum heap, the
+     * <a href="#maxmemory">maxmemory</a> or the default one of the JVM, and its resources are recorded as the largest
+     * ones of the shards. Each shard has at least two packages, and the sharding needs the standard doclet of Java 16 or later, in the package mode,
+     * without module descriptor, files in the unnamed package, nor <a href="#splitindex">splitindex</a>.
+     * </p>
+     *
+     * @since 3.11.3
+     */
+    @Parameter(property = "maven.javadoc.shards", defaultValue = "1")
+    private int shards;
+
+    /**
+     * <p>
+     * Stitch the aggregated documentation from the documentation already generated for each module, e.g. by the
+     * <code>jar</code> goal earlier in the build, instead of documenting all the sources again in a single javadoc
+     * process. Only evaluated by the aggregate goals.
+     * </p>
+     * <p>
+     * The documentation of a module is found in its output directory, unless a source of the module was modified
+     * since, or else in its attached <code>javadoc</code> (or <code>test-javadoc</code>) archive. The links of the modules to each other, i.e. to
+     * <code>${project.url}/apidocs</code> as <a href="#detectOfflineLinks">detectOfflineLinks</a> does, are made
+     * relative, the pages are merged as the <a href="#shards">shards</a> are, and the overview is rebuilt with the
+     * packages of all the modules and the titles of the aggregate. The other options of the aggregate, e.g. the groups
+     * or the overview file, are not applied. If the documentation of a module is missing, or was not generated by the
+     * standard doclet of Java 16 or later without module descriptor, the aggregate is generated by javadoc as usual.
+     * </p>
+     *
+     * @since 3.11.3
+     */
+    @Parameter(property = "maven.javadoc.stitchModules", defaultValue = "false")
+    private boolean stitchModules;
+
+    /**
+     * Hard link the <code>doc-files</code> resources into the output directory instead of copying them, when the
+     * file system supports it.
+     *
+     * @see #docfilessubdirs
+     * @since 3.11.3
+     */
+    @Parameter(property = "maven.javadoc.hardlinkResources", defaultValue = "false")
+    private boolean hardlinkResources;
+
+    /**
+     * Number of threads used to copy the <code>doc-files</code> resources into the output directory. Only the
+     * resources which are not up to date are copied.
+     *
+     * @see #docfilessubdirs
+     * @since 3.11.3
+     */
+    @Parameter(property = "maven.javadoc.resourcesCopyThreads", defaultValue = "4")
+    private int resourcesCopyThreads;
+
     /**
      * <p>
      * Comma separated list of modules (can be regular expression) in the format ([group:]artifactId) to not add in aggregated javadoc
@@ -1636,7 +1903,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
     /**
      * List built once from the parameter {@link #skippedModules}
      */
-    private List<Pattern> patternsToSkip;
+    private volatile List<Pattern> patternsToSkip;
 
     /**
      * Timestamp for reproducible output archive entries, either formatted as ISO 8601
@@ -1847,7 +2114,11 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
         verifyRemovedParameter("proxyPort");
         verifyReplacedParameter("additionalparam", "additionalOptions");
 
-        doExecute();
+        try {
+            doExecute();
+        } finally {
+            writeMetrics();
+        }
     }
 
     protected abstract void doExecute() throws MojoExecutionException, MojoFailureException;
@@ -1892,12 +2163,26 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
             throw new MavenReportException("Failed to generate javadoc options file: " + e.getMessage(), e);
         }
 
-        Collection<JavadocModule> sourcePaths = getSourcePaths();
+        if (stitchModules && isAggregator()) {
+            try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.STITCH_MODULES)) {
+                if (stitchModuleOutputs()) {
+                    return;
+                }
+            }
+        }
+
+        Collection<JavadocModule> sourcePaths;
+        try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.GET_SOURCE_PATHS)) {
+            sourcePaths = getSourcePaths();
+        }
 
         Collection<Path> collectedSourcePaths =
                 sourcePaths.stream().flatMap(e -> e.getSourcePaths().stream()).collect(Collectors.toList());
 
-        Map<Path, Collection<String>> files = getFiles(collectedSourcePaths);
+        Map<Path, Collection<String>> files;
+        try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.GET_FILES)) {
+            files = getFiles(collectedSourcePaths);
+        }
         if (!canGenerateReport(files)) {
             return;
         }
@@ -1907,12 +2192,14 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
         // ----------------------------------------------------------------------
 
         String jExecutable;
-        try {
-            jExecutable = getJavadocExecutable();
-        } catch (IOException e) {
-            throw new MavenReportException("Unable to find javadoc command: " + e.getMessage(), e);
+        try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.JAVADOC_EXECUTABLE)) {
+            try {
+                jExecutable = getJavadocExecutable();
+            } catch (IOException e) {
+                throw new MavenReportException("Unable to find javadoc command: " + e.getMessage(), e);
+            }
+            setFJavadocVersion(new File(jExecutable));
         }
-        setFJavadocVersion(new File(jExecutable));
 
         Collection<String> packageNames;
         if (javadocRuntimeVersion.isAtLeast("9")) {
@@ -1934,12 +2221,6 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
         }
         javadocOutputDirectory.mkdirs();
 
-        // ----------------------------------------------------------------------
-        // Copy all resources
-        // ----------------------------------------------------------------------
-
-        copyAllResources(javadocOutputDirectory);
-
         // ----------------------------------------------------------------------
         // Create command line for Javadoc
         // ----------------------------------------------------------------------
@@ -1950,112 +2231,184 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
         cmd.setExecutable(jExecutable);
 
         // ----------------------------------------------------------------------
-        // Wrap Javadoc JVM args
+        // Copy all resources and collect the links while the paths are resolved
         // ----------------------------------------------------------------------
 
-        addMemoryArg(cmd, "-Xmx", this.maxmemory);
-        addMemoryArg(cmd, "-Xms", this.minmemory);
-        addProxyArg(cmd);
+        boolean standardDocletOptions = (doclet == null || doclet.isEmpty()) || useStandardDocletOptions;
+        ExecutorService preparation = newPreparationExecutor();
+        try {
+            Future<Void> resources = preparation.submit(() -> {
+                try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.COPY_ALL_RESOURCES)) {
+                    copyAllResources(javadocOutputDirectory);
+                }
+                return null;
+            });
+            Future<Set<OfflineLink>> offlineLinks = null;
+            Future<Set<String>> links = null;
+            if (standardDocletOptions) {
+                offlineLinks = preparation.submit(() -> {
+                    try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.LINKS)) {
+                        return getOfflineLinks();
+                    }
+                });
+                links = preparation.submit(() -> {
+                    try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.LINKS)) {
+                        return collectLinks();
+                    }
+                });
+            }
 
-        if (forceRootLocale) {
-            cmd.createArg().setValue("-J-Duser.language=");
-            cmd.createArg().setValue("-J-Duser.country=");
-        }
+            // ----------------------------------------------------------------------
+            // Wrap Javadoc JVM args
+            // ----------------------------------------------------------------------
 
-        if (additionalJOption != null && !additionalJOption.isEmpty()) {
-            cmd.createArg().setValue(additionalJOption);
-        }
+            int sourceFileCount =
+                    files.values().stream().mapToInt(Collection::size).sum();
+            addMemoryArg(cmd, "-Xmx", getMaxMemory(sourceFileCount));
+            addGcLogArg(cmd, staleDataPath == null ? null : new File(getProcessResourcesPath() + ".gc.log"));
+            addMemoryArg(cmd, "-Xms", this.minmemory);
+            addProxyArg(cmd);
 
-        if (additionalJOptions != null && additionalJOptions.length != 0) {
-            for (String jo : additionalJOptions) {
-                cmd.createArg().setValue(jo);
+            if (forceRootLocale) {
+                cmd.createArg().setValue("-J-Duser.language=");
+                cmd.createArg().setValue("-J-Duser.country=");
             }
-        }
 
-        // ----------------------------------------------------------------------
-        // Wrap Standard doclet Options
-        // ----------------------------------------------------------------------
-        List<String> standardDocletArguments = new ArrayList<>();
+            if (additionalJOption != null && !additionalJOption.isEmpty()) {
+                cmd.createArg().setValue(additionalJOption);
+            }
 
-        Set<OfflineLink> offlineLinks;
-        if ((doclet == null || doclet.isEmpty()) || useStandardDocletOptions) {
-            offlineLinks = getOfflineLinks();
-            addStandardDocletOptions(javadocOutputDirectory, standardDocletArguments, offlineLinks);
-        } else {
-            offlineLinks = Collections.emptySet();
-        }
+            if (additionalJOptions != null && additionalJOptions.length != 0) {
+                for (String jo : additionalJOptions) {
+                    cmd.createArg().setValue(jo);
+                }
+            }
 
-        // ----------------------------------------------------------------------
-        // Wrap Javadoc options
-        // ----------------------------------------------------------------------
-        List<String> javadocArguments = new ArrayList<>();
+            if (profileJavadoc) {
+                if (javadocRuntimeVersion.isAtLeast("11")) {
+                    addProfileArg(
+                            cmd,
+                            javadocOutputDirectory,
+                            new File(getProfileDirectory(javadocOutputDirectory), PROFILE_RECORDING_FILE_NAME));
+                } else {
+                    getLog().warn("Profiling javadoc needs a javadoc tool from Java 11, ignoring profileJavadoc.");
+                }
+            }
 
-        if (JavaVersion.JAVA_VERSION.isAtLeast("23") && !disableNoFonts) {
-            javadocArguments.add("--no-fonts");
-        }
+            JavadocClassDataArchive classDataArchive = classDataSharing ? getClassDataArchive(jExecutable) : null;
+            if (classDataArchive != null) {
+                for (String option : classDataArchive.getJavadocOptions()) {
+                    cmd.createArg().setValue(option);
+                }
+            }
 
-        addJavadocOptions(javadocOutputDirectory, javadocArguments, sourcePaths, offlineLinks);
+            // ----------------------------------------------------------------------
+            // Wrap Javadoc options
+            // ----------------------------------------------------------------------
+            List<String> javadocArguments = new ArrayList<>();
 
-        // ----------------------------------------------------------------------
-        // Write options file and include it in the command line
-        // ----------------------------------------------------------------------
+            if (JavaVersion.JAVA_VERSION.isAtLeast("23") && !disableNoFonts) {
+                javadocArguments.add("--no-fonts");
+            }
 
-        List<String> arguments = new ArrayList<>(javadocArguments.size() + standardDocletArguments.size());
-        arguments.addAll(javadocArguments);
-        arguments.addAll(standardDocletArguments);
+            try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.ADD_JAVADOC_OPTIONS)) {
+                addJavadocOptions(javadocOutputDirectory, javadocArguments, sourcePaths);
+            }
 
-        if (arguments.size() > 0) {
-            addCommandLineOptions(cmd, arguments, javadocOutputDirectory);
-        }
+            // the module resolution cache is stored while javadoc runs
+            Future<?> moduleResolutionCacheStore = preparation.submit(this::storeModuleResolutionCache);
 
-        // ----------------------------------------------------------------------
-        // Write packages file and include it in the command line
-        // ----------------------------------------------------------------------
+            // ----------------------------------------------------------------------
+            // Wrap Standard doclet Options, once the resources are copied as the stylesheet and help files may
+            // override them
+            // ----------------------------------------------------------------------
+            List<String> standardDocletArguments = new ArrayList<>();
 
-        // MJAVADOC-365 if includes/excludes are specified, these take precedence over the default
-        // package-based mode and force javadoc into file-based mode unless subpackages are
-        // specified. Subpackages take precedence over file-based include/excludes. Why? Because
-        // getFiles(...) returns an empty list when subpackages are specified.
-        boolean includesExcludesActive = (sourceFileIncludes != null && !sourceFileIncludes.isEmpty())
-                || (sourceFileExcludes != null && !sourceFileExcludes.isEmpty());
-        if (includesExcludesActive && !(subpackages == null || subpackages.isEmpty())) {
-            getLog().warn("sourceFileIncludes and sourceFileExcludes have no effect when subpackages are specified!");
-            includesExcludesActive = false;
-        }
-        if (!packageNames.isEmpty() && !includesExcludesActive && !legacyMode) {
-            addCommandLinePackages(cmd, javadocOutputDirectory, packageNames);
+            awaitTask(resources);
+            if (standardDocletOptions) {
+                addStandardDocletOptions(
+                        javadocOutputDirectory, standardDocletArguments, awaitTask(offlineLinks), awaitTask(links));
+            }
 
             // ----------------------------------------------------------------------
-            // Write argfile file and include it in the command line
+            // Write options file and include it in the command line
             // ----------------------------------------------------------------------
 
-            List<String> specialFiles = getSpecialFiles(files);
+            List<String> arguments = new ArrayList<>(javadocArguments.size() + standardDocletArguments.size());
+            arguments.addAll(javadocArguments);
+            arguments.addAll(standardDocletArguments);
 
-            if (!specialFiles.isEmpty()) {
-                addCommandLineArgFile(cmd, javadocOutputDirectory, specialFiles);
+            if (arguments.size() > 0) {
+                addCommandLineOptions(cmd, arguments, new File(javadocOutputDirectory, OPTIONS_FILE_NAME));
             }
-        } else {
+
             // ----------------------------------------------------------------------
-            // Write argfile file and include it in the command line
+            // Write packages file and include it in the command line
             // ----------------------------------------------------------------------
 
-            List<String> allFiles = new ArrayList<>();
-            for (Map.Entry<Path, Collection<String>> filesEntry : files.entrySet()) {
-                for (String file : filesEntry.getValue()) {
-                    allFiles.add(filesEntry.getKey().resolve(file).toString());
+            // MJAVADOC-365 if includes/excludes are specified, these take precedence over the default
+            // package-based mode and force javadoc into file-based mode unless subpackages are
+            // specified. Subpackages take precedence over file-based include/excludes. Why? Because
+            // getFiles(...) returns an empty list when subpackages are specified.
+            boolean includesExcludesActive = (sourceFileIncludes != null && !sourceFileIncludes.isEmpty())
+                    || (sourceFileExcludes != null && !sourceFileExcludes.isEmpty());
+            if (includesExcludesActive && !(subpackages == null || subpackages.isEmpty())) {
+                getLog().warn(
+                                "sourceFileIncludes and sourceFileExcludes have no effect when subpackages are specified!");
+                includesExcludesActive = false;
+            }
+            List<List<String>> packageShards = Collections.emptyList();
+            if (!packageNames.isEmpty() && !includesExcludesActive && !legacyMode) {
+                addCommandLinePackages(cmd, javadocOutputDirectory, packageNames);
+
+                // ----------------------------------------------------------------------
+                // Write argfile file and include it in the command line
+                // ----------------------------------------------------------------------
+
+                List<String> specialFiles = getSpecialFiles(files);
+
+                if (!specialFiles.isEmpty()) {
+                    addCommandLineArgFile(cmd, javadocOutputDirectory, specialFiles);
+                } else if (standardDocletOptions) {
+                    packageShards = getPackageShards(packageNames, files, arguments);
+                }
+            } else {
+                // ----------------------------------------------------------------------
+                // Write argfile file and include it in the command line
+                // ----------------------------------------------------------------------
+
+                List<String> allFiles = new ArrayList<>();
+                for (Map.Entry<Path, Collection<String>> filesEntry : files.entrySet()) {
+                    for (String file : filesEntry.getValue()) {
+                        allFiles.add(filesEntry.getKey().resolve(file).toString());
+                    }
                 }
-            }
 
-            if (!files.isEmpty()) {
-                addCommandLineArgFile(cmd, javadocOutputDirectory, allFiles);
+                if (!files.isEmpty()) {
+                    addCommandLineArgFile(cmd, javadocOutputDirectory, allFiles);
+                }
             }
-        }
 
-        // ----------------------------------------------------------------------
-        // Execute command line
-        // ----------------------------------------------------------------------
+            // ----------------------------------------------------------------------
+            // Execute command line
+            // ----------------------------------------------------------------------
 
-        executeJavadocCommandLine(cmd, javadocOutputDirectory);
+            try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.JAVADOC_PROCESS)) {
+                if (packageShards.size() > 1) {
+                    executeShardedJavadocCommandLine(
+                            cmd, jExecutable, javadocOutputDirectory, arguments, packageShards, files);
+                } else {
+                    executeJavadocCommandLine(cmd, javadocOutputDirectory, sourceFileCount, files.keySet());
+                }
+            } finally {
+                if (classDataArchive != null) {
+                    completeClassDataArchive(classDataArchive);
+                }
+                awaitTask(moduleResolutionCacheStore);
+            }
+        } finally {
+            preparation.shutdownNow();
+        }
 
         // delete generated javadoc files only if no error and no debug mode
         // [MJAVADOC-336] Use File.delete() instead of File.deleteOnExit() to
@@ -2200,7 +2553,9 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
             }
 
             if (includeDependencySources) {
-                mappedSourcePaths.addAll(getDependencySourcePaths());
+                try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.DEPENDENCY_SOURCES)) {
+                    mappedSourcePaths.addAll(getDependencySourcePaths());
+                }
             }
         } else {
             Collection<Path> sourcePaths =
@@ -2224,7 +2579,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
 
     private JavadocModule buildJavadocModule(MavenProject project, Collection<Path> sourcePaths) {
         File classessFile = getClassesFile(project);
-        ResolvePathResult resolvePathResult = getResolvePathResult(classessFile);
+        ResolvedPath resolvePathResult = getResolvePathResult(classessFile);
         if (resolvePathResult == null) {
             return new JavadocModule(
                     ArtifactUtils.key(project.getGroupId(), project.getArtifactId(), project.getVersion()),
@@ -2292,14 +2647,15 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      * @throws MavenReportException {@link MavenReportException}
      */
     protected final Collection<JavadocModule> getDependencySourcePaths() throws MavenReportException {
+        File cacheDir = getSourceDependencyCacheDir();
         try {
-            if (sourceDependencyCacheDir.exists()) {
-                FileUtils.forceDelete(sourceDependencyCacheDir);
-                sourceDependencyCacheDir.mkdirs();
+            if (cacheDir.exists()) {
+                FileUtils.forceDelete(cacheDir);
+                cacheDir.mkdirs();
             }
         } catch (IOException e) {
             throw new MavenReportException(
-                    "Failed to delete cache directory: " + sourceDependencyCacheDir + "\nReason: " + e.getMessage(), e);
+                    "Failed to delete cache directory: " + cacheDir + "\nReason: " + e.getMessage(), e);
         }
 
         final SourceResolverConfig config = getDependencySourceResolverConfig();
@@ -2354,12 +2710,35 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
             }
         }
 
-        return configureDependencySourceResolution(
-                        new SourceResolverConfig(project, getProjectBuildingRequest(project), sourceDependencyCacheDir)
-                                .withReactorProjects(this.reactorProjects))
+        return configureDependencySourceResolution(new SourceResolverConfig(
+                                project, getProjectBuildingRequest(project), getSourceDependencyCacheDir())
+                        .withReactorProjects(this.reactorProjects))
                 .withFilter(new AndFilter(andFilters));
     }
 
+    /**
+     * @return the cache directory of the dependency sources of this execution, which is the configured one unless it
+     *         is shared with another execution of the session, e.g. a module built in parallel
+     */
+    private File getSourceDependencyCacheDir() {
+        if (claimedSourceDependencyCacheDir == null) {
+            String goal =
+                    mojoExecution != null ? mojoExecution.getGoal() : getClass().getSimpleName();
+            String executionId = mojoExecution != null ? mojoExecution.getExecutionId() : "default";
+            claimedSourceDependencyCacheDir = ScratchDirectories.getInstance(repoSession)
+                    .claim(
+                            sourceDependencyCacheDir,
+                            ArtifactUtils.key(project.getGroupId(), project.getArtifactId(), project.getVersion()) + ":"
+                                    + goal + ":" + executionId,
+                            project.getArtifactId() + "-" + goal);
+            if (!claimedSourceDependencyCacheDir.equals(sourceDependencyCacheDir.getAbsoluteFile())) {
+                getLog().debug("The directory " + sourceDependencyCacheDir + " is used by another execution, using "
+                        + claimedSourceDependencyCacheDir);
+            }
+        }
+        return claimedSourceDependencyCacheDir;
+    }
+
     private ProjectBuildingRequest getProjectBuildingRequest(MavenProject currentProject) {
         return new DefaultProjectBuildingRequest(session.getProjectBuildingRequest())
                 .setRemoteRepositories(currentProject.getRemoteArtifactRepositories());
@@ -2397,7 +2776,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
     private String getExcludedPackages(Collection<Path> sourcePaths) throws MavenReportException {
         List<String> excludedNames = null;
 
-        if ((sourcepath != null && !sourcepath.isEmpty()) && (subpackages != null && !subpackages.isEmpty())) {
+        if (subpackages != null && !subpackages.isEmpty()) {
             Collection<String> excludedPackages = getExcludedPackages();
 
             excludedNames = JavadocUtil.getExcludedPackages(sourcePaths, excludedPackages);
@@ -2421,13 +2800,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      * @see File#pathSeparator
      */
     private String getSourcePath(Collection<Path> sourcePaths) {
-        String sourcePath = null;
-
-        if ((subpackages == null || subpackages.isEmpty()) || (sourcepath != null && !sourcepath.isEmpty())) {
-            sourcePath = StringUtils.join(sourcePaths.iterator(), File.pathSeparator);
-        }
-
-        return sourcePath;
+        return StringUtils.join(sourcePaths.iterator(), File.pathSeparator);
     }
 
     /**
@@ -2507,7 +2880,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
             classpathElements.addAll(getProjectBuildOutputDirs(project));
         }
 
-        populateCompileArtifactMap(compileArtifactMap, project.getArtifacts());
+        populateCompileArtifactMap(compileArtifactMap, getProjectArtifacts());
 
         if (isAggregator()) {
             Collection<MavenProject> aggregatorProjects = getAggregatedProjects();
@@ -2584,6 +2957,27 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
         return classpathElements;
     }
 
+    /**
+     * @return the resolved artifacts of the project: all of them for the test sources, only the compile, provided and
+     *         system ones for the main sources, even if the goal has resolved the test scope
+     */
+    private Collection<Artifact> getProjectArtifacts() {
+        if (isTest()) {
+            return project.getArtifacts();
+        }
+
+        List<Artifact> artifacts = new ArrayList<>();
+        for (Artifact artifact : project.getArtifacts()) {
+            if (artifact.getScope() == null
+                    || Artifact.SCOPE_COMPILE.equals(artifact.getScope())
+                    || Artifact.SCOPE_PROVIDED.equals(artifact.getScope())
+                    || Artifact.SCOPE_SYSTEM.equals(artifact.getScope())) {
+                artifacts.add(artifact);
+            }
+        }
+        return artifacts;
+    }
+
     protected ScopeDependencyFilter getDependencyScopeFilter() {
         return new ScopeDependencyFilter(
                 Arrays.asList(Artifact.SCOPE_COMPILE, Artifact.SCOPE_PROVIDED, Artifact.SCOPE_SYSTEM), null);
@@ -2723,7 +3117,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      *
      * @param javadocOutputDirectory the output directory
      * @return the stylesheet file absolute path as String.
-     * @see #getResource(List, String)
+     * @see #getResource(File, String)
      */
     private Optional<File> getStylesheetFile(final File javadocOutputDirectory) {
         if (stylesheetfile == null || stylesheetfile.isEmpty()) {
@@ -3317,34 +3711,377 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
     }
 
     /**
-     * Method that adds/sets the javadoc proxy parameters in the command line execution.
-     *
-     * @param cmd the command line execution object where the argument will be added
+     * @param sourceFileCount the number of source files of this run
+     * @return the maximum heap of the javadoc process, i.e. {@link #maxmemory} or its estimation in the
+     *         <code>auto</code> mode, could be null
+     * @see JavadocProcessResources#estimateMaxMemory(int, long)
      */
-    private void addProxyArg(Commandline cmd) {
-        if (settings == null || settings.getProxies().isEmpty()) {
-            return;
+    private String getMaxMemory(int sourceFileCount) {
+        if (!"auto".equalsIgnoreCase(maxmemory)) {
+            return maxmemory;
         }
 
-        Map<String, Proxy> activeProxies = new HashMap<>();
+        JavadocProcessResources previous = staleDataPath == null
+                ? null
+                : JavadocProcessResources.load(getProcessResourcesPath(), getProcessResourcesKey());
+        if (previous == null) {
+            getLog().info("No peak memory recorded for the previous javadoc run, using the default maximum heap.");
+            return null;
+        }
 
-        for (Proxy proxy : settings.getProxies()) {
-            if (proxy.isActive()) {
-                String protocol = proxy.getProtocol();
+        String estimated = previous.estimateMaxMemory(sourceFileCount, JavadocProcessResources.getDefaultMaxHeap());
+        getLog().info("Using a maximum heap of " + estimated + " for javadoc, from the previous "
+                + (previous.getLiveHeapBytes() >= 0
+                        ? "live heap of " + previous.getLiveHeapBytes() / (1024 * 1024)
+                        : "peak RSS of " + previous.getPeakRssBytes() / (1024 * 1024))
+                + " MB for " + previous.getSourceFiles() + " source files.");
+        return estimated;
+    }
 
-                if (!activeProxies.containsKey(protocol)) {
-                    activeProxies.put(protocol, proxy);
-                }
-            }
+    /**
+     * In the <code>auto</code> memory mode, log the garbage collections of the javadoc process, for the estimation
+     * of the maximum heap of the next run from the live heap of this one.
+     *
+     * @param cmd   the command line execution object where the argument will be added
+     * @param gcLog the file logging the garbage collections, outside of the javadoc output directory, could be null
+     * @see JavadocProcessResources#getLiveHeapBytes()
+     */
+    private void addGcLogArg(Commandline cmd, File gcLog) {
+        if (gcLog == null
+                || !"auto".equalsIgnoreCase(maxmemory)
+                || staleDataPath == null
+                || !javadocRuntimeVersion.isAtLeast("9")) {
+            return;
         }
 
-        if (activeProxies.containsKey("https")) {
-            Proxy httpsProxy = activeProxies.get("https");
-            if (StringUtils.isNotEmpty(httpsProxy.getHost())) {
-                cmd.createArg().setValue("-J-Dhttps.proxyHost=" + httpsProxy.getHost());
-                cmd.createArg().setValue("-J-Dhttps.proxyPort=" + httpsProxy.getPort());
-
-                if (StringUtils.isNotEmpty(httpsProxy.getNonProxyHosts())
+        String option = JavadocProcessResources.getGcLogOption(gcLog.toPath());
+        if (option == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(gcLog.getAbsoluteFile().getParentFile().toPath());
+            // the log of a previous run would be appended to
+            Files.deleteIfExists(gcLog.toPath());
+            cmd.createArg().setValue("-J" + option);
+        } catch (IOException e) {
+            getLog().debug("Unable to log the garbage collections of javadoc: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Log the resources used by the javadoc process and store them next to the stale data, for the
+     * <code>auto</code> memory mode of the next run.
+     *
+     * @param resources the resources of the javadoc process, could be null if they could not be sampled
+     */
+    private void storeProcessResources(JavadocProcessResources resources) {
+        if (resources == null) {
+            return;
+        }
+
+        getLog().debug("Javadoc process peak RSS: " + resources.getPeakRssBytes() / (1024 * 1024) + " MB, CPU time: "
+                + resources.getCpuMillis() + " ms");
+        if (staleDataPath == null) {
+            return;
+        }
+
+        try {
+            resources.store(getProcessResourcesPath(), getProcessResourcesKey());
+        } catch (IOException e) {
+            getLog().warn("Unable to store the resources of the javadoc process: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param javadocOutputDirectory the output directory of the javadoc process, not null
+     * @return the directory of the profile of the javadoc process, outside of its output directory
+     * @see #PROFILE_DIRECTORY_NAME
+     */
+    private File getProfileDirectory(File javadocOutputDirectory) {
+        return new File(
+                new File(project.getBuild().getDirectory(), PROFILE_DIRECTORY_NAME), javadocOutputDirectory.getName());
+    }
+
+    /**
+     * Record the javadoc process with the Java Flight Recorder.
+     *
+     * @param cmd              the command line execution object where the argument will be added
+     * @param workingDirectory the working directory of the javadoc process, not null
+     * @param recording        the recording file, not null
+     * @see #profileJavadoc
+     */
+    private void addProfileArg(Commandline cmd, File workingDirectory, File recording) {
+        String path;
+        try {
+            Files.createDirectories(recording.getAbsoluteFile().getParentFile().toPath());
+            // the recording of a previous run would be summarized if this one fails
+            Files.deleteIfExists(recording.toPath());
+            // relative to the working directory, as the JVM options are not quoted
+            path = workingDirectory
+                    .getAbsoluteFile()
+                    .toPath()
+                    .relativize(recording.getAbsoluteFile().toPath())
+                    .toString();
+        } catch (IOException | IllegalArgumentException e) {
+            getLog().warn("Unable to record the javadoc process in " + recording + ": " + e.getMessage());
+            return;
+        }
+        if (path.matches(".*\\s.*")) {
+            getLog().warn("Profiling javadoc needs a recording path without whitespace, ignoring profileJavadoc: "
+                    + path);
+            return;
+        }
+        cmd.createArg().setValue(PROFILE_OPTION + path);
+    }
+
+    /**
+     * Summarize the recording of the javadoc process in the log and in {@link #PROFILE_SUMMARY_FILE_NAME}, next to
+     * the recording.
+     *
+     * @param cmd the command line of the javadoc process, not null
+     * @see #profileJavadoc
+     */
+    private void summarizeProfile(Commandline cmd) {
+        Path recording = null;
+        for (String arg : cmd.getArguments()) {
+            if (arg.startsWith(PROFILE_OPTION)) {
+                recording = new File(cmd.getWorkingDirectory(), arg.substring(PROFILE_OPTION.length()))
+                        .toPath()
+                        .normalize();
+            }
+        }
+        if (recording == null || !Files.isRegularFile(recording)) {
+            return;
+        }
+
+        try {
+            List<String> summary = JavadocEvents.getInstance().summarizeRecording(recording);
+            if (summary == null) {
+                getLog().info("The javadoc process has been recorded in " + recording
+                        + ", which can only be summarized by a Maven JVM from Java 11.");
+                return;
+            }
+
+            Files.write(recording.resolveSibling(PROFILE_SUMMARY_FILE_NAME), summary, StandardCharsets.UTF_8);
+            getLog().info("Profile of the javadoc process, recorded in " + recording + ":");
+            for (String line : summary) {
+                getLog().info(line);
+            }
+        } catch (IOException | RuntimeException e) {
+            getLog().warn("Unable to summarize the recording of the javadoc process " + recording + ": "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Write the timings of the javadoc process, parsed from its verbose output, and log its phases.
+     *
+     * @param timings the timings, not null
+     * @param suffix  the suffix of the report file, e.g. the shard, as the shards run concurrently, not null
+     * @see #verbose
+     */
+    private void writeTimings(JavadocTimings timings, String suffix) {
+        timings.finish();
+
+        StringBuilder phases = new StringBuilder("Javadoc timings:");
+        for (Map.Entry<String, Long> entry : timings.getPhaseMillis().entrySet()) {
+            phases.append(' ')
+                    .append(entry.getKey())
+                    .append(' ')
+                    .append(entry.getValue())
+                    .append(" ms,");
+        }
+        phases.setLength(phases.length() - 1);
+
+        if (project == null || project.getBuild() == null || project.getBuild().getDirectory() == null) {
+            getLog().info(phases);
+            return;
+        }
+
+        String fileName = mojoExecution == null
+                ? "javadoc" + suffix + ".txt"
+                : mojoExecution.getGoal() + "-" + mojoExecution.getExecutionId() + suffix + ".txt";
+        Path file = Paths.get(project.getBuild().getDirectory(), "maven-javadoc-plugin-timings", fileName);
+        try {
+            timings.write(file, TIMINGS_REPORT_LIMIT);
+            getLog().info(phases + "; the slowest packages and classes are listed in " + file);
+        } catch (IOException e) {
+            getLog().info(phases);
+            getLog().warn("Unable to write the javadoc timings: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Acquire the slot of the javadoc process in the memory budget of the build session, waiting for it if needed.
+     *
+     * @param cmd the javadoc command line, not null
+     * @return the slot to release once the javadoc process has ended, or null if there is no budget
+     * @throws MavenReportException if interrupted while waiting
+     * @see #forkMemoryBudget
+     */
+    private JavadocForkScheduler.Slot acquireForkSlot(Commandline cmd) throws MavenReportException {
+        if (forkMemoryBudget == null || forkMemoryBudget.isEmpty()) {
+            return null;
+        }
+
+        long budget;
+        try {
+            budget = JavadocForkScheduler.parseBudget(forkMemoryBudget);
+        } catch (IllegalArgumentException e) {
+            getLog().warn("Malformed forkMemoryBudget '" + forkMemoryBudget + "', ignoring it.");
+            return null;
+        }
+        if (budget < 0) {
+            getLog().warn("The physical memory is unknown, ignoring forkMemoryBudget=auto.");
+            return null;
+        }
+
+        JavadocForkScheduler scheduler = JavadocForkScheduler.getInstance(repoSession, budget);
+        long heap = getForkMemory(cmd);
+        try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.FORK_SLOT)) {
+            long start = System.nanoTime();
+            JavadocForkScheduler.Slot slot = scheduler.acquire(heap, getDownstreamProjectCount());
+            long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            String message = "Waited " + waited + " ms for " + slot.getMegabytes()
+                    + " MB of the javadoc memory budget of " + scheduler.getBudgetMegabytes() + " MB.";
+            if (waited >= 1000) {
+                getLog().info(message);
+            } else {
+                getLog().debug(message);
+            }
+            return slot;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MavenReportException("Interrupted while waiting for the javadoc memory budget", e);
+        }
+    }
+
+    /**
+     * @param cmd the javadoc command line, not null
+     * @return the maximum heap of the javadoc process in megabytes, as weighted by the memory budget
+     */
+    private long getForkMemory(Commandline cmd) {
+        String heap = null;
+        for (String arg : cmd.getArguments()) {
+            // the last one wins, as for the JVM
+            if (arg.startsWith("-J-Xmx")) {
+                heap = arg.substring("-J-Xmx".length());
+            }
+        }
+        if (heap != null) {
+            try {
+                return JavadocForkScheduler.toMegabytes(JavadocUtil.parseJavadocMemory(heap));
+            } catch (IllegalArgumentException e) {
+                // not ours to validate
+            }
+        }
+
+        JavadocProcessResources previous = staleDataPath == null
+                ? null
+                : JavadocProcessResources.load(getProcessResourcesPath(), getProcessResourcesKey());
+        if (previous != null) {
+            return (previous.getPeakRssBytes() + 1024 * 1024 - 1) / (1024 * 1024);
+        }
+        return DEFAULT_FORK_MEMORY;
+    }
+
+    /**
+     * @return the number of the modules of the reactor depending on this project, directly or not
+     */
+    private int getDownstreamProjectCount() {
+        if (session == null || session.getProjectDependencyGraph() == null) {
+            return 0;
+        }
+        return session.getProjectDependencyGraph()
+                .getDownstreamProjects(project, true)
+                .size();
+    }
+
+    /**
+     * Get the class data sharing archive of the javadoc tool.
+     *
+     * @param javadocExecutable the javadoc executable, not null
+     * @return the archive, or null if it is not supported
+     * @see #classDataSharing
+     */
+    private JavadocClassDataArchive getClassDataArchive(String javadocExecutable) {
+        if (!javadocRuntimeVersion.isAtLeast("13")) {
+            getLog().warn("Class data sharing needs a javadoc tool from Java 13, ignoring classDataSharing.");
+            return null;
+        }
+
+        File directory = classDataSharingDirectory;
+        if (directory == null) {
+            MavenProject topLevelProject =
+                    session != null && session.getTopLevelProject() != null ? session.getTopLevelProject() : project;
+            directory = new File(topLevelProject.getBuild().getDirectory(), "maven-javadoc-plugin-cds");
+        }
+        if (directory.getAbsolutePath().matches(".*\\s.*")) {
+            // the JVM options are not quoted
+            getLog().warn("Class data sharing needs a directory without whitespace, ignoring classDataSharing: "
+                    + directory);
+            return null;
+        }
+
+        try {
+            JavadocClassDataArchive archive = JavadocClassDataArchive.get(
+                    directory.getAbsoluteFile().toPath(),
+                    new File(javadocExecutable),
+                    javadocRuntimeVersion.toString());
+            getLog().debug((archive.isDumping() ? "Dumping" : "Using") + " the class data sharing archive "
+                    + archive.getArchive());
+            return archive;
+        } catch (IOException e) {
+            getLog().warn("Unable to get the class data sharing archive of javadoc: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void completeClassDataArchive(JavadocClassDataArchive archive) {
+        try {
+            archive.complete();
+        } catch (IOException e) {
+            getLog().warn("Unable to store the class data sharing archive of javadoc: " + e.getMessage());
+        }
+    }
+
+    private Path getProcessResourcesPath() {
+        return new File(staleDataPath.getPath() + ".resources").toPath();
+    }
+
+    private String getProcessResourcesKey() {
+        return mojoExecution == null ? "javadoc" : mojoExecution.getGoal();
+    }
+
+    /**
+     * Method that adds/sets the javadoc proxy parameters in the command line execution.
+     *
+     * @param cmd the command line execution object where the argument will be added
+     */
+    private void addProxyArg(Commandline cmd) {
+        if (settings == null || settings.getProxies().isEmpty()) {
+            return;
+        }
+
+        Map<String, Proxy> activeProxies = new HashMap<>();
+
+        for (Proxy proxy : settings.getProxies()) {
+            if (proxy.isActive()) {
+                String protocol = proxy.getProtocol();
+
+                if (!activeProxies.containsKey(protocol)) {
+                    activeProxies.put(protocol, proxy);
+                }
+            }
+        }
+
+        if (activeProxies.containsKey("https")) {
+            Proxy httpsProxy = activeProxies.get("https");
+            if (StringUtils.isNotEmpty(httpsProxy.getHost())) {
+                cmd.createArg().setValue("-J-Dhttps.proxyHost=" + httpsProxy.getHost());
+                cmd.createArg().setValue("-J-Dhttps.proxyPort=" + httpsProxy.getPort());
+
+                if (StringUtils.isNotEmpty(httpsProxy.getNonProxyHosts())
                         && (!activeProxies.containsKey("http")
                                 || StringUtils.isEmpty(activeProxies.get("http").getNonProxyHosts()))) {
                     cmd.createArg()
@@ -3783,14 +4520,12 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      * </ul>
      *
      * @param arguments a list of arguments, not null
-     * @throws MavenReportException issue while generating report
+     * @param links the links, as collected by {@link #collectLinks()}, not null
      * @see #detectLinks
      * @see #getDependenciesLinks()
      * @see <a href="https://docs.oracle.com/en/java/javase/17/docs/specs/man/javadoc.html#standard-doclet-options">link option</a>
      */
-    private void addLinkArguments(List<String> arguments) throws MavenReportException {
-        Set<String> links = collectLinks();
-
+    private void addLinkArguments(List<String> arguments, Set<String> links) {
         for (String link : links) {
             if (link == null || link.isEmpty()) {
                 continue;
@@ -3856,34 +4591,44 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
             throw new IOException("The outputDirectory " + anOutputDirectory + " doesn't exists.");
         }
 
-        if (includeDependencySources) {
-            resolveDependencyBundles();
-            if (isNotEmpty(dependencyJavadocBundles)) {
-                for (JavadocBundle bundle : dependencyJavadocBundles) {
-                    File dir = bundle.getResourcesDirectory();
-                    JavadocOptions options = bundle.getOptions();
-                    if (dir != null && dir.isDirectory()) {
-                        JavadocUtil.copyJavadocResources(
-                                anOutputDirectory, dir, options == null ? null : options.getExcludedDocfilesSubdirs());
+        int copied = 0;
+        try (ResourceSynchronizer synchronizer = new ResourceSynchronizer(hardlinkResources, resourcesCopyThreads)) {
+            if (includeDependencySources) {
+                resolveDependencyBundles();
+                if (isNotEmpty(dependencyJavadocBundles)) {
+                    for (JavadocBundle bundle : dependencyJavadocBundles) {
+                        File dir = bundle.getResourcesDirectory();
+                        JavadocOptions options = bundle.getOptions();
+                        if (dir != null && dir.isDirectory()) {
+                            copied += JavadocUtil.copyJavadocResources(
+                                    anOutputDirectory,
+                                    dir,
+                                    options == null ? null : options.getExcludedDocfilesSubdirs(),
+                                    synchronizer);
+                        }
                     }
                 }
             }
-        }
 
-        if (getJavadocDirectory() != null) {
-            JavadocUtil.copyJavadocResources(anOutputDirectory, getJavadocDirectory(), excludedocfilessubdir);
-        }
+            if (getJavadocDirectory() != null) {
+                copied += JavadocUtil.copyJavadocResources(
+                        anOutputDirectory, getJavadocDirectory(), excludedocfilessubdir, synchronizer);
+            }
 
-        if (isAggregator()) {
-            for (MavenProject subProject : getAggregatedProjects()) {
-                if (subProject != project && getJavadocDirectory() != null) {
-                    String javadocDirRelative = PathUtils.toRelative(
-                            project.getBasedir(), getJavadocDirectory().getAbsolutePath());
-                    File javadocDir = new File(subProject.getBasedir(), javadocDirRelative);
-                    JavadocUtil.copyJavadocResources(anOutputDirectory, javadocDir, excludedocfilessubdir);
+            if (isAggregator()) {
+                for (MavenProject subProject : getAggregatedProjects()) {
+                    if (subProject != project && getJavadocDirectory() != null) {
+                        String javadocDirRelative = PathUtils.toRelative(
+                                project.getBasedir(), getJavadocDirectory().getAbsolutePath());
+                        File javadocDir = new File(subProject.getBasedir(), javadocDirRelative);
+                        copied += JavadocUtil.copyJavadocResources(
+                                anOutputDirectory, javadocDir, excludedocfilessubdir, synchronizer);
+                    }
                 }
             }
         }
+
+        getLog().debug("Copied " + copied + " javadoc resources, the others are up to date");
     }
 
     private synchronized void resolveDependencyBundles() throws IOException {
@@ -3906,6 +4651,15 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
     private void copyAdditionalJavadocResources(File anOutputDirectory) throws MavenReportException {
         Set<ResourcesArtifact> resourcesArtifacts = collectResourcesArtifacts();
         if (isEmpty(resourcesArtifacts)) {
+            if (new File(anOutputDirectory, RESOURCES_ARTIFACTS_MARKER_FILE_NAME).exists()) {
+                // remove the entries of the resources artifacts which are no longer configured
+                try {
+                    new ResourcesArtifactsMarker(anOutputDirectory, RESOURCES_ARTIFACTS_MARKER_FILE_NAME).store();
+                } catch (IOException e) {
+                    throw new MavenReportException(
+                            "Unable to check the extracted resources artifacts: " + e.getMessage(), e);
+                }
+            }
             return;
         }
 
@@ -3917,29 +4671,46 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
                     "Unable to extract resources artifact. " + "No archiver for 'jar' available.", e);
         }
 
-        for (ResourcesArtifact item : resourcesArtifacts) {
-            Artifact artifact;
-            try {
-                artifact = createAndResolveArtifact(item);
-            } catch (ArtifactResolutionException e) {
-                throw new MavenReportException("Unable to resolve artifact:" + item, e);
-            }
+        // remove the META-INF directory from resource artifact
+        IncludeExcludeFileSelector[] selectors = new IncludeExcludeFileSelector[] {new IncludeExcludeFileSelector()};
+        selectors[0].setExcludes(new String[] {ResourcesArtifactsMarker.EXCLUDED_ENTRIES + "**"});
 
-            unArchiver.setSourceFile(artifact.getFile());
-            unArchiver.setDestDirectory(anOutputDirectory);
-            // remove the META-INF directory from resource artifact
-            IncludeExcludeFileSelector[] selectors =
-                    new IncludeExcludeFileSelector[] {new IncludeExcludeFileSelector()};
-            selectors[0].setExcludes(new String[] {"META-INF/**"});
-            unArchiver.setFileSelectors(selectors);
+        ResourcesArtifactsMarker marker =
+                new ResourcesArtifactsMarker(anOutputDirectory, RESOURCES_ARTIFACTS_MARKER_FILE_NAME);
+        try {
+            for (ResourcesArtifact item : resourcesArtifacts) {
+                Artifact artifact;
+                try {
+                    artifact = createAndResolveArtifact(item);
+                } catch (ArtifactResolutionException e) {
+                    throw new MavenReportException("Unable to resolve artifact:" + item, e);
+                }
 
-            getLog().debug("Extracting contents of resources artifact: " + artifact.getArtifactId());
-            try {
-                unArchiver.extract();
-            } catch (ArchiverException e) {
-                throw new MavenReportException(
-                        "Extraction of resources failed. Artifact that failed was: " + artifact.getArtifactId(), e);
+                String key = ArtifactUtils.versionlessKey(artifact) + ":"
+                        + StringUtils.defaultString(artifact.getClassifier());
+                if (marker.isUpToDate(key, artifact.getFile())) {
+                    getLog().debug("Resources artifact already extracted: " + artifact.getArtifactId());
+                    continue;
+                }
+
+                unArchiver.setSourceFile(artifact.getFile());
+                unArchiver.setDestDirectory(anOutputDirectory);
+                unArchiver.setFileSelectors(selectors);
+
+                getLog().debug("Extracting contents of resources artifact: " + artifact.getArtifactId());
+                try {
+                    unArchiver.extract();
+                } catch (ArchiverException e) {
+                    throw new MavenReportException(
+                            "Extraction of resources failed. Artifact that failed was: " + artifact.getArtifactId(), e);
+                }
+
+                marker.extracted(key, artifact.getFile());
             }
+
+            marker.store();
+        } catch (IOException e) {
+            throw new MavenReportException("Unable to check the extracted resources artifacts: " + e.getMessage(), e);
         }
     }
 
@@ -3948,35 +4719,11 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      * @return the list of package names for files in the sourcePaths
      */
     private List<String> getPackageNames(Map<Path, Collection<String>> sourcePaths) {
-        List<String> returnList = new ArrayList<>();
-
         if (!(sourcepath == null || sourcepath.isEmpty())) {
-            return returnList;
-        }
-
-        for (Entry<Path, Collection<String>> currentPathEntry : sourcePaths.entrySet()) {
-            for (String currentFile : currentPathEntry.getValue()) {
-                /*
-                 * Remove the miscellaneous files
-                 * https://docs.oracle.com/javase/1.4.2/docs/tooldocs/solaris/javadoc.html#unprocessed
-                 */
-                if (currentFile.contains("doc-files")) {
-                    continue;
-                }
-
-                int lastIndexOfSeparator = currentFile.lastIndexOf("/");
-                if (lastIndexOfSeparator != -1) {
-                    String packagename =
-                            currentFile.substring(0, lastIndexOfSeparator).replace('/', '.');
-
-                    if (!returnList.contains(packagename)) {
-                        returnList.add(packagename);
-                    }
-                }
-            }
+            return new ArrayList<>();
         }
 
-        return returnList;
+        return JavadocUtil.getPackageNames(sourcePaths);
     }
 
     /**
@@ -3997,7 +4744,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
             Collection<Path> artifactSourcePaths = javadocModule.getSourcePaths();
             Set<String> exportedPackages = new HashSet<>();
             boolean exportAllPackages;
-            ResolvePathResult resolvedPath = getResolvePathResult(javadocModule.getArtifactFile());
+            ResolvedPath resolvedPath = getResolvePathResult(javadocModule.getArtifactFile());
             if (resolvedPath != null && resolvedPath.getModuleNameSource() == ModuleNameSource.MODULEDESCRIPTOR) {
                 Set<JavaModuleDescriptor.JavaExports> exports =
                         resolvedPath.getModuleDescriptor().exports();
@@ -4133,18 +4880,16 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      * Generate an <code>options</code> file for all options and arguments and add the <code>@options</code> in the
      * command line.
      *
-     * @param cmd                    not null
-     * @param arguments              not null
-     * @param javadocOutputDirectory not null
+     * @param cmd         not null
+     * @param arguments   not null
+     * @param optionsFile the options file, in the working directory of the command line or relative to it, not null
      * @throws MavenReportException if any
      * @see <a href="https://docs.oracle.com/javase/7/docs/technotes/tools/windows/javadoc.html#argumentfiles">
      *      Reference Guide, Command line argument files</a>
      * @see #OPTIONS_FILE_NAME
      */
-    private void addCommandLineOptions(Commandline cmd, List<String> arguments, File javadocOutputDirectory)
+    private void addCommandLineOptions(Commandline cmd, List<String> arguments, File optionsFile)
             throws MavenReportException {
-        File optionsFile = new File(javadocOutputDirectory, OPTIONS_FILE_NAME);
-
         StringBuilder options = new StringBuilder();
         options.append(StringUtils.join(arguments.iterator(), SystemUtils.LINE_SEPARATOR));
 
@@ -4161,7 +4906,20 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
                     "Unable to write '" + optionsFile.getName() + "' temporary file for command execution", e);
         }
 
-        cmd.createArg().setValue("@" + OPTIONS_FILE_NAME);
+        cmd.createArg().setValue("@" + getArgumentFilePath(cmd, optionsFile));
+    }
+
+    /**
+     * @param cmd  the command line, not null
+     * @param file an argument file, not null
+     * @return the path of the argument file relative to the working directory of the command line
+     */
+    private static String getArgumentFilePath(Commandline cmd, File file) {
+        return cmd.getWorkingDirectory()
+                .getAbsoluteFile()
+                .toPath()
+                .relativize(file.getAbsoluteFile().toPath())
+                .toString();
     }
 
     /**
@@ -4223,8 +4981,19 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      */
     private void addCommandLinePackages(Commandline cmd, File javadocOutputDirectory, Collection<String> packageNames)
             throws MavenReportException {
-        File packagesFile = new File(javadocOutputDirectory, PACKAGES_FILE_NAME);
+        addCommandLinePackages(cmd, packageNames, new File(javadocOutputDirectory, PACKAGES_FILE_NAME));
+    }
 
+    /**
+     * Generate a packages file to hold the package names and add it in the command line.
+     *
+     * @param cmd          not null
+     * @param packageNames not null
+     * @param packagesFile the packages file, in the working directory of the command line or relative to it, not null
+     * @throws MavenReportException if any
+     */
+    private void addCommandLinePackages(Commandline cmd, Collection<String> packageNames, File packagesFile)
+            throws MavenReportException {
         try {
             FileUtils.fileWrite(
                     packagesFile.getAbsolutePath(),
@@ -4235,7 +5004,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
                     "Unable to write '" + packagesFile.getName() + "' temporary file for command execution", e);
         }
 
-        cmd.createArg().setValue("@" + PACKAGES_FILE_NAME);
+        cmd.createArg().setValue("@" + getArgumentFilePath(cmd, packagesFile));
     }
 
     /**
@@ -4308,10 +5077,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      * @see <a href="https://docs.oracle.com/javase/7/docs/technotes/tools/windows/javadoc.html#javadocoptions">https://docs.oracle.com/javase/7/docs/technotes/tools/windows/javadoc.html#javadocoptions</a>
      */
     private void addJavadocOptions(
-            File javadocOutputDirectory,
-            List<String> arguments,
-            Collection<JavadocModule> allSourcePaths,
-            Set<OfflineLink> offlineLinks)
+            File javadocOutputDirectory, List<String> arguments, Collection<JavadocModule> allSourcePaths)
             throws MavenReportException {
         Collection<Path> sourcePaths = allSourcePaths.stream()
                 .flatMap(e -> e.getSourcePaths().stream())
@@ -4365,7 +5131,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
                         try {
                             allModuleDescriptors.put(
                                     entry.getGav(),
-                                    locationManager
+                                    getModuleResolutionCache()
                                             .parseModuleDescriptor(moduleDescriptor)
                                             .getModuleDescriptor());
                         } catch (IOException e) {
@@ -4380,7 +5146,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
 
         Collection<String> additionalModules = new ArrayList<>();
 
-        ResolvePathResult mainResolvePathResult = null;
+        ResolvedPath mainResolvePathResult = null;
 
         Map<String, Collection<Path>> patchModules = new HashMap<>();
 
@@ -4390,20 +5156,14 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
             for (JavadocModule javadocModule : allSourcePaths) {
                 MavenProject aggregatedProject = reactorKeys.get(javadocModule.getGav());
                 if (aggregatedProject != null && !"pom".equals(aggregatedProject.getPackaging())) {
-                    ResolvePathResult result = null;
+                    ResolvedPath result = null;
 
                     // Prefer jar over outputDirectory, since it may may contain an automatic module name
                     File artifactFile = getClassesFile(aggregatedProject);
                     if (artifactFile != null) {
-                        ResolvePathRequest<File> request = ResolvePathRequest.ofFile(artifactFile);
                         try {
-                            result = locationManager.resolvePath(request);
-                        } catch (RuntimeException e) {
-                            // most likely an invalid module name based on filename
-                            if (!"java.lang.module.FindException"
-                                    .equals(e.getClass().getName())) {
-                                throw e;
-                            }
+                            // null if most likely an invalid module name based on filename
+                            result = getModuleResolutionCache().resolvePath(artifactFile);
                         } catch (IOException e) {
                             throw new MavenReportException(e.getMessage(), e);
                         }
@@ -4412,7 +5172,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
 
                         if (moduleDescriptor != null) {
                             try {
-                                result = locationManager.parseModuleDescriptor(moduleDescriptor);
+                                result = getModuleResolutionCache().parseModuleDescriptor(moduleDescriptor);
                             } catch (IOException e) {
                                 throw new MavenReportException(e.getMessage(), e);
                             }
@@ -4517,10 +5277,10 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
                     if (file.isDirectory() && new File(file, "module-info.class").exists()) {
                         modulePathElements.add(file);
                     } else if (ModuleNameSource.MANIFEST.equals(mainModuleNameSource)) {
-                        ModuleNameSource depModuleNameSource = locationManager
-                                .resolvePath(ResolvePathRequest.ofFile(file))
-                                .getModuleNameSource();
-                        if (ModuleNameSource.MODULEDESCRIPTOR.equals(depModuleNameSource)) {
+                        ResolvedPath depResolvedPath =
+                                getModuleResolutionCache().resolvePath(file);
+                        if (depResolvedPath != null
+                                && ModuleNameSource.MODULEDESCRIPTOR.equals(depResolvedPath.getModuleNameSource())) {
                             modulePathElements.add(file);
                         } else {
                             patchModules.get(mainModuleName).add(file.toPath());
@@ -4601,10 +5361,6 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
             addArgIfNotEmpty(arguments, "-source", JavadocUtil.quotedArgument(source));
         }
 
-        if ((sourcepath == null || sourcepath.isEmpty()) && (subpackages != null && !subpackages.isEmpty())) {
-            sourcepath = StringUtils.join(sourcePaths.iterator(), File.pathSeparator);
-        }
-
         if (moduleSourceDir == null) {
             if (!disableSourcepathUsage && !legacyMode) {
                 addArgIfNotEmpty(
@@ -4623,7 +5379,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
 
         addArgIfNotEmpty(arguments, "-subpackages", subpackages);
 
-        // [MJAVADOC-497] must be after sourcepath is recalculated, since getExcludedPackages() depends on it
+        // [MJAVADOC-497] the packages are excluded from the subpackages found in the source paths
         addArgIfNotEmpty(arguments, "-exclude", getExcludedPackages(sourcePaths));
 
         addArgIf(arguments, verbose, "-verbose");
@@ -4635,21 +5391,26 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
         }
     }
 
-    private ResolvePathResult getResolvePathResult(File artifactFile) {
+    private ResolvedPath getResolvePathResult(File artifactFile) {
         if (artifactFile == null) {
             return null;
         }
 
-        ResolvePathResult resolvePathResult = null;
-        ResolvePathRequest<File> resolvePathRequest = ResolvePathRequest.ofFile(artifactFile);
+        ResolvedPath resolvePathResult = null;
         try {
-            resolvePathResult = locationManager.resolvePath(resolvePathRequest);
+            resolvePathResult = getModuleResolutionCache().resolvePath(artifactFile);
+
+            // happens when no module name can be derived from the filename (java.lang.module.FindException)
+            if (resolvePathResult == null) {
+                getLog().debug("resolve path for: " + artifactFile + " cause error: no valid module name");
+                return null;
+            }
 
             // happens when artifactFile is a directory without module descriptor
             if (resolvePathResult.getModuleDescriptor() == null) {
                 return null;
             }
-        } catch (IOException | RuntimeException /* e.g java.lang.module.FindException */ e) {
+        } catch (IOException | RuntimeException e) {
             if (getLog().isDebugEnabled()) {
                 Throwable cause = e;
                 while (cause.getCause() != null) {
@@ -4662,6 +5423,133 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
         return resolvePathResult;
     }
 
+    /**
+     * @return the module resolution cache of the session, with the entries persisted by the previous build
+     * @see #moduleResolutionCachePath
+     */
+    private ModuleResolutionCache getModuleResolutionCache() {
+        if (moduleResolutionCache == null) {
+            moduleResolutionCache = ModuleResolutionCache.getInstance(repoSession);
+            if (moduleResolutionCachePath != null) {
+                moduleResolutionCache.load(moduleResolutionCachePath.toPath());
+            }
+        }
+        return moduleResolutionCache;
+    }
+
+    /**
+     * Persist the module resolution cache for the next build, if it has been used.
+     */
+    private void storeModuleResolutionCache() {
+        if (moduleResolutionCache == null || moduleResolutionCachePath == null) {
+            return;
+        }
+
+        try {
+            moduleResolutionCache.store(moduleResolutionCachePath.toPath());
+        } catch (IOException e) {
+            getLog().warn("Unable to store the module resolution cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the executor of the preparation tasks of {@link #executeReport(Locale)} which run concurrently with the
+     *         resolution of the paths, or with the javadoc process
+     */
+    private ExecutorService newPreparationExecutor() {
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "javadoc-preparation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Wait for a task running concurrently in {@link #executeReport(Locale)}, e.g. a preparation task or a shard.
+     *
+     * @param task the task, not null
+     * @return the result of the task
+     * @throws MavenReportException if the task failed, or if interrupted while waiting
+     */
+    private static <T> T awaitTask(Future<T> task) throws MavenReportException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MavenReportException("Interrupted while waiting for the javadoc execution", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MavenReportException) {
+                throw (MavenReportException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MavenReportException(cause.getMessage(), (Exception) cause);
+        }
+    }
+
+    /**
+     * @return the metrics of the execution, never null
+     * @see #metrics
+     */
+    protected JavadocMetrics getMetrics() {
+        if (javadocMetrics == null) {
+            javadocMetrics = new JavadocMetrics(
+                    metrics,
+                    project == null
+                            ? null
+                            : ArtifactUtils.key(project.getGroupId(), project.getArtifactId(), project.getVersion()),
+                    mojoExecution == null ? null : mojoExecution.getGoal());
+        }
+        return javadocMetrics;
+    }
+
+    /**
+     * Write the metrics of the execution, and the summary of the metrics of the reactor, if enabled. The summary
+     * is rewritten by each execution with all the executions registered so far; it is not logged, as the modules
+     * built in parallel may end in any order.
+     */
+    private void writeMetrics() {
+        if (javadocMetrics == null || !javadocMetrics.isEnabled()) {
+            return;
+        }
+        javadocMetrics.stop();
+        javadocMetrics.register(repoSession);
+
+        if (project == null || project.getBuild() == null || project.getBuild().getDirectory() == null) {
+            return;
+        }
+        String fileName = mojoExecution == null
+                ? "javadoc.json"
+                : mojoExecution.getGoal() + "-" + mojoExecution.getExecutionId() + ".json";
+        Path file = Paths.get(project.getBuild().getDirectory(), "maven-javadoc-plugin-metrics", fileName);
+        MavenProject topLevelProject =
+                session != null && session.getTopLevelProject() != null ? session.getTopLevelProject() : project;
+        Path summary =
+                topLevelProject.getBuild() == null || topLevelProject.getBuild().getDirectory() == null
+                        ? null
+                        : Paths.get(topLevelProject.getBuild().getDirectory(), "maven-javadoc-plugin-metrics.json");
+        try {
+            javadocMetrics.write(file);
+            if (summary != null) {
+                // the modules built in parallel write the same summary, the last writer must see all the executions
+                synchronized (JavadocUtil.getFileLock(summary)) {
+                    List<JavadocMetrics> registered = JavadocMetrics.getRegistered(repoSession);
+                    JavadocMetrics.writeSummary(
+                            registered.isEmpty() ? Collections.singletonList(javadocMetrics) : registered, summary);
+                }
+            }
+            getLog().info("Javadoc metrics written to " + file
+                    + (summary == null ? "" : ", and summarized for the reactor in " + summary));
+        } catch (IOException e) {
+            getLog().warn("Unable to write the javadoc metrics: " + e.getMessage());
+        }
+    }
+
     private Path findMainDescriptor(Collection<Path> roots) throws MavenReportException {
         for (Map.Entry<Path, Collection<String>> entry : getFiles(roots).entrySet()) {
             if (entry.getValue().contains("module-info.java")) {
@@ -4684,7 +5572,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      *      https://docs.oracle.com/javase/7/docs/technotes/tools/windows/javadoc.html#standard</a>
      */
     private void addStandardDocletOptions(
-            File javadocOutputDirectory, List<String> arguments, Set<OfflineLink> offlineLinks)
+            File javadocOutputDirectory, List<String> arguments, Set<OfflineLink> offlineLinks, Set<String> links)
             throws MavenReportException {
         validateStandardDocletOptions();
 
@@ -4725,7 +5613,7 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
 
         addArgIf(arguments, keywords, "-keywords");
 
-        addLinkArguments(arguments);
+        addLinkArguments(arguments, links);
 
         addLinkofflineArguments(arguments, offlineLinks);
 
@@ -4981,17 +5869,408 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      *
      * @param cmd                    not null
      * @param javadocOutputDirectory not null
+     * @param sourceFileCount        the number of source files
+     * @param sourceRoots            the source roots, not null
      * @throws MavenReportException if any errors occur
      */
-    private void executeJavadocCommandLine(Commandline cmd, File javadocOutputDirectory) throws MavenReportException {
+    private void executeJavadocCommandLine(
+            Commandline cmd, File javadocOutputDirectory, int sourceFileCount, Collection<Path> sourceRoots)
+            throws MavenReportException {
         if (staleDataPath != null) {
             if (!isUpToDate(cmd)) {
-                doExecuteJavadocCommandLine(cmd, javadocOutputDirectory);
+                doExecuteJavadocCommandLine(
+                        cmd, javadocOutputDirectory, sourceFileCount, sourceRoots, "", this::storeProcessResources);
                 StaleHelper.writeStaleData(cmd, staleDataPath.toPath());
             }
         } else {
-            doExecuteJavadocCommandLine(cmd, javadocOutputDirectory);
+            doExecuteJavadocCommandLine(
+                    cmd, javadocOutputDirectory, sourceFileCount, sourceRoots, "", this::storeProcessResources);
+        }
+    }
+
+    /**
+     * @param packageNames the documented packages, not null
+     * @param files        the source files by source root, not null
+     * @param arguments    the javadoc options, not null
+     * @return the packages of each shard of the run, or an empty list if the run is not sharded
+     * @see #shards
+     */
+    private List<List<String>> getPackageShards(
+            Collection<String> packageNames, Map<Path, Collection<String>> files, List<String> arguments) {
+        if (shards < 2) {
+            return Collections.emptyList();
+        }
+        if (javadocRuntimeVersion.isBefore("16") || splitindex || !arguments.contains("-d")) {
+            getLog().warn("The shards need the standard doclet of Java 16 or later without splitindex, ignoring them.");
+            return Collections.emptyList();
+        }
+        for (Collection<String> rootFiles : files.values()) {
+            for (String file : rootFiles) {
+                // the module descriptor and the files of the unnamed package are at the root of their source root
+                if (file.indexOf('/') < 0 && file.indexOf('\\') < 0) {
+                    getLog().warn("The shards need packages without module descriptor nor files in the unnamed "
+                            + "package, ignoring them.");
+                    return Collections.emptyList();
+                }
+            }
+        }
+
+        List<List<String>> packageShards =
+                JavadocShards.split(JavadocShards.getPackageSizes(files, packageNames), shards);
+        if (packageShards.size() > 1) {
+            getLog().info("Splitting the " + packageNames.size() + " packages in " + packageShards.size()
+                    + " javadoc shards.");
+        }
+        return packageShards;
+    }
+
+    /**
+     * @param sourceFileCount the number of source files of the shard
+     * @return the maximum heap of the shard, always explicit so that the shards are scheduled by the heap they
+     *         actually get: the <a href="#maxmemory">maxmemory</a>, or the default maximum heap of the JVM
+     */
+    private String getShardMaxMemory(int sourceFileCount) {
+        String maxMemory = getMaxMemory(sourceFileCount);
+        if (maxMemory != null) {
+            return maxMemory;
+        }
+        long defaultMaxHeap = JavadocProcessResources.getDefaultMaxHeap();
+        return (defaultMaxHeap > 0 ? defaultMaxHeap : DEFAULT_FORK_MEMORY) + "m";
+    }
+
+    /**
+     * Execute a javadoc process for each shard of the packages, concurrently within the memory budget, then merge
+     * their output in the output directory.
+     *
+     * @param cmd                    the command line of the whole run, for the stale data, not null
+     * @param jExecutable            the javadoc executable, not null
+     * @param javadocOutputDirectory not null
+     * @param arguments              the javadoc options of the whole run, not null
+     * @param packageShards          the packages of each shard, not null
+     * @param files                  the source files by source root, not null
+     * @throws MavenReportException if any errors occur
+     * @see #shards
+     */
+    private void executeShardedJavadocCommandLine(
+            Commandline cmd,
+            String jExecutable,
+            File javadocOutputDirectory,
+            List<String> arguments,
+            List<List<String>> packageShards,
+            Map<Path, Collection<String>> files)
+            throws MavenReportException {
+        if (staleDataPath != null && isUpToDate(cmd)) {
+            return;
+        }
+
+        File shardsDirectory =
+                new File(javadocOutputDirectory.getParentFile(), javadocOutputDirectory.getName() + "-shards");
+        List<Path> shardDirectories = new ArrayList<>();
+        List<Callable<Void>> shardExecutions = new ArrayList<>();
+        List<JavadocProcessResources> shardResources = Collections.synchronizedList(new ArrayList<>());
+        JavadocForkScheduler shardScheduler = getShardScheduler();
+        try {
+            FileUtils.deleteDirectory(shardsDirectory);
+            for (int i = 0; i < packageShards.size(); i++) {
+                List<String> packages = packageShards.get(i);
+                File argumentsDirectory = new File(shardsDirectory, "args-" + i);
+                File shardDirectory = new File(shardsDirectory, String.valueOf(i));
+                Files.createDirectories(shardDirectory.toPath());
+                JavadocShards.writeElementList(argumentsDirectory.toPath(), packageShards, i);
+
+                // the shard runs in its own directory, for the sampling of its resources
+                Commandline shardCmd = new Commandline();
+                shardCmd.getShell().setQuotedArgumentsEnabled(false);
+                shardCmd.setWorkingDirectory(shardDirectory.getAbsolutePath());
+                shardCmd.setExecutable(jExecutable);
+                for (String arg : cmd.getArguments()) {
+                    // the class data archive is dumped by the first shard only
+                    if (!JavadocProcessResources.isJavadocOption(arg)
+                            && !arg.startsWith(PROFILE_OPTION)
+                            && !arg.startsWith("@")
+                            && (i == 0 || !JavadocClassDataArchive.isDumpOption(arg))) {
+                        shardCmd.createArg().setValue(arg);
+                    }
+                }
+                int sourceFileCount = getSourceFileCount(files, packages);
+                addMemoryArg(shardCmd, "-Xmx", getShardMaxMemory(sourceFileCount));
+                addGcLogArg(shardCmd, new File(argumentsDirectory, "gc.log"));
+                if (profileJavadoc && javadocRuntimeVersion.isAtLeast("11")) {
+                    addProfileArg(
+                            shardCmd,
+                            shardDirectory,
+                            new File(
+                                    getProfileDirectory(javadocOutputDirectory),
+                                    "shard-" + i + File.separator + PROFILE_RECORDING_FILE_NAME));
+                }
+
+                // the other shards are linked relatively, as they are merged in the same directory
+                List<String> shardArguments = new ArrayList<>(arguments);
+                shardArguments.set(
+                        shardArguments.indexOf("-d") + 1,
+                        JavadocUtil.quotedPathArgument(shardDirectory.getAbsolutePath()));
+                shardArguments.add("-linkoffline");
+                shardArguments.add(JavadocUtil.quotedPathArgument(".") + " "
+                        + JavadocUtil.quotedPathArgument(argumentsDirectory.getAbsolutePath()));
+                addCommandLineOptions(shardCmd, shardArguments, new File(argumentsDirectory, OPTIONS_FILE_NAME));
+                addCommandLinePackages(shardCmd, packages, new File(argumentsDirectory, PACKAGES_FILE_NAME));
+
+                shardDirectories.add(shardDirectory.toPath());
+                String timingsSuffix = "-shard-" + i;
+                shardExecutions.add(() -> {
+                    try (JavadocForkScheduler.Slot slot =
+                            shardScheduler == null ? null : shardScheduler.acquire(getForkMemory(shardCmd), 0)) {
+                        doExecuteJavadocCommandLine(
+                                shardCmd,
+                                shardDirectory,
+                                sourceFileCount,
+                                files.keySet(),
+                                timingsSuffix,
+                                shardResources::add);
+                    }
+                    return null;
+                });
+            }
+        } catch (IOException e) {
+            throw new MavenReportException("Unable to prepare the javadoc shards: " + e.getMessage(), e);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(shardExecutions.size(), runnable -> {
+            Thread thread = new Thread(runnable, "javadoc-shard-" + project.getArtifactId());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Void>> executions = new ArrayList<>();
+            for (Callable<Void> shardExecution : shardExecutions) {
+                executions.add(executor.submit(shardExecution));
+            }
+
+            MavenReportException failure = null;
+            for (Future<Void> execution : executions) {
+                try {
+                    awaitTask(execution);
+                } catch (MavenReportException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
         }
+        // the shards share the resources of the goal, so the next run sizes each of them from the largest one
+        shardResources.stream().reduce(JavadocProcessResources::max).ifPresent(this::storeProcessResources);
+
+        try {
+            JavadocShards.merge(shardDirectories, javadocOutputDirectory.toPath(), Charset.forName(getDocencoding()));
+            if (!debug) {
+                FileUtils.deleteDirectory(shardsDirectory);
+            }
+        } catch (IOException e) {
+            throw new MavenReportException("Unable to merge the javadoc shards: " + e.getMessage(), e);
+        }
+
+        if (staleDataPath != null) {
+            StaleHelper.writeStaleData(cmd, staleDataPath.toPath());
+        }
+    }
+
+    /**
+     * @return the scheduler of the shards within three quarters of the physical memory, or one at a time if it is
+     *         unknown, or null if they are scheduled within the {@link #forkMemoryBudget}
+     */
+    private JavadocForkScheduler getShardScheduler() {
+        if (forkMemoryBudget != null && !forkMemoryBudget.isEmpty()) {
+            return null;
+        }
+        return new JavadocForkScheduler(Math.max(JavadocForkScheduler.parseBudget("auto"), 0));
+    }
+
+    /**
+     * @param files    the source files by source root, not null
+     * @param packages the packages, not null
+     * @return the number of source files of the packages
+     */
+    private static int getSourceFileCount(Map<Path, Collection<String>> files, Collection<String> packages) {
+        Set<String> packageNames = new HashSet<>(packages);
+        int count = 0;
+        for (Collection<String> rootFiles : files.values()) {
+            for (String file : rootFiles) {
+                int slash = file.replace('\\', '/').lastIndexOf('/');
+                if (slash > 0
+                        && packageNames.contains(
+                                file.substring(0, slash).replace('\\', '.').replace('/', '.'))) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Stitch the aggregated documentation from the documentation of the aggregated modules.
+     *
+     * @return <code>true</code> if the documentation was stitched, <code>false</code> if it has to be generated by
+     *         javadoc
+     * @throws MavenReportException if any errors occur
+     * @see #stitchModules
+     */
+    private boolean stitchModuleOutputs() throws MavenReportException {
+        if (doclet != null && !doclet.isEmpty()) {
+            getLog().warn("The modules can only be stitched with the standard doclet, ignoring stitchModules.");
+            return false;
+        }
+
+        File javadocOutputDirectory = new File(getPluginReportOutputDirectory());
+        Charset charset = Charset.forName(getDocencoding());
+        File modulesDirectory =
+                new File(javadocOutputDirectory.getParentFile(), javadocOutputDirectory.getName() + "-modules");
+        try {
+            FileUtils.deleteDirectory(modulesDirectory);
+            List<Path> moduleDirectories = new ArrayList<>();
+            Set<String> moduleUrls = new LinkedHashSet<>();
+            for (MavenProject p : getAggregatedProjects()) {
+                boolean hasSources = getProjectSourceRoots(p).stream().anyMatch(root -> new File(root).isDirectory());
+                if (!hasSources) {
+                    continue;
+                }
+
+                Path moduleDirectory = new File(modulesDirectory, String.valueOf(moduleDirectories.size())).toPath();
+                if (!copyModuleOutput(p, moduleDirectory.toFile())) {
+                    getLog().info("No javadoc to stitch for the module " + p.getId()
+                            + ", generating the aggregated javadoc.");
+                    return false;
+                }
+                if (!JavadocShards.isMergeable(moduleDirectory, charset)) {
+                    getLog().info("The javadoc of the module " + p.getId()
+                            + " was not generated by the standard doclet of Java 16 or later without module"
+                            + " descriptor, generating the aggregated javadoc.");
+                    return false;
+                }
+                moduleDirectories.add(moduleDirectory);
+
+                // the test javadoc of the modules links to their main javadoc, which is not stitched
+                String url = getJavadocLink(p);
+                if (url != null && !isTest()) {
+                    moduleUrls.add(url);
+                }
+            }
+            if (moduleDirectories.isEmpty()) {
+                return false;
+            }
+
+            getLog().info("Stitching the javadoc of " + moduleDirectories.size() + " modules.");
+            for (Path moduleDirectory : moduleDirectories) {
+                JavadocShards.relativizeLinks(moduleDirectory, moduleUrls, charset);
+            }
+            Files.createDirectories(javadocOutputDirectory.toPath());
+            JavadocShards.merge(moduleDirectories, javadocOutputDirectory.toPath(), charset);
+            JavadocShards.writeNavigation(javadocOutputDirectory.toPath(), getWindowtitle(), getDoctitle(), charset);
+            return true;
+        } catch (IOException e) {
+            throw new MavenReportException("Unable to stitch the javadoc of the modules: " + e.getMessage(), e);
+        } finally {
+            if (!debug) {
+                try {
+                    FileUtils.deleteDirectory(modulesDirectory);
+                } catch (IOException e) {
+                    getLog().warn("Unable to delete " + modulesDirectory + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy the javadoc of a module, from its output directory or else from its attached javadoc archive.
+     *
+     * @param p         the module, not null
+     * @param directory the directory to copy the javadoc to, not null
+     * @return <code>true</code> if the javadoc of the module was found, <code>false</code> otherwise
+     * @throws IOException          if the javadoc could not be copied
+     * @throws MavenReportException if the archive could not be extracted
+     */
+    private boolean copyModuleOutput(MavenProject p, File directory) throws IOException, MavenReportException {
+        // the output directory of the module, as configured for the aggregate, by the jar goals or by the site
+        String apidocs = new File(getPluginReportOutputDirectory()).getName();
+        Set<File> outputDirectories = new LinkedHashSet<>();
+        outputDirectories.add(
+                new File(p.getBasedir(), PathUtils.toRelative(project.getBasedir(), getPluginReportOutputDirectory())));
+        outputDirectories.add(new File(p.getBuild().getDirectory(), "reports/" + apidocs));
+        if (p.getReporting() != null && p.getReporting().getOutputDirectory() != null) {
+            outputDirectories.add(new File(p.getReporting().getOutputDirectory(), apidocs));
+        }
+        for (File outputDirectory : outputDirectories) {
+            File elementList = new File(outputDirectory, JavadocShards.ELEMENT_LIST);
+            if (elementList.isFile()) {
+                if (isOlderThanSources(elementList, p)) {
+                    getLog().info("The javadoc of the module " + p.getId() + " in " + outputDirectory
+                            + " is older than its sources, ignoring it.");
+                    continue;
+                }
+                FileUtils.copyDirectoryStructure(outputDirectory, directory);
+                return true;
+            }
+        }
+
+        String classifier = isTest() ? "test-javadoc" : "javadoc";
+        for (Artifact artifact : p.getAttachedArtifacts()) {
+            if (classifier.equals(artifact.getClassifier())
+                    && artifact.getFile() != null
+                    && artifact.getFile().isFile()) {
+                UnArchiver unArchiver;
+                try {
+                    unArchiver = archiverManager.getUnArchiver("jar");
+                } catch (NoSuchArchiverException e) {
+                    throw new MavenReportException(
+                            "Unable to extract the javadoc archive. No archiver for 'jar' available.", e);
+                }
+                IncludeExcludeFileSelector[] selectors =
+                        new IncludeExcludeFileSelector[] {new IncludeExcludeFileSelector()};
+                selectors[0].setExcludes(new String[] {"META-INF/**"});
+
+                Files.createDirectories(directory.toPath());
+                unArchiver.setSourceFile(artifact.getFile());
+                unArchiver.setDestDirectory(directory);
+                unArchiver.setFileSelectors(selectors);
+                try {
+                    unArchiver.extract();
+                } catch (ArchiverException e) {
+                    throw new MavenReportException("Unable to extract the javadoc archive " + artifact.getFile(), e);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param file the file generated from the sources of the module, not null
+     * @param p    the module, not null
+     * @return <code>true</code> if a source file of the module was modified after the file, <code>false</code>
+     *         otherwise
+     * @throws IOException if the sources could not be listed
+     */
+    private boolean isOlderThanSources(File file, MavenProject p) throws IOException {
+        long lastModified = file.lastModified();
+        for (String sourceRoot : getProjectSourceRoots(p)) {
+            Path root = Paths.get(sourceRoot);
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try (Stream<Path> sources = Files.walk(root)) {
+                if (sources.anyMatch(
+                        source -> Files.isRegularFile(source) && source.toFile().lastModified() > lastModified)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
@@ -5044,9 +6323,20 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      *
      * @param cmd                    not null
      * @param javadocOutputDirectory not null
+     * @param sourceFileCount        the number of source files
+     * @param sourceRoots            the source roots, not null
+     * @param timingsSuffix          the suffix of the timings report of the process, e.g. the shard, not null
+     * @param resourcesConsumer      the consumer of the resources used by the process, which could be null
      * @throws MavenReportException if any errors occur
      */
-    private void doExecuteJavadocCommandLine(Commandline cmd, File javadocOutputDirectory) throws MavenReportException {
+    private void doExecuteJavadocCommandLine(
+            Commandline cmd,
+            File javadocOutputDirectory,
+            int sourceFileCount,
+            Collection<Path> sourceRoots,
+            String timingsSuffix,
+            Consumer<JavadocProcessResources> resourcesConsumer)
+            throws MavenReportException {
         if (getLog().isDebugEnabled()) {
             // no quoted arguments
             getLog().debug(CommandLineUtils.toString(cmd.getCommandline()).replaceAll("'", ""));
@@ -5059,10 +6349,27 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
             writeDebugJavadocScript(cmdLine, javadocOutputDirectory);
         }
 
-        CommandLineUtils.StringStreamConsumer err = new JavadocUtil.JavadocOutputStreamConsumer();
-        CommandLineUtils.StringStreamConsumer out = new JavadocUtil.JavadocOutputStreamConsumer();
+        // the verbose output is timed as it is printed, on stdout before Java 9
+        JavadocTimings timings = verbose ? new JavadocTimings(sourceRoots, javadocOutputDirectory) : null;
+        CommandLineUtils.StringStreamConsumer err = new JavadocUtil.JavadocTimingsStreamConsumer(timings);
+        CommandLineUtils.StringStreamConsumer out = new JavadocUtil.JavadocTimingsStreamConsumer(timings);
         try {
-            int exitCode = CommandLineUtils.executeCommandLine(cmd, out, err);
+            int exitCode;
+            try (JavadocForkScheduler.Slot slot = acquireForkSlot(cmd);
+                    JavadocProcessResources.Sampler sampler = JavadocProcessResources.sample(javadocOutputDirectory)) {
+                exitCode = CommandLineUtils.executeCommandLine(cmd, out, err);
+                JavadocProcessResources resources =
+                        sampler.getResources(sourceFileCount, JavadocProcessResources.getGcLog(cmd.getArguments()));
+                if (resources != null) {
+                    resourcesConsumer.accept(resources);
+                }
+            }
+            if (timings != null) {
+                writeTimings(timings, timingsSuffix);
+            }
+            if (profileJavadoc && javadocRuntimeVersion.isAtLeast("11")) {
+                summarizeProfile(cmd);
+            }
 
             String output = StringUtils.isEmpty(out.getOutput())
                     ? null
@@ -5198,59 +6505,54 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
             inputResourceName = inputResourceName.replaceFirst("//*", "");
         }
 
-        List<String> classPath = new ArrayList<>();
-        classPath.add(project.getBuild().getSourceDirectory());
+        String key = outputFile.getAbsolutePath() + "|" + inputResourceName;
+        Optional<File> resource = resolvedResources.get(key);
+        if (resource == null) {
+            resource = findResource(outputFile, inputResourceName);
+            resolvedResources.put(key, resource);
+        }
+        return resource;
+    }
 
-        URL resourceURL = getResource(classPath, inputResourceName);
+    private Optional<File> findResource(File outputFile, String inputResourceName) {
+        if (resourceLocator == null) {
+            resourceLocator = new ResourceLocator();
+        }
+
+        List<File> lookupPath = new ArrayList<>();
+        if (project.getBuild().getSourceDirectory() != null) {
+            lookupPath.add(new File(project.getBuild().getSourceDirectory()));
+        }
+
+        URL resourceURL = resourceLocator.findResource(lookupPath, inputResourceName);
         if (resourceURL != null) {
             getLog().debug(inputResourceName + " found in the main src directory of the project.");
             return Optional.of(FileUtils.toFile(resourceURL));
         }
 
-        classPath.clear();
+        lookupPath.clear();
         List<Resource> resources = project.getBuild().getResources();
         for (Resource resource : resources) {
-            classPath.add(resource.getDirectory());
+            lookupPath.add(new File(resource.getDirectory()));
         }
-        resourceURL = getResource(classPath, inputResourceName);
+        resourceURL = resourceLocator.findResource(lookupPath, inputResourceName);
         if (resourceURL != null) {
             getLog().debug(inputResourceName + " found in the main resources directories of the project.");
             return Optional.of(FileUtils.toFile(resourceURL));
         }
 
         if (javadocDirectory.exists()) {
-            classPath.clear();
-            classPath.add(javadocDirectory.getAbsolutePath());
-            resourceURL = getResource(classPath, inputResourceName);
+            resourceURL = resourceLocator.findResource(
+                    Collections.singletonList(javadocDirectory.getAbsoluteFile()), inputResourceName);
             if (resourceURL != null) {
                 getLog().debug(inputResourceName + " found in the main javadoc directory of the project.");
                 return Optional.of(FileUtils.toFile(resourceURL));
             }
         }
 
-        classPath.clear();
-        final String pluginId = "org.apache.maven.plugins:maven-javadoc-plugin";
-        Plugin javadocPlugin = getPlugin(project, pluginId);
-        if (javadocPlugin != null && javadocPlugin.getDependencies() != null) {
-            List<Dependency> dependencies = javadocPlugin.getDependencies();
-            for (Dependency dependency : dependencies) {
-                ResourcesArtifact resourceArtifact = new ResourcesArtifact();
-                resourceArtifact.setGroupId(dependency.getGroupId());
-                resourceArtifact.setArtifactId(dependency.getArtifactId());
-                resourceArtifact.setVersion(dependency.getVersion());
-                resourceArtifact.setClassifier(dependency.getClassifier());
-                Artifact artifact = null;
-                try {
-                    artifact = createAndResolveArtifact(resourceArtifact);
-                } catch (Exception e) {
-                    logError("Unable to retrieve the dependency: " + dependency + ". Ignored.", e);
-                }
-
-                if (artifact != null && artifact.getFile().exists()) {
-                    classPath.add(artifact.getFile().getAbsolutePath());
-                }
-            }
-            resourceURL = getResource(classPath, inputResourceName);
+        Optional<List<File>> pluginDependencies = getPluginDependenciesPath();
+        if (pluginDependencies.isPresent()) {
+            resourceURL = resourceLocator.findResource(pluginDependencies.get(), inputResourceName);
             if (resourceURL != null) {
                 getLog().debug(inputResourceName + " found in javadoc plugin dependencies.");
                 try {
@@ -5269,32 +6571,51 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
     }
 
     /**
-     * @param classPath a not null String list of files where resource will be looked up
-     * @param resource a not null resource to find in the class path
-     * @return the resource from the given classpath or null if not found
-     * @see ClassLoader#getResource(String)
-     * @since 2.6
+     * The artifacts of the Javadoc plugin dependencies are resolved once per execution, and the resolved files are
+     * shared by all the executions of the build session.
+     *
+     * @return the files of the Javadoc plugin dependencies, or empty if the plugin has no dependencies
+     * @see ResourceLocator#getResolvedArtifacts(org.eclipse.aether.RepositorySystemSession)
      */
-    private URL getResource(final List<String> classPath, final String resource) {
-        List<URL> urls = new ArrayList<>(classPath.size());
-        for (String filename : classPath) {
-            try {
-                urls.add(new File(filename).toURI().toURL());
-            } catch (MalformedURLException | IllegalArgumentException e) {
-                getLog().error("MalformedURLException: " + e.getMessage());
-            }
+    private Optional<List<File>> getPluginDependenciesPath() {
+        if (pluginDependenciesPath != null) {
+            return pluginDependenciesPath;
         }
 
-        URLClassLoader javadocClassLoader = new URLClassLoader(urls.toArray(new URL[urls.size()]), null);
-        try {
-            return javadocClassLoader.getResource(resource);
-        } finally {
-            try {
-                javadocClassLoader.close();
-            } catch (IOException ex) {
-                // ignore
+        final String pluginId = "org.apache.maven.plugins:maven-javadoc-plugin";
+        Plugin javadocPlugin = getPlugin(project, pluginId);
+        if (javadocPlugin == null || javadocPlugin.getDependencies() == null) {
+            pluginDependenciesPath = Optional.empty();
+            return pluginDependenciesPath;
+        }
+
+        Map<String, File> resolvedArtifacts = ResourceLocator.getResolvedArtifacts(repoSession);
+        List<File> path = new ArrayList<>();
+        for (Dependency dependency : javadocPlugin.getDependencies()) {
+            String coordinates = dependency.getGroupId() + ":" + dependency.getArtifactId() + ":"
+                    + StringUtils.defaultString(dependency.getClassifier()) + ":" + dependency.getVersion();
+            File file = resolvedArtifacts.get(coordinates);
+            if (file == null) {
+                ResourcesArtifact resourceArtifact = new ResourcesArtifact();
+                resourceArtifact.setGroupId(dependency.getGroupId());
+                resourceArtifact.setArtifactId(dependency.getArtifactId());
+                resourceArtifact.setVersion(dependency.getVersion());
+                resourceArtifact.setClassifier(dependency.getClassifier());
+                try {
+                    file = createAndResolveArtifact(resourceArtifact).getFile();
+                    resolvedArtifacts.put(coordinates, file);
+                } catch (Exception e) {
+                    logError("Unable to retrieve the dependency: " + dependency + ". Ignored.", e);
+                }
+            }
+
+            if (file != null && file.exists()) {
+                path.add(file.getAbsoluteFile());
             }
         }
+
+        pluginDependenciesPath = Optional.of(path);
+        return pluginDependenciesPath;
     }
 
     /**
@@ -5644,6 +6965,23 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
      * @since 2.6
      */
     protected boolean isValidJavadocLink(String link, boolean detecting) {
+        Object event = JavadocEvents.getInstance()
+                .beginLinkValidation(
+                        link, getMetrics().getModule(), getMetrics().getGoal());
+        if (event == null) {
+            return validateJavadocLink(link, detecting);
+        }
+
+        boolean valid = false;
+        try {
+            valid = validateJavadocLink(link, detecting);
+            return valid;
+        } finally {
+            JavadocEvents.getInstance().endLinkValidation(event, valid);
+        }
+    }
+
+    private boolean validateJavadocLink(String link, boolean detecting) {
         try {
             final URI packageListUri;
             final URI elementListUri;
@@ -5921,6 +7259,161 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
         return reactorProjects;
     }
 
+    /**
+     * Copy the configuration of this mojo to another one generating a documentation of the same project
+     * concurrently. The components given to the constructors and the state created on first use by each execution
+     * are not copied, and the arrays, lists and maps are copied so that the two mojos don't share them.
+     *
+     * @param target the mojo to configure, not null
+     * @since 3.11.3
+     */
+    protected void copyConfiguration(AbstractJavadocMojo target) {
+        target.repoSession = repoSession;
+        target.session = session;
+        target.settings = settings;
+        target.project = project;
+        target.offline = offline;
+        target.javadocDirectory = javadocDirectory;
+        target.additionalOptions = additionalOptions == null ? null : additionalOptions.clone();
+        target.additionalJOption = additionalJOption;
+        target.additionalJOptions = additionalJOptions == null ? null : additionalJOptions.clone();
+        target.resourcesArtifacts = resourcesArtifacts == null ? null : resourcesArtifacts.clone();
+        target.reactorProjects = reactorProjects == null ? null : new ArrayList<>(reactorProjects);
+        target.debug = debug;
+        target.javadocExecutable = javadocExecutable;
+        target.javadocVersion = javadocVersion;
+        target.skip = skip;
+        target.failOnError = failOnError;
+        target.failOnWarnings = failOnWarnings;
+        target.useStandardDocletOptions = useStandardDocletOptions;
+        target.detectLinks = detectLinks;
+        target.detectOfflineLinks = detectOfflineLinks;
+        target.detectJavaApiLink = detectJavaApiLink;
+        if (javaApiLinks != null) {
+            target.javaApiLinks = new Properties();
+            target.javaApiLinks.putAll(javaApiLinks);
+        }
+        target.validateLinks = validateLinks;
+        target.bootclasspath = bootclasspath;
+        target.bootclasspathArtifacts = bootclasspathArtifacts == null ? null : bootclasspathArtifacts.clone();
+        target.breakiterator = breakiterator;
+        target.doclet = doclet;
+        target.docletArtifact = docletArtifact;
+        target.docletArtifacts = docletArtifacts == null ? null : docletArtifacts.clone();
+        target.docletPath = docletPath;
+        target.encoding = encoding;
+        target.excludePackageNames = excludePackageNames;
+        target.extdirs = extdirs;
+        target.locale = locale;
+        target.maxmemory = maxmemory;
+        target.minmemory = minmemory;
+        target.old = old;
+        target.overview = overview;
+        target.quiet = quiet;
+        target.show = show;
+        target.source = source;
+        target.release = release;
+        target.sourcepath = sourcepath;
+        target.disableSourcepathUsage = disableSourcepathUsage;
+        target.subpackages = subpackages;
+        target.verbose = verbose;
+        target.legacyMode = legacyMode;
+        target.author = author;
+        target.bottom = bottom;
+        target.charset = charset;
+        target.docencoding = docencoding;
+        target.docfilessubdirs = docfilessubdirs;
+        target.doclint = doclint;
+        target.doctitle = doctitle;
+        target.excludedocfilessubdir = excludedocfilessubdir;
+        target.footer = footer;
+        target.groups = groups == null ? null : groups.clone();
+        target.header = header;
+        target.helpfile = helpfile;
+        target.keywords = keywords;
+        target.links = links == null ? null : new ArrayList<>(links);
+        target.dependencyLinks = dependencyLinks == null ? null : new ArrayList<>(dependencyLinks);
+        target.linksource = linksource;
+        target.nocomment = nocomment;
+        target.nodeprecated = nodeprecated;
+        target.nodeprecatedlist = nodeprecatedlist;
+        target.nohelp = nohelp;
+        target.noindex = noindex;
+        target.nonavbar = nonavbar;
+        target.nooverview = nooverview;
+        target.noqualifier = noqualifier;
+        target.nosince = nosince;
+        target.notimestamp = notimestamp;
+        target.notree = notree;
+        target.offlineLinks = offlineLinks == null ? null : offlineLinks.clone();
+        target.outputDirectory = outputDirectory;
+        target.packagesheader = packagesheader;
+        target.serialwarn = serialwarn;
+        target.sourcetab = sourcetab;
+        target.splitindex = splitindex;
+        target.stylesheet = stylesheet;
+        target.stylesheetfile = stylesheetfile;
+        target.addStylesheets = addStylesheets == null ? null : addStylesheets.clone();
+        target.taglet = taglet;
+        target.tagletArtifact = tagletArtifact;
+        target.tagletArtifacts = tagletArtifacts == null ? null : tagletArtifacts.clone();
+        target.tagletpath = tagletpath;
+        target.taglets = taglets == null ? null : taglets.clone();
+        target.tags = tags == null ? null : tags.clone();
+        target.top = top;
+        target.use = use;
+        target.version = version;
+        target.windowtitle = windowtitle;
+        target.includeDependencySources = includeDependencySources;
+        target.sourceDependencyCacheDir = sourceDependencyCacheDir;
+        target.includeTransitiveDependencySources = includeTransitiveDependencySources;
+        target.dependencySourceIncludes =
+                dependencySourceIncludes == null ? null : new ArrayList<>(dependencySourceIncludes);
+        target.dependencySourceExcludes =
+                dependencySourceExcludes == null ? null : new ArrayList<>(dependencySourceExcludes);
+        target.javadocOptionsDir = javadocOptionsDir;
+        target.additionalDependencies = additionalDependencies == null ? null : new ArrayList<>(additionalDependencies);
+        target.sourceFileIncludes = sourceFileIncludes == null ? null : new ArrayList<>(sourceFileIncludes);
+        target.sourceFileExcludes = sourceFileExcludes == null ? null : new ArrayList<>(sourceFileExcludes);
+        target.applyJavadocSecurityFix = applyJavadocSecurityFix;
+        target.jdkToolchain = jdkToolchain == null ? null : new HashMap<>(jdkToolchain);
+        target.staleDataPath = staleDataPath;
+        target.moduleResolutionCachePath = moduleResolutionCachePath;
+        target.metrics = metrics;
+        target.profileJavadoc = profileJavadoc;
+        target.classDataSharing = classDataSharing;
+        target.classDataSharingDirectory = classDataSharingDirectory;
+        target.forkMemoryBudget = forkMemoryBudget;
+        target.shards = shards;
+        target.stitchModules = stitchModules;
+        target.hardlinkResources = hardlinkResources;
+        target.resourcesCopyThreads = resourcesCopyThreads;
+        target.skippedModules = skippedModules;
+        target.outputTimestamp = outputTimestamp;
+        target.forceRootLocale = forceRootLocale;
+        target.disableNoFonts = disableNoFonts;
+    }
+
+    /**
+     * Give this mojo its own execution, and its own stale data and source dependency cache, when it generates a
+     * documentation concurrently with another mojo of the same project.
+     *
+     * @param execution the execution of this mojo, for its metrics, timings and measured resources, could be null
+     * @param scratchPrefix the prefix of the names of the stale data file and the source dependency cache, could be
+     *            null to keep them
+     * @since 3.11.3
+     */
+    protected void setExecution(MojoExecution execution, String scratchPrefix) {
+        this.mojoExecution = execution;
+        if (scratchPrefix != null && staleDataPath != null) {
+            staleDataPath = new File(staleDataPath.getParentFile(), scratchPrefix + staleDataPath.getName());
+        }
+        if (scratchPrefix != null && sourceDependencyCacheDir != null) {
+            sourceDependencyCacheDir = new File(
+                    sourceDependencyCacheDir.getParentFile(), scratchPrefix + sourceDependencyCacheDir.getName());
+        }
+    }
+
     /**
      * @param prefix the prefix of the exception
      * @param e the exception
@@ -5964,16 +7457,19 @@ public abstract class AbstractJavadocMojo extends AbstractMojo {
         if (this.skippedModules == null || this.skippedModules.isEmpty()) {
             return false;
         }
-        if (this.patternsToSkip == null) {
-            this.patternsToSkip = Arrays.stream(StringUtils.split(this.skippedModules, ','))
+        List<Pattern> patterns = this.patternsToSkip;
+        if (patterns == null) {
+            // also called by the copy of the resources in the background, so only publish the complete list
+            patterns = Collections.unmodifiableList(Arrays.stream(StringUtils.split(this.skippedModules, ','))
                     .map(String::trim)
                     // we are expecting something such [groupdId:]artifactId so if no groupId we want to match any
                     // groupId
                     .map(s -> !s.contains(":") ? ".*:" + s : s)
                     .map(Pattern::compile)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()));
+            this.patternsToSkip = patterns;
         }
-        Optional<Pattern> found = this.patternsToSkip.stream()
+        Optional<Pattern> found = patterns.stream()
                 .filter(pattern -> pattern.matcher(mavenProject.getGroupId() + ":" + mavenProject.getArtifactId())
                         .matches())
                 .findAny();
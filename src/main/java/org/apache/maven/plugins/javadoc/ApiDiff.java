@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * The classes and methods added to the API of a project since a previous version, computed from the class files of
+ * the previous artifact and of the project output directory.
+ * <br/>
+ * Only the public and protected classes and methods are compared. Class names use a dot for nested classes, and
+ * methods are described the same way as the Clirr messages, i.e. <code>public void add(java.lang.String, int)</code>,
+ * so that the result can be used in place of the Clirr output.
+ *
+ * @since 3.11.3
+ */
+public class ApiDiff {
+    private static final String CLASS_EXTENSION = ".class";
+
+    private static final String KEY = "key";
+
+    private static final String NEW_CLASSES = "newClasses";
+
+    private static final String NEW_METHODS = "newMethods.";
+
+    private final List<String> newClasses;
+
+    private final Map<String, List<String>> newMethods;
+
+    private ApiDiff(List<String> newClasses, Map<String, List<String>> newMethods) {
+        this.newClasses = newClasses;
+        this.newMethods = newMethods;
+    }
+
+    /**
+     * Compare the API of a previous artifact with the API of the compiled classes.
+     *
+     * @param previousJar the jar of the previous version, not null
+     * @param classesDirectory the output directory of the current version, not null
+     * @return the API difference
+     * @throws IOException if a class file could not be read
+     */
+    public static ApiDiff compare(File previousJar, File classesDirectory) throws IOException {
+        Map<String, Set<String>> previousApi = new TreeMap<>();
+        try (ZipFile zipFile = new ZipFile(previousJar)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(CLASS_EXTENSION)) {
+                    try (InputStream in = zipFile.getInputStream(entry)) {
+                        readApi(in, previousApi);
+                    }
+                }
+            }
+        }
+
+        Map<String, Set<String>> currentApi = new TreeMap<>();
+        for (Path classFile : getClassFiles(classesDirectory)) {
+            try (InputStream in = Files.newInputStream(classFile)) {
+                readApi(in, currentApi);
+            }
+        }
+
+        List<String> newClasses = new ArrayList<>();
+        Map<String, List<String>> newMethods = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> currentClass : currentApi.entrySet()) {
+            Set<String> previousMethods = previousApi.get(currentClass.getKey());
+            if (previousMethods == null) {
+                newClasses.add(currentClass.getKey());
+                continue;
+            }
+
+            List<String> methods = new ArrayList<>();
+            for (String method : currentClass.getValue()) {
+                if (!previousMethods.contains(method)) {
+                    methods.add(method);
+                }
+            }
+            if (!methods.isEmpty()) {
+                newMethods.put(currentClass.getKey(), methods);
+            }
+        }
+
+        return new ApiDiff(newClasses, newMethods);
+    }
+
+    /**
+     * @param classesDirectory the output directory, not null
+     * @return a hash of the path, size and last modification time of the class files of the directory
+     * @throws IOException if any
+     */
+    public static String getClassesHash(File classesDirectory) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        Path root = classesDirectory.toPath();
+        for (Path classFile : getClassFiles(classesDirectory)) {
+            BasicFileAttributes attributes = Files.readAttributes(classFile, BasicFileAttributes.class);
+            String entry = root.relativize(classFile) + "|" + attributes.size() + "|"
+                    + attributes.lastModifiedTime().toMillis() + "\n";
+            digest.update(entry.getBytes(StandardCharsets.UTF_8));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Load an API difference computed by a previous build.
+     *
+     * @param file the file where the difference was stored, not null
+     * @param key the key of the compared versions, not null
+     * @return the API difference, or null if the file is missing, unreadable or was stored for another key
+     */
+    public static ApiDiff load(Path file, String key) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        if (!key.equals(properties.getProperty(KEY))) {
+            return null;
+        }
+
+        List<String> newClasses = split(properties.getProperty(NEW_CLASSES, ""));
+        Map<String, List<String>> newMethods = new LinkedHashMap<>();
+        for (String name : new TreeMap<>(properties)
+                .keySet().stream()
+                        .map(String::valueOf)
+                        .filter(n -> n.startsWith(NEW_METHODS))
+                        .collect(Collectors.toList())) {
+            newMethods.put(name.substring(NEW_METHODS.length()), split(properties.getProperty(name)));
+        }
+        return new ApiDiff(newClasses, newMethods);
+    }
+
+    /**
+     * Store the API difference for the next build.
+     *
+     * @param file the file where the difference is stored, not null
+     * @param key the key of the compared versions, not null
+     * @throws IOException if any
+     */
+    public void store(Path file, String key) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY, key);
+        properties.setProperty(NEW_CLASSES, String.join("\n", newClasses));
+        for (Map.Entry<String, List<String>> methods : newMethods.entrySet()) {
+            properties.setProperty(NEW_METHODS + methods.getKey(), String.join("\n", methods.getValue()));
+        }
+
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "maven-javadoc-plugin API difference");
+        }
+    }
+
+    /**
+     * @return the fully qualified names of the classes added since the previous version
+     */
+    public List<String> getNewClasses() {
+        return newClasses;
+    }
+
+    /**
+     * @return the methods added since the previous version, by fully qualified name of the class declaring them
+     */
+    public Map<String, List<String>> getNewMethods() {
+        return newMethods;
+    }
+
+    private static List<String> split(String value) {
+        if (value.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(value.split("\n")));
+    }
+
+    private static List<Path> getClassFiles(File classesDirectory) throws IOException {
+        if (!classesDirectory.isDirectory()) {
+            return Collections.emptyList();
+        }
+
+        try (Stream<Path> files = Files.walk(classesDirectory.toPath())) {
+            return files.filter(f -> f.toString().endsWith(CLASS_EXTENSION) && Files.isRegularFile(f))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static void readApi(InputStream in, Map<String, Set<String>> api) throws IOException {
+        ApiReader reader = new ApiReader();
+        new ClassReader(in).accept(reader, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        if (reader.className != null) {
+            api.put(reader.className, reader.methods);
+        }
+    }
+
+    private static boolean isApi(int access) {
+        return (access & (Opcodes.ACC_PUBLIC | Opcodes.ACC_PROTECTED)) != 0 && (access & Opcodes.ACC_SYNTHETIC) == 0;
+    }
+
+    private static String getTypeName(Type type) {
+        return type.getClassName().replace('$', '.');
+    }
+
+    /**
+     * Read the public and protected methods of a public or protected class.
+     */
+    private static final class ApiReader extends ClassVisitor {
+        private String className;
+
+        private String simpleName;
+
+        private final Set<String> methods = new LinkedHashSet<>();
+
+        private ApiReader() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public void visit(
+                int version, int access, String name, String signature, String superName, String[] interfaces) {
+            if (isApi(access) && !name.endsWith("/package-info") && !name.equals("module-info")) {
+                className = name.replace('/', '.').replace('$', '.');
+                simpleName = className.substring(className.lastIndexOf('.') + 1);
+            }
+        }
+
+        @Override
+        public void visitInnerClass(String name, String outerName, String innerName, int access) {
+            // the access flags of a nested class are only in the InnerClasses attribute
+            if (className != null && name.replace('/', '.').replace('$', '.').equals(className) && !isApi(access)) {
+                className = null;
+            }
+        }
+
+        @Override
+        public MethodVisitor visitMethod(
+                int access, String name, String descriptor, String signature, String[] exceptions) {
+            if (!isApi(access) || (access & Opcodes.ACC_BRIDGE) != 0 || "<clinit>".equals(name)) {
+                return null;
+            }
+
+            StringBuilder method = new StringBuilder();
+            method.append((access & Opcodes.ACC_PUBLIC) != 0 ? "public " : "protected ");
+            if ((access & Opcodes.ACC_STATIC) != 0) {
+                method.append("static ");
+            }
+            if ("<init>".equals(name)) {
+                method.append(simpleName);
+            } else {
+                method.append(getTypeName(Type.getReturnType(descriptor)))
+                        .append(' ')
+                        .append(name);
+            }
+            method.append('(');
+            Type[] argumentTypes = Type.getArgumentTypes(descriptor);
+            for (int i = 0; i < argumentTypes.length; i++) {
+                if (i > 0) {
+                    method.append(", ");
+                }
+                method.append(getTypeName(argumentTypes[i]));
+            }
+            method.append(')');
+            methods.add(method.toString());
+            return null;
+        }
+    }
+}
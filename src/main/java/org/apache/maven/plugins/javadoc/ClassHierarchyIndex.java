@@ -0,0 +1,480 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Index of the class hierarchy and of the declared methods of a class path, read from the class files without
+ * loading the classes.
+ * <br/>
+ * The platform classes are looked up first, then the class path elements in order, the same way a class loader
+ * with this class path would. A class whose super class or interfaces are missing from the class path is still
+ * indexed. The classes read from a jar are shared by all the executions of a build session, keyed by the jar path,
+ * size and last modification time. The jars read are kept open until the index is closed.
+ *
+ * @since 3.11.3
+ */
+public class ClassHierarchyIndex implements Closeable {
+    private static final String SESSION_DATA_KEY = ClassHierarchyIndex.class.getName();
+
+    private static final String CLASS_EXTENSION = ".class";
+
+    /**
+     * Marker of the classes not found.
+     */
+    private static final ClassInfo MISSING =
+            new ClassInfo(null, null, Collections.emptyList(), Collections.emptyList());
+
+    private final URLClassLoader platformResources;
+
+    private final List<File> classPath;
+
+    private final Map<String, JarClasses> sessionJars;
+
+    private final Map<String, ClassInfo> classes = new ConcurrentHashMap<>();
+
+    private final Map<File, ZipFile> openJars = new ConcurrentHashMap<>();
+
+    /**
+     * @param session the repository session sharing the classes read from jars, could be null
+     * @param platformClassLoader the class loader of the platform classes, or null for the bootstrap class loader
+     * @param classPath the class path elements, not null
+     */
+    public ClassHierarchyIndex(
+            RepositorySystemSession session, ClassLoader platformClassLoader, List<String> classPath) {
+        this.platformResources = new URLClassLoader(new URL[0], platformClassLoader);
+        this.classPath = new ArrayList<>(classPath.size());
+        for (String element : classPath) {
+            this.classPath.add(new File(element));
+        }
+        this.sessionJars = getSessionJars(session);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, JarClasses> getSessionJars(RepositorySystemSession session) {
+        if (session == null || session.getData() == null) {
+            return new ConcurrentHashMap<>();
+        }
+
+        while (true) {
+            Object jars = session.getData().get(SESSION_DATA_KEY);
+            if (jars instanceof Map) {
+                return (Map<String, JarClasses>) jars;
+            }
+
+            Map<String, JarClasses> newJars = new ConcurrentHashMap<>();
+            if (session.getData().set(SESSION_DATA_KEY, jars, newJars)) {
+                return newJars;
+            }
+        }
+    }
+
+    /**
+     * Find a class by name. As with <code>ClassUtils.getClass</code>, a nested class could be named with a dot
+     * instead of a dollar, i.e. <code>java.util.Map.Entry</code>, and the name of an array type gives its component
+     * type.
+     *
+     * @param className the class name, not null
+     * @return the class, or null if not found
+     */
+    public ClassInfo findClass(String className) {
+        String name = className;
+        while (name.endsWith("[]")) {
+            name = name.substring(0, name.length() - 2);
+        }
+
+        ClassInfo classInfo = getClass(name.replace('.', '/'));
+        int lastDotIndex = name.lastIndexOf('.');
+        while (classInfo == null && lastDotIndex != -1) {
+            name = name.substring(0, lastDotIndex) + '$' + name.substring(lastDotIndex + 1);
+            classInfo = getClass(name.replace('.', '/'));
+            lastDotIndex = name.lastIndexOf('.');
+        }
+        return classInfo;
+    }
+
+    /**
+     * @param classInfo not null
+     * @return the super classes of the class, from the direct super class up to <code>java.lang.Object</code>, as
+     *         far as they are found
+     * @see org.apache.commons.lang3.ClassUtils#getAllSuperclasses(Class)
+     */
+    public List<ClassInfo> getAllSuperclasses(ClassInfo classInfo) {
+        List<ClassInfo> superclasses = new ArrayList<>();
+        ClassInfo superclass = getSuperclass(classInfo);
+        while (superclass != null) {
+            superclasses.add(superclass);
+            superclass = getSuperclass(superclass);
+        }
+        return superclasses;
+    }
+
+    /**
+     * @param classInfo not null
+     * @return the interfaces implemented by the class and its super classes, in the same order as
+     *         <code>ClassUtils.getAllInterfaces</code>, as far as they are found
+     * @see org.apache.commons.lang3.ClassUtils#getAllInterfaces(Class)
+     */
+    public List<ClassInfo> getAllInterfaces(ClassInfo classInfo) {
+        Set<ClassInfo> interfaces = new LinkedHashSet<>();
+        ClassInfo current = classInfo;
+        while (current != null) {
+            addInterfaces(current, interfaces);
+            current = getSuperclass(current);
+        }
+        return new ArrayList<>(interfaces);
+    }
+
+    /**
+     * @param classInfo not null
+     * @param className the fully qualified name of a class, i.e. <code>java.lang.RuntimeException</code>
+     * @return <code>true</code> if the class is the given class or one of its subclasses, as far as the super
+     *         classes are found
+     */
+    public boolean isSubclassOf(ClassInfo classInfo, String className) {
+        Set<ClassInfo> visited = new HashSet<>();
+        ClassInfo current = classInfo;
+        while (current != null && visited.add(current)) {
+            if (current.getName().equals(className)) {
+                return true;
+            }
+            current = getSuperclass(current);
+        }
+        return false;
+    }
+
+    private void addInterfaces(ClassInfo classInfo, Set<ClassInfo> interfaces) {
+        for (String interfaceName : classInfo.interfaceNames) {
+            ClassInfo interfaceInfo = getClass(interfaceName);
+            if (interfaceInfo != null && interfaces.add(interfaceInfo)) {
+                addInterfaces(interfaceInfo, interfaces);
+            }
+        }
+    }
+
+    private ClassInfo getSuperclass(ClassInfo classInfo) {
+        return classInfo.superName == null ? null : getClass(classInfo.superName);
+    }
+
+    /**
+     * @param internalName the internal name of the class, i.e. <code>java/util/Map$Entry</code>
+     * @return the class, or null if not found
+     */
+    private ClassInfo getClass(String internalName) {
+        ClassInfo classInfo = classes.get(internalName);
+        if (classInfo == null) {
+            classInfo = readClass(internalName);
+            classes.put(internalName, classInfo);
+        }
+        return classInfo == MISSING ? null : classInfo;
+    }
+
+    private ClassInfo readClass(String internalName) {
+        String resource = internalName + CLASS_EXTENSION;
+        try (InputStream in = platformResources.getResourceAsStream(resource)) {
+            if (in != null) {
+                return ClassInfo.read(in);
+            }
+        } catch (IOException | RuntimeException e) {
+            // not a valid class file, continue with the class path
+        }
+
+        for (File element : classPath) {
+            try {
+                if (element.isDirectory()) {
+                    Path classFile = element.toPath().resolve(resource);
+                    if (Files.isRegularFile(classFile)) {
+                        try (InputStream in = Files.newInputStream(classFile)) {
+                            return ClassInfo.read(in);
+                        }
+                    }
+                } else if (element.isFile()) {
+                    ClassInfo classInfo = getJarClasses(element).getClass(resource, this);
+                    if (classInfo != MISSING) {
+                        return classInfo;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // not a valid class file, continue with the next element
+            }
+        }
+
+        return MISSING;
+    }
+
+    private JarClasses getJarClasses(File jar) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(jar.toPath(), BasicFileAttributes.class);
+        String key = jar.getAbsolutePath()
+                + '|'
+                + attributes.size()
+                + '|'
+                + attributes.lastModifiedTime().toMillis();
+        return sessionJars.computeIfAbsent(key, k -> new JarClasses(jar));
+    }
+
+    /**
+     * @param jar not null
+     * @return the jar opened by this index, the same one for all the classes read from it
+     * @throws IOException if any
+     */
+    private ZipFile openJar(File jar) throws IOException {
+        ZipFile zipFile = openJars.get(jar);
+        if (zipFile == null) {
+            ZipFile newZipFile = new ZipFile(jar);
+            zipFile = openJars.putIfAbsent(jar, newZipFile);
+            if (zipFile == null) {
+                zipFile = newZipFile;
+            } else {
+                newZipFile.close();
+            }
+        }
+        return zipFile;
+    }
+
+    /**
+     * Close the jars read by this index, and its loader of the platform classes.
+     *
+     * @throws IOException if any
+     */
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+        for (ZipFile zipFile : openJars.values()) {
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        openJars.clear();
+        try {
+            platformResources.close();
+        } catch (IOException e) {
+            if (exception == null) {
+                exception = e;
+            } else {
+                exception.addSuppressed(e);
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * The classes of a jar, read on demand.
+     */
+    private static final class JarClasses {
+        private final File jar;
+
+        private volatile Set<String> entries;
+
+        private final Map<String, ClassInfo> classes = new ConcurrentHashMap<>();
+
+        private JarClasses(File jar) {
+            this.jar = jar;
+        }
+
+        private ClassInfo getClass(String resource, ClassHierarchyIndex index) throws IOException {
+            if (!getEntries(index).contains(resource)) {
+                return MISSING;
+            }
+
+            ClassInfo classInfo = classes.get(resource);
+            if (classInfo == null) {
+                ZipFile zipFile = index.openJar(jar);
+                try (InputStream in = zipFile.getInputStream(zipFile.getEntry(resource))) {
+                    classInfo = ClassInfo.read(in);
+                }
+                classes.put(resource, classInfo);
+            }
+            return classInfo;
+        }
+
+        private Set<String> getEntries(ClassHierarchyIndex index) throws IOException {
+            if (entries == null) {
+                Set<String> names = new HashSet<>();
+                Enumeration<? extends ZipEntry> zipEntries = index.openJar(jar).entries();
+                while (zipEntries.hasMoreElements()) {
+                    String name = zipEntries.nextElement().getName();
+                    if (name.endsWith(CLASS_EXTENSION)) {
+                        names.add(name);
+                    }
+                }
+                entries = names;
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * The super class, interfaces and declared methods of a class.
+     */
+    public static final class ClassInfo {
+        private final String name;
+
+        private final String superName;
+
+        private final List<String> interfaceNames;
+
+        private final List<MethodInfo> methods;
+
+        private ClassInfo(String name, String superName, List<String> interfaceNames, List<MethodInfo> methods) {
+            this.name = name;
+            this.superName = superName;
+            this.interfaceNames = interfaceNames;
+            this.methods = methods;
+        }
+
+        private static ClassInfo read(InputStream in) throws IOException {
+            ClassInfoReader reader = new ClassInfoReader();
+            new ClassReader(in)
+                    .accept(reader, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            return new ClassInfo(reader.name, reader.superName, reader.interfaceNames, reader.methods);
+        }
+
+        /**
+         * @return the binary name of the class, i.e. <code>java.util.Map$Entry</code>
+         * @see Class#getName()
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the methods declared by the class, in the order of the class file, without constructors and
+         *         static initializer
+         * @see Class#getDeclaredMethods()
+         */
+        public List<MethodInfo> getDeclaredMethods() {
+            return methods;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * The name and parameter types of a method.
+     */
+    public static final class MethodInfo {
+        private final String name;
+
+        private final List<String> parameterTypes;
+
+        private MethodInfo(String name, List<String> parameterTypes) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+        }
+
+        /**
+         * @return the method name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the names of the parameter types, as given by {@link Class#getName()}
+         */
+        public List<String> getParameterTypes() {
+            return parameterTypes;
+        }
+    }
+
+    private static final class ClassInfoReader extends ClassVisitor {
+        private String name;
+
+        private String superName;
+
+        private List<String> interfaceNames = Collections.emptyList();
+
+        private final List<MethodInfo> methods = new ArrayList<>();
+
+        private ClassInfoReader() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public void visit(
+                int version, int access, String name, String signature, String superName, String[] interfaces) {
+            this.name = name.replace('/', '.');
+            this.superName = superName;
+            if (interfaces != null && interfaces.length > 0) {
+                List<String> names = new ArrayList<>(interfaces.length);
+                Collections.addAll(names, interfaces);
+                this.interfaceNames = names;
+            }
+        }
+
+        @Override
+        public MethodVisitor visitMethod(
+                int access, String name, String descriptor, String signature, String[] exceptions) {
+            if (!"<init>".equals(name) && !"<clinit>".equals(name)) {
+                Type[] argumentTypes = Type.getArgumentTypes(descriptor);
+                List<String> parameterTypes = new ArrayList<>(argumentTypes.length);
+                for (Type argumentType : argumentTypes) {
+                    parameterTypes.add(getClassName(argumentType));
+                }
+                methods.add(new MethodInfo(name, parameterTypes));
+            }
+            return null;
+        }
+
+        private static String getClassName(Type type) {
+            if (type.getSort() == Type.ARRAY) {
+                return type.getDescriptor().replace('/', '.');
+            }
+            return type.getClassName();
+        }
+    }
+}
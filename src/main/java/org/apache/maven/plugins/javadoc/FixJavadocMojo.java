@@ -25,6 +25,7 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.codehaus.plexus.components.interactivity.InputHandler;
+import org.eclipse.aether.RepositorySystem;
 
 /**
  * Fix Javadoc documentation and tags for the <code>Java code</code> for the project.
@@ -38,7 +39,7 @@ import org.codehaus.plexus.components.interactivity.InputHandler;
 public class FixJavadocMojo extends AbstractFixJavadocMojo {
 
     @Inject
-    public FixJavadocMojo(InputHandler inputHandler) {
-        super(inputHandler);
+    public FixJavadocMojo(InputHandler inputHandler, RepositorySystem repoSystem) {
+        super(inputHandler, repoSystem);
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Records the content hash of the source files processed by the last <code>fix</code> run, together with the
+ * configuration of this run, so that the next run with the same configuration only processes the new or changed
+ * source files.
+ *
+ * @since 3.11.3
+ */
+public class FixManifest {
+    private static final String CONFIGURATION = "configuration";
+
+    private static final String FILE_PREFIX = "file.";
+
+    private final Path manifestFile;
+
+    private final String configuration;
+
+    private final Properties previous = new Properties();
+
+    private final Properties current = new Properties();
+
+    private final List<File> changedFiles = new ArrayList<>();
+
+    /**
+     * Load the manifest of the last run. The manifest is ignored if it is missing, unreadable or if it was written
+     * with another configuration.
+     *
+     * @param manifestFile the manifest file, not null
+     * @param configuration the configuration of the current run, not null
+     */
+    public FixManifest(Path manifestFile, String configuration) {
+        this.manifestFile = manifestFile;
+        this.configuration = configuration;
+
+        if (Files.isRegularFile(manifestFile)) {
+            try (InputStream in = Files.newInputStream(manifestFile)) {
+                previous.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                previous.clear();
+            }
+            if (!configuration.equals(previous.getProperty(CONFIGURATION))) {
+                previous.clear();
+            }
+        }
+    }
+
+    /**
+     * Keep the source files which are new or changed since the last run. The unchanged files are recorded as is.
+     *
+     * @param javaFiles the source files, not null
+     * @return the new or changed source files
+     * @throws IOException if a file could not be read
+     */
+    public List<File> getChangedFiles(List<File> javaFiles) throws IOException {
+        List<File> files = new ArrayList<>();
+        for (File javaFile : javaFiles) {
+            String key = FILE_PREFIX + javaFile.getAbsolutePath();
+            String hash = previous.getProperty(key);
+            if (hash != null && hash.equals(hash(javaFile.toPath()))) {
+                current.setProperty(key, hash);
+            } else {
+                files.add(javaFile);
+                changedFiles.add(javaFile);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Record the content of the new or changed source files, once processed, and write the manifest.
+     *
+     * @throws IOException if any
+     */
+    public void store() throws IOException {
+        for (File javaFile : changedFiles) {
+            if (javaFile.isFile()) {
+                current.setProperty(FILE_PREFIX + javaFile.getAbsolutePath(), hash(javaFile.toPath()));
+            }
+        }
+        current.setProperty(CONFIGURATION, configuration);
+
+        Files.createDirectories(manifestFile.getParent());
+        try (OutputStream out = Files.newOutputStream(manifestFile)) {
+            current.store(out, "maven-javadoc-plugin fix manifest");
+        }
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest(Files.readAllBytes(file))) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
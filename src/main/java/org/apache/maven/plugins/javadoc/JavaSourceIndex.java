@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line index of a Java source content, built in a single pass: the lines of the content, split the same way as
+ * {@link java.io.BufferedReader#readLine()} does, and for each line the nearest line starting a Javadoc comment.
+ * <br/>
+ * The index is built once per source file and passed along the fix of its entities, so that the Javadoc of all the
+ * entities of a class can be extracted without splitting the whole content again for each entity.
+ *
+ * @since 3.11.3
+ */
+class JavaSourceIndex {
+    private static final String START_JAVADOC = "/**";
+
+    private final String[] lines;
+
+    /**
+     * For each line, the index of the nearest line at or before it which starts with {@link #START_JAVADOC}, or
+     * <code>-1</code> if there is none.
+     */
+    private final int[] javadocStarts;
+
+    private JavaSourceIndex(String content) {
+        List<String> lineList = new ArrayList<>();
+        List<Integer> javadocStartList = new ArrayList<>();
+        int javadocStart = -1;
+        int length = content.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && content.charAt(lineEnd) != '\n' && content.charAt(lineEnd) != '\r') {
+                lineEnd++;
+            }
+
+            if (isJavadocStart(content, lineStart, lineEnd)) {
+                javadocStart = lineList.size();
+            }
+            lineList.add(content.substring(lineStart, lineEnd));
+            javadocStartList.add(javadocStart);
+
+            if (lineEnd < length && content.charAt(lineEnd) == '\r') {
+                lineEnd++;
+            }
+            if (lineEnd < length && content.charAt(lineEnd) == '\n') {
+                lineEnd++;
+            }
+            lineStart = lineEnd;
+        }
+
+        this.lines = lineList.toArray(new String[0]);
+        this.javadocStarts = new int[javadocStartList.size()];
+        for (int i = 0; i < javadocStarts.length; i++) {
+            javadocStarts[i] = javadocStartList.get(i);
+        }
+    }
+
+    /**
+     * @param content the Java source content, not null
+     * @return the index of the content
+     */
+    static JavaSourceIndex of(String content) {
+        return new JavaSourceIndex(content);
+    }
+
+    /**
+     * @return the number of lines
+     */
+    int getLineCount() {
+        return lines.length;
+    }
+
+    /**
+     * @param index the line index, starting at <code>0</code>
+     * @return the line without line separator
+     */
+    String getLine(int index) {
+        return lines[index];
+    }
+
+    /**
+     * @param index the line index, starting at <code>0</code>
+     * @return the index of the nearest line at or before the given line which starts a Javadoc comment, or
+     *         <code>-1</code> if there is none
+     */
+    int getJavadocStart(int index) {
+        return javadocStarts[index];
+    }
+
+    private static boolean isJavadocStart(String content, int lineStart, int lineEnd) {
+        int i = lineStart;
+        while (i < lineEnd && content.charAt(i) <= ' ') {
+            i++;
+        }
+        return lineEnd - i >= START_JAVADOC.length() && content.startsWith(START_JAVADOC, i);
+    }
+}
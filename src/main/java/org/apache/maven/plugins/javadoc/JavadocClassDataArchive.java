@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A dynamic class data sharing archive of the JVM of a javadoc tool, to start the javadoc processes faster.
+ * <br/>
+ * The archive is dumped at the exit of the first javadoc process, with <code>-XX:ArchiveClassesAtExit</code>, and
+ * mapped by the next ones, with <code>-XX:SharedArchiveFile</code>, so it needs a javadoc tool from Java 13. There is
+ * one archive by javadoc executable, named after its path, and its version and the files of its JDK: when the JDK
+ * changes, the archive is dumped again and the outdated one is deleted. Only one process dumps the archive at a time,
+ * the others run without it; the JVM ignores an archive it cannot map, without failing.
+ *
+ * @since 3.11.3
+ */
+public class JavadocClassDataArchive {
+    private static final String EXTENSION = ".jsa";
+
+    private static final String DUMP_OPTION = "-J-XX:ArchiveClassesAtExit=";
+
+    private static final String MAP_OPTION = "-J-XX:SharedArchiveFile=";
+
+    /**
+     * The age after which the lock of a dump is considered left over by a killed build.
+     */
+    private static final long STALE_LOCK_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final Path archive;
+
+    private final Path lock;
+
+    private final Path dump;
+
+    private JavadocClassDataArchive(Path archive, Path lock, Path dump) {
+        this.archive = archive;
+        this.lock = lock;
+        this.dump = dump;
+    }
+
+    /**
+     * Get the archive of a javadoc executable, and lock its dump if it does not exist yet.
+     *
+     * @param directory the directory of the archives, not null
+     * @param javadocExecutable the javadoc executable, not null
+     * @param javadocVersion the version of the javadoc executable, not null
+     * @return the archive, to be completed once the javadoc process has ended
+     * @throws IOException if the directory or the executable could not be read
+     */
+    public static JavadocClassDataArchive get(Path directory, File javadocExecutable, String javadocVersion)
+            throws IOException {
+        Path executable = javadocExecutable.toPath().toRealPath();
+        // javadoc is in the bin directory of the JDK, lib/modules holds its classes
+        Path modules = executable.getParent().resolveSibling("lib").resolve("modules");
+        String prefix = "javadoc-" + hash(executable.toString()) + '-';
+        String name = prefix + hash(javadocVersion + ':' + getStamp(executable) + ':' + getStamp(modules)) + EXTENSION;
+
+        Files.createDirectories(directory);
+        deleteOutdatedArchives(directory, prefix, name);
+
+        Path archive = directory.resolve(name);
+        if (Files.isRegularFile(archive)) {
+            return new JavadocClassDataArchive(archive, null, null);
+        }
+
+        Path lock = directory.resolve(name + ".lock");
+        if (!tryLock(lock)) {
+            // dumped by another process
+            return new JavadocClassDataArchive(archive, null, null);
+        }
+        return new JavadocClassDataArchive(archive, lock, directory.resolve(name + ".tmp"));
+    }
+
+    /**
+     * @return the archive file
+     */
+    public Path getArchive() {
+        return archive;
+    }
+
+    /**
+     * @return <code>true</code> if the javadoc process dumps the archive, <code>false</code> if it maps it or runs
+     *         without it
+     */
+    public boolean isDumping() {
+        return dump != null;
+    }
+
+    /**
+     * @return the options of the javadoc tool to dump or map the archive, empty if the archive is dumped by another
+     *         process
+     */
+    public List<String> getJavadocOptions() {
+        if (dump != null) {
+            return Collections.singletonList(DUMP_OPTION + dump);
+        }
+        if (Files.isRegularFile(archive)) {
+            return Collections.singletonList(MAP_OPTION + archive);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @param option an option of the javadoc tool
+     * @return <code>true</code> if the option dumps or maps a class data sharing archive
+     */
+    public static boolean isJavadocOption(String option) {
+        return option.startsWith(DUMP_OPTION) || option.startsWith(MAP_OPTION);
+    }
+
+    /**
+     * @param option an option of the javadoc tool
+     * @return <code>true</code> if the option dumps a class data sharing archive
+     */
+    public static boolean isDumpOption(String option) {
+        return option.startsWith(DUMP_OPTION);
+    }
+
+    /**
+     * Complete the archive once the javadoc process has ended: publish the dumped archive, and release the lock.
+     *
+     * @throws IOException if the archive could not be published
+     */
+    public void complete() throws IOException {
+        if (dump == null) {
+            return;
+        }
+
+        try {
+            if (Files.isRegularFile(dump) && Files.size(dump) > 0) {
+                Files.move(dump, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            delete(dump);
+            Files.deleteIfExists(lock);
+        }
+    }
+
+    private static boolean tryLock(Path lock) throws IOException {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                Files.createFile(lock);
+                return true;
+            } catch (FileAlreadyExistsException e) {
+                try {
+                    if (System.currentTimeMillis()
+                                    - Files.getLastModifiedTime(lock).toMillis()
+                            < STALE_LOCK_MILLIS) {
+                        return false;
+                    }
+                    Files.deleteIfExists(lock);
+                } catch (IOException ex) {
+                    // released meanwhile
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void deleteOutdatedArchives(Path directory, String prefix, String name) throws IOException {
+        try (DirectoryStream<Path> archives = Files.newDirectoryStream(directory, prefix + '*' + EXTENSION)) {
+            for (Path outdated : archives) {
+                if (!outdated.getFileName().toString().equals(name)) {
+                    delete(outdated);
+                }
+            }
+        }
+    }
+
+    private static void delete(Path file) throws IOException {
+        // the JVM dumps read-only archives
+        file.toFile().setWritable(true);
+        Files.deleteIfExists(file);
+    }
+
+    private static String getStamp(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return "";
+        }
+        return Files.size(file) + "@" + Files.getLastModifiedTime(file).toMillis();
+    }
+
+    private static String hash(String value) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest(value.getBytes(StandardCharsets.UTF_8))) {
+            sb.append(String.format("%02x", b));
+        }
+        // short enough for file names, unique enough for a few JDKs
+        return sb.substring(0, 12);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Java Flight Recorder events of the plugin, i.e. of the phases of the executions and of the validation of the links,
+ * and summary of the recordings of the javadoc process.
+ * <br/>
+ * This implementation emits nothing and summarizes nothing. When the JVM provides the <code>jdk.jfr</code> module,
+ * i.e. from Java 11, the instance is a <code>FlightRecorderJavadocEvents</code>, compiled separately with release 11,
+ * which emits the events when a recording of them is running.
+ *
+ * @since 3.11.3
+ */
+public class JavadocEvents {
+    private static final String FLIGHT_RECORDER_EVENTS = "org.apache.maven.plugins.javadoc.FlightRecorderJavadocEvents";
+
+    private static final JavadocEvents INSTANCE = load();
+
+    /**
+     * @return the events of the JVM, never null
+     */
+    public static JavadocEvents getInstance() {
+        return INSTANCE;
+    }
+
+    private static JavadocEvents load() {
+        try {
+            ClassLoader classLoader = JavadocEvents.class.getClassLoader();
+            Class.forName("jdk.jfr.Event", false, classLoader);
+            return (JavadocEvents) Class.forName(FLIGHT_RECORDER_EVENTS, true, classLoader)
+                    .getConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // before Java 11, or without the jdk.jfr module
+            return new JavadocEvents();
+        }
+    }
+
+    /**
+     * Begin the event of a phase.
+     *
+     * @param phase the name of the phase, see {@link JavadocMetrics}
+     * @param module the <code>groupId:artifactId:version</code> of the project
+     * @param goal the goal of the execution
+     * @return the event to pass to {@link #end(Object)}, or null if the event is not recorded
+     */
+    public Object beginPhase(String phase, String module, String goal) {
+        return null;
+    }
+
+    /**
+     * Begin the event of the validation of a link.
+     *
+     * @param url the validated link
+     * @param module the <code>groupId:artifactId:version</code> of the project
+     * @param goal the goal of the execution
+     * @return the event to pass to {@link #endLinkValidation(Object, boolean)}, or null if the event is not recorded
+     */
+    public Object beginLinkValidation(String url, String module, String goal) {
+        return null;
+    }
+
+    /**
+     * End and commit the event of a phase.
+     *
+     * @param event the event returned by {@link #beginPhase(String, String, String)}, not null
+     */
+    public void end(Object event) {}
+
+    /**
+     * End and commit the event of the validation of a link.
+     *
+     * @param event the event returned by {@link #beginLinkValidation(String, String, String)}, not null
+     * @param valid <code>true</code> if the link has been found valid
+     */
+    public void endLinkValidation(Object event, boolean valid) {}
+
+    /**
+     * Summarize a recording of the javadoc process: its hottest methods and packages, its GC pauses and its
+     * allocation rate.
+     *
+     * @param recording the recording file, not null
+     * @return the lines of the summary, or null if the recordings cannot be read by this JVM
+     * @throws IOException if the recording could not be read
+     */
+    public List<String> summarizeRecording(Path recording) throws IOException {
+        return null;
+    }
+}
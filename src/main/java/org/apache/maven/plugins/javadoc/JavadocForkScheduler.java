@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * The scheduler of the javadoc processes of a build session, which keeps the sum of their maximum heaps within a
+ * memory budget, e.g. when the modules of a reactor are built in parallel with <code>-T</code>.
+ * <br/>
+ * Each javadoc process acquires a slot, weighted by its heap, before it is started, and releases it once it has
+ * ended. When the budget is exhausted, the waiting processes get their slot in priority order: first the modules
+ * with the most downstream modules in the reactor, i.e. on the critical path, then the largest heaps, then the
+ * earliest requests. The waiting processes do not overtake each other, so a large heap is not starved by smaller
+ * ones. A heap larger than the whole budget runs alone.
+ *
+ * @since 3.11.3
+ */
+public class JavadocForkScheduler {
+    private static final String SESSION_DATA_KEY = JavadocForkScheduler.class.getName();
+
+    private static final long MEGABYTE = 1024 * 1024;
+
+    private static final Comparator<Slot> PRIORITY = Comparator.comparingInt((Slot slot) -> slot.priority)
+            .thenComparingLong(slot -> slot.megabytes)
+            .reversed()
+            .thenComparingLong(slot -> slot.sequence);
+
+    private final long budgetMegabytes;
+
+    private final PriorityQueue<Slot> waiting = new PriorityQueue<>(PRIORITY);
+
+    private long usedMegabytes;
+
+    private long sequence;
+
+    /**
+     * @param budgetMegabytes the memory budget in megabytes
+     */
+    public JavadocForkScheduler(long budgetMegabytes) {
+        this.budgetMegabytes = Math.max(1, budgetMegabytes);
+    }
+
+    /**
+     * Get the scheduler of the build session, creating it on first use. The budget of the first execution wins.
+     *
+     * @param session the repository session holding the scheduler, could be null
+     * @param budgetMegabytes the memory budget in megabytes
+     * @return the scheduler of the session, or a new scheduler if there is no session
+     */
+    public static JavadocForkScheduler getInstance(RepositorySystemSession session, long budgetMegabytes) {
+        if (session == null || session.getData() == null) {
+            return new JavadocForkScheduler(budgetMegabytes);
+        }
+
+        while (true) {
+            Object scheduler = session.getData().get(SESSION_DATA_KEY);
+            if (scheduler instanceof JavadocForkScheduler) {
+                return (JavadocForkScheduler) scheduler;
+            }
+
+            JavadocForkScheduler newScheduler = new JavadocForkScheduler(budgetMegabytes);
+            if (session.getData().set(SESSION_DATA_KEY, scheduler, newScheduler)) {
+                return newScheduler;
+            }
+        }
+    }
+
+    /**
+     * Parse a memory budget.
+     *
+     * @param budget the budget, either a memory size as <code>maxmemory</code>, or <code>auto</code> for three
+     *            quarters of the physical memory
+     * @return the budget in megabytes, or -1 if <code>auto</code> and the physical memory is unknown
+     * @throws IllegalArgumentException if the budget is malformed
+     */
+    public static long parseBudget(String budget) {
+        if ("auto".equalsIgnoreCase(budget)) {
+            OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+            if (os instanceof com.sun.management.OperatingSystemMXBean) {
+                long physical = ((com.sun.management.OperatingSystemMXBean) os).getTotalPhysicalMemorySize();
+                return physical / MEGABYTE * 3 / 4;
+            }
+            return -1;
+        }
+        return toMegabytes(JavadocUtil.parseJavadocMemory(budget));
+    }
+
+    /**
+     * @param memory a memory size, as returned by {@link JavadocUtil#parseJavadocMemory(String)}, e.g.
+     *            <code>512m</code>
+     * @return the memory size in megabytes, rounded up
+     */
+    public static long toMegabytes(String memory) {
+        long value = Long.parseLong(memory.substring(0, memory.length() - 1));
+        return memory.endsWith("k") ? (value + 1023) / 1024 : value;
+    }
+
+    /**
+     * @return the memory budget in megabytes
+     */
+    public long getBudgetMegabytes() {
+        return budgetMegabytes;
+    }
+
+    /**
+     * @return the memory of the running javadoc processes in megabytes
+     */
+    public synchronized long getUsedMegabytes() {
+        return usedMegabytes;
+    }
+
+    /**
+     * @return the number of javadoc processes waiting for their slot
+     */
+    public synchronized int getWaiting() {
+        return waiting.size();
+    }
+
+    /**
+     * Acquire a slot for a javadoc process, waiting until its heap fits in the budget and no process of a higher
+     * priority is waiting.
+     *
+     * @param megabytes the maximum heap of the javadoc process in megabytes
+     * @param priority the priority of the javadoc process, e.g. the number of downstream modules
+     * @return the slot, to be released once the javadoc process has ended
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized Slot acquire(long megabytes, int priority) throws InterruptedException {
+        Slot slot = new Slot(Math.min(Math.max(megabytes, 1), budgetMegabytes), priority, sequence++);
+        waiting.add(slot);
+        try {
+            while (waiting.peek() != slot || usedMegabytes + slot.megabytes > budgetMegabytes) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            waiting.remove(slot);
+            notifyAll();
+            throw e;
+        }
+        waiting.remove();
+        usedMegabytes += slot.megabytes;
+        // the next waiting process may fit too
+        notifyAll();
+        return slot;
+    }
+
+    private synchronized void release(Slot slot) {
+        usedMegabytes -= slot.megabytes;
+        notifyAll();
+    }
+
+    /**
+     * The slot of a javadoc process.
+     */
+    public class Slot implements AutoCloseable {
+        private final long megabytes;
+
+        private final int priority;
+
+        private final long sequence;
+
+        private boolean released;
+
+        Slot(long megabytes, int priority, long sequence) {
+            this.megabytes = megabytes;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        /**
+         * @return the memory of the slot in megabytes, at most the budget
+         */
+        public long getMegabytes() {
+            return megabytes;
+        }
+
+        @Override
+        public void close() {
+            synchronized (JavadocForkScheduler.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            release(this);
+        }
+    }
+}
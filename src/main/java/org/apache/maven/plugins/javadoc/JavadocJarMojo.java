@@ -73,9 +73,15 @@ public class JavadocJarMojo extends AbstractJavadocMojo {
      * @see AbstractJavadocMojo#PACKAGES_FILE_NAME
      * @see AbstractJavadocMojo#ARGFILE_FILE_NAME
      * @see AbstractJavadocMojo#FILES_FILE_NAME
+     * @see AbstractJavadocMojo#RESOURCES_ARTIFACTS_MARKER_FILE_NAME
      */
     private static final String[] DEFAULT_EXCLUDES = new String[] {
-        DEBUG_JAVADOC_SCRIPT_NAME, OPTIONS_FILE_NAME, PACKAGES_FILE_NAME, ARGFILE_FILE_NAME, FILES_FILE_NAME
+        DEBUG_JAVADOC_SCRIPT_NAME,
+        OPTIONS_FILE_NAME,
+        PACKAGES_FILE_NAME,
+        ARGFILE_FILE_NAME,
+        FILES_FILE_NAME,
+        RESOURCES_ARTIFACTS_MARKER_FILE_NAME
     };
 
     // ----------------------------------------------------------------------
@@ -203,7 +209,10 @@ public class JavadocJarMojo extends AbstractJavadocMojo {
         File javadocOutputDirectory = new File(getPluginReportOutputDirectory());
         if (javadocOutputDirectory.exists()) {
             try {
-                File outputFile = generateArchive(javadocOutputDirectory, finalName + "-" + getClassifier() + ".jar");
+                File outputFile;
+                try (JavadocMetrics.Phase phase = getMetrics().start(JavadocMetrics.GENERATE_ARCHIVE)) {
+                    outputFile = generateArchive(javadocOutputDirectory, finalName + "-" + getClassifier() + ".jar");
+                }
 
                 if (!attach) {
                     getLog().info("NOT adding javadoc to attached artifacts list.");
@@ -211,7 +220,10 @@ public class JavadocJarMojo extends AbstractJavadocMojo {
                     // TODO: these introduced dependencies on the project are going to become problematic - can we
                     // export it
                     //  through metadata instead?
-                    projectHelper.attachArtifact(project, "javadoc", getClassifier(), outputFile);
+                    // the main and test archives may be attached concurrently by the jar-and-test-jar goal
+                    synchronized (project) {
+                        projectHelper.attachArtifact(project, "javadoc", getClassifier(), outputFile);
+                    }
                 }
             } catch (ArchiverException e) {
                 failOnError("ArchiverException: Error while creating archive", e);
@@ -236,6 +248,21 @@ public class JavadocJarMojo extends AbstractJavadocMojo {
         return classifier;
     }
 
+    @Override
+    protected void copyConfiguration(AbstractJavadocMojo target) {
+        super.copyConfiguration(target);
+        if (target instanceof JavadocJarMojo) {
+            JavadocJarMojo jarTarget = (JavadocJarMojo) target;
+            jarTarget.jarOutputDirectory = jarOutputDirectory;
+            jarTarget.finalName = finalName;
+            jarTarget.attach = attach;
+            jarTarget.archive = archive;
+            jarTarget.defaultManifestFile = defaultManifestFile;
+            jarTarget.useDefaultManifestFile = useDefaultManifestFile;
+            jarTarget.classifier = classifier;
+        }
+    }
+
     // ----------------------------------------------------------------------
     // private methods
     // ----------------------------------------------------------------------
@@ -0,0 +1,442 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Wall time, CPU time and allocated bytes of the phases of a plugin execution, i.e. of the main steps of
+ * <code>executeReport</code> and of the archiving of the jar goals.
+ * <br/>
+ * The CPU time and the allocated bytes are the ones of the calling thread, as reported by the
+ * <code>ThreadMXBean</code> of the JVM, so they are <code>-1</code> when the JVM does not support them and they do
+ * not include the javadoc process itself. The copy of the resources and the collection of the links run concurrently
+ * with the other phases, so the wall times of the phases may add up to more than the wall time of the execution.
+ * <br/>
+ * The metrics of all the executions of a build session are kept in the repository session, to be summarized for the
+ * reactor. Whether the metrics are enabled or not, each phase is also emitted as a Java Flight Recorder event, see
+ * {@link JavadocEvents}.
+ *
+ * @since 3.11.3
+ */
+public class JavadocMetrics {
+    public static final String GET_SOURCE_PATHS = "getSourcePaths";
+
+    public static final String GET_FILES = "getFiles";
+
+    public static final String DEPENDENCY_SOURCES = "dependencySources";
+
+    public static final String JAVADOC_EXECUTABLE = "javadocExecutable";
+
+    public static final String COPY_ALL_RESOURCES = "copyAllResources";
+
+    public static final String LINKS = "links";
+
+    public static final String ADD_JAVADOC_OPTIONS = "addJavadocOptions";
+
+    public static final String JAVADOC_PROCESS = "javadocProcess";
+
+    public static final String FORK_SLOT = "forkSlot";
+
+    public static final String STITCH_MODULES = "stitchModules";
+
+    public static final String GENERATE_ARCHIVE = "generateArchive";
+
+    private static final String SESSION_DATA_KEY = JavadocMetrics.class.getName();
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Phase returned when the metrics are disabled.
+     */
+    private static final Phase NO_PHASE = new Phase(null, null, null);
+
+    private final boolean enabled;
+
+    private final String module;
+
+    private final String goal;
+
+    private final long startNanos = System.nanoTime();
+
+    private long wallNanos = -1;
+
+    private final Map<String, PhaseMetrics> phases = new LinkedHashMap<>();
+
+    /**
+     * @param enabled <code>false</code> to record nothing
+     * @param module the <code>groupId:artifactId:version</code> of the project
+     * @param goal the goal of the execution
+     */
+    public JavadocMetrics(boolean enabled, String module, String goal) {
+        this.enabled = enabled;
+        this.module = module;
+        this.goal = goal;
+    }
+
+    /**
+     * @return <code>true</code> if the phases are recorded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the <code>groupId:artifactId:version</code> of the project
+     */
+    public String getModule() {
+        return module;
+    }
+
+    /**
+     * @return the goal of the execution
+     */
+    public String getGoal() {
+        return goal;
+    }
+
+    /**
+     * @return the identifier of the execution, i.e. the project and the goal
+     */
+    public String getId() {
+        return module + ":" + goal;
+    }
+
+    /**
+     * Start a phase, to be closed at its end, typically with a <code>try</code>-with-resources statement.
+     *
+     * @param name the name of the phase, not null
+     * @return the started phase, never null
+     */
+    public Phase start(String name) {
+        Object event = JavadocEvents.getInstance().beginPhase(name, module, goal);
+        return enabled || event != null ? new Phase(enabled ? this : null, name, event) : NO_PHASE;
+    }
+
+    /**
+     * Mark the end of the execution.
+     */
+    public void stop() {
+        wallNanos = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * @return the wall time of the execution in milliseconds, or of the execution so far if not stopped
+     */
+    public long getWallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(wallNanos < 0 ? System.nanoTime() - startNanos : wallNanos);
+    }
+
+    /**
+     * @return the metrics of the phases, in their starting order
+     */
+    public synchronized Map<String, PhaseMetrics> getPhases() {
+        Map<String, PhaseMetrics> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, PhaseMetrics> entry : phases.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().copy());
+        }
+        return copy;
+    }
+
+    private synchronized void record(String name, long wall, long cpu, long allocated) {
+        phases.computeIfAbsent(name, k -> new PhaseMetrics()).add(wall, cpu, allocated);
+    }
+
+    /**
+     * Write the metrics of this execution as a JSON document.
+     *
+     * @param file the JSON file, not null
+     * @throws IOException if the file could not be written
+     */
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(toJson(""));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Register this execution in the repository session, for the reactor summary.
+     *
+     * @param session the repository session, could be null
+     * @return the metrics of all the executions of the session registered so far, including this one
+     */
+    public List<JavadocMetrics> register(RepositorySystemSession session) {
+        if (session == null || session.getData() == null) {
+            return Collections.singletonList(this);
+        }
+
+        List<JavadocMetrics> executions = getExecutions(session);
+        synchronized (executions) {
+            executions.add(this);
+            return new ArrayList<>(executions);
+        }
+    }
+
+    /**
+     * @param session the repository session, could be null
+     * @return the metrics of all the executions of the session registered so far, not null
+     */
+    public static List<JavadocMetrics> getRegistered(RepositorySystemSession session) {
+        if (session == null || session.getData() == null) {
+            return Collections.emptyList();
+        }
+
+        List<JavadocMetrics> executions = getExecutions(session);
+        synchronized (executions) {
+            return new ArrayList<>(executions);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<JavadocMetrics> getExecutions(RepositorySystemSession session) {
+        while (true) {
+            Object executions = session.getData().get(SESSION_DATA_KEY);
+            if (executions instanceof List) {
+                return (List<JavadocMetrics>) executions;
+            }
+
+            List<JavadocMetrics> newExecutions = new ArrayList<>();
+            if (session.getData().set(SESSION_DATA_KEY, executions, newExecutions)) {
+                return newExecutions;
+            }
+        }
+    }
+
+    /**
+     * Write the summary of several executions as a JSON document, i.e. the metrics of each execution and the totals
+     * of each phase.
+     *
+     * @param executions the metrics of the executions, not null
+     * @param file the JSON file, not null
+     * @throws IOException if the file could not be written
+     */
+    public static void writeSummary(List<JavadocMetrics> executions, Path file) throws IOException {
+        StringBuilder json = new StringBuilder("{\n  \"executions\": [");
+        for (int i = 0; i < executions.size(); i++) {
+            json.append(i == 0 ? "\n    " : ",\n    ").append(executions.get(i).toJson("    "));
+        }
+        json.append("\n  ],\n  \"totals\": ");
+        appendPhases(json, getTotals(executions), "  ");
+        json.append("\n}\n");
+
+        JavadocUtil.writeAtomically(file, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param executions the metrics of the executions, not null
+     * @return the sums of the metrics of each phase over the executions
+     */
+    public static Map<String, PhaseMetrics> getTotals(List<JavadocMetrics> executions) {
+        Map<String, PhaseMetrics> totals = new LinkedHashMap<>();
+        for (JavadocMetrics execution : executions) {
+            for (Map.Entry<String, PhaseMetrics> entry : execution.getPhases().entrySet()) {
+                totals.computeIfAbsent(entry.getKey(), k -> new PhaseMetrics()).add(entry.getValue());
+            }
+        }
+        return totals;
+    }
+
+    private String toJson(String indent) {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append(indent).append("  \"id\": \"").append(escape(getId())).append("\",\n");
+        json.append(indent).append("  \"wallMillis\": ").append(getWallMillis()).append(",\n");
+        json.append(indent).append("  \"phases\": ");
+        appendPhases(json, getPhases(), indent + "  ");
+        json.append('\n').append(indent).append('}');
+        return json.toString();
+    }
+
+    private static void appendPhases(StringBuilder json, Map<String, PhaseMetrics> phases, String indent) {
+        json.append('{');
+        String separator = "\n";
+        for (Map.Entry<String, PhaseMetrics> entry : phases.entrySet()) {
+            PhaseMetrics metrics = entry.getValue();
+            json.append(separator)
+                    .append(indent)
+                    .append("  \"")
+                    .append(escape(entry.getKey()))
+                    .append("\": {\"count\": ")
+                    .append(metrics.getCount())
+                    .append(", \"wallMillis\": ")
+                    .append(metrics.getWallMillis())
+                    .append(", \"cpuMillis\": ")
+                    .append(metrics.getCpuMillis())
+                    .append(", \"allocatedBytes\": ")
+                    .append(metrics.getAllocatedBytes())
+                    .append('}');
+            separator = ",\n";
+        }
+        json.append(phases.isEmpty() ? "" : "\n" + indent).append('}');
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < ' ') {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static long getCpuNanos() {
+        try {
+            return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+            try {
+                return bean.isThreadAllocatedMemorySupported()
+                        ? bean.getThreadAllocatedBytes(Thread.currentThread().getId())
+                        : -1;
+            } catch (UnsupportedOperationException e) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A running phase, recorded when closed.
+     */
+    public static class Phase implements AutoCloseable {
+        private final JavadocMetrics metrics;
+
+        private final String name;
+
+        private final Object event;
+
+        private final long startWall;
+
+        private final long startCpu;
+
+        private final long startAllocated;
+
+        private Phase(JavadocMetrics metrics, String name, Object event) {
+            this.metrics = metrics;
+            this.name = name;
+            this.event = event;
+            this.startWall = metrics == null ? 0 : System.nanoTime();
+            this.startCpu = metrics == null ? 0 : getCpuNanos();
+            this.startAllocated = metrics == null ? 0 : getAllocatedBytes();
+        }
+
+        @Override
+        public void close() {
+            if (event != null) {
+                JavadocEvents.getInstance().end(event);
+            }
+            if (metrics == null) {
+                return;
+            }
+
+            long cpu = getCpuNanos();
+            long allocated = getAllocatedBytes();
+            metrics.record(
+                    name,
+                    System.nanoTime() - startWall,
+                    cpu < 0 || startCpu < 0 ? -1 : cpu - startCpu,
+                    allocated < 0 || startAllocated < 0 ? -1 : allocated - startAllocated);
+        }
+    }
+
+    /**
+     * The accumulated metrics of a phase.
+     */
+    public static class PhaseMetrics {
+        private int count;
+
+        private long wallNanos;
+
+        private long cpuNanos;
+
+        private long allocatedBytes;
+
+        private void add(long wall, long cpu, long allocated) {
+            count++;
+            wallNanos += wall;
+            cpuNanos = cpuNanos < 0 || cpu < 0 ? -1 : cpuNanos + cpu;
+            allocatedBytes = allocatedBytes < 0 || allocated < 0 ? -1 : allocatedBytes + allocated;
+        }
+
+        private void add(PhaseMetrics other) {
+            count += other.count - 1;
+            add(other.wallNanos, other.cpuNanos, other.allocatedBytes);
+        }
+
+        private PhaseMetrics copy() {
+            PhaseMetrics copy = new PhaseMetrics();
+            copy.add(this);
+            return copy;
+        }
+
+        /**
+         * @return the number of times the phase has been run
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return the wall time of the phase in milliseconds
+         */
+        public long getWallMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(wallNanos);
+        }
+
+        /**
+         * @return the CPU time of the phase in milliseconds, or <code>-1</code> if not supported by the JVM
+         */
+        public long getCpuMillis() {
+            return cpuNanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(cpuNanos);
+        }
+
+        /**
+         * @return the bytes allocated by the phase, or <code>-1</code> if not supported by the JVM
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,532 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The resources used by a javadoc process, i.e. its peak resident set size, its live heap and its CPU time, with the
+ * number of source files it has processed.
+ * <br/>
+ * The resources are sampled from <code>/proc</code>, so only on Linux: the javadoc process is found among the child
+ * processes of the Maven JVM by its working directory, which is the javadoc output directory, and its own child
+ * processes are included, e.g. the JVM started by a shell. The processes are found from the <code>children</code>
+ * files of <code>/proc</code>, i.e. with a kernel built with <code>CONFIG_PROC_CHILDREN</code>. The peak is the high
+ * water mark of the resident set size reported by the kernel, so it is not missed between two samples. The live heap
+ * is read from the log of the garbage collections of the process, with a javadoc tool from Java 9.
+ *
+ * @since 3.11.3
+ */
+public class JavadocProcessResources {
+    private static final Path PROC = Paths.get("/proc");
+
+    /**
+     * The default unit of the CPU times of <code>/proc/&lt;pid&gt;/stat</code>, i.e. <code>USER_HZ</code>, when it
+     * can't be read from <code>getconf CLK_TCK</code>.
+     */
+    private static final long DEFAULT_CLOCK_TICKS_PER_SECOND = 100;
+
+    private static final long SAMPLING_PERIOD_MILLIS = 200;
+
+    private static final long MEGABYTE = 1024 * 1024;
+
+    /**
+     * The smallest heap set by the <code>auto</code> memory mode, in megabytes.
+     */
+    private static final long MIN_AUTO_HEAP = 256;
+
+    /**
+     * The JVM option logging the garbage collections in a file, followed by the file path.
+     */
+    private static final String GC_LOG_OPTION = "-Xlog:gc:file=";
+
+    /**
+     * The heap before and after a collection in a garbage collection log line, i.e. <code>25M-&gt;4M(256M)</code>,
+     * or <code>204M(10%)-&gt;34M(2%)</code> with ZGC.
+     */
+    private static final Pattern GC_HEAP = Pattern.compile("\\d+[KMG](?:\\(\\d+%\\))?->(\\d+)([KMG])");
+
+    private final long peakRssBytes;
+
+    private final long liveHeapBytes;
+
+    private final long cpuMillis;
+
+    private final int sourceFiles;
+
+    /**
+     * @param peakRssBytes the peak resident set size of the process in bytes
+     * @param cpuMillis the CPU time of the process in milliseconds
+     * @param sourceFiles the number of source files processed
+     */
+    public JavadocProcessResources(long peakRssBytes, long cpuMillis, int sourceFiles) {
+        this(peakRssBytes, -1, cpuMillis, sourceFiles);
+    }
+
+    /**
+     * @param peakRssBytes the peak resident set size of the process in bytes
+     * @param liveHeapBytes the largest heap left by a garbage collection in bytes, or -1 if unknown
+     * @param cpuMillis the CPU time of the process in milliseconds
+     * @param sourceFiles the number of source files processed
+     */
+    public JavadocProcessResources(long peakRssBytes, long liveHeapBytes, long cpuMillis, int sourceFiles) {
+        this.peakRssBytes = peakRssBytes;
+        this.liveHeapBytes = liveHeapBytes;
+        this.cpuMillis = cpuMillis;
+        this.sourceFiles = sourceFiles;
+    }
+
+    /**
+     * @return the peak resident set size of the process in bytes
+     */
+    public long getPeakRssBytes() {
+        return peakRssBytes;
+    }
+
+    /**
+     * @return the largest heap left by a garbage collection of the process in bytes, i.e. an upper bound of its live
+     *         set, or -1 if unknown
+     */
+    public long getLiveHeapBytes() {
+        return liveHeapBytes;
+    }
+
+    /**
+     * @return the CPU time of the process in milliseconds, from the clock ticks of the kernel
+     */
+    public long getCpuMillis() {
+        return cpuMillis;
+    }
+
+    /**
+     * @return the number of source files processed
+     */
+    public int getSourceFiles() {
+        return sourceFiles;
+    }
+
+    /**
+     * @param other the resources of another process of the same goal, e.g. another javadoc shard, not null
+     * @return the largest resources of both processes, with the number of source files of the one with the largest
+     *         live heap, or peak resident set size without live heap, as it sizes the next run
+     */
+    public JavadocProcessResources max(JavadocProcessResources other) {
+        boolean larger = liveHeapBytes >= 0 || other.liveHeapBytes >= 0
+                ? liveHeapBytes >= other.liveHeapBytes
+                : peakRssBytes >= other.peakRssBytes;
+        return new JavadocProcessResources(
+                Math.max(peakRssBytes, other.peakRssBytes),
+                Math.max(liveHeapBytes, other.liveHeapBytes),
+                Math.max(cpuMillis, other.cpuMillis),
+                larger ? sourceFiles : other.sourceFiles);
+    }
+
+    /**
+     * Estimate the maximum heap of the next run from this one: twice the live heap, so that the collector has room
+     * to work, scaled by the ratio of the numbers of source files, rounded up to 64 MB, at least 256 MB and at most
+     * the default maximum heap of the JVM. Without a live heap, i.e. with a javadoc tool older than Java 9, the peak
+     * resident set size with 20% of headroom is used instead; it grows with the heap given to the process, so only
+     * the cap keeps this estimate from growing from run to run.
+     *
+     * @param currentSourceFiles the number of source files of the next run
+     * @param maxHeapMegabytes the largest estimate in megabytes, or -1 for no limit
+     * @return the maximum heap in megabytes, e.g. <code>768m</code>
+     * @see #getDefaultMaxHeap()
+     */
+    public String estimateMaxMemory(int currentSourceFiles, long maxHeapMegabytes) {
+        double growth = sourceFiles > 0 && currentSourceFiles > 0 ? (double) currentSourceFiles / sourceFiles : 1.0;
+        double needed = liveHeapBytes >= 0 ? liveHeapBytes * 2.0 : peakRssBytes * 1.2;
+        long heap = (long) Math.ceil(needed * growth / MEGABYTE);
+        heap = (heap + 63) / 64 * 64;
+        if (maxHeapMegabytes > 0) {
+            heap = Math.min(heap, maxHeapMegabytes);
+        }
+        return Math.max(MIN_AUTO_HEAP, heap) + "m";
+    }
+
+    /**
+     * @return the default maximum heap of the JVM, i.e. a quarter of the physical memory, in megabytes, or -1 if
+     *         unknown
+     */
+    public static long getDefaultMaxHeap() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getTotalPhysicalMemorySize() / MEGABYTE / 4;
+        }
+        return -1;
+    }
+
+    /**
+     * @param gcLog the file logging the garbage collections, not null
+     * @return the JVM option logging the garbage collections in this file, or null if the path can't be passed to
+     *         the JVM, i.e. with whitespace or a colon
+     */
+    public static String getGcLogOption(Path gcLog) {
+        String path = gcLog.toAbsolutePath().toString();
+        if (path.matches(".*[\\s:\"].*")) {
+            return null;
+        }
+        return GC_LOG_OPTION + path;
+    }
+
+    /**
+     * @param option an option of the javadoc tool
+     * @return <code>true</code> if the option sets the maximum heap or logs the garbage collections, which does not
+     *         change the output, and varies from run to run in the <code>auto</code> memory mode
+     */
+    public static boolean isJavadocOption(String option) {
+        return option.startsWith("-J-Xmx") || option.startsWith("-J" + GC_LOG_OPTION);
+    }
+
+    /**
+     * @param arguments the arguments of the javadoc tool, not null
+     * @return the file logging the garbage collections, or null if not logged
+     */
+    public static Path getGcLog(String[] arguments) {
+        Path gcLog = null;
+        for (String arg : arguments) {
+            if (arg.startsWith("-J" + GC_LOG_OPTION)) {
+                gcLog = Paths.get(arg.substring(("-J" + GC_LOG_OPTION).length()));
+            }
+        }
+        return gcLog;
+    }
+
+    /**
+     * @param gcLog the file logging the garbage collections, could be null
+     * @return the largest heap left by a garbage collection in bytes, or -1 if none was logged
+     */
+    static long readLiveHeapBytes(Path gcLog) {
+        if (gcLog == null || !Files.isRegularFile(gcLog)) {
+            return -1;
+        }
+
+        long liveHeap = -1;
+        try (BufferedReader reader = Files.newBufferedReader(gcLog, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                Matcher matcher = GC_HEAP.matcher(line);
+                if (matcher.find()) {
+                    long heap = Long.parseLong(matcher.group(1));
+                    switch (matcher.group(2)) {
+                        case "K":
+                            heap *= 1024;
+                            break;
+                        case "M":
+                            heap *= MEGABYTE;
+                            break;
+                        default:
+                            heap *= 1024 * MEGABYTE;
+                    }
+                    liveHeap = Math.max(liveHeap, heap);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+        return liveHeap;
+    }
+
+    /**
+     * Load the resources of the previous run of a goal.
+     *
+     * @param file the file storing the resources, not null
+     * @param goal the goal
+     * @return the resources of the previous run, or null if missing or unreadable
+     */
+    public static JavadocProcessResources load(Path file, String goal) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+            String peakRss = properties.getProperty(goal + ".peakRssBytes");
+            if (peakRss == null) {
+                return null;
+            }
+            return new JavadocProcessResources(
+                    Long.parseLong(peakRss),
+                    Long.parseLong(properties.getProperty(goal + ".liveHeapBytes", "-1")),
+                    Long.parseLong(properties.getProperty(goal + ".cpuMillis", "-1")),
+                    Integer.parseInt(properties.getProperty(goal + ".sourceFiles", "0")));
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Store the resources of a run of a goal, keeping the resources of the other goals, which may be stored
+     * concurrently.
+     *
+     * @param file the file storing the resources, not null
+     * @param goal the goal
+     * @throws IOException if the file could not be written
+     */
+    public void store(Path file, String goal) throws IOException {
+        synchronized (JavadocUtil.getFileLock(file)) {
+            Properties properties = new Properties();
+            if (Files.isRegularFile(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    properties.load(in);
+                } catch (IOException | IllegalArgumentException e) {
+                    properties.clear();
+                }
+            }
+            properties.setProperty(goal + ".peakRssBytes", String.valueOf(peakRssBytes));
+            properties.setProperty(goal + ".liveHeapBytes", String.valueOf(liveHeapBytes));
+            properties.setProperty(goal + ".cpuMillis", String.valueOf(cpuMillis));
+            properties.setProperty(goal + ".sourceFiles", String.valueOf(sourceFiles));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            properties.store(out, "Resources of the javadoc process");
+            JavadocUtil.writeAtomically(file, out.toByteArray());
+        }
+    }
+
+    /**
+     * Start sampling the resources of the javadoc process started in a working directory.
+     *
+     * @param workingDirectory the working directory of the javadoc process, not null
+     * @return the sampler, to be closed once the process has ended
+     */
+    public static Sampler sample(File workingDirectory) {
+        Path path = workingDirectory.getAbsoluteFile().toPath().normalize();
+        try {
+            // the working directory of a process is reported without symbolic links
+            path = path.toRealPath();
+        } catch (IOException e) {
+            // not created yet
+        }
+        return new Sampler(path);
+    }
+
+    /**
+     * The sampling of the resources of a process, in a daemon thread.
+     */
+    public static class Sampler implements AutoCloseable {
+        private final Path workingDirectory;
+
+        private final ScheduledExecutorService executor;
+
+        /**
+         * The peak resident set size and the CPU time of the sampled processes, by pid.
+         */
+        private final Map<String, long[]> processes = new HashMap<>();
+
+        private String root;
+
+        private Sampler(Path workingDirectory) {
+            this.workingDirectory = workingDirectory;
+            if (Files.isDirectory(PROC.resolve("self"))) {
+                executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "javadoc-process-sampler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                executor.scheduleAtFixedRate(this::sample, 0, SAMPLING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+            } else {
+                executor = null;
+            }
+        }
+
+        /**
+         * @param sourceFiles the number of source files processed
+         * @param gcLog the file logging the garbage collections of the process, could be null
+         * @return the sampled resources, or null if the process has not been found
+         */
+        public synchronized JavadocProcessResources getResources(int sourceFiles, Path gcLog) {
+            if (processes.isEmpty()) {
+                return null;
+            }
+
+            long peakRss = 0;
+            long cpuTicks = 0;
+            for (long[] process : processes.values()) {
+                peakRss += process[0];
+                cpuTicks += process[1];
+            }
+            return new JavadocProcessResources(
+                    peakRss, readLiveHeapBytes(gcLog), cpuTicks * 1000 / ClockTicks.PER_SECOND, sourceFiles);
+        }
+
+        @Override
+        public void close() {
+            if (executor == null) {
+                return;
+            }
+
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private synchronized void sample() {
+            try {
+                if (root == null) {
+                    root = findProcess();
+                    if (root == null) {
+                        return;
+                    }
+                }
+
+                List<String> pids = new ArrayList<>();
+                pids.add(root);
+                for (int i = 0; i < pids.size(); i++) {
+                    pids.addAll(getChildren(pids.get(i)));
+                }
+                for (String pid : pids) {
+                    samplePid(pid);
+                }
+            } catch (IOException | RuntimeException e) {
+                // the process has ended, or /proc is not readable
+            }
+        }
+
+        /**
+         * @return the child process of the Maven JVM running in the working directory, or null if not started yet
+         */
+        private String findProcess() throws IOException {
+            try (DirectoryStream<Path> tasks = Files.newDirectoryStream(PROC.resolve("self/task"))) {
+                for (Path task : tasks) {
+                    for (String child : readChildren(task)) {
+                        try {
+                            if (workingDirectory.equals(
+                                    Files.readSymbolicLink(PROC.resolve(child).resolve("cwd")))) {
+                                return child;
+                            }
+                        } catch (IOException e) {
+                            // not readable or already ended
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static List<String> getChildren(String pid) {
+            List<String> children = new ArrayList<>();
+            try (DirectoryStream<Path> tasks =
+                    Files.newDirectoryStream(PROC.resolve(pid).resolve("task"))) {
+                for (Path task : tasks) {
+                    children.addAll(readChildren(task));
+                }
+            } catch (IOException e) {
+                // already ended
+            }
+            return children;
+        }
+
+        private static List<String> readChildren(Path task) {
+            List<String> children = new ArrayList<>();
+            try {
+                String content = new String(Files.readAllBytes(task.resolve("children")), StandardCharsets.UTF_8);
+                for (String child : content.trim().split("\\s+")) {
+                    if (!child.isEmpty()) {
+                        children.add(child);
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                // already ended
+            } catch (IOException e) {
+                // without CONFIG_PROC_CHILDREN
+            }
+            return children;
+        }
+
+        private void samplePid(String pid) throws IOException {
+            Path dir = PROC.resolve(pid);
+            long hwm = -1;
+            for (String line : Files.readAllLines(dir.resolve("status"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmHWM:")) {
+                    // in kB
+                    hwm = Long.parseLong(line.substring(6).trim().split("\\s+")[0]) * 1024;
+                    break;
+                }
+            }
+
+            // the command name, in parentheses, may contain spaces: the fields are counted after it
+            String stat = new String(Files.readAllBytes(dir.resolve("stat")), StandardCharsets.UTF_8);
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            // utime and stime, i.e. the fields 14 and 15 of the whole line
+            long cpuTicks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+
+            long[] process = processes.computeIfAbsent(pid, k -> new long[2]);
+            process[0] = Math.max(process[0], hwm);
+            process[1] = Math.max(process[1], cpuTicks);
+        }
+    }
+
+    /**
+     * The unit of the CPU times of <code>/proc/&lt;pid&gt;/stat</code>, read once.
+     */
+    private static final class ClockTicks {
+        private static final long PER_SECOND = read();
+
+        private static long read() {
+            try {
+                Process process = new ProcessBuilder("getconf", "CLK_TCK")
+                        .redirectErrorStream(true)
+                        .start();
+                String output;
+                try (BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                    output = reader.readLine();
+                }
+                if (process.waitFor() == 0 && output != null) {
+                    long ticks = Long.parseLong(output.trim());
+                    if (ticks > 0) {
+                        return ticks;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // no getconf
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return DEFAULT_CLOCK_TICKS_PER_SECOND;
+        }
+    }
+}
@@ -0,0 +1,675 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.text.StringEscapeUtils;
+
+/**
+ * The shards of a javadoc run, i.e. the groups of packages documented by separate javadoc processes, so the peak
+ * memory of each process grows with the size of its shard instead of the size of the module.
+ * <br/>
+ * Each shard links to the packages of the other shards with <code>-linkoffline</code>, through an
+ * <code>element-list</code> written before the processes start, and a relative URL since all the shards end up in the
+ * same output directory. Once generated, the shards are merged in the output directory: the pages of the packages
+ * and classes are disjoint, the <code>element-list</code> and the search indexes are joined, the summary tables of
+ * the overview and of the <code>all*-index.html</code> pages and the sections of <code>index-all.html</code> are
+ * merged entry by entry, and the main content of the other pages, e.g. the tree or the constant values, is appended
+ * to the page of the first shard. The merge relies on the HTML of the standard doclet of Java 16 and later. The
+ * users of a class are not merged across the shards: its known subclasses, implementing classes and subinterfaces,
+ * and its <code>class-use</code> page, only list the classes of its own shard.
+ * <br/>
+ * The same merge stitches the aggregated documentation of a reactor from the documentation of its modules, once their
+ * links to each other are made relative and before the overview is rebuilt for all the packages.
+ *
+ * @since 3.11.3
+ */
+public class JavadocShards {
+    /**
+     * The name of the file listing the documented packages, read by <code>-linkoffline</code>.
+     */
+    public static final String ELEMENT_LIST = "element-list";
+
+    /**
+     * The pages made of a summary table of all the documented packages or classes.
+     */
+    private static final String OVERVIEW_PAGE = "index.html";
+
+    private static final String ALL_PACKAGES_PAGE = "allpackages-index.html";
+
+    private static final Set<String> SUMMARY_PAGES =
+            new HashSet<>(Arrays.asList(OVERVIEW_PAGE, "allclasses-index.html", ALL_PACKAGES_PAGE));
+
+    private static final String INDEX_PAGE = "index-all.html";
+
+    private static final String SUMMARY_TABLE = "<div class=\"summary-table";
+
+    private static final Pattern INDEX_SECTION = Pattern.compile(
+            "<h2 class=\"title\" id=\"I:([^\"]+)\">(.*?)</h2>\\s*<dl class=\"index\">\\s*(.*?)\\s*</dl>",
+            Pattern.DOTALL);
+
+    private static final Pattern INDEX_ENTRY = Pattern.compile("<dt>.*?</dt>\\s*<dd>.*?</dd>", Pattern.DOTALL);
+
+    private static final Pattern INDEX_NAVIGATION = Pattern.compile("(?:<a href=\"#I:[^\"]+\">[^<]*</a>&nbsp;)+");
+
+    private static final Pattern MAIN_START = Pattern.compile("<main[^>]*>");
+
+    private static final Pattern TAG = Pattern.compile("<[^>]*>");
+
+    private static final Pattern ROW_COLOR = Pattern.compile("(even|odd)-row-color");
+
+    private static final Pattern TITLE = Pattern.compile("<title>([^(<]*?)(?: \\([^<]*\\))?</title>");
+
+    private static final String HEADER = "<div class=\"header\">";
+
+    private JavadocShards() {
+        // hide constructor of utility class
+    }
+
+    /**
+     * Split the packages in shards of similar sizes, with at least two packages each so each shard gets an overview
+     * page.
+     *
+     * @param packageSizes the size of the sources of each package, not null
+     * @param count the maximum number of shards
+     * @return the packages of each shard, sorted by name, or a single shard if the packages can not be split
+     */
+    public static List<List<String>> split(Map<String, Long> packageSizes, int count) {
+        int shardCount = Math.min(count, packageSizes.size() / 2);
+        if (shardCount < 2) {
+            return Collections.singletonList(new ArrayList<>(new TreeSet<>(packageSizes.keySet())));
+        }
+
+        List<List<String>> shards = new ArrayList<>();
+        long[] sizes = new long[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+
+        // the largest packages first, each in the smallest shard so far
+        List<Map.Entry<String, Long>> packages = new ArrayList<>(packageSizes.entrySet());
+        packages.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<String, Long> entry : packages) {
+            int smallest = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (sizes[i] < sizes[smallest]
+                        || sizes[i] == sizes[smallest]
+                                && shards.get(i).size() < shards.get(smallest).size()) {
+                    smallest = i;
+                }
+            }
+            shards.get(smallest).add(entry.getKey());
+            sizes[smallest] += entry.getValue();
+        }
+
+        // a shard with a single package would get the package summary as its index
+        for (List<String> shard : shards) {
+            while (shard.size() < 2) {
+                List<String> donor =
+                        shards.stream().max(Comparator.comparingInt(List::size)).get();
+                shard.add(donor.remove(donor.size() - 1));
+            }
+        }
+
+        for (List<String> shard : shards) {
+            shard.sort(null);
+        }
+        return shards;
+    }
+
+    /**
+     * Write the <code>element-list</code> of the packages of the other shards, to be linked with
+     * <code>-linkoffline</code> by a shard.
+     *
+     * @param directory the directory of the <code>element-list</code>, not null
+     * @param shards the packages of each shard, not null
+     * @param shard the index of the shard linking to the other ones
+     * @throws IOException if the file could not be written
+     */
+    public static void writeElementList(Path directory, List<List<String>> shards, int shard) throws IOException {
+        Set<String> packages = new TreeSet<>();
+        for (int i = 0; i < shards.size(); i++) {
+            if (i != shard) {
+                packages.addAll(shards.get(i));
+            }
+        }
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(ELEMENT_LIST), packages, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Merge the output directories of the shards in the output directory of the run. The files of the shards are
+     * moved.
+     *
+     * @param shardDirectories the output directories of the shards, not null
+     * @param outputDirectory the output directory of the run, not null
+     * @param charset the encoding of the pages and of the scripts, i.e. the <code>docencoding</code>, not null
+     * @throws IOException if a file could not be merged
+     */
+    public static void merge(List<Path> shardDirectories, Path outputDirectory, Charset charset) throws IOException {
+        Set<Path> merged = new HashSet<>();
+        for (Path shardDirectory : shardDirectories) {
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(shardDirectory)) {
+                files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+            }
+
+            for (Path file : files) {
+                Path relative = shardDirectory.relativize(file);
+                Path target = outputDirectory.resolve(relative.toString());
+                if (merged.add(relative)) {
+                    // the files of a previous run are replaced
+                    Files.createDirectories(target.getParent());
+                    Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+                } else {
+                    mergeFile(target, file, relative.getNameCount() == 1, charset);
+                }
+            }
+        }
+    }
+
+    private static void mergeFile(Path target, Path file, boolean topLevel, Charset charset) throws IOException {
+        String name = file.getFileName().toString();
+        boolean list = name.equals(ELEMENT_LIST) || name.equals("package-list");
+        if (!list && !name.endsWith(".js") && !name.endsWith(".html")) {
+            // the resources of the doclet, e.g. the stylesheet or the scripts, are the same
+            return;
+        }
+
+        // the lists of packages are always written in UTF-8, the pages and the search indexes in the docencoding
+        Charset fileCharset = list ? StandardCharsets.UTF_8 : charset;
+        String content = new String(Files.readAllBytes(target), fileCharset);
+        String other = new String(Files.readAllBytes(file), fileCharset);
+        if (content.equals(other)) {
+            return;
+        }
+
+        String result;
+        if (list) {
+            result = mergeLines(content, other);
+        } else if (name.endsWith("-search-index.js")) {
+            result = mergeSearchIndex(content, other);
+        } else if (topLevel && name.equals(INDEX_PAGE)) {
+            result = mergeIndex(content, other);
+        } else if (topLevel && SUMMARY_PAGES.contains(name)) {
+            result = mergeSummaryTables(content, other);
+        } else if (name.endsWith(".html")) {
+            result = appendMainContent(content, other);
+        } else {
+            result = null;
+        }
+
+        if (result != null) {
+            Files.write(target, result.getBytes(fileCharset));
+        }
+    }
+
+    /**
+     * @param content the lines of the first file, not null
+     * @param other the lines of the second file, not null
+     * @return the sorted union of the lines
+     */
+    static String mergeLines(String content, String other) {
+        Set<String> lines = new TreeSet<>();
+        for (String line : (content + "\n" + other).split("\\R")) {
+            if (!line.isEmpty()) {
+                lines.add(line);
+            }
+        }
+        return String.join("\n", lines) + "\n";
+    }
+
+    /**
+     * @param content a search index, e.g. <code>typeSearchIndex = [{...},{...}];updateSearchResults();</code>
+     * @param other the same search index of another shard
+     * @return the search index with the entries of both, or null if one of them is not an array of entries
+     */
+    static String mergeSearchIndex(String content, String other) {
+        int start = content.indexOf('[');
+        int end = content.lastIndexOf(']');
+        int otherStart = other.indexOf('[');
+        int otherEnd = other.lastIndexOf(']');
+        if (start < 0 || end < start || otherStart < 0 || otherEnd < otherStart) {
+            return null;
+        }
+
+        Set<String> entries = new LinkedHashSet<>(getObjects(content.substring(start + 1, end)));
+        entries.addAll(getObjects(other.substring(otherStart + 1, otherEnd)));
+        return content.substring(0, start + 1) + String.join(",", entries) + content.substring(end);
+    }
+
+    /**
+     * @param array the content of a JSON array of objects, without the brackets
+     * @return the JSON objects of the array
+     */
+    private static List<String> getObjects(String array) {
+        List<String> objects = new ArrayList<>();
+        int depth = 0;
+        int start = -1;
+        boolean string = false;
+        for (int i = 0; i < array.length(); i++) {
+            char c = array.charAt(i);
+            if (string) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    string = false;
+                }
+            } else if (c == '"') {
+                string = true;
+            } else if (c == '{') {
+                if (depth++ == 0) {
+                    start = i;
+                }
+            } else if (c == '}' && --depth == 0) {
+                objects.add(array.substring(start, i + 1));
+            }
+        }
+        return objects;
+    }
+
+    /**
+     * @param content the <code>index-all.html</code> of a shard
+     * @param other the <code>index-all.html</code> of another shard
+     * @return the index with the entries of both, in the sections of their letters, or the main content of the
+     *         other appended if the layout of the index is unknown
+     */
+    static String mergeIndex(String content, String other) {
+        Matcher matcher = INDEX_SECTION.matcher(content);
+        if (!matcher.find()) {
+            return appendMainContent(content, other);
+        }
+        int sectionsStart = matcher.start();
+        int sectionsEnd;
+
+        Map<String, String> titles = new TreeMap<>();
+        Map<String, List<String>> entries = new TreeMap<>();
+        do {
+            sectionsEnd = matcher.end();
+            addIndexSection(matcher, titles, entries);
+        } while (matcher.find());
+
+        Matcher otherMatcher = INDEX_SECTION.matcher(other);
+        while (otherMatcher.find()) {
+            addIndexSection(otherMatcher, titles, entries);
+        }
+
+        StringBuilder sections = new StringBuilder();
+        StringBuilder navigation = new StringBuilder();
+        for (Map.Entry<String, List<String>> section : entries.entrySet()) {
+            String id = section.getKey();
+            String title = titles.get(id);
+            List<String> sectionEntries = section.getValue();
+            sectionEntries.sort(Comparator.comparing(JavadocShards::getSortKey));
+
+            if (sections.length() > 0) {
+                sections.append('\n');
+            }
+            sections.append("<h2 class=\"title\" id=\"I:")
+                    .append(id)
+                    .append("\">")
+                    .append(title)
+                    .append("</h2>\n<dl class=\"index\">\n")
+                    .append(String.join("\n", new LinkedHashSet<>(sectionEntries)))
+                    .append("\n</dl>");
+            navigation
+                    .append("<a href=\"#I:")
+                    .append(id)
+                    .append("\">")
+                    .append(title)
+                    .append("</a>&nbsp;");
+        }
+
+        String merged = content.substring(0, sectionsStart) + sections + content.substring(sectionsEnd);
+        return INDEX_NAVIGATION.matcher(merged).replaceAll(Matcher.quoteReplacement(navigation.toString()));
+    }
+
+    private static void addIndexSection(
+            Matcher section, Map<String, String> titles, Map<String, List<String>> entries) {
+        titles.put(section.group(1), section.group(2));
+        List<String> sectionEntries = entries.computeIfAbsent(section.group(1), k -> new ArrayList<>());
+        Matcher entry = INDEX_ENTRY.matcher(section.group(3));
+        while (entry.find()) {
+            sectionEntries.add(entry.group());
+        }
+    }
+
+    /**
+     * @param content a page made of summary tables, e.g. the overview
+     * @param other the same page of another shard
+     * @return the page with the rows of the tables of both, or the main content of the other appended if the
+     *         tables do not match
+     */
+    static String mergeSummaryTables(String content, String other) {
+        List<int[]> tables = findSummaryTables(content);
+        List<int[]> otherTables = findSummaryTables(other);
+        if (tables.isEmpty() || tables.size() != otherTables.size()) {
+            return appendMainContent(content, other);
+        }
+
+        StringBuilder merged = new StringBuilder();
+        int position = 0;
+        for (int t = 0; t < tables.size(); t++) {
+            int[] table = tables.get(t);
+            int[] otherTable = otherTables.get(t);
+            int openEnd = content.indexOf('>', table[0]) + 1;
+            List<String> cells = getChildren(content, openEnd, table[1]);
+            List<String> otherCells = getChildren(other, other.indexOf('>', otherTable[0]) + 1, otherTable[1]);
+
+            List<String> headers =
+                    cells.stream().filter(JavadocShards::isTableHeader).collect(Collectors.toList());
+            List<String> otherHeaders =
+                    otherCells.stream().filter(JavadocShards::isTableHeader).collect(Collectors.toList());
+            if (headers.isEmpty() || !headers.equals(otherHeaders)) {
+                return appendMainContent(content, other);
+            }
+
+            Map<String, List<String>> rows = new LinkedHashMap<>();
+            addRows(cells, headers.size(), rows);
+            addRows(otherCells, headers.size(), rows);
+            List<List<String>> sortedRows = new ArrayList<>(rows.values());
+            sortedRows.sort(Comparator.comparing(row -> getSortKey(row.get(0))));
+
+            merged.append(content, position, openEnd).append('\n');
+            merged.append(String.join("\n", headers));
+            for (int r = 0; r < sortedRows.size(); r++) {
+                String color = r % 2 == 0 ? "even-row-color" : "odd-row-color";
+                for (String cell : sortedRows.get(r)) {
+                    merged.append('\n').append(ROW_COLOR.matcher(cell).replaceFirst(color));
+                }
+            }
+            merged.append("\n</div>");
+            position = table[1];
+        }
+        merged.append(content, position, content.length());
+        return merged.toString();
+    }
+
+    private static void addRows(List<String> cells, int columns, Map<String, List<String>> rows) {
+        List<String> rowCells =
+                cells.stream().filter(cell -> !isTableHeader(cell)).collect(Collectors.toList());
+        for (int i = 0; i + columns <= rowCells.size(); i += columns) {
+            List<String> row = rowCells.subList(i, i + columns);
+            rows.putIfAbsent(ROW_COLOR.matcher(row.get(0)).replaceFirst(""), new ArrayList<>(row));
+        }
+    }
+
+    private static boolean isTableHeader(String cell) {
+        return cell.startsWith("<div class=\"table-header");
+    }
+
+    /**
+     * @param html a page
+     * @return the start and end offsets of the summary tables of the page
+     */
+    private static List<int[]> findSummaryTables(String html) {
+        List<int[]> tables = new ArrayList<>();
+        int start = html.indexOf(SUMMARY_TABLE);
+        while (start >= 0) {
+            int end = findElementEnd(html, start);
+            if (end < 0) {
+                break;
+            }
+            tables.add(new int[] {start, end});
+            start = html.indexOf(SUMMARY_TABLE, end);
+        }
+        return tables;
+    }
+
+    /**
+     * @param html a page
+     * @param start the offset of the content of a <code>div</code>
+     * @param end the offset of the closing tag of the <code>div</code>
+     * @return the <code>div</code> children of the <code>div</code>
+     */
+    private static List<String> getChildren(String html, int start, int end) {
+        List<String> children = new ArrayList<>();
+        int position = start;
+        while (true) {
+            while (position < end && Character.isWhitespace(html.charAt(position))) {
+                position++;
+            }
+            if (!html.startsWith("<div", position)) {
+                return children;
+            }
+            int childEnd = findElementEnd(html, position);
+            if (childEnd < 0 || childEnd > end) {
+                return children;
+            }
+            children.add(html.substring(position, childEnd));
+            position = childEnd;
+        }
+    }
+
+    /**
+     * @param html a page
+     * @param start the offset of the opening tag of a <code>div</code>
+     * @return the offset following its closing tag, or -1 if it is not closed
+     */
+    private static int findElementEnd(String html, int start) {
+        int depth = 0;
+        int position = start;
+        while (true) {
+            int open = html.indexOf("<div", position);
+            int close = html.indexOf("</div>", position);
+            if (close < 0) {
+                return -1;
+            }
+            if (open >= 0 && open < close) {
+                depth++;
+                position = open + "<div".length();
+            } else {
+                depth--;
+                position = close + "</div>".length();
+                if (depth == 0) {
+                    return position;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param content a page
+     * @param other the same page of another shard
+     * @return the page with the main content of the other appended, without its header, or null if one of them has
+     *         no main content
+     */
+    static String appendMainContent(String content, String other) {
+        int end = content.lastIndexOf("</main>");
+        Matcher otherStart = MAIN_START.matcher(other);
+        int otherEnd = other.lastIndexOf("</main>");
+        if (end < 0 || !otherStart.find() || otherEnd < otherStart.end()) {
+            return null;
+        }
+
+        String appended = other.substring(otherStart.end(), otherEnd);
+        int header = appended.indexOf(HEADER);
+        if (header >= 0) {
+            int headerEnd = findElementEnd(appended, header);
+            if (headerEnd > 0) {
+                appended = appended.substring(0, header) + appended.substring(headerEnd);
+            }
+        }
+        return content.substring(0, end) + appended.trim() + "\n" + content.substring(end);
+    }
+
+    private static String getSortKey(String html) {
+        return TAG.matcher(html).replaceAll("").trim().toLowerCase(Locale.ROOT) + '\u0000' + html;
+    }
+
+    /**
+     * @param directory the output directory of a javadoc run, e.g. of a module, not null
+     * @param charset the encoding of the pages, not null
+     * @return <code>true</code> if the output can be merged with the output of other runs, i.e. the packages were
+     *         documented without module by the standard doclet of Java 16 or later, <code>false</code> otherwise
+     * @throws IOException if a file could not be read
+     */
+    public static boolean isMergeable(Path directory, Charset charset) throws IOException {
+        Path elementList = directory.resolve(ELEMENT_LIST);
+        Path allPackages = directory.resolve(ALL_PACKAGES_PAGE);
+        if (!Files.isRegularFile(elementList) || !Files.isRegularFile(allPackages)) {
+            return false;
+        }
+        for (String line : Files.readAllLines(elementList, StandardCharsets.UTF_8)) {
+            if (line.startsWith("module:")) {
+                return false;
+            }
+        }
+        return new String(Files.readAllBytes(allPackages), charset).contains(SUMMARY_TABLE);
+    }
+
+    /**
+     * Make the links of the pages of a run to other documentations relative, as they are merged in the same output
+     * directory.
+     *
+     * @param directory the output directory of the run, not null
+     * @param urls the URLs of the merged documentations, without trailing slash, not null
+     * @param charset the encoding of the pages, not null
+     * @throws IOException if a page could not be rewritten
+     */
+    public static void relativizeLinks(Path directory, Collection<String> urls, Charset charset) throws IOException {
+        if (urls.isEmpty()) {
+            return;
+        }
+
+        List<Path> pages;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            pages = walk.filter(file -> file.getFileName().toString().endsWith(".html"))
+                    .collect(Collectors.toList());
+        }
+        for (Path page : pages) {
+            String content = new String(Files.readAllBytes(page), charset);
+            String root = String.join(
+                    "", Collections.nCopies(directory.relativize(page).getNameCount() - 1, "../"));
+            String result = content;
+            for (String url : urls) {
+                result = result.replace("href=\"" + url + "/", "href=\"" + root);
+            }
+            if (!result.equals(content)) {
+                Files.write(page, result.getBytes(charset));
+            }
+        }
+    }
+
+    /**
+     * Regenerate the top level navigation of merged outputs: the top level pages get the window title of the merged
+     * documentation, and the overview is rebuilt from the summary of all the packages.
+     *
+     * @param outputDirectory the directory of the merged outputs, not null
+     * @param windowtitle the window title of the merged documentation, could be null
+     * @param doctitle the title of the overview, as HTML, could be null
+     * @param charset the encoding of the pages, not null
+     * @throws IOException if a page could not be rewritten
+     */
+    public static void writeNavigation(Path outputDirectory, String windowtitle, String doctitle, Charset charset)
+            throws IOException {
+        String titleSuffix = (windowtitle == null || windowtitle.isEmpty())
+                ? ""
+                : " (" + StringEscapeUtils.escapeHtml4(windowtitle) + ")";
+
+        List<Path> pages;
+        try (Stream<Path> list = Files.list(outputDirectory)) {
+            pages = list.filter(file -> file.getFileName().toString().endsWith(".html"))
+                    .collect(Collectors.toList());
+        }
+        for (Path page : pages) {
+            String content = new String(Files.readAllBytes(page), charset);
+            String result = TITLE.matcher(content)
+                    .replaceFirst(Matcher.quoteReplacement("<title>") + "$1"
+                            + Matcher.quoteReplacement(titleSuffix + "</title>"));
+            if (!result.equals(content)) {
+                Files.write(page, result.getBytes(charset));
+            }
+        }
+
+        Path allPackages = outputDirectory.resolve(ALL_PACKAGES_PAGE);
+        if (!Files.isRegularFile(allPackages)) {
+            return;
+        }
+        String overview = new String(Files.readAllBytes(allPackages), charset);
+        overview = TITLE.matcher(overview)
+                .replaceFirst(Matcher.quoteReplacement("<title>Overview" + titleSuffix + "</title>"));
+        overview = overview.replace("<body class=\"all-packages-index-page\">", "<body class=\"package-index-page\">")
+                .replace(
+                        "<li><a href=\"" + OVERVIEW_PAGE + "\">Overview</a></li>",
+                        "<li class=\"nav-bar-cell1-rev\">Overview</li>");
+        int header = overview.indexOf(HEADER);
+        int headerEnd = header < 0 ? -1 : findElementEnd(overview, header);
+        if (headerEnd > 0) {
+            String title = (doctitle == null || doctitle.isEmpty())
+                    ? ""
+                    : HEADER + "\n<h1 class=\"title\">" + doctitle + "</h1>\n</div>";
+            overview = overview.substring(0, header) + title + overview.substring(headerEnd);
+        }
+        Files.write(outputDirectory.resolve(OVERVIEW_PAGE), overview.getBytes(charset));
+    }
+
+    /**
+     * @param files the source files of the run by source root, the names being relative to the root
+     * @param packageNames the documented packages, not null
+     * @return the size of the sources of each package
+     */
+    public static Map<String, Long> getPackageSizes(
+            Map<Path, Collection<String>> files, Collection<String> packageNames) {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        for (String packageName : packageNames) {
+            sizes.put(packageName, 0L);
+        }
+        for (Map.Entry<Path, Collection<String>> entry : files.entrySet()) {
+            for (String file : entry.getValue()) {
+                int slash = file.replace('\\', '/').lastIndexOf('/');
+                String packageName = slash < 0
+                        ? ""
+                        : file.substring(0, slash).replace('\\', '.').replace('/', '.');
+                if (sizes.containsKey(packageName)) {
+                    try {
+                        sizes.merge(packageName, Files.size(entry.getKey().resolve(file)), Long::sum);
+                    } catch (IOException e) {
+                        // counted as empty
+                    }
+                }
+            }
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,417 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The timings of a javadoc process, by phase, package and class, parsed from its <code>-verbose</code> output.
+ * <br/>
+ * The phases are the startup of the process, the parsing of the source files, the construction of the javadoc
+ * information, i.e. the enter and attribution of the sources, and the generation by the doclet. The parse time of
+ * each source file is printed by javadoc, but the generation of each page is not timed: it is measured from the
+ * arrival of its <code>Generating ...</code> line to the arrival of the next line closing it, so the output must be
+ * consumed as it is printed.
+ *
+ * @since 3.11.3
+ */
+public class JavadocTimings {
+    /**
+     * The startup of the process, up to the loading of the source files.
+     */
+    public static final String STARTUP = "startup";
+
+    /**
+     * The loading and parsing of the source files.
+     */
+    public static final String PARSE = "parse";
+
+    /**
+     * The construction of the javadoc information, i.e. the enter and attribution of the sources.
+     */
+    public static final String ENTER = "enter";
+
+    /**
+     * The generation of the documentation by the doclet.
+     */
+    public static final String GENERATE = "generate";
+
+    private static final Pattern PARSING_STARTED = Pattern.compile("\\[parsing started (\\w*)FileObject\\[(.*)\\]\\]");
+
+    private static final Pattern PARSING_COMPLETED = Pattern.compile("\\[parsing completed (\\d+) ?ms\\]");
+
+    private static final Pattern DONE = Pattern.compile("\\[done in (\\d+) ms\\]");
+
+    private static final String GENERATING = "Generating ";
+
+    private final List<String> sourceRoots = new ArrayList<>();
+
+    private final String outputDirectory;
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    private final Map<String, Timing> packages = new HashMap<>();
+
+    private final Map<String, Timing> classes = new HashMap<>();
+
+    private String phase = STARTUP;
+
+    private long phaseStart;
+
+    private long lastLine;
+
+    private String parsedFileKind;
+
+    private String parsedFile;
+
+    private String generatedPage;
+
+    private long generationStart;
+
+    private long doneMillis = -1;
+
+    /**
+     * Start the timings of a javadoc process, i.e. of its startup phase.
+     *
+     * @param sourceRoots the source roots, to find the packages of the parsed files, not null
+     * @param outputDirectory the output directory, to find the packages of the generated pages, not null
+     */
+    public JavadocTimings(Collection<Path> sourceRoots, File outputDirectory) {
+        this(sourceRoots, outputDirectory, System.nanoTime());
+    }
+
+    JavadocTimings(Collection<Path> sourceRoots, File outputDirectory, long startNanos) {
+        for (Path sourceRoot : sourceRoots) {
+            this.sourceRoots.add(toDirectoryPrefix(sourceRoot.toAbsolutePath().toString()));
+        }
+        this.outputDirectory = toDirectoryPrefix(outputDirectory.getAbsolutePath());
+        this.phaseStart = startNanos;
+        this.lastLine = startNanos;
+    }
+
+    /**
+     * Consume a line of the output of the javadoc process, as it is printed.
+     *
+     * @param line the line
+     */
+    public void consumeLine(String line) {
+        consumeLine(line, System.nanoTime());
+    }
+
+    synchronized void consumeLine(String line, long nanos) {
+        lastLine = nanos;
+        if (line.startsWith("Loading source file")) {
+            if (STARTUP.equals(phase)) {
+                enterPhase(PARSE, nanos);
+            }
+        } else if (line.startsWith("[parsing started ")) {
+            Matcher matcher = PARSING_STARTED.matcher(line);
+            if (matcher.matches()) {
+                parsedFileKind = matcher.group(1);
+                parsedFile = matcher.group(2);
+            }
+        } else if (line.startsWith("[parsing completed ")) {
+            Matcher matcher = PARSING_COMPLETED.matcher(line);
+            if (matcher.matches() && parsedFile != null) {
+                addParseTime(parsedFileKind, parsedFile, Long.parseLong(matcher.group(1)));
+                parsedFile = null;
+            }
+        } else if (line.startsWith("Constructing Javadoc information")) {
+            enterPhase(ENTER, nanos);
+        } else if (line.startsWith(GENERATING)) {
+            enterGeneration(nanos);
+            generatedPage = line.substring(GENERATING.length());
+            generationStart = nanos;
+        } else if (line.startsWith("Building ") || line.startsWith("Standard Doclet")) {
+            enterGeneration(nanos);
+        } else if (line.startsWith("[done in ")) {
+            Matcher matcher = DONE.matcher(line);
+            if (matcher.matches()) {
+                doneMillis = Long.parseLong(matcher.group(1));
+                enterPhase(null, nanos);
+            }
+        }
+    }
+
+    /**
+     * End the timings, once the process has ended.
+     */
+    public synchronized void finish() {
+        enterPhase(null, lastLine);
+    }
+
+    /**
+     * @return the time of the phases in milliseconds, in their order
+     */
+    public synchronized Map<String, Long> getPhaseMillis() {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : phases.entrySet()) {
+            millis.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue()));
+        }
+        return millis;
+    }
+
+    /**
+     * @return the time reported by javadoc itself in milliseconds, or -1 if not reported
+     */
+    public synchronized long getDoneMillis() {
+        return doneMillis;
+    }
+
+    /**
+     * @param limit the maximum number of packages
+     * @return the slowest packages, the slowest first
+     */
+    public synchronized List<Timing> getSlowestPackages(int limit) {
+        return getSlowest(packages, limit);
+    }
+
+    /**
+     * @param limit the maximum number of classes
+     * @return the slowest classes, the slowest first
+     */
+    public synchronized List<Timing> getSlowestClasses(int limit) {
+        return getSlowest(classes, limit);
+    }
+
+    /**
+     * Write the report of the timings: the phases, then the slowest packages and classes.
+     *
+     * @param file the report file, not null
+     * @param limit the maximum number of packages and of classes
+     * @throws IOException if the report could not be written
+     */
+    public void write(Path file, int limit) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("Phases:");
+        for (Map.Entry<String, Long> entry : getPhaseMillis().entrySet()) {
+            lines.add(String.format(Locale.ROOT, "  %-10s %9d ms", entry.getKey(), entry.getValue()));
+        }
+        if (getDoneMillis() >= 0) {
+            lines.add(String.format(Locale.ROOT, "  %-10s %9d ms", "javadoc", getDoneMillis()));
+        }
+        lines.add("");
+        lines.add("Slowest packages:");
+        lines.addAll(format(getSlowestPackages(limit)));
+        lines.add("");
+        lines.add("Slowest classes:");
+        lines.addAll(format(getSlowestClasses(limit)));
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> format(List<Timing> timings) {
+        List<String> lines = new ArrayList<>();
+        lines.add(
+                String.format(Locale.ROOT, "  %9s %9s %9s %6s  %s", "total ms", "parse ms", "gen ms", "files", "name"));
+        for (Timing timing : timings) {
+            lines.add(String.format(
+                    Locale.ROOT,
+                    "  %9d %9d %9d %6d  %s",
+                    timing.getTotalMillis(),
+                    timing.getParseMillis(),
+                    timing.getGenerateMillis(),
+                    timing.getFiles(),
+                    timing.getName()));
+        }
+        return lines;
+    }
+
+    private static List<Timing> getSlowest(Map<String, Timing> timings, int limit) {
+        return timings.values().stream()
+                .sorted(Comparator.comparingLong(Timing::getTotalMillis)
+                        .reversed()
+                        .thenComparing(Timing::getName))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private void enterGeneration(long nanos) {
+        if (!GENERATE.equals(phase)) {
+            enterPhase(GENERATE, nanos);
+        } else {
+            endGeneratedPage(nanos);
+        }
+    }
+
+    private void enterPhase(String next, long nanos) {
+        endGeneratedPage(nanos);
+        if (phase != null) {
+            phases.merge(phase, nanos - phaseStart, Long::sum);
+        }
+        phase = next;
+        phaseStart = nanos;
+    }
+
+    private void endGeneratedPage(long nanos) {
+        if (generatedPage == null) {
+            return;
+        }
+
+        String page = relativize(generatedPage, outputDirectory);
+        if (page.endsWith("...")) {
+            page = page.substring(0, page.length() - 3);
+        }
+        int slash = page.lastIndexOf('/');
+        if (slash > 0 && page.endsWith(".html")) {
+            String directory = page.substring(0, slash);
+            String name = page.substring(slash + 1, page.length() - ".html".length());
+            boolean classPage = name.indexOf('-') < 0;
+            if (directory.endsWith("/class-use") || directory.endsWith("/doc-files")) {
+                directory = directory.substring(0, directory.lastIndexOf('/'));
+                classPage = false;
+            }
+            String packageName = directory.replace('/', '.');
+            long generateNanos = nanos - generationStart;
+            packages.computeIfAbsent(packageName, Timing::new).addGenerateNanos(generateNanos);
+            if (classPage) {
+                classes.computeIfAbsent(packageName + '.' + name, Timing::new).addGenerateNanos(generateNanos);
+            }
+        }
+        generatedPage = null;
+    }
+
+    private void addParseTime(String kind, String fileObject, long millis) {
+        String file;
+        if ("Directory".equals(kind)) {
+            // root:relative path, from a package name
+            file = fileObject.substring(fileObject.lastIndexOf(':') + 1);
+        } else {
+            // absolute path, from a file name
+            file = fileObject;
+            for (String sourceRoot : sourceRoots) {
+                String relative = relativize(fileObject, sourceRoot);
+                if (!relative.equals(fileObject.replace('\\', '/'))) {
+                    file = relative;
+                    break;
+                }
+            }
+        }
+        file = file.replace('\\', '/');
+        if (!file.endsWith(".java")) {
+            return;
+        }
+
+        int slash = file.lastIndexOf('/');
+        String packageName = slash < 0 ? "" : file.substring(0, slash).replace('/', '.');
+        String name = file.substring(slash + 1, file.length() - ".java".length());
+        Timing packageTiming = packages.computeIfAbsent(packageName, Timing::new);
+        packageTiming.addParseMillis(millis);
+        packageTiming.files++;
+        if (name.indexOf('-') < 0) {
+            Timing classTiming =
+                    classes.computeIfAbsent(packageName.isEmpty() ? name : packageName + '.' + name, Timing::new);
+            classTiming.addParseMillis(millis);
+            classTiming.files++;
+        }
+    }
+
+    private static String toDirectoryPrefix(String directory) {
+        String prefix = directory.replace('\\', '/');
+        return prefix.endsWith("/") ? prefix : prefix + '/';
+    }
+
+    private static String relativize(String path, String directoryPrefix) {
+        String relative = path.replace('\\', '/');
+        if (relative.startsWith(directoryPrefix)) {
+            relative = relative.substring(directoryPrefix.length());
+        }
+        while (relative.startsWith("./")) {
+            relative = relative.substring(2);
+        }
+        return relative;
+    }
+
+    /**
+     * The timing of a package or of a class.
+     */
+    public static class Timing {
+        private final String name;
+
+        private long parseMillis;
+
+        private long generateNanos;
+
+        private int files;
+
+        Timing(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return the name of the package or of the class, empty for the unnamed package
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the time of the parsing of its source files in milliseconds
+         */
+        public long getParseMillis() {
+            return parseMillis;
+        }
+
+        /**
+         * @return the time of the generation of its pages in milliseconds
+         */
+        public long getGenerateMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(generateNanos);
+        }
+
+        /**
+         * @return the total time in milliseconds
+         */
+        public long getTotalMillis() {
+            return getParseMillis() + getGenerateMillis();
+        }
+
+        /**
+         * @return the number of parsed source files
+         */
+        public int getFiles() {
+            return files;
+        }
+
+        private void addParseMillis(long millis) {
+            parseMillis += millis;
+        }
+
+        private void addGenerateNanos(long nanos) {
+            generateNanos += nanos;
+        }
+    }
+}
@@ -35,6 +35,7 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -48,6 +49,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Properties;
 import java.util.Set;
@@ -111,6 +113,13 @@ public class JavadocUtil {
     /** The default timeout used when fetching url, i.e. 2000. */
     public static final int DEFAULT_TIMEOUT = 2000;
 
+    /** The locks of the files shared by the executions of a build, see {@link #getFileLock(Path)}. */
+    private static final Object[] FILE_LOCKS = new Object[64];
+
+    static {
+        Arrays.setAll(FILE_LOCKS, i -> new Object());
+    }
+
     /** Error message when VM could not be started using invoker. */
     protected static final String ERROR_INIT_VM =
             "Error occurred during initialization of VM, try to reduce the Java heap size for the MAVEN_OPTS "
@@ -211,6 +220,41 @@ public class JavadocUtil {
         return excludedNames;
     }
 
+    /**
+     * Method that gets the names of the packages of the given source files. The miscellaneous files of the
+     * <code>doc-files</code> directories and the files of the default package are ignored.
+     *
+     * @param sourcePaths the relative source files, by source path
+     * @return the package names, in the order they are found
+     */
+    protected static List<String> getPackageNames(Map<Path, Collection<String>> sourcePaths) {
+        List<String> returnList = new ArrayList<>();
+
+        for (Map.Entry<Path, Collection<String>> currentPathEntry : sourcePaths.entrySet()) {
+            for (String currentFile : currentPathEntry.getValue()) {
+                /*
+                 * Remove the miscellaneous files
+                 * https://docs.oracle.com/javase/1.4.2/docs/tooldocs/solaris/javadoc.html#unprocessed
+                 */
+                if (currentFile.contains("doc-files")) {
+                    continue;
+                }
+
+                int lastIndexOfSeparator = currentFile.lastIndexOf("/");
+                if (lastIndexOfSeparator != -1) {
+                    String packagename =
+                            currentFile.substring(0, lastIndexOfSeparator).replace('/', '.');
+
+                    if (!returnList.contains(packagename)) {
+                        returnList.add(packagename);
+                    }
+                }
+            }
+        }
+
+        return returnList;
+    }
+
     /**
      * Convenience method to wrap a command line option-argument in single quotes (i.e. <code>'</code>). Intended for values which
      * may contain whitespace. <br>
@@ -282,8 +326,28 @@ public class JavadocUtil {
      */
     protected static void copyJavadocResources(File outputDirectory, File javadocDir, String excludedocfilessubdir)
             throws IOException {
+        try (ResourceSynchronizer synchronizer = new ResourceSynchronizer(false, 1)) {
+            copyJavadocResources(outputDirectory, javadocDir, excludedocfilessubdir, synchronizer);
+        }
+    }
+
+    /**
+     * Convenience method that copies all <code>doc-files</code> directories from <code>javadocDir</code> to the
+     * <code>outputDirectory</code>, skipping the excluded files and the files which are up to date.
+     *
+     * @param outputDirectory the output directory
+     * @param javadocDir the javadoc directory
+     * @param excludedocfilessubdir the excludedocfilessubdir parameter
+     * @param synchronizer the synchronizer used to copy the files
+     * @return the number of files copied
+     * @throws IOException if any
+     * @since 3.11.3
+     */
+    protected static int copyJavadocResources(
+            File outputDirectory, File javadocDir, String excludedocfilessubdir, ResourceSynchronizer synchronizer)
+            throws IOException {
         if (!javadocDir.isDirectory()) {
-            return;
+            return 0;
         }
 
         List<String> excludes = new ArrayList<>(Arrays.asList(FileUtils.getDefaultExcludes()));
@@ -297,24 +361,14 @@ public class JavadocUtil {
             }
         }
 
+        int copied = 0;
         List<String> docFiles = FileUtils.getDirectoryNames(
                 javadocDir, "resources,**/doc-files", String.join(",", excludes), false, true);
         for (String docFile : docFiles) {
-            File docFileOutput = new File(outputDirectory, docFile);
-            Files.createDirectories(Paths.get(docFileOutput.getAbsolutePath()));
-            FileUtils.copyDirectoryStructure(new File(javadocDir, docFile), docFileOutput);
-            List<String> files = FileUtils.getFileAndDirectoryNames(
-                    docFileOutput, String.join(",", excludes), null, true, true, true, true);
-            for (String filename : files) {
-                File file = new File(filename);
-
-                if (file.isDirectory()) {
-                    FileUtils.deleteDirectory(file);
-                } else {
-                    file.delete();
-                }
-            }
+            copied += synchronizer.synchronize(
+                    new File(javadocDir, docFile), new File(outputDirectory, docFile), excludes);
         }
+        return copied;
     }
 
     /**
@@ -1208,6 +1262,30 @@ public class JavadocUtil {
         }
     }
 
+    /**
+     * Also feeds the lines to the timings of the javadoc process, if any, as they are printed.
+     *
+     * @since 3.11.3
+     */
+    protected static class JavadocTimingsStreamConsumer extends JavadocOutputStreamConsumer {
+        private final JavadocTimings timings;
+
+        /**
+         * @param timings the timings of the javadoc process, could be null
+         */
+        protected JavadocTimingsStreamConsumer(JavadocTimings timings) {
+            this.timings = timings;
+        }
+
+        @Override
+        public void consumeLine(String line) {
+            super.consumeLine(line);
+            if (timings != null) {
+                timings.consumeLine(line);
+            }
+        }
+    }
+
     static List<String> toList(String src) {
         return toList(src, null, null);
     }
@@ -1589,4 +1667,41 @@ public class JavadocUtil {
         }
         return false;
     }
+
+    /**
+     * Get the lock guarding the updates of a file shared by the executions of a build, e.g. by the modules built in
+     * parallel with <code>-T</code>. The locks are striped by the absolute path of the file, so the same file always
+     * gets the same lock.
+     *
+     * @param file the file, not null
+     * @return the lock of the file, never null
+     */
+    static Object getFileLock(Path file) {
+        int hash = file.toAbsolutePath().normalize().hashCode();
+        return FILE_LOCKS[(hash ^ (hash >>> 16)) & (FILE_LOCKS.length - 1)];
+    }
+
+    /**
+     * Write a file atomically, through a temporary file of the same directory, so the readers of a file shared by
+     * several executions never see it partially written.
+     *
+     * @param file the file to write, not null
+     * @param content the content of the file, not null
+     * @throws IOException if the file could not be written
+     */
+    static void writeAtomically(Path file, byte[] content) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, content);
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
 }
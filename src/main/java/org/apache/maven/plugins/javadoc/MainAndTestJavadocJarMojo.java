@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import javax.inject.Inject;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
+import org.apache.maven.doxia.tools.SiteTool;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.plugins.javadoc.resolver.ResourceResolver;
+import org.apache.maven.project.MavenProjectHelper;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.toolchain.ToolchainManager;
+import org.codehaus.plexus.archiver.jar.JarArchiver;
+import org.codehaus.plexus.archiver.manager.ArchiverManager;
+import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
+import org.eclipse.aether.RepositorySystem;
+
+/**
+ * Bundles the Javadoc documentation for <code>main Java code</code> and for <code>test Java code</code> of a
+ * <b>NON aggregator</b> project in two archives, as the <code>jar</code> and <code>test-jar</code> goals do, but with
+ * their two javadoc processes running concurrently, so the module takes about the time of the longest one instead of
+ * their sum.
+ * <br/>
+ * Both generations share the configuration of this goal, the dependency resolution of the test scope, from which the
+ * main documentation only takes the compile, provided and system dependencies, and the caches of the build session.
+ * Each generation prepares its own javadoc arguments. The main documentation is generated in a background thread,
+ * and its log is written once both are done.
+ *
+ * @since 3.11.3
+ */
+@Mojo(
+        name = "jar-and-test-jar",
+        defaultPhase = LifecyclePhase.PACKAGE,
+        requiresDependencyResolution = ResolutionScope.TEST,
+        threadSafe = true)
+public class MainAndTestJavadocJarMojo extends TestJavadocJarMojo {
+    private final MavenProjectHelper projectHelper;
+
+    private final SiteTool siteTool;
+
+    private final ArchiverManager archiverManager;
+
+    private final ResourceResolver resourceResolver;
+
+    private final RepositorySystem repoSystem;
+
+    private final ArtifactHandlerManager artifactHandlerManager;
+
+    private final ProjectBuilder mavenProjectBuilder;
+
+    private final ToolchainManager toolchainManager;
+
+    // CHECKSTYLE_OFF: ParameterNumber
+    @Inject
+    public MainAndTestJavadocJarMojo(
+            MavenProjectHelper projectHelper,
+            JarArchiver jarArchiver,
+            SiteTool siteTool,
+            ArchiverManager archiverManager,
+            ResourceResolver resourceResolver,
+            RepositorySystem repoSystem,
+            ArtifactHandlerManager artifactHandlerManager,
+            ProjectBuilder mavenProjectBuilder,
+            ToolchainManager toolchainManager) {
+        super(
+                projectHelper,
+                jarArchiver,
+                siteTool,
+                archiverManager,
+                resourceResolver,
+                repoSystem,
+                artifactHandlerManager,
+                mavenProjectBuilder,
+                toolchainManager);
+        this.projectHelper = projectHelper;
+        this.siteTool = siteTool;
+        this.archiverManager = archiverManager;
+        this.resourceResolver = resourceResolver;
+        this.repoSystem = repoSystem;
+        this.artifactHandlerManager = artifactHandlerManager;
+        this.mavenProjectBuilder = mavenProjectBuilder;
+        this.toolchainManager = toolchainManager;
+    }
+    // CHECKSTYLE_ON: ParameterNumber
+
+    @Override
+    protected void doExecute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping javadoc generation");
+            return;
+        }
+
+        JavadocJarMojo main = createMainMojo();
+        BufferedLog mainLog = new BufferedLog(getLog());
+        main.setLog(mainLog);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "javadoc-main-" + project.getArtifactId());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Future<?> mainGeneration = executor.submit(() -> {
+                main.execute();
+                return null;
+            });
+
+            MojoExecutionException failure = null;
+            try {
+                super.doExecute();
+            } catch (MojoExecutionException e) {
+                failure = e;
+            }
+
+            try {
+                mainGeneration.get();
+            } catch (ExecutionException e) {
+                MojoExecutionException mainFailure = e.getCause() instanceof MojoExecutionException
+                        ? (MojoExecutionException) e.getCause()
+                        : new MojoExecutionException("Error while generating the main Javadoc", e.getCause());
+                if (failure == null) {
+                    failure = mainFailure;
+                } else {
+                    failure.addSuppressed(mainFailure);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                mainGeneration.cancel(true);
+                throw new MojoExecutionException("Interrupted while generating the main Javadoc", e);
+            } finally {
+                mainLog.flush();
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Create the mojo generating the main documentation, with a copy of the configuration of this one, except the
+     * state of the execution and the scratch files it must not share with the concurrent test generation.
+     *
+     * @return the mojo of the main documentation, not null
+     * @throws MojoExecutionException if the mojo could not be created
+     */
+    private JavadocJarMojo createMainMojo() throws MojoExecutionException {
+        JarArchiver mainJarArchiver;
+        try {
+            mainJarArchiver = (JarArchiver) archiverManager.getArchiver("jar");
+        } catch (NoSuchArchiverException e) {
+            throw new MojoExecutionException("Unable to create the archiver of the main Javadoc", e);
+        }
+        JavadocJarMojo main = new JavadocJarMojo(
+                projectHelper,
+                mainJarArchiver,
+                siteTool,
+                archiverManager,
+                resourceResolver,
+                repoSystem,
+                artifactHandlerManager,
+                mavenProjectBuilder,
+                toolchainManager);
+        copyConfiguration(main);
+        main.setPluginContext(getPluginContext());
+
+        // each generation has its own execution, and the test one its own stale data and source cache
+        main.setExecution(getExecution("jar"), null);
+        setExecution(getExecution("test-jar"), "test-");
+        return main;
+    }
+
+    /**
+     * @param goal the goal of the execution
+     * @return the execution of this mojo, as if it were of the given goal of this plugin, for the metrics, the
+     *         timings and the measured resources of each generation
+     */
+    private MojoExecution getExecution(String goal) {
+        if (mojoExecution == null) {
+            return null;
+        }
+
+        MojoExecution goalExecution =
+                new MojoExecution(mojoExecution.getPlugin(), goal, mojoExecution.getExecutionId());
+        goalExecution.setConfiguration(mojoExecution.getConfiguration());
+        goalExecution.setLifecyclePhase(mojoExecution.getLifecyclePhase());
+        return goalExecution;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.plexus.languages.java.jpms.JavaModuleDescriptor;
+import org.codehaus.plexus.languages.java.jpms.LocationManager;
+import org.codehaus.plexus.languages.java.jpms.ModuleNameSource;
+import org.codehaus.plexus.languages.java.jpms.ResolvePathRequest;
+import org.codehaus.plexus.languages.java.jpms.ResolvePathResult;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Cache of the module names resolved by plexus-java, i.e. the result of reading the <code>module-info.class</code>
+ * or the <code>Automatic-Module-Name</code> of a jar, or of parsing a <code>module-info.java</code>.
+ * <br/>
+ * Entries are keyed by the absolute path, the size and the last modification time of the file, so a changed file is
+ * always resolved again. Directories are never cached since their content may change during the build. One instance
+ * is shared by all the executions of a build session, and its content can be persisted to be reused by the next
+ * build.
+ *
+ * @since 3.11.3
+ */
+public class ModuleResolutionCache {
+    private static final String SESSION_DATA_KEY = ModuleResolutionCache.class.getName();
+
+    private static final String FIND_EXCEPTION = "java.lang.module.FindException";
+
+    /**
+     * Marker of the files for which no valid module name could be derived.
+     */
+    private static final ResolvedPath UNRESOLVABLE = new ResolvedPath(null, null);
+
+    private final LocationManager locationManager = new LocationManager();
+
+    private final Map<String, ResolvedPath> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Get the cache of the build session, creating it on first use.
+     *
+     * @param session the repository session holding the cache, could be null
+     * @return the cache of the session, or a new cache if there is no session
+     */
+    public static ModuleResolutionCache getInstance(RepositorySystemSession session) {
+        if (session == null || session.getData() == null) {
+            return new ModuleResolutionCache();
+        }
+
+        while (true) {
+            Object cache = session.getData().get(SESSION_DATA_KEY);
+            if (cache instanceof ModuleResolutionCache) {
+                return (ModuleResolutionCache) cache;
+            }
+
+            ModuleResolutionCache newCache = new ModuleResolutionCache();
+            if (session.getData().set(SESSION_DATA_KEY, cache, newCache)) {
+                return newCache;
+            }
+        }
+    }
+
+    /**
+     * Resolve the module name of a jar or of an output directory.
+     *
+     * @param file the jar file or the output directory, not null
+     * @return the resolved path, or null if no valid module name could be derived from the file name (i.e. a
+     *         <code>java.lang.module.FindException</code> occurred). The module descriptor of the resolved path is
+     *         null if the file is a directory without module descriptor.
+     * @throws IOException if the file could not be read
+     */
+    public ResolvedPath resolvePath(File file) throws IOException {
+        String key = file.isFile() ? getKey(file.toPath()) : null;
+
+        ResolvedPath resolvedPath = key == null ? null : entries.get(key);
+        if (resolvedPath == null) {
+            resolvedPath = resolve(file);
+            if (key != null) {
+                entries.put(key, resolvedPath);
+            }
+        }
+        return resolvedPath == UNRESOLVABLE ? null : resolvedPath;
+    }
+
+    /**
+     * Parse a <code>module-info.java</code> file.
+     *
+     * @param moduleDescriptor the module descriptor source file, not null
+     * @return the resolved path, never null
+     * @throws IOException if the file could not be read
+     */
+    public ResolvedPath parseModuleDescriptor(Path moduleDescriptor) throws IOException {
+        String key = getKey(moduleDescriptor);
+        if (key == null) {
+            return new ResolvedPath(locationManager.parseModuleDescriptor(moduleDescriptor));
+        }
+
+        ResolvedPath resolvedPath = entries.get(key);
+        if (resolvedPath == null) {
+            resolvedPath = new ResolvedPath(locationManager.parseModuleDescriptor(moduleDescriptor));
+            entries.put(key, resolvedPath);
+        }
+        return resolvedPath;
+    }
+
+    /**
+     * Load the entries persisted by a previous build. A missing or unreadable file is silently ignored, the entries
+     * will be resolved again.
+     *
+     * @param path the file to read, not null
+     */
+    public void load(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            return;
+        }
+
+        for (int i = 0; properties.containsKey(i + ".key"); i++) {
+            String prefix = i + ".";
+            try {
+                entries.putIfAbsent(properties.getProperty(prefix + "key"), ResolvedPath.read(properties, prefix));
+            } catch (IllegalArgumentException e) {
+                // unknown format, ignore this entry
+            }
+        }
+    }
+
+    /**
+     * Persist the entries of this cache, for the files which still exist.
+     *
+     * @param path the file to write, not null
+     * @throws IOException if the file could not be written
+     */
+    public void store(Path path) throws IOException {
+        Properties properties = new Properties();
+        int i = 0;
+        for (Map.Entry<String, ResolvedPath> entry : entries.entrySet()) {
+            String key = entry.getKey();
+            String file = key.substring(0, key.lastIndexOf('|', key.lastIndexOf('|') - 1));
+            if (!key.equals(getKey(new File(file).toPath()))) {
+                // deleted or modified since it has been resolved
+                continue;
+            }
+            String prefix = i++ + ".";
+            properties.setProperty(prefix + "key", entry.getKey());
+            entry.getValue().write(properties, prefix);
+        }
+
+        // the same file may be stored by several modules built in parallel
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        properties.store(out, "maven-javadoc-plugin module resolution cache");
+        synchronized (JavadocUtil.getFileLock(path)) {
+            JavadocUtil.writeAtomically(path, out.toByteArray());
+        }
+    }
+
+    private ResolvedPath resolve(File file) throws IOException {
+        try {
+            return new ResolvedPath(locationManager.resolvePath(ResolvePathRequest.ofFile(file)));
+        } catch (RuntimeException e) {
+            // most likely an invalid module name based on filename
+            if (!FIND_EXCEPTION.equals(e.getClass().getName())) {
+                throw e;
+            }
+            return UNRESOLVABLE;
+        }
+    }
+
+    private static String getKey(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return path.toAbsolutePath().normalize() + "|" + attributes.size() + "|"
+                    + attributes.lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The module name resolution of a path.
+     */
+    public static class ResolvedPath {
+        private final JavaModuleDescriptor moduleDescriptor;
+
+        private final ModuleNameSource moduleNameSource;
+
+        ResolvedPath(ResolvePathResult result) {
+            this(result.getModuleDescriptor(), result.getModuleNameSource());
+        }
+
+        ResolvedPath(JavaModuleDescriptor moduleDescriptor, ModuleNameSource moduleNameSource) {
+            this.moduleDescriptor = moduleDescriptor;
+            this.moduleNameSource = moduleNameSource;
+        }
+
+        /**
+         * @return the module descriptor, or null if the path is not a module
+         */
+        public JavaModuleDescriptor getModuleDescriptor() {
+            return moduleDescriptor;
+        }
+
+        /**
+         * @return where the module name comes from, or null if the path is not a module
+         */
+        public ModuleNameSource getModuleNameSource() {
+            return moduleNameSource;
+        }
+
+        void write(Properties properties, String prefix) {
+            if (this == UNRESOLVABLE) {
+                properties.setProperty(prefix + "unresolvable", "true");
+                return;
+            }
+            if (moduleNameSource != null) {
+                properties.setProperty(prefix + "source", moduleNameSource.name());
+            }
+            if (moduleDescriptor == null) {
+                return;
+            }
+
+            properties.setProperty(prefix + "name", moduleDescriptor.name());
+            properties.setProperty(prefix + "automatic", String.valueOf(moduleDescriptor.isAutomatic()));
+
+            List<String> requires = new ArrayList<>();
+            for (JavaModuleDescriptor.JavaRequires item : moduleDescriptor.requires()) {
+                StringBuilder sb = new StringBuilder();
+                for (JavaModuleDescriptor.JavaRequires.JavaModifier modifier : item.modifiers()) {
+                    sb.append(modifier.name().toLowerCase(Locale.ENGLISH)).append(' ');
+                }
+                requires.add(sb.append(item.name()).toString());
+            }
+            properties.setProperty(prefix + "requires", String.join(",", requires));
+
+            List<String> exports = new ArrayList<>();
+            for (JavaModuleDescriptor.JavaExports item : moduleDescriptor.exports()) {
+                List<String> tokens = new ArrayList<>();
+                tokens.add(item.source());
+                if (item.targets() != null) {
+                    tokens.addAll(item.targets());
+                }
+                exports.add(String.join(" ", tokens));
+            }
+            properties.setProperty(prefix + "exports", String.join(",", exports));
+
+            properties.setProperty(prefix + "uses", String.join(",", moduleDescriptor.uses()));
+
+            List<String> provides = new ArrayList<>();
+            for (JavaModuleDescriptor.JavaProvides item : moduleDescriptor.provides()) {
+                List<String> tokens = new ArrayList<>();
+                tokens.add(item.service());
+                tokens.addAll(item.providers());
+                provides.add(String.join(" ", tokens));
+            }
+            properties.setProperty(prefix + "provides", String.join(",", provides));
+        }
+
+        static ResolvedPath read(Properties properties, String prefix) {
+            if (Boolean.parseBoolean(properties.getProperty(prefix + "unresolvable"))) {
+                return UNRESOLVABLE;
+            }
+
+            String source = properties.getProperty(prefix + "source");
+            ModuleNameSource moduleNameSource = source == null ? null : ModuleNameSource.valueOf(source);
+
+            String name = properties.getProperty(prefix + "name");
+            if (name == null) {
+                return new ResolvedPath(null, moduleNameSource);
+            }
+
+            JavaModuleDescriptor.Builder builder = Boolean.parseBoolean(properties.getProperty(prefix + "automatic"))
+                    ? JavaModuleDescriptor.newAutomaticModule(name)
+                    : JavaModuleDescriptor.newModule(name);
+
+            for (String[] tokens : split(properties.getProperty(prefix + "requires"))) {
+                Set<JavaModuleDescriptor.JavaRequires.JavaModifier> modifiers =
+                        EnumSet.noneOf(JavaModuleDescriptor.JavaRequires.JavaModifier.class);
+                for (int i = 0; i < tokens.length - 1; i++) {
+                    modifiers.add(JavaModuleDescriptor.JavaRequires.JavaModifier.valueOf(
+                            tokens[i].toUpperCase(Locale.ENGLISH)));
+                }
+                builder.requires(modifiers, tokens[tokens.length - 1]);
+            }
+
+            for (String[] tokens : split(properties.getProperty(prefix + "exports"))) {
+                if (tokens.length == 1) {
+                    builder.exports(tokens[0]);
+                } else {
+                    builder.exports(
+                            tokens[0], new LinkedHashSet<>(Arrays.asList(tokens).subList(1, tokens.length)));
+                }
+            }
+
+            for (String[] tokens : split(properties.getProperty(prefix + "uses"))) {
+                builder.uses(tokens[0]);
+            }
+
+            for (String[] tokens : split(properties.getProperty(prefix + "provides"))) {
+                builder.provides(
+                        tokens[0], new ArrayList<>(Arrays.asList(tokens).subList(1, tokens.length)));
+            }
+
+            return new ResolvedPath(builder.build(), moduleNameSource);
+        }
+
+        private static List<String[]> split(String value) {
+            if (value == null || value.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            List<String[]> items = new ArrayList<>();
+            for (String item : value.split(",")) {
+                items.add(item.trim().split(" "));
+            }
+            return items;
+        }
+    }
+}
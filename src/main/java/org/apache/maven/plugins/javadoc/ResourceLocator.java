@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Lookup of resources, i.e. the <code>stylesheetfile</code> or the <code>helpfile</code>, in a list of directories
+ * and jar files, without creating a class loader for each lookup.
+ * <br/>
+ * The entries of a jar file are indexed on the first lookup in this jar file. The artifacts resolved to build a
+ * lookup path can be shared by all the executions of a build session with {@link #getResolvedArtifacts}.
+ *
+ * @since 3.11.3
+ */
+public class ResourceLocator {
+    private static final String SESSION_DATA_KEY = ResourceLocator.class.getName() + ".artifacts";
+
+    private final Map<File, Set<String>> jarEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Get the artifacts resolved during the build session, creating the map on first use.
+     *
+     * @param session the repository session holding the map, could be null
+     * @return the artifact files of the session by artifact coordinates, or a new map if there is no session
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, File> getResolvedArtifacts(RepositorySystemSession session) {
+        if (session == null || session.getData() == null) {
+            return new ConcurrentHashMap<>();
+        }
+
+        while (true) {
+            Object artifacts = session.getData().get(SESSION_DATA_KEY);
+            if (artifacts instanceof Map) {
+                return (Map<String, File>) artifacts;
+            }
+
+            Map<String, File> newArtifacts = new ConcurrentHashMap<>();
+            if (session.getData().set(SESSION_DATA_KEY, artifacts, newArtifacts)) {
+                return newArtifacts;
+            }
+        }
+    }
+
+    /**
+     * Find a resource in a lookup path, the same way a class loader with this class path would.
+     *
+     * @param path the directories and jar files where the resource is looked up, in order, not null
+     * @param resource the resource name, without leading slash, not null
+     * @return the resource URL, or null if not found
+     */
+    public URL findResource(List<File> path, String resource) {
+        for (File entry : path) {
+            try {
+                if (entry.isDirectory()) {
+                    File file = new File(entry, resource);
+                    if (file.exists()) {
+                        return file.toURI().toURL();
+                    }
+                } else if (entry.isFile() && getJarEntries(entry).contains(resource)) {
+                    return new URL("jar:" + entry.toURI().toURL() + "!/" + resource);
+                }
+            } catch (MalformedURLException e) {
+                // not a valid resource in this entry, continue with the next one
+            }
+        }
+        return null;
+    }
+
+    private Set<String> getJarEntries(File jarFile) {
+        return jarEntries.computeIfAbsent(jarFile, ResourceLocator::readJarEntries);
+    }
+
+    private static Set<String> readJarEntries(File jarFile) {
+        Set<String> entries = new HashSet<>();
+        try (ZipFile zipFile = new ZipFile(jarFile)) {
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                entries.add(zipEntries.nextElement().getName());
+            }
+        } catch (IOException e) {
+            // not a jar file, no resource can be found in it
+            return Collections.emptySet();
+        }
+        return entries;
+    }
+}
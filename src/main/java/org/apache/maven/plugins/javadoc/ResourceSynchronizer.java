@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.shared.utils.io.DirectoryScanner;
+import org.apache.maven.shared.utils.io.FileUtils;
+
+/**
+ * Incremental copy of resources directories, i.e. <code>doc-files</code> directories, to the Javadoc output
+ * directory.
+ * <br/>
+ * The excludes are applied before copying, and a file is only copied when the target is missing or differs by size
+ * or last modification time. Files can optionally be hard linked instead of copied, and be copied by a pool of
+ * threads.
+ *
+ * @since 3.11.3
+ */
+public class ResourceSynchronizer implements AutoCloseable {
+    private final boolean hardlink;
+
+    private final ExecutorService executor;
+
+    /**
+     * @param hardlink <code>true</code> to hard link the files instead of copying them, when the file system
+     *                 supports it
+     * @param threads  the number of threads used to copy the files, <code>1</code> to copy them in the caller thread
+     */
+    public ResourceSynchronizer(boolean hardlink, int threads) {
+        this.hardlink = hardlink;
+        this.executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+    }
+
+    /**
+     * Copy the files of a directory which are not excluded and which are not up to date in the output directory.
+     * Excluded files which are in the output directory, i.e. from a previous execution, are removed.
+     *
+     * @param sourceDirectory the directory to copy, not null
+     * @param outputDirectory the output directory, not null
+     * @param excludes the exclude patterns, relative to both directories
+     * @return the number of files copied
+     * @throws IOException if any
+     */
+    public int synchronize(File sourceDirectory, File outputDirectory, List<String> excludes) throws IOException {
+        String[] excludePatterns = excludes.toArray(new String[0]);
+
+        DirectoryScanner scanner = new DirectoryScanner();
+        scanner.setBasedir(sourceDirectory);
+        scanner.setExcludes(excludePatterns);
+        scanner.scan();
+
+        Path source = sourceDirectory.toPath();
+        Path output = outputDirectory.toPath();
+
+        Files.createDirectories(output);
+        for (String directory : scanner.getIncludedDirectories()) {
+            Files.createDirectories(output.resolve(directory));
+        }
+
+        List<Path> outdated = new ArrayList<>();
+        for (String file : scanner.getIncludedFiles()) {
+            if (!isUpToDate(source.resolve(file), output.resolve(file))) {
+                outdated.add(Paths.get(file));
+            }
+        }
+
+        if (executor == null || outdated.size() < 2) {
+            for (Path file : outdated) {
+                copy(source.resolve(file), output.resolve(file));
+            }
+        } else {
+            List<Future<Void>> futures = new ArrayList<>(outdated.size());
+            for (Path file : outdated) {
+                futures.add(executor.submit(() -> {
+                    copy(source.resolve(file), output.resolve(file));
+                    return null;
+                }));
+            }
+            waitFor(futures);
+        }
+
+        deleteExcluded(outputDirectory, excludePatterns);
+
+        return outdated.size();
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean isUpToDate(Path source, Path target) throws IOException {
+        if (!Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+            return false;
+        }
+
+        BasicFileAttributes sourceAttributes = Files.readAttributes(source, BasicFileAttributes.class);
+        BasicFileAttributes targetAttributes = Files.readAttributes(target, BasicFileAttributes.class);
+        return targetAttributes.isRegularFile()
+                && sourceAttributes.size() == targetAttributes.size()
+                && sourceAttributes.lastModifiedTime().toMillis()
+                        == targetAttributes.lastModifiedTime().toMillis();
+    }
+
+    private void copy(Path source, Path target) throws IOException {
+        if (hardlink) {
+            try {
+                Files.deleteIfExists(target);
+                Files.createLink(target, source);
+                return;
+            } catch (IOException | UnsupportedOperationException | SecurityException e) {
+                // i.e. another file store, fallback to a copy
+            }
+        }
+
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+    }
+
+    private static void waitFor(List<Future<Void>> futures) throws IOException {
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while copying resources", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            for (Future<Void> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static void deleteExcluded(File outputDirectory, String[] excludePatterns) throws IOException {
+        if (excludePatterns.length == 0) {
+            return;
+        }
+
+        List<String> excluded = FileUtils.getFileAndDirectoryNames(
+                outputDirectory, String.join(",", excludePatterns), null, true, true, true, true);
+        for (String filename : excluded) {
+            File file = new File(filename);
+
+            if (file.isDirectory()) {
+                FileUtils.deleteDirectory(file);
+            } else {
+                file.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Records the <code>resourcesArtifacts</code> extracted in a Javadoc output directory, i.e. the checksum of each
+ * artifact and the list of the extracted entries, so an unchanged artifact is not extracted again.
+ *
+ * @since 3.11.3
+ */
+public class ResourcesArtifactsMarker {
+    /**
+     * The entries of the resources artifacts which are not extracted.
+     */
+    static final String EXCLUDED_ENTRIES = "META-INF/";
+
+    private static final String CHECKSUM = ".checksum";
+
+    private static final String ENTRIES = ".entries";
+
+    private final File outputDirectory;
+
+    private final Path markerFile;
+
+    private final Properties previous = new Properties();
+
+    private final Properties current = new Properties();
+
+    private final Map<String, String> checksums = new HashMap<>();
+
+    /**
+     * @param outputDirectory the Javadoc output directory, not null
+     * @param markerFileName the name of the marker file in the output directory, not null
+     */
+    public ResourcesArtifactsMarker(File outputDirectory, String markerFileName) {
+        this.outputDirectory = outputDirectory;
+        this.markerFile = new File(outputDirectory, markerFileName).toPath();
+
+        if (Files.isRegularFile(markerFile)) {
+            try (InputStream in = Files.newInputStream(markerFile)) {
+                previous.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                // extract all the artifacts again
+                previous.clear();
+            }
+        }
+    }
+
+    /**
+     * Check if a resources artifact has already been extracted, and if all its entries are still there. If so, the
+     * artifact is recorded as is.
+     *
+     * @param key the versionless key of the artifact, not null
+     * @param artifactFile the resolved artifact file, not null
+     * @return <code>true</code> if the artifact does not need to be extracted
+     * @throws IOException if the artifact could not be read
+     */
+    public boolean isUpToDate(String key, File artifactFile) throws IOException {
+        String checksum = previous.getProperty(key + CHECKSUM);
+        if (checksum == null || !checksum.equals(getChecksum(artifactFile))) {
+            return false;
+        }
+
+        String entries = previous.getProperty(key + ENTRIES, "");
+        for (String entry : split(entries)) {
+            Path path = resolveEntry(entry);
+            if (path == null || !Files.exists(path)) {
+                return false;
+            }
+        }
+
+        current.setProperty(key + CHECKSUM, checksum);
+        current.setProperty(key + ENTRIES, entries);
+        return true;
+    }
+
+    /**
+     * Record a resources artifact which has just been extracted.
+     *
+     * @param key the versionless key of the artifact, not null
+     * @param artifactFile the resolved artifact file, not null
+     * @throws IOException if the artifact could not be read
+     */
+    public void extracted(String key, File artifactFile) throws IOException {
+        List<String> entries = getEntries(artifactFile);
+        current.setProperty(key + CHECKSUM, getChecksum(artifactFile));
+        current.setProperty(key + ENTRIES, String.join("\n", entries));
+    }
+
+    /**
+     * Write the marker file with the artifacts which have been checked or extracted. The entries extracted from a
+     * previous version of an artifact, or from an artifact which is no longer configured, are removed from the output
+     * directory unless an artifact still provides them.
+     *
+     * @throws IOException if any
+     */
+    public void store() throws IOException {
+        Set<String> stale = new HashSet<>();
+        for (String name : previous.stringPropertyNames()) {
+            if (name.endsWith(ENTRIES)) {
+                stale.addAll(split(previous.getProperty(name)));
+            }
+        }
+        for (String name : current.stringPropertyNames()) {
+            if (name.endsWith(ENTRIES)) {
+                stale.removeAll(split(current.getProperty(name)));
+            }
+        }
+        for (String entry : stale) {
+            Path path = resolveEntry(entry);
+            if (path != null) {
+                Files.deleteIfExists(path);
+            }
+        }
+
+        if (current.isEmpty()) {
+            Files.deleteIfExists(markerFile);
+            return;
+        }
+        Files.createDirectories(markerFile.getParent());
+        try (OutputStream out = Files.newOutputStream(markerFile)) {
+            current.store(out, "maven-javadoc-plugin resources artifacts");
+        }
+    }
+
+    /**
+     * @param entry an entry recorded in the marker file, not null
+     * @return the file of the entry in the output directory, or null if the entry is not a file below the output
+     *         directory, e.g. an entry of a corrupted marker file with <code>../</code>
+     */
+    private Path resolveEntry(String entry) {
+        Path root = outputDirectory.toPath().toAbsolutePath().normalize();
+        Path path = root.resolve(entry).normalize();
+        return path.startsWith(root) && !path.equals(root) ? path : null;
+    }
+
+    private String getChecksum(File artifactFile) throws IOException {
+        String checksum = checksums.get(artifactFile.getAbsolutePath());
+        if (checksum == null) {
+            checksum = computeChecksum(artifactFile);
+            checksums.put(artifactFile.getAbsolutePath(), checksum);
+        }
+        return checksum;
+    }
+
+    private static String computeChecksum(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static List<String> getEntries(File artifactFile) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(artifactFile)) {
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry zipEntry = zipEntries.nextElement();
+                if (!zipEntry.isDirectory() && !zipEntry.getName().startsWith(EXCLUDED_ENTRIES)) {
+                    entries.add(zipEntry.getName());
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static List<String> split(String entries) {
+        if (entries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(entries.split("\n"));
+    }
+}
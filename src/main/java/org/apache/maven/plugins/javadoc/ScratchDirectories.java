@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * The scratch directories claimed by the executions of a build session, i.e. the directories an execution deletes and
+ * fills on its own, like the cache of the unpacked dependency sources.
+ * <br/>
+ * Such a directory is configured per module by default, but may be configured once for the whole reactor, in which
+ * case the modules built in parallel would delete the files of each other. The first execution claiming a directory
+ * gets it, and the next ones get a sibling directory of their own.
+ *
+ * @since 3.11.3
+ */
+class ScratchDirectories {
+    private static final String SESSION_DATA_KEY = ScratchDirectories.class.getName();
+
+    private final ConcurrentMap<File, String> owners = new ConcurrentHashMap<>();
+
+    /**
+     * Get the scratch directories of the build session, creating them on first use.
+     *
+     * @param session the repository session holding the directories, could be null
+     * @return the directories of the session, or new directories if there is no session
+     */
+    static ScratchDirectories getInstance(RepositorySystemSession session) {
+        if (session == null || session.getData() == null) {
+            return new ScratchDirectories();
+        }
+
+        while (true) {
+            Object directories = session.getData().get(SESSION_DATA_KEY);
+            if (directories instanceof ScratchDirectories) {
+                return (ScratchDirectories) directories;
+            }
+
+            ScratchDirectories newDirectories = new ScratchDirectories();
+            if (session.getData().set(SESSION_DATA_KEY, directories, newDirectories)) {
+                return newDirectories;
+            }
+        }
+    }
+
+    /**
+     * Claim a scratch directory for an execution.
+     *
+     * @param directory the configured directory, not null
+     * @param owner the key of the execution, not null
+     * @param suffix the suffix of the sibling directory used if the configured one is claimed by another execution,
+     *        not null
+     * @return the configured directory if it was free or already claimed by the same execution, otherwise a sibling
+     *         directory claimed by the execution
+     */
+    File claim(File directory, String owner, String suffix) {
+        File candidate = directory.getAbsoluteFile();
+        for (int i = 2; ; i++) {
+            String previousOwner = owners.putIfAbsent(candidate, owner);
+            if (previousOwner == null || previousOwner.equals(owner)) {
+                return candidate;
+            }
+            candidate = new File(
+                    directory.getAbsoluteFile().getParentFile(),
+                    directory.getName() + "-" + suffix + (i == 2 ? "" : "-" + i));
+        }
+    }
+}
@@ -27,7 +27,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 
 import org.apache.maven.reporting.MavenReportException;
@@ -67,7 +66,12 @@ public class StaleHelper {
             List<String> options = new ArrayList<>();
             Path dir = cmd.getWorkingDirectory().toPath().toAbsolutePath().normalize();
             String[] args = cmd.getArguments();
-            Collections.addAll(options, args);
+            for (String arg : args) {
+                // neither the archive nor the heap of the JVM change the output
+                if (!JavadocClassDataArchive.isJavadocOption(arg) && !JavadocProcessResources.isJavadocOption(arg)) {
+                    options.add(arg);
+                }
+            }
 
             for (String arg : args) {
                 if (arg.startsWith("@")) {
@@ -122,8 +126,13 @@ public class StaleHelper {
     public static void writeStaleData(Commandline cmd, Path path) throws MavenReportException {
         try {
             List<String> curdata = getStaleData(cmd);
-            Files.createDirectories(path.getParent());
-            Files.write(path, curdata, getDataCharset());
+            StringBuilder content = new StringBuilder();
+            for (String line : curdata) {
+                content.append(line).append(System.lineSeparator());
+            }
+            synchronized (JavadocUtil.getFileLock(path)) {
+                JavadocUtil.writeAtomically(path, content.toString().getBytes(getDataCharset()));
+            }
         } catch (IOException e) {
             throw new MavenReportException("Error checking stale data", e);
         }
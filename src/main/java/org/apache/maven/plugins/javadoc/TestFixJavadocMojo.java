@@ -33,6 +33,7 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.components.interactivity.InputHandler;
+import org.eclipse.aether.RepositorySystem;
 
 /**
  * Fix Javadoc documentation and tags for the <code>Test Java code</code> for the project.
@@ -46,8 +47,8 @@ import org.codehaus.plexus.components.interactivity.InputHandler;
 public class TestFixJavadocMojo extends AbstractFixJavadocMojo {
 
     @Inject
-    public TestFixJavadocMojo(InputHandler inputHandler) {
-        super(inputHandler);
+    public TestFixJavadocMojo(InputHandler inputHandler, RepositorySystem repoSystem) {
+        super(inputHandler, repoSystem);
     }
 
     /** {@inheritDoc} */
@@ -66,6 +67,12 @@ public class TestFixJavadocMojo extends AbstractFixJavadocMojo {
                 : new LinkedList<>(p.getTestClasspathElements()));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected String getFixManifestName() {
+        return "maven-javadoc-plugin-test-fix.properties";
+    }
+
     /** {@inheritDoc} */
     @Override
     protected String getArtifactType(MavenProject p) {
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * The Java Flight Recorder events of the plugin, and the summary of the recordings of the javadoc process. When no
+ * recording of an event is running, the event is not even created.
+ *
+ * @since 3.11.3
+ */
+public class FlightRecorderJavadocEvents extends JavadocEvents {
+    private static final int TOP_METHODS = 10;
+
+    private static final int TOP_PACKAGES = 5;
+
+    private static final double MEGABYTE = 1024 * 1024;
+
+    @Override
+    public Object beginPhase(String phase, String module, String goal) {
+        if (!PhaseEvent.TYPE.isEnabled()) {
+            return null;
+        }
+
+        PhaseEvent event = new PhaseEvent();
+        event.phase = phase;
+        event.module = module;
+        event.goal = goal;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public Object beginLinkValidation(String url, String module, String goal) {
+        if (!LinkValidationEvent.TYPE.isEnabled()) {
+            return null;
+        }
+
+        LinkValidationEvent event = new LinkValidationEvent();
+        event.url = url;
+        event.module = module;
+        event.goal = goal;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void end(Object event) {
+        ((Event) event).commit();
+    }
+
+    @Override
+    public void endLinkValidation(Object event, boolean valid) {
+        ((LinkValidationEvent) event).valid = valid;
+        ((LinkValidationEvent) event).commit();
+    }
+
+    @Override
+    public List<String> summarizeRecording(Path recording) throws IOException {
+        Map<String, Integer> methods = new HashMap<>();
+        Map<String, Integer> packages = new HashMap<>();
+        int samples = 0;
+        int pauses = 0;
+        Duration pauseTime = Duration.ZERO;
+        Duration longestPause = Duration.ZERO;
+        long sampledAllocations = 0;
+        long tlabAllocations = 0;
+        Instant start = null;
+        Instant end = null;
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (start == null || event.getStartTime().isBefore(start)) {
+                    start = event.getStartTime();
+                }
+                if (end == null || event.getEndTime().isAfter(end)) {
+                    end = event.getEndTime();
+                }
+
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample":
+                        RecordedStackTrace stackTrace = event.getStackTrace();
+                        if (stackTrace != null && !stackTrace.getFrames().isEmpty()) {
+                            RecordedFrame frame = stackTrace.getFrames().get(0);
+                            RecordedMethod method = frame.getMethod();
+                            String type = method.getType().getName();
+                            methods.merge(type + "." + method.getName(), 1, Integer::sum);
+                            int index = type.lastIndexOf('.');
+                            packages.merge(index < 0 ? "" : type.substring(0, index), 1, Integer::sum);
+                            samples++;
+                        }
+                        break;
+                    case "jdk.GCPhasePause":
+                        pauses++;
+                        pauseTime = pauseTime.plus(event.getDuration());
+                        if (event.getDuration().compareTo(longestPause) > 0) {
+                            longestPause = event.getDuration();
+                        }
+                        break;
+                    case "jdk.ObjectAllocationSample":
+                        sampledAllocations += event.getLong("weight");
+                        break;
+                    case "jdk.ObjectAllocationInNewTLAB":
+                        tlabAllocations += event.getLong("tlabSize");
+                        break;
+                    case "jdk.ObjectAllocationOutsideTLAB":
+                        tlabAllocations += event.getLong("allocationSize");
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        Duration duration = start == null ? Duration.ZERO : Duration.between(start, end);
+        // jdk.ObjectAllocationSample replaces the TLAB events from Java 16
+        long allocated = sampledAllocations > 0 ? sampledAllocations : tlabAllocations;
+        double seconds = Math.max(duration.toMillis(), 1) / 1000.0;
+
+        List<String> summary = new ArrayList<>();
+        summary.add(String.format(
+                Locale.ROOT, "Recording of %.1f s, %d execution samples", duration.toMillis() / 1000.0, samples));
+        summary.add(String.format(
+                Locale.ROOT,
+                "GC pauses: %d for %d ms, the longest one of %d ms",
+                pauses,
+                pauseTime.toMillis(),
+                longestPause.toMillis()));
+        summary.add(String.format(
+                Locale.ROOT,
+                "Allocation rate: %.1f MB/s, %.1f MB in total",
+                allocated / MEGABYTE / seconds,
+                allocated / MEGABYTE));
+        summary.add("Hot methods:");
+        summary.addAll(getTop(methods, samples, TOP_METHODS));
+        summary.add("Hot packages:");
+        summary.addAll(getTop(packages, samples, TOP_PACKAGES));
+        return summary;
+    }
+
+    private static List<String> getTop(Map<String, Integer> counts, int total, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(e -> String.format(Locale.ROOT, "  %5.1f%% %s", 100.0 * e.getValue() / total, e.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    @Name("org.apache.maven.plugins.javadoc.Phase")
+    @Label("Javadoc Phase")
+    @Description("A phase of a goal of the Maven Javadoc Plugin")
+    @Category({"Maven", "Javadoc"})
+    static class PhaseEvent extends Event {
+        static final EventType TYPE = EventType.getEventType(PhaseEvent.class);
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Module")
+        String module;
+
+        @Label("Goal")
+        String goal;
+    }
+
+    @Name("org.apache.maven.plugins.javadoc.LinkValidation")
+    @Label("Javadoc Link Validation")
+    @Description("The validation of a link, i.e. the fetch of its element-list or package-list")
+    @Category({"Maven", "Javadoc"})
+    static class LinkValidationEvent extends Event {
+        static final EventType TYPE = EventType.getEventType(LinkValidationEvent.class);
+
+        @Label("URL")
+        String url;
+
+        @Label("Module")
+        String module;
+
+        @Label("Goal")
+        String goal;
+
+        @Label("Valid")
+        boolean valid;
+    }
+}
@@ -18,7 +18,10 @@
  */
 package org.apache.maven.plugins.javadoc;
 
+import java.io.File;
 import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
 
 import com.thoughtworks.qdox.JavaProjectBuilder;
 import com.thoughtworks.qdox.model.JavaClass;
@@ -143,4 +146,22 @@ public class AbstractFixJavadocMojoTest {
         String newComment = AbstractFixJavadocMojo.replaceLinkTags(comment, clazz);
         assertThat(newComment).isEqualTo("/** There's a {@link #getClass()} but no setClass() */");
     }
+
+    @Test
+    public void testGetBatches() {
+        File a1 = new File("src/a/A1.java");
+        File a2 = new File("src/a/A2.java");
+        File b1 = new File("src/b/B1.java");
+        File c1 = new File("src/c/C1.java");
+        File c2 = new File("src/c/C2.java");
+        File c3 = new File("src/c/C3.java");
+        List<File> javaFiles = Arrays.asList(a1, a2, b1, c1, c2, c3);
+
+        assertThat(AbstractFixJavadocMojo.getBatches(javaFiles, 0)).containsExactly(javaFiles);
+        assertThat(AbstractFixJavadocMojo.getBatches(javaFiles, 6)).containsExactly(javaFiles);
+        assertThat(AbstractFixJavadocMojo.getBatches(javaFiles, 3))
+                .containsExactly(Arrays.asList(a1, a2, b1), Arrays.asList(c1, c2, c3));
+        assertThat(AbstractFixJavadocMojo.getBatches(javaFiles, 2))
+                .containsExactly(Arrays.asList(a1, a2), Arrays.asList(b1), Arrays.asList(c1, c2), Arrays.asList(c3));
+    }
 }
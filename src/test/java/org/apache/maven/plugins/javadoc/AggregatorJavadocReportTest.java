@@ -18,13 +18,27 @@
  */
 package org.apache.maven.plugins.javadoc;
 
+import javax.tools.DocumentationTool;
+import javax.tools.ToolProvider;
+
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
 
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.MojoExecution;
@@ -241,6 +255,108 @@ public class AggregatorJavadocReportTest extends AbstractMojoTestCase {
         assertTrue(getOverviewSummary(apidocs).isFile());
     }
 
+    /**
+     * Test the aggregate stitched from the javadoc of the modules, found in the output directory of the first module
+     * and in the attached javadoc archive of the second one.
+     *
+     * @throws Exception if any
+     */
+    public void testStitchModules() throws Exception {
+        if (JavaVersion.JAVA_SPECIFICATION_VERSION.isBefore("16")) {
+            return;
+        }
+
+        File testPom = new File(unit, "aggregate-test/aggregate-test-plugin-config.xml");
+        JavadocReport mojo = lookupMojo(testPom);
+        File stitchDir = new File(getBasedir(), "target/test/unit/stitch-test");
+        FileUtils.deleteDirectory(stitchDir);
+        setVariableValueToObject(mojo, "outputDirectory", new File(stitchDir, "site"));
+        setVariableValueToObject(mojo, "stitchModules", true);
+
+        @SuppressWarnings("unchecked")
+        List<MavenProject> reactorProjects = (List<MavenProject>) getVariableValueFromObject(mojo, "reactorProjects");
+        for (MavenProject module : reactorProjects.subList(1, reactorProjects.size())) {
+            File moduleTarget = new File(stitchDir, module.getArtifactId());
+            module.getBuild().setDirectory(moduleTarget.getPath());
+            File moduleApidocs = new File(moduleTarget, "reports/apidocs");
+            generateJavadoc(module, moduleApidocs);
+            if (module.getArtifactId().endsWith("project2")) {
+                File javadocJar = new File(moduleTarget, module.getArtifactId() + "-javadoc.jar");
+                createJar(moduleApidocs, javadocJar);
+                FileUtils.deleteDirectory(moduleApidocs);
+
+                Artifact artifact = new DefaultArtifact(
+                        module.getGroupId(),
+                        module.getArtifactId(),
+                        module.getVersion(),
+                        null,
+                        "javadoc",
+                        "javadoc",
+                        new DefaultArtifactHandler("javadoc"));
+                artifact.setFile(javadocJar);
+                ((MavenProjectStub) module).setAttachedArtifacts(new ArrayList<>(Collections.singletonList(artifact)));
+            }
+        }
+
+        mojo.execute();
+
+        File apidocs = new File(stitchDir, "site/apidocs");
+        assertTrue(new File(apidocs, "aggregate/test/project1/Project1App.html").exists());
+        assertTrue(new File(apidocs, "aggregate/test/project2/Project2App.html").exists());
+        // javadoc did not run for the aggregate
+        assertFalse(new File(apidocs, "options").exists());
+
+        String overview = readFile(new File(apidocs, "index.html"));
+        assertTrue(overview.contains("<title>Overview (Maven Javadoc Plugin Aggregate Test 1.0-SNAPSHOT API)</title>"));
+        assertTrue(overview.contains("aggregate/test/project1/package-summary.html"));
+        assertTrue(overview.contains("aggregate/test/project2/package-summary.html"));
+        String elementList = readFile(new File(apidocs, "element-list"));
+        assertTrue(elementList.contains("aggregate.test.project1"));
+        assertTrue(elementList.contains("aggregate.test.project2"));
+        String typeSearchIndex = readFile(new File(apidocs, "type-search-index.js"));
+        assertTrue(typeSearchIndex.contains("Project1App"));
+        assertTrue(typeSearchIndex.contains("Project2App"));
+
+        // the javadoc of a module older than its sources is not stitched
+        File project1ElementList = new File(stitchDir, "aggregate-test-project1/reports/apidocs/element-list");
+        assertTrue(project1ElementList.setLastModified(0));
+        ((MavenProjectStub) reactorProjects.get(1)).setAttachedArtifacts(new ArrayList<>());
+        FileUtils.deleteDirectory(apidocs);
+
+        mojo.execute();
+
+        assertTrue(new File(apidocs, "aggregate/test/project1/Project1App.html").exists());
+        assertTrue(new File(apidocs, "options").exists());
+    }
+
+    private static void generateJavadoc(MavenProject module, File outputDirectory) {
+        DocumentationTool javadoc = ToolProvider.getSystemDocumentationTool();
+        int exitCode = javadoc.run(
+                null,
+                null,
+                null,
+                "-quiet",
+                "-d",
+                outputDirectory.getPath(),
+                "-sourcepath",
+                module.getBasedir().getPath(),
+                "-subpackages",
+                "aggregate");
+        assertEquals(0, exitCode);
+    }
+
+    private static void createJar(File directory, File jarFile) throws IOException {
+        try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(jarFile));
+                Stream<Path> files = Files.walk(directory.toPath())) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                jar.putNextEntry(new JarEntry(
+                        directory.toPath().relativize(file).toString().replace('\\', '/')));
+                Files.copy(file, jar);
+                jar.closeEntry();
+            }
+        }
+    }
+
     private static File getOverviewSummary(File apidocs) {
         if (JavaVersion.JAVA_SPECIFICATION_VERSION.isBefore("11")) {
             return new File(apidocs, "overview-summary.html");
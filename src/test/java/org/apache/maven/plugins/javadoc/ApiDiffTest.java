@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApiDiffTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testNewClassesAndMethods() throws Exception {
+        File jar = new File(folder.getRoot(), "api-1.0.jar");
+        try (OutputStream out = Files.newOutputStream(jar.toPath());
+                ZipOutputStream zipOut = new ZipOutputStream(out)) {
+            zipOut.putNextEntry(new ZipEntry("fix/test/Api.class"));
+            zipOut.write(newClass("fix/test/Api", Opcodes.ACC_PUBLIC, "()V"));
+            zipOut.closeEntry();
+        }
+
+        File classes = folder.newFolder("classes");
+        write(
+                classes,
+                "fix/test/Api",
+                newClass("fix/test/Api", Opcodes.ACC_PUBLIC, "()V", "([Ljava/lang/String;Ljava/util/Map$Entry;)I"));
+        write(classes, "fix/test/Added", newClass("fix/test/Added", Opcodes.ACC_PUBLIC, "()V"));
+        write(classes, "fix/test/Internal", newClass("fix/test/Internal", 0, "()V"));
+
+        ApiDiff apiDiff = ApiDiff.compare(jar, classes);
+        assertThat(apiDiff.getNewClasses()).containsExactly("fix.test.Added");
+        assertThat(apiDiff.getNewMethods()).containsOnlyKeys("fix.test.Api");
+        assertThat(apiDiff.getNewMethods().get("fix.test.Api"))
+                .containsExactly("public int process(java.lang.String[], java.util.Map.Entry)");
+
+        Path apiDiffFile = folder.getRoot().toPath().resolve("target/api-diff.properties");
+        String key = "fix:api:jar:1.0|" + ApiDiff.getClassesHash(classes);
+        apiDiff.store(apiDiffFile, key);
+
+        ApiDiff loaded = ApiDiff.load(apiDiffFile, key);
+        assertThat(loaded.getNewClasses()).isEqualTo(apiDiff.getNewClasses());
+        assertThat(loaded.getNewMethods()).isEqualTo(apiDiff.getNewMethods());
+        assertThat(ApiDiff.load(apiDiffFile, "fix:api:jar:0.9|" + ApiDiff.getClassesHash(classes)))
+                .isNull();
+
+        write(classes, "fix/test/Other", newClass("fix/test/Other", Opcodes.ACC_PUBLIC, "()V"));
+        assertThat(ApiDiff.getClassesHash(classes)).isNotEqualTo(key.substring(key.indexOf('|') + 1));
+    }
+
+    private static void write(File classes, String name, byte[] content) throws Exception {
+        Path classFile = classes.toPath().resolve(name + ".class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, content);
+    }
+
+    private static byte[] newClass(String name, int access, String... methodDescriptors) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V1_8, access, name, null, "java/lang/Object", null);
+        for (String descriptor : methodDescriptors) {
+            String methodName = "()V".equals(descriptor) ? "<init>" : "process";
+            writer.visitMethod(Opcodes.ACC_PUBLIC, methodName, descriptor, null, null)
+                    .visitEnd();
+        }
+        writer.visitMethod(Opcodes.ACC_PRIVATE, "helper", "()V", null, null).visitEnd();
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
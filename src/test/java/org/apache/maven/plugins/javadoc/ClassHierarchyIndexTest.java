@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.plugins.javadoc.ClassHierarchyIndex.ClassInfo;
+import org.apache.maven.plugins.javadoc.ClassHierarchyIndex.MethodInfo;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassHierarchyIndexTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPlatformClasses() {
+        ClassHierarchyIndex index =
+                new ClassHierarchyIndex(null, ClassLoader.getSystemClassLoader(), Collections.emptyList());
+
+        ClassInfo arrayList = index.findClass("java.util.ArrayList");
+        assertThat(names(index.getAllSuperclasses(arrayList)))
+                .containsExactly("java.util.AbstractList", "java.util.AbstractCollection", "java.lang.Object");
+        assertThat(names(index.getAllInterfaces(arrayList))).contains("java.util.List", "java.util.Collection");
+
+        assertThat(index.findClass("java.util.Map.Entry").getName()).isEqualTo("java.util.Map$Entry");
+        assertThat(index.findClass("java.lang.String[]").getName()).isEqualTo("java.lang.String");
+        assertThat(index.findClass("com.example.Missing")).isNull();
+
+        ClassInfo exception = index.findClass("java.lang.IllegalArgumentException");
+        assertThat(index.isSubclassOf(exception, "java.lang.RuntimeException")).isTrue();
+        assertThat(index.isSubclassOf(index.findClass("java.io.IOException"), "java.lang.RuntimeException"))
+                .isFalse();
+    }
+
+    @Test
+    public void testClassPathWithMissingSuperclass() throws Exception {
+        File classes = folder.newFolder("classes");
+        Path classFile = classes.toPath().resolve("fix/test/Impl.class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, newClass("fix/test/Impl", "fix/missing/Base", "java/lang/Runnable"));
+
+        File jar = new File(folder.getRoot(), "api.jar");
+        try (OutputStream out = Files.newOutputStream(jar.toPath());
+                ZipOutputStream zipOut = new ZipOutputStream(out)) {
+            zipOut.putNextEntry(new ZipEntry("fix/api/Service.class"));
+            zipOut.write(newClass("fix/api/Service", "java/lang/Object", "java/lang/AutoCloseable"));
+            zipOut.closeEntry();
+        }
+
+        try (ClassHierarchyIndex index = new ClassHierarchyIndex(
+                null,
+                ClassLoader.getSystemClassLoader(),
+                Arrays.asList(classes.getAbsolutePath(), jar.getAbsolutePath()))) {
+            ClassInfo impl = index.findClass("fix.test.Impl");
+            assertThat(impl.getName()).isEqualTo("fix.test.Impl");
+            assertThat(index.getAllSuperclasses(impl)).isEmpty();
+            assertThat(names(index.getAllInterfaces(impl))).containsExactly("java.lang.Runnable");
+
+            MethodInfo method = impl.getDeclaredMethods().get(0);
+            assertThat(method.getName()).isEqualTo("process");
+            assertThat(method.getParameterTypes()).containsExactly("[Ljava.lang.String;", "java.util.Map$Entry", "int");
+
+            ClassInfo service = index.findClass("fix.api.Service");
+            assertThat(names(index.getAllInterfaces(service))).containsExactly("java.lang.AutoCloseable");
+        }
+    }
+
+    @Test
+    public void testClassesReadFromOneJar() throws Exception {
+        File jar = new File(folder.getRoot(), "api.jar");
+        try (OutputStream out = Files.newOutputStream(jar.toPath());
+                ZipOutputStream zipOut = new ZipOutputStream(out)) {
+            zipOut.putNextEntry(new ZipEntry("fix/api/Base.class"));
+            zipOut.write(newClass("fix/api/Base", "java/lang/Object", "java/lang/AutoCloseable"));
+            zipOut.closeEntry();
+            zipOut.putNextEntry(new ZipEntry("fix/api/Service.class"));
+            zipOut.write(newClass("fix/api/Service", "fix/api/Base", "java/lang/Runnable"));
+            zipOut.closeEntry();
+        }
+
+        ClassHierarchyIndex index = new ClassHierarchyIndex(
+                null, ClassLoader.getSystemClassLoader(), Collections.singletonList(jar.getAbsolutePath()));
+        ClassInfo service = index.findClass("fix.api.Service");
+        assertThat(names(index.getAllSuperclasses(service))).containsExactly("fix.api.Base", "java.lang.Object");
+        index.close();
+
+        // the classes already read don't need the jar anymore
+        assertThat(Files.deleteIfExists(jar.toPath())).isTrue();
+        assertThat(names(index.getAllInterfaces(service)))
+                .containsExactly("java.lang.Runnable", "java.lang.AutoCloseable");
+    }
+
+    private static byte[] newClass(String name, String superName, String interfaceName) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, name, null, superName, new String[] {interfaceName});
+        writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null).visitEnd();
+        writer.visitMethod(
+                        Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT,
+                        "process",
+                        "([Ljava/lang/String;Ljava/util/Map$Entry;I)V",
+                        null,
+                        null)
+                .visitEnd();
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static List<String> names(List<ClassInfo> classes) {
+        return classes.stream().map(ClassInfo::getName).collect(Collectors.toList());
+    }
+}
@@ -114,6 +114,65 @@ public class FixJavadocMojoTest extends AbstractMojoTestCase {
         });
     }
 
+    /**
+     * @throws Exception if any
+     */
+    public void testFixInParallel() throws Exception {
+        File testPomBasedir = new File(getBasedir(), "target/test/unit/fix-test");
+
+        executeMojoAndTest(
+                testPomBasedir,
+                new String[] {
+                    "ClassWithJavadoc.java",
+                    "ClassWithNoJavadoc.java",
+                    "InterfaceWithJavadoc.java",
+                    "InterfaceWithNoJavadoc.java"
+                },
+                4,
+                0);
+    }
+
+    /**
+     * Test the fix of the sources in batches of one source file.
+     *
+     * @throws Exception if any
+     */
+    public void testFixInBatches() throws Exception {
+        File testPomBasedir = new File(getBasedir(), "target/test/unit/fix-test");
+
+        executeMojoAndTest(
+                testPomBasedir,
+                new String[] {
+                    "ClassWithJavadoc.java",
+                    "ClassWithNoJavadoc.java",
+                    "InterfaceWithJavadoc.java",
+                    "InterfaceWithNoJavadoc.java"
+                },
+                1,
+                1);
+    }
+
+    /**
+     * Test the fix of the sources in parallel, in batches of two source files, every thread parsing its own model
+     * of each batch.
+     *
+     * @throws Exception if any
+     */
+    public void testFixInParallelInBatches() throws Exception {
+        File testPomBasedir = new File(getBasedir(), "target/test/unit/fix-test");
+
+        executeMojoAndTest(
+                testPomBasedir,
+                new String[] {
+                    "ClassWithJavadoc.java",
+                    "ClassWithNoJavadoc.java",
+                    "InterfaceWithJavadoc.java",
+                    "InterfaceWithNoJavadoc.java"
+                },
+                3,
+                2);
+    }
+
     // ----------------------------------------------------------------------
     // Test private static methods
     // ----------------------------------------------------------------------
@@ -319,7 +378,7 @@ public class FixJavadocMojoTest extends AbstractMojoTestCase {
 
         assertEquals(5, javaMethod.getTags().size());
 
-        AbstractFixJavadocMojo mojoInstance = new FixJavadocMojo(null);
+        AbstractFixJavadocMojo mojoInstance = new FixJavadocMojo(null, null);
         setVariableValueToObject(mojoInstance, "fixTagsSplitted", new String[] {"all"});
 
         DocletTag tag = javaMethod.getTags().get(0);
@@ -383,7 +442,7 @@ public class FixJavadocMojoTest extends AbstractMojoTestCase {
 
         assertEquals(4, javaMethod.getTags().size());
 
-        AbstractFixJavadocMojo mojoInstance = new FixJavadocMojo(null);
+        AbstractFixJavadocMojo mojoInstance = new FixJavadocMojo(null, null);
         setVariableValueToObject(mojoInstance, "fixTagsSplitted", new String[] {"all"});
 
         DocletTag tag = javaMethod.getTags().get(0);
@@ -404,7 +463,7 @@ public class FixJavadocMojoTest extends AbstractMojoTestCase {
     }
 
     public void testInitParameters() throws Throwable {
-        AbstractFixJavadocMojo mojoInstance = new FixJavadocMojo(null);
+        AbstractFixJavadocMojo mojoInstance = new FixJavadocMojo(null, null);
         setVariableValueToObject(mojoInstance, "fixTags", "author, version, since, param, return, throws, link");
         setVariableValueToObject(mojoInstance, "defaultSince", "1.0");
         setVariableValueToObject(mojoInstance, "level", "protected");
@@ -431,7 +490,7 @@ public class FixJavadocMojoTest extends AbstractMojoTestCase {
     }
 
     public void testRemoveUnknownExceptions() throws Exception {
-        AbstractFixJavadocMojo mojoInstance = new FixJavadocMojo(null);
+        AbstractFixJavadocMojo mojoInstance = new FixJavadocMojo(null, null);
         setVariableValueToObject(mojoInstance, "fixTagsSplitted", new String[] {"all"});
         setVariableValueToObject(mojoInstance, "project", new MavenProjectStub());
 
@@ -452,7 +511,7 @@ public class FixJavadocMojoTest extends AbstractMojoTestCase {
                 .getMethods()
                 .get(0);
 
-        JavaEntityTags javaEntityTags = mojoInstance.parseJavadocTags(source, javaMethod, "", true);
+        JavaEntityTags javaEntityTags = mojoInstance.parseJavadocTags(JavaSourceIndex.of(source), javaMethod, "", true);
 
         StringBuilder sb = new StringBuilder();
         mojoInstance.writeThrowsTag(
@@ -490,6 +549,18 @@ public class FixJavadocMojoTest extends AbstractMojoTestCase {
      * @throws Exception if any
      */
     private void executeMojoAndTest(File testPomBasedir, String[] clazzToCompare) throws Exception {
+        executeMojoAndTest(testPomBasedir, clazzToCompare, 1, 0);
+    }
+
+    /**
+     * @param testPomBasedir the basedir for the test project
+     * @param clazzToCompare an array of the classes name to compare
+     * @param fixThreads the number of threads fixing the classes
+     * @param fixBatchSize the maximum number of source files fixed together
+     * @throws Exception if any
+     */
+    private void executeMojoAndTest(File testPomBasedir, String[] clazzToCompare, int fixThreads, int fixBatchSize)
+            throws Exception {
         prepareTestProjects(testPomBasedir.getName());
 
         File testPom = new File(testPomBasedir, "pom.xml");
@@ -504,6 +575,8 @@ public class FixJavadocMojoTest extends AbstractMojoTestCase {
                         .newInstance(
                                 session.getRepositorySession(), new LocalRepository(new File("target/local-repo"))));
         setVariableValueToObject(mojo, "session", session);
+        setVariableValueToObject(mojo, "fixThreads", fixThreads);
+        setVariableValueToObject(mojo, "fixBatchSize", fixBatchSize);
 
         // compile the test project
         invokeCompileGoal(testPom, mojo.getLog());
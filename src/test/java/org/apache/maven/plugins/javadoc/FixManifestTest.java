@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FixManifestTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testOnlyChangedFiles() throws Exception {
+        File a = write("A.java", "class A {}");
+        File b = write("B.java", "class B {}");
+        List<File> javaFiles = Arrays.asList(a, b);
+        Path manifestFile = folder.getRoot().toPath().resolve("target/fix.properties");
+
+        FixManifest manifest = new FixManifest(manifestFile, "level=protected");
+        assertThat(manifest.getChangedFiles(javaFiles)).containsExactly(a, b);
+        // the fix rewrites the file before the manifest is stored
+        write("A.java", "/** A. */\nclass A {}");
+        manifest.store();
+
+        manifest = new FixManifest(manifestFile, "level=protected");
+        assertThat(manifest.getChangedFiles(javaFiles)).isEmpty();
+        manifest.store();
+
+        write("B.java", "class B { int b; }");
+        manifest = new FixManifest(manifestFile, "level=protected");
+        assertThat(manifest.getChangedFiles(javaFiles)).containsExactly(b);
+        manifest.store();
+
+        manifest = new FixManifest(manifestFile, "level=public");
+        assertThat(manifest.getChangedFiles(javaFiles)).containsExactly(a, b);
+    }
+
+    private File write(String name, String content) throws Exception {
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JavaSourceIndexTest {
+    @Test
+    public void testLinesAsReadLine() throws IOException {
+        for (String content :
+                new String[] {"", "a", "a\n", "a\nb", "a\r\nb\r\n", "a\rb\r", "a\n\nb", "\n", "\r\n\r\n", "a\r\r\nb"}) {
+            JavaSourceIndex index = JavaSourceIndex.of(content);
+
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < index.getLineCount(); i++) {
+                lines.add(index.getLine(i));
+            }
+            assertThat(lines).as(content).isEqualTo(readLines(content));
+        }
+    }
+
+    @Test
+    public void testJavadocStarts() {
+        JavaSourceIndex index = JavaSourceIndex.of(
+                "package a;\n" // 0
+                        + "\n" // 1
+                        + "/**\n" // 2
+                        + " * Class.\n" // 3
+                        + " */\n" // 4
+                        + "public class A {\n" // 5
+                        + "    /* not javadoc */\n" // 6
+                        + "    int i;\n" // 7
+                        + "\t  /** Method. */\n" // 8
+                        + "    void m() {}\n" // 9
+                        + "    String s = \"/**\";\n" // 10
+                        + "}\n"); // 11
+
+        assertThat(index.getLineCount()).isEqualTo(12);
+        assertThat(index.getJavadocStart(0)).isEqualTo(-1);
+        assertThat(index.getJavadocStart(1)).isEqualTo(-1);
+        assertThat(index.getJavadocStart(2)).isEqualTo(2);
+        assertThat(index.getJavadocStart(5)).isEqualTo(2);
+        assertThat(index.getJavadocStart(7)).isEqualTo(2);
+        assertThat(index.getJavadocStart(8)).isEqualTo(8);
+        assertThat(index.getJavadocStart(9)).isEqualTo(8);
+        // only a line starting with the Javadoc start counts
+        assertThat(index.getJavadocStart(10)).isEqualTo(8);
+        assertThat(index.getJavadocStart(11)).isEqualTo(8);
+    }
+
+    @Test
+    public void testIndependentIndexes() {
+        String content = "/** A. */\nclass A {}\n";
+        JavaSourceIndex first = JavaSourceIndex.of(content);
+        JavaSourceIndex second = JavaSourceIndex.of("class B {}\n");
+
+        assertThat(first.getLine(1)).isEqualTo("class A {}");
+        assertThat(first.getJavadocStart(1)).isEqualTo(0);
+        assertThat(second.getLine(0)).isEqualTo("class B {}");
+        assertThat(second.getJavadocStart(0)).isEqualTo(-1);
+    }
+
+    private static List<String> readLines(String content) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new StringReader(content))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
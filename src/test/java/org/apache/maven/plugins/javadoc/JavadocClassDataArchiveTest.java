@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JavadocClassDataArchiveTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDumpThenMap() throws Exception {
+        File javadoc = createJdk("jdk");
+        Path directory = folder.getRoot().toPath().resolve("cds");
+
+        JavadocClassDataArchive first = JavadocClassDataArchive.get(directory, javadoc, "17.0.9");
+        assertThat(first.isDumping()).isTrue();
+        assertThat(first.getJavadocOptions())
+                .singleElement()
+                .asString()
+                .startsWith("-J-XX:ArchiveClassesAtExit=")
+                .endsWith(".jsa.tmp");
+
+        // dumped by the first process only
+        JavadocClassDataArchive concurrent = JavadocClassDataArchive.get(directory, javadoc, "17.0.9");
+        assertThat(concurrent.isDumping()).isFalse();
+        assertThat(concurrent.getJavadocOptions()).isEmpty();
+
+        // the JVM dumps the archive at exit
+        String dump = first.getJavadocOptions().get(0).substring("-J-XX:ArchiveClassesAtExit=".length());
+        Files.write(new File(dump).toPath(), new byte[] {1, 2, 3});
+        first.complete();
+        assertThat(first.getArchive()).exists();
+        assertThat(new File(dump)).doesNotExist();
+
+        JavadocClassDataArchive next = JavadocClassDataArchive.get(directory, javadoc, "17.0.9");
+        assertThat(next.isDumping()).isFalse();
+        assertThat(next.getJavadocOptions()).containsExactly("-J-XX:SharedArchiveFile=" + first.getArchive());
+        assertThat(concurrent.getJavadocOptions()).containsExactly("-J-XX:SharedArchiveFile=" + first.getArchive());
+    }
+
+    @Test
+    public void testJdkChange() throws Exception {
+        File javadoc = createJdk("jdk");
+        File otherJavadoc = createJdk("other-jdk");
+        Path directory = folder.getRoot().toPath().resolve("cds");
+        JavadocClassDataArchive archive = dump(directory, javadoc, "17.0.9");
+        JavadocClassDataArchive otherArchive = dump(directory, otherJavadoc, "17.0.9");
+        assertThat(otherArchive.getArchive()).isNotEqualTo(archive.getArchive());
+
+        // updated in place
+        Files.write(new File(javadoc.getParentFile().getParentFile(), "lib/modules").toPath(), new byte[] {4, 5});
+        JavadocClassDataArchive updated = JavadocClassDataArchive.get(directory, javadoc, "17.0.10");
+        assertThat(updated.isDumping()).isTrue();
+        assertThat(updated.getArchive()).isNotEqualTo(archive.getArchive());
+        assertThat(archive.getArchive()).doesNotExist();
+        // the archives of the other executables are kept
+        assertThat(otherArchive.getArchive()).exists();
+        updated.complete();
+    }
+
+    @Test
+    public void testIsJavadocOption() {
+        assertThat(JavadocClassDataArchive.isJavadocOption("-J-XX:SharedArchiveFile=/tmp/javadoc.jsa"))
+                .isTrue();
+        assertThat(JavadocClassDataArchive.isJavadocOption("-J-XX:ArchiveClassesAtExit=/tmp/javadoc.jsa.tmp"))
+                .isTrue();
+        assertThat(JavadocClassDataArchive.isJavadocOption("-J-Xmx512m")).isFalse();
+    }
+
+    private JavadocClassDataArchive dump(Path directory, File javadoc, String version) throws Exception {
+        JavadocClassDataArchive archive = JavadocClassDataArchive.get(directory, javadoc, version);
+        String dump = archive.getJavadocOptions().get(0).substring("-J-XX:ArchiveClassesAtExit=".length());
+        Files.write(new File(dump).toPath(), new byte[] {1, 2, 3});
+        archive.complete();
+        return archive;
+    }
+
+    private File createJdk(String name) throws Exception {
+        File jdk = folder.newFolder(name);
+        File javadoc = new File(jdk, "bin/javadoc");
+        Files.createDirectories(javadoc.getParentFile().toPath());
+        Files.write(javadoc.toPath(), new byte[] {0});
+        Files.createDirectories(new File(jdk, "lib").toPath());
+        Files.write(new File(jdk, "lib/modules").toPath(), new byte[] {1});
+        return javadoc;
+    }
+}
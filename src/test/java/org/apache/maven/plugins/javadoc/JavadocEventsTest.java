@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * The tests are compiled for Java 8, so the <code>jdk.jfr</code> API is called by reflection.
+ */
+public class JavadocEventsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testNotRecording() {
+        JavadocEvents events = JavadocEvents.getInstance();
+        assertThat(events.beginPhase(JavadocMetrics.GET_FILES, "g:a:1.0", "javadoc"))
+                .isNull();
+        assertThat(events.beginLinkValidation("https://example.org/apidocs", "g:a:1.0", "javadoc"))
+                .isNull();
+    }
+
+    @Test
+    public void testRecording() throws Exception {
+        assumeTrue(JavadocEvents.getInstance().getClass() != JavadocEvents.class);
+
+        Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        Object recording = recordingClass.getConstructor().newInstance();
+        recordingClass.getMethod("enable", String.class).invoke(recording, "org.apache.maven.plugins.javadoc.Phase");
+        recordingClass
+                .getMethod("enable", String.class)
+                .invoke(recording, "org.apache.maven.plugins.javadoc.LinkValidation");
+        recordingClass.getMethod("start").invoke(recording);
+
+        JavadocMetrics metrics = new JavadocMetrics(false, "g:a:1.0", "javadoc");
+        try (JavadocMetrics.Phase phase = metrics.start(JavadocMetrics.COPY_ALL_RESOURCES)) {
+            assertThat(phase).isNotNull();
+        }
+        JavadocEvents events = JavadocEvents.getInstance();
+        Object event = events.beginLinkValidation("https://example.org/apidocs", "g:a:1.0", "javadoc");
+        assertThat(event).isNotNull();
+        events.endLinkValidation(event, true);
+
+        recordingClass.getMethod("stop").invoke(recording);
+        Path file = folder.getRoot().toPath().resolve("recording.jfr");
+        recordingClass.getMethod("dump", Path.class).invoke(recording, file);
+        recordingClass.getMethod("close").invoke(recording);
+
+        List<String> recorded = new ArrayList<>();
+        Class<?> recordedEventClass = Class.forName("jdk.jfr.consumer.RecordedEvent");
+        Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+        for (Object recordedEvent : (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                .getMethod("readAllEvents", Path.class)
+                .invoke(null, file)) {
+            Object eventType = recordedEventClass.getMethod("getEventType").invoke(recordedEvent);
+            String name = (String) eventTypeClass.getMethod("getName").invoke(eventType);
+            String detail = name.endsWith("Phase")
+                    ? (String) recordedEventClass
+                            .getMethod("getString", String.class)
+                            .invoke(recordedEvent, "phase")
+                    : recordedEventClass.getMethod("getString", String.class).invoke(recordedEvent, "url")
+                            + " "
+                            + recordedEventClass
+                                    .getMethod("getBoolean", String.class)
+                                    .invoke(recordedEvent, "valid");
+            String module = (String)
+                    recordedEventClass.getMethod("getString", String.class).invoke(recordedEvent, "module");
+            recorded.add(name + " " + detail + " " + module);
+        }
+        assertThat(recorded)
+                .containsExactlyInAnyOrder(
+                        "org.apache.maven.plugins.javadoc.Phase copyAllResources g:a:1.0",
+                        "org.apache.maven.plugins.javadoc.LinkValidation https://example.org/apidocs true g:a:1.0");
+
+        // the metrics are disabled: nothing else is recorded
+        assertThat(metrics.getPhases()).isEmpty();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JavadocForkSchedulerTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final Map<String, JavadocForkScheduler.Slot> slots = new ConcurrentHashMap<>();
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        done.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBudget() throws Exception {
+        JavadocForkScheduler scheduler = new JavadocForkScheduler(1000);
+        JavadocForkScheduler.Slot first = scheduler.acquire(600, 0);
+        acquireInBackground(scheduler, "second", 600, 0);
+        waitUntil(() -> scheduler.getWaiting() == 1);
+        assertThat(slots).isEmpty();
+        assertThat(scheduler.getUsedMegabytes()).isEqualTo(600);
+
+        first.close();
+        waitUntil(() -> slots.containsKey("second"));
+        assertThat(scheduler.getUsedMegabytes()).isEqualTo(600);
+
+        // closed twice, released once
+        first.close();
+        assertThat(scheduler.getUsedMegabytes()).isEqualTo(600);
+        slots.get("second").close();
+        assertThat(scheduler.getUsedMegabytes()).isZero();
+    }
+
+    @Test
+    public void testPriority() throws Exception {
+        JavadocForkScheduler scheduler = new JavadocForkScheduler(1000);
+        JavadocForkScheduler.Slot running = scheduler.acquire(1000, 0);
+        acquireInBackground(scheduler, "small", 100, 0);
+        waitUntil(() -> scheduler.getWaiting() == 1);
+        acquireInBackground(scheduler, "large", 700, 0);
+        acquireInBackground(scheduler, "critical", 600, 5);
+        waitUntil(() -> scheduler.getWaiting() == 3);
+
+        // the module on the critical path first, then the largest heap, which the small one does not overtake
+        running.close();
+        waitUntil(() -> slots.containsKey("critical"));
+        waitUntil(() -> scheduler.getWaiting() == 2);
+        assertThat(slots).containsOnlyKeys("critical");
+
+        slots.get("critical").close();
+        waitUntil(() -> slots.size() == 3);
+        assertThat(scheduler.getUsedMegabytes()).isEqualTo(800);
+    }
+
+    @Test
+    public void testLargerThanBudget() throws Exception {
+        JavadocForkScheduler scheduler = new JavadocForkScheduler(1000);
+        try (JavadocForkScheduler.Slot slot = scheduler.acquire(4096, 0)) {
+            assertThat(slot.getMegabytes()).isEqualTo(1000);
+        }
+        assertThat(scheduler.getUsedMegabytes()).isZero();
+    }
+
+    @Test
+    public void testParseBudget() {
+        assertThat(JavadocForkScheduler.parseBudget("2g")).isEqualTo(2048);
+        assertThat(JavadocForkScheduler.parseBudget("512m")).isEqualTo(512);
+        assertThat(JavadocForkScheduler.parseBudget("auto")).isNotZero();
+        assertThat(JavadocForkScheduler.toMegabytes("1536k")).isEqualTo(2);
+    }
+
+    @Test
+    public void testSessionInstance() {
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        JavadocForkScheduler scheduler = JavadocForkScheduler.getInstance(session, 1000);
+        assertThat(JavadocForkScheduler.getInstance(session, 2000)).isSameAs(scheduler);
+        assertThat(scheduler.getBudgetMegabytes()).isEqualTo(1000);
+        assertThat(JavadocForkScheduler.getInstance(null, 2000)).isNotSameAs(scheduler);
+    }
+
+    private void acquireInBackground(JavadocForkScheduler scheduler, String name, long megabytes, int priority) {
+        executor.submit(() -> {
+            slots.put(name, scheduler.acquire(megabytes, priority));
+            done.await();
+            return null;
+        });
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timeout").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
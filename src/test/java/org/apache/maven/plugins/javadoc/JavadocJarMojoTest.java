@@ -33,8 +33,11 @@ import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugin.testing.AbstractMojoTestCase;
 import org.apache.maven.plugin.testing.stubs.MavenProjectStub;
+import org.apache.maven.plugins.javadoc.stubs.DefaultArtifactHandlerStub;
+import org.apache.maven.plugins.javadoc.stubs.JavadocPluginArtifactStub;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.languages.java.version.JavaVersion;
+import org.codehaus.plexus.util.FileUtils;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
 import org.eclipse.aether.repository.LocalRepository;
@@ -47,12 +50,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class JavadocJarMojoTest extends AbstractMojoTestCase {
 
     private JavadocJarMojo lookupMojo(File testPom) throws Exception {
-        JavadocJarMojo mojo = (JavadocJarMojo) lookupMojo("jar", testPom);
+        return lookupMojo(testPom, "jar");
+    }
+
+    private JavadocJarMojo lookupMojo(File testPom, String goal) throws Exception {
+        JavadocJarMojo mojo = (JavadocJarMojo) lookupMojo(goal, testPom);
 
         Plugin p = new Plugin();
         p.setGroupId("org.apache.maven.plugins");
         p.setArtifactId("maven-javadoc-plugin");
-        MojoExecution mojoExecution = new MojoExecution(p, "jar", null);
+        MojoExecution mojoExecution = new MojoExecution(p, goal, null);
 
         setVariableValueToObject(mojo, "mojoExecution", mojoExecution);
 
@@ -201,6 +208,167 @@ public class JavadocJarMojoTest extends AbstractMojoTestCase {
         assertThat(log.getMessages()).contains("[DEBUG] Skipping javadoc generation, everything is up to date.");
     }
 
+    public void testProfileJavadoc() throws Exception {
+        File testPom = new File(
+                getBasedir(), "src/test/resources/unit/javadocjar-default/javadocjar-default-plugin-config.xml");
+        JavadocJarMojo mojo = lookupMojo(testPom);
+        setVariableValueToObject(mojo, "profileJavadoc", true);
+        BufferingLog log = new BufferingLog();
+        mojo.setLog(log);
+        mojo.execute();
+
+        JavaVersion javadocVersion = (JavaVersion) getVariableValueFromObject(mojo, "javadocRuntimeVersion");
+        if (javadocVersion.isBefore("11")) {
+            return;
+        }
+
+        // outside of the output directory, not to be published with the documentation
+        File outputDirectory = new File(mojo.getPluginReportOutputDirectory());
+        assertThat(new File(outputDirectory, AbstractJavadocMojo.PROFILE_RECORDING_FILE_NAME))
+                .doesNotExist();
+        File profileDirectory = new File(
+                mojo.getProject().getBuild().getDirectory(),
+                AbstractJavadocMojo.PROFILE_DIRECTORY_NAME + File.separator + outputDirectory.getName());
+        assertThat(new File(profileDirectory, AbstractJavadocMojo.PROFILE_RECORDING_FILE_NAME))
+                .exists();
+        if (JavaVersion.JAVA_VERSION.isAtLeast("11")) {
+            assertThat(new File(outputDirectory, AbstractJavadocMojo.PROFILE_SUMMARY_FILE_NAME))
+                    .doesNotExist();
+            assertThat(new File(profileDirectory, AbstractJavadocMojo.PROFILE_SUMMARY_FILE_NAME))
+                    .content()
+                    .startsWith("Recording of ")
+                    .contains("Hot methods:");
+            assertThat(log.getMessages()).anyMatch(m -> m.startsWith("[INFO] Profile of the javadoc process"));
+        }
+
+        // the recording and its summary are not archived
+        File generatedFile =
+                new File(getBasedir(), "target/test/unit/javadocjar-default/target/javadocjar-default-javadoc.jar");
+        try (ZipFile jar = new ZipFile(generatedFile)) {
+            assertThat(jar.getEntry(AbstractJavadocMojo.PROFILE_RECORDING_FILE_NAME))
+                    .isNull();
+            assertThat(jar.getEntry(AbstractJavadocMojo.PROFILE_SUMMARY_FILE_NAME))
+                    .isNull();
+        }
+    }
+
+    public void testVerboseTimings() throws Exception {
+        File testPom = new File(
+                getBasedir(), "src/test/resources/unit/javadocjar-default/javadocjar-default-plugin-config.xml");
+        JavadocJarMojo mojo = lookupMojo(testPom);
+        setVariableValueToObject(mojo, "verbose", true);
+        // the phases and the generated pages are notices, hidden by -quiet
+        setVariableValueToObject(mojo, "quiet", false);
+        BufferingLog log = new BufferingLog();
+        mojo.setLog(log);
+        mojo.execute();
+
+        assertThat(log.getMessages()).anyMatch(m -> m.startsWith("[INFO] Javadoc timings: startup "));
+        MavenProject project = (MavenProject) getVariableValueFromObject(mojo, "project");
+        File[] timings = new File(project.getBuild().getDirectory(), "maven-javadoc-plugin-timings").listFiles();
+        assertThat(timings).hasSize(1);
+        assertThat(timings[0])
+                .content()
+                .contains("  generate ", "Slowest packages:", "Slowest classes:", "javadocjar.def.App");
+    }
+
+    public void testClassDataSharing() throws Exception {
+        File testPom = new File(
+                getBasedir(), "src/test/resources/unit/javadocjar-default/javadocjar-default-plugin-config.xml");
+        File directory = new File(getBasedir(), "target/test/unit/javadocjar-default/target/cds");
+        FileUtils.deleteDirectory(directory);
+
+        JavadocJarMojo mojo = lookupMojo(testPom);
+        setVariableValueToObject(mojo, "classDataSharing", true);
+        setVariableValueToObject(mojo, "classDataSharingDirectory", directory);
+        mojo.execute();
+
+        JavaVersion javadocVersion = (JavaVersion) getVariableValueFromObject(mojo, "javadocRuntimeVersion");
+        if (javadocVersion.isBefore("13")) {
+            assertThat(directory).doesNotExist();
+            return;
+        }
+        File[] archives = directory.listFiles();
+        assertThat(archives).hasSize(1);
+        assertThat(archives[0].getName()).endsWith(".jsa");
+
+        // mapped by the next run
+        mojo = lookupMojo(testPom);
+        setVariableValueToObject(mojo, "classDataSharing", true);
+        setVariableValueToObject(mojo, "classDataSharingDirectory", directory);
+        BufferingLog log = new BufferingLog();
+        mojo.setLog(log);
+        mojo.execute();
+        assertThat(directory.listFiles()).containsExactly(archives);
+        assertThat(log.getMessages())
+                .contains("[DEBUG] Using the class data sharing archive " + archives[0].getAbsolutePath());
+    }
+
+    public void testForkMemoryBudget() throws Exception {
+        File testPom = new File(
+                getBasedir(), "src/test/resources/unit/javadocjar-default/javadocjar-default-plugin-config.xml");
+        JavadocJarMojo mojo = lookupMojo(testPom);
+        setVariableValueToObject(mojo, "forkMemoryBudget", "1g");
+        setVariableValueToObject(mojo, "maxmemory", "384m");
+        MavenSession session = (MavenSession) getVariableValueFromObject(mojo, "session");
+        setVariableValueToObject(mojo, "repoSession", session.getRepositorySession());
+        BufferingLog log = new BufferingLog();
+        mojo.setLog(log);
+        mojo.execute();
+
+        assertThat(log.getMessages())
+                .anyMatch(m ->
+                        m.matches("\\[DEBUG\\] Waited \\d+ ms for 384 MB of the javadoc memory budget of 1024 MB."));
+        JavadocForkScheduler scheduler = JavadocForkScheduler.getInstance(session.getRepositorySession(), 0);
+        assertThat(scheduler.getBudgetMegabytes()).isEqualTo(1024);
+        assertThat(scheduler.getUsedMegabytes()).isZero();
+    }
+
+    public void testMainAndTestJar() throws Exception {
+        File testPom =
+                new File(getBasedir(), "src/test/resources/unit/test-javadoc-test/jar-and-test-jar-plugin-config.xml");
+        JavadocJarMojo mojo = lookupMojo(testPom, "jar-and-test-jar");
+        assertThat(mojo).isInstanceOf(MainAndTestJavadocJarMojo.class);
+        MavenProject project = (MavenProject) getVariableValueFromObject(mojo, "project");
+        JavadocPluginArtifactStub artifact = new JavadocPluginArtifactStub(
+                project.getGroupId(), project.getArtifactId(), project.getVersion(), project.getPackaging());
+        artifact.setArtifactHandler(new DefaultArtifactHandlerStub());
+        artifact.setType("jar");
+        artifact.setBaseVersion(project.getVersion());
+        project.setArtifact(artifact);
+        BufferingLog log = new BufferingLog();
+        mojo.setLog(log);
+        mojo.execute();
+
+        File jar = new File(getBasedir(), "target/test/unit/jar-and-test-jar/target/jar-and-test-jar-javadoc.jar");
+        File testJar =
+                new File(getBasedir(), "target/test/unit/jar-and-test-jar/target/jar-and-test-jar-test-javadoc.jar");
+        try (ZipFile zip = new ZipFile(jar)) {
+            assertThat(zip.getEntry("maven/App.html")).isNotNull();
+            assertThat(zip.getEntry("maven/AppTest.html")).isNull();
+        }
+        try (ZipFile zip = new ZipFile(testJar)) {
+            assertThat(zip.getEntry("maven/AppTest.html")).isNotNull();
+            assertThat(zip.getEntry("maven/App.html")).isNull();
+        }
+
+        // the test scoped dependencies are resolved for both, but only on the classpath of the tests
+        File siteDirectory = new File(getBasedir(), "target/test/unit/jar-and-test-jar/target/site");
+        assertThat(new File(siteDirectory, "apidocs/" + AbstractJavadocMojo.OPTIONS_FILE_NAME))
+                .content()
+                .doesNotContain("junit-3.8.1.jar");
+        assertThat(new File(siteDirectory, "testapidocs/" + AbstractJavadocMojo.OPTIONS_FILE_NAME))
+                .content()
+                .contains("junit-3.8.1.jar");
+
+        // the log of the main generation is written after the test one
+        int testDone = log.getMessages().indexOf("[INFO] NOT adding javadoc to attached artifacts list.");
+        assertThat(log.getMessages().subList(0, testDone)).noneMatch(m -> m.contains("App.java"));
+        assertThat(log.getMessages().subList(testDone + 1, log.getMessages().size()))
+                .anyMatch(m -> m.contains("App.java"))
+                .contains("[INFO] NOT adding javadoc to attached artifacts list.");
+    }
+
     private static class BufferingLog implements Log {
         private final List<String> messages = new ArrayList<>();
 
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JavadocMetricsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDisabled() {
+        JavadocMetrics metrics = new JavadocMetrics(false, "g:a:1.0", "javadoc");
+        try (JavadocMetrics.Phase phase = metrics.start(JavadocMetrics.GET_FILES)) {
+            assertThat(phase).isNotNull();
+        }
+        assertThat(metrics.getPhases()).isEmpty();
+    }
+
+    @Test
+    public void testPhases() throws Exception {
+        JavadocMetrics metrics = new JavadocMetrics(true, "g:a:1.0", "javadoc");
+        for (int i = 0; i < 2; i++) {
+            try (JavadocMetrics.Phase phase = metrics.start(JavadocMetrics.LINKS)) {
+                Thread.sleep(5);
+            }
+        }
+        try (JavadocMetrics.Phase phase = metrics.start(JavadocMetrics.GET_FILES)) {
+            assertThat(new byte[1024 * 1024]).hasSize(1024 * 1024);
+        }
+        metrics.stop();
+
+        Map<String, JavadocMetrics.PhaseMetrics> phases = metrics.getPhases();
+        assertThat(phases.keySet()).containsExactly(JavadocMetrics.LINKS, JavadocMetrics.GET_FILES);
+        assertThat(phases.get(JavadocMetrics.LINKS).getCount()).isEqualTo(2);
+        assertThat(phases.get(JavadocMetrics.LINKS).getWallMillis()).isGreaterThanOrEqualTo(10);
+        assertThat(phases.get(JavadocMetrics.GET_FILES).getCount()).isEqualTo(1);
+        // -1 when the JVM does not support the allocated bytes
+        long allocatedBytes = phases.get(JavadocMetrics.GET_FILES).getAllocatedBytes();
+        assertThat(allocatedBytes == -1 || allocatedBytes >= 1024 * 1024).isTrue();
+        assertThat(metrics.getWallMillis()).isGreaterThanOrEqualTo(10);
+
+        Path file = folder.getRoot().toPath().resolve("metrics/javadoc.json");
+        metrics.write(file);
+        String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertThat(json)
+                .startsWith("{\n  \"id\": \"g:a:1.0:javadoc\",\n  \"wallMillis\": ")
+                .contains("\"links\": {\"count\": 2, \"wallMillis\": ")
+                .contains("\"getFiles\": {\"count\": 1, ");
+    }
+
+    @Test
+    public void testSummary() throws Exception {
+        JavadocMetrics first = new JavadocMetrics(true, "g:a:1.0", "javadoc");
+        try (JavadocMetrics.Phase phase = first.start(JavadocMetrics.JAVADOC_PROCESS)) {
+            Thread.sleep(5);
+        }
+        first.stop();
+        JavadocMetrics second = new JavadocMetrics(true, "g:\"b\":1.0", "jar");
+        try (JavadocMetrics.Phase phase = second.start(JavadocMetrics.JAVADOC_PROCESS)) {
+            Thread.sleep(5);
+        }
+        try (JavadocMetrics.Phase phase = second.start(JavadocMetrics.GENERATE_ARCHIVE)) {
+            Thread.sleep(1);
+        }
+        second.stop();
+
+        Map<String, JavadocMetrics.PhaseMetrics> totals = JavadocMetrics.getTotals(Arrays.asList(first, second));
+        assertThat(totals.keySet()).containsExactly(JavadocMetrics.JAVADOC_PROCESS, JavadocMetrics.GENERATE_ARCHIVE);
+        assertThat(totals.get(JavadocMetrics.JAVADOC_PROCESS).getCount()).isEqualTo(2);
+        assertThat(totals.get(JavadocMetrics.JAVADOC_PROCESS).getWallMillis()).isGreaterThanOrEqualTo(10);
+        assertThat(totals.get(JavadocMetrics.GENERATE_ARCHIVE).getCount()).isEqualTo(1);
+
+        // the phases of an execution are left untouched
+        assertThat(first.getPhases().get(JavadocMetrics.JAVADOC_PROCESS).getCount())
+                .isEqualTo(1);
+
+        Path file = folder.getRoot().toPath().resolve("maven-javadoc-plugin-metrics.json");
+        JavadocMetrics.writeSummary(Arrays.asList(first, second), file);
+        String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertThat(json)
+                .startsWith("{\n  \"executions\": [\n    {\n      \"id\": \"g:a:1.0:javadoc\",")
+                .contains("\"id\": \"g:\\\"b\\\":1.0:jar\"")
+                .contains("\"totals\": {\n    \"javadocProcess\": {\"count\": 2, ");
+    }
+}
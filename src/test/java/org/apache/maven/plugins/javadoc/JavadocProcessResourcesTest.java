@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class JavadocProcessResourcesTest {
+    private static final long MEGABYTE = 1024 * 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEstimateMaxMemory() {
+        JavadocProcessResources resources = new JavadocProcessResources(500 * MEGABYTE, 1000, 100);
+        // 500 MB * 1.2, rounded up to 64 MB
+        assertThat(resources.estimateMaxMemory(100, -1)).isEqualTo("640m");
+        // fewer sources
+        assertThat(resources.estimateMaxMemory(50, -1)).isEqualTo("320m");
+        // twice the sources
+        assertThat(resources.estimateMaxMemory(200, -1)).isEqualTo("1216m");
+        // at most the given heap
+        assertThat(resources.estimateMaxMemory(200, 1024)).isEqualTo("1024m");
+        // at least 256 MB
+        assertThat(new JavadocProcessResources(10 * MEGABYTE, 10, 1).estimateMaxMemory(1, -1))
+                .isEqualTo("256m");
+    }
+
+    @Test
+    public void testEstimateMaxMemoryFromLiveHeap() {
+        // the peak RSS follows the heap given to the process, not the live heap
+        JavadocProcessResources resources = new JavadocProcessResources(2000 * MEGABYTE, 300 * MEGABYTE, 1000, 100);
+        assertThat(resources.estimateMaxMemory(100, -1)).isEqualTo("640m");
+        assertThat(resources.estimateMaxMemory(200, -1)).isEqualTo("1216m");
+
+        // the same estimate whatever the heap of the previous run
+        JavadocProcessResources next = new JavadocProcessResources(700 * MEGABYTE, 300 * MEGABYTE, 1000, 100);
+        assertThat(next.estimateMaxMemory(100, -1)).isEqualTo(resources.estimateMaxMemory(100, -1));
+    }
+
+    @Test
+    public void testReadLiveHeap() throws Exception {
+        Path gcLog = folder.getRoot().toPath().resolve("gc.log");
+        assertThat(JavadocProcessResources.readLiveHeapBytes(gcLog)).isEqualTo(-1);
+
+        Files.write(
+                gcLog,
+                Arrays.asList(
+                        "[0.010s][info][gc] Using G1",
+                        "[0.512s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 25M->4M(256M) 3.124ms",
+                        "[0.912s][info][gc] GC(1) Pause Full (System.gc()) 120M->96M(256M) 12.010ms",
+                        "[1.100s][info][gc] GC(2) Pause Young (Normal) (G1 Evacuation Pause) 150M->20M(256M) 2.5ms"));
+        assertThat(JavadocProcessResources.readLiveHeapBytes(gcLog)).isEqualTo(96 * MEGABYTE);
+
+        Files.write(gcLog, Arrays.asList("[0.6s][info][gc] GC(0) Garbage Collection (Warmup) 204M(10%)->34M(2%)"));
+        assertThat(JavadocProcessResources.readLiveHeapBytes(gcLog)).isEqualTo(34 * MEGABYTE);
+
+        Files.write(gcLog, Arrays.asList("[0.010s][info][gc] Using G1"));
+        assertThat(JavadocProcessResources.readLiveHeapBytes(gcLog)).isEqualTo(-1);
+    }
+
+    @Test
+    public void testGcLogOption() {
+        Path gcLog = folder.getRoot().toPath().resolve("gc.log").toAbsolutePath();
+        assumeTrue(JavadocProcessResources.getGcLogOption(gcLog) != null);
+
+        String option = "-J" + JavadocProcessResources.getGcLogOption(gcLog);
+        assertThat(option).isEqualTo("-J-Xlog:gc:file=" + gcLog);
+        assertThat(JavadocProcessResources.getGcLog(new String[] {"-J-Xmx512m", option, "-J-Xms64m"}))
+                .isEqualTo(gcLog);
+        assertThat(JavadocProcessResources.getGcLog(new String[] {"-J-Xmx512m"}))
+                .isNull();
+        assertThat(JavadocProcessResources.getGcLogOption(Paths.get("/tmp/with space/gc.log")))
+                .isNull();
+
+        assertThat(JavadocProcessResources.isJavadocOption(option)).isTrue();
+        assertThat(JavadocProcessResources.isJavadocOption("-J-Xmx512m")).isTrue();
+        assertThat(JavadocProcessResources.isJavadocOption("-J-Xms64m")).isFalse();
+        assertThat(JavadocProcessResources.isJavadocOption("-Xdoclint:none")).isFalse();
+    }
+
+    @Test
+    public void testMax() {
+        JavadocProcessResources small = new JavadocProcessResources(400 * MEGABYTE, 60 * MEGABYTE, 5000, 30);
+        JavadocProcessResources large = new JavadocProcessResources(300 * MEGABYTE, 90 * MEGABYTE, 3000, 50);
+
+        for (JavadocProcessResources max : new JavadocProcessResources[] {small.max(large), large.max(small)}) {
+            assertThat(max.getPeakRssBytes()).isEqualTo(400 * MEGABYTE);
+            assertThat(max.getLiveHeapBytes()).isEqualTo(90 * MEGABYTE);
+            assertThat(max.getCpuMillis()).isEqualTo(5000);
+            // the source files of the largest live heap
+            assertThat(max.getSourceFiles()).isEqualTo(50);
+        }
+
+        // without live heap, the source files of the largest peak
+        JavadocProcessResources max = new JavadocProcessResources(400 * MEGABYTE, 5000, 30)
+                .max(new JavadocProcessResources(300 * MEGABYTE, 3000, 50));
+        assertThat(max.getLiveHeapBytes()).isEqualTo(-1);
+        assertThat(max.getSourceFiles()).isEqualTo(30);
+    }
+
+    @Test
+    public void testStoreAndLoad() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("target/maven-javadoc-plugin-stale-data.txt.resources");
+        assertThat(JavadocProcessResources.load(file, "javadoc")).isNull();
+
+        new JavadocProcessResources(300 * MEGABYTE, 80 * MEGABYTE, 4000, 120).store(file, "javadoc");
+        new JavadocProcessResources(100 * MEGABYTE, 2000, 10).store(file, "test-javadoc");
+
+        JavadocProcessResources resources = JavadocProcessResources.load(file, "javadoc");
+        assertThat(resources.getPeakRssBytes()).isEqualTo(300 * MEGABYTE);
+        assertThat(resources.getLiveHeapBytes()).isEqualTo(80 * MEGABYTE);
+        assertThat(resources.getCpuMillis()).isEqualTo(4000);
+        assertThat(resources.getSourceFiles()).isEqualTo(120);
+        assertThat(JavadocProcessResources.load(file, "test-javadoc").getSourceFiles())
+                .isEqualTo(10);
+        assertThat(JavadocProcessResources.load(file, "test-javadoc").getLiveHeapBytes())
+                .isEqualTo(-1);
+        assertThat(JavadocProcessResources.load(file, "jar")).isNull();
+    }
+
+    @Test
+    public void testSample() throws Exception {
+        assumeTrue(Files.exists(Paths.get("/proc/self/task")) && new File("/bin/sh").canExecute());
+
+        File workingDirectory = folder.newFolder("apidocs");
+        Process process;
+        JavadocProcessResources resources;
+        try (JavadocProcessResources.Sampler sampler = JavadocProcessResources.sample(workingDirectory)) {
+            // a shell and its child, busy for a while
+            process = new ProcessBuilder("/bin/sh", "-c", "i=0; while [ $i -lt 200000 ]; do i=$((i+1)); done; sleep 1")
+                    .directory(workingDirectory)
+                    .start();
+            process.waitFor();
+            resources = sampler.getResources(42, null);
+        }
+
+        assertThat(process.exitValue()).isEqualTo(0);
+        assumeTrue("no children file in /proc", resources != null);
+        assertThat(resources.getPeakRssBytes()).isGreaterThan(0);
+        assertThat(resources.getCpuMillis()).isGreaterThanOrEqualTo(0);
+        assertThat(resources.getSourceFiles()).isEqualTo(42);
+        assertThat(resources.getLiveHeapBytes()).isEqualTo(-1);
+    }
+}
@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.execution.MavenSession;
@@ -833,6 +834,59 @@ public class JavadocReportTest extends AbstractMojoTestCase {
         }
     }
 
+    /**
+     * Test the javadoc generated in shards and merged
+     *
+     * @throws Exception if any
+     */
+    public void testShards() throws Exception {
+        if (JavaVersion.JAVA_SPECIFICATION_VERSION.isBefore("16")) {
+            return;
+        }
+
+        Path testPom = unit.resolve("shards-test/shards-test-plugin-config.xml");
+        JavadocReport mojo = lookupMojo(testPom);
+        setVariableValueToObject(mojo, "verbose", true);
+        Path timings =
+                new File(getBasedir(), "target/test/unit/shards-test/target/maven-javadoc-plugin-timings").toPath();
+        FileUtils.deleteDirectory(timings.toFile());
+        mojo.execute();
+
+        // the shards run concurrently, each with its own timings
+        try (Stream<Path> reports = Files.list(timings)) {
+            assertThat(reports.map(report -> report.getFileName().toString()))
+                    .hasSize(2)
+                    .anySatisfy(name -> assertThat(name).endsWith("-shard-0.txt"))
+                    .anySatisfy(name -> assertThat(name).endsWith("-shard-1.txt"));
+        }
+
+        Path site = new File(getBasedir(), "target/test/unit/shards-test/target/site").toPath();
+        Path apidocs = site.resolve("apidocs");
+        for (String type : new String[] {"alpha/Alpha", "beta/Beta", "gamma/Gamma", "delta/Delta"}) {
+            assertThat(apidocs.resolve("shards/" + type + ".html")).exists();
+        }
+
+        // the summaries of the shards are merged
+        String index = readFile(apidocs.resolve("index.html"));
+        String allClasses = readFile(apidocs.resolve("allclasses-index.html"));
+        String elementList = readFile(apidocs.resolve("element-list"));
+        String typeSearchIndex = readFile(apidocs.resolve("type-search-index.js"));
+        for (String name : new String[] {"alpha", "beta", "gamma", "delta"}) {
+            assertThat(index).contains("shards/" + name + "/package-summary.html");
+            assertThat(elementList).contains("shards." + name);
+            String className = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            assertThat(allClasses).contains("shards/" + name + "/" + className + ".html");
+            assertThat(typeSearchIndex).contains("\"l\":\"" + className + "\"");
+        }
+        assertThat(readFile(apidocs.resolve("index-all.html"))).contains("Alpha", "Beta", "Gamma", "Delta");
+
+        // the links between the shards are relative
+        assertThat(readFile(apidocs.resolve("shards/alpha/Alpha.html"))).contains("../gamma/Gamma.html");
+        assertThat(readFile(apidocs.resolve("shards/beta/Beta.html"))).contains("../delta/Delta.html");
+
+        assertThat(site.resolve("apidocs-shards")).doesNotExist();
+    }
+
     /**
      * Test newline in various string parameters
      *
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JavadocShardsTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testSplitBySize() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        sizes.put("a", 100L);
+        sizes.put("b", 60L);
+        sizes.put("c", 50L);
+        sizes.put("d", 40L);
+        sizes.put("e", 10L);
+        sizes.put("f", 5L);
+
+        List<List<String>> shards = JavadocShards.split(sizes, 2);
+
+        assertThat(shards).containsExactly(Arrays.asList("a", "d"), Arrays.asList("b", "c", "e", "f"));
+    }
+
+    @Test
+    public void testSplitKeepsTwoPackagesPerShard() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        sizes.put("huge", 1000L);
+        sizes.put("a", 1L);
+        sizes.put("b", 1L);
+        sizes.put("c", 1L);
+
+        List<List<String>> shards = JavadocShards.split(sizes, 8);
+
+        // capped to two shards, the one of the huge package getting a small one
+        assertThat(shards).hasSize(2);
+        assertThat(shards).allSatisfy(shard -> assertThat(shard).hasSizeGreaterThanOrEqualTo(2));
+        assertThat(shards.stream().mapToInt(List::size).sum()).isEqualTo(4);
+    }
+
+    @Test
+    public void testSplitTooFewPackages() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        sizes.put("b", 10L);
+        sizes.put("a", 20L);
+        sizes.put("c", 30L);
+
+        assertThat(JavadocShards.split(sizes, 4)).containsExactly(Arrays.asList("a", "b", "c"));
+        assertThat(JavadocShards.split(Collections.emptyMap(), 4)).containsExactly(Collections.emptyList());
+    }
+
+    @Test
+    public void testMergeLines() {
+        assertThat(JavadocShards.mergeLines("b\nd\n", "a\r\nb\r\nc\r\n")).isEqualTo("a\nb\nc\nd\n");
+    }
+
+    @Test
+    public void testMergeSearchIndex() {
+        String content = "typeSearchIndex = [{\"p\":\"a\",\"l\":\"A\"},{\"l\":\"All Classes\",\"u\":\"x\"}];"
+                + "updateSearchResults();";
+        String other = "typeSearchIndex = [{\"p\":\"b\",\"l\":\"B, {or} [C]\"},{\"l\":\"All Classes\",\"u\":\"x\"}];"
+                + "updateSearchResults();";
+
+        assertThat(JavadocShards.mergeSearchIndex(content, other))
+                .isEqualTo("typeSearchIndex = [{\"p\":\"a\",\"l\":\"A\"},{\"l\":\"All Classes\",\"u\":\"x\"},"
+                        + "{\"p\":\"b\",\"l\":\"B, {or} [C]\"}];updateSearchResults();");
+        assertThat(JavadocShards.mergeSearchIndex(content, "updateSearchResults();"))
+                .isNull();
+    }
+
+    @Test
+    public void testMergeSummaryTables() {
+        String content = page("<div class=\"summary-table two-column-summary\">\n"
+                + "<div class=\"table-header col-first\">Package</div>\n"
+                + "<div class=\"table-header col-last\">Description</div>\n"
+                + "<div class=\"col-first even-row-color\"><a href=\"c/package-summary.html\">c</a></div>\n"
+                + "<div class=\"col-last even-row-color\">&nbsp;</div>\n"
+                + "</div>");
+        String other = page("<div class=\"summary-table two-column-summary\">\n"
+                + "<div class=\"table-header col-first\">Package</div>\n"
+                + "<div class=\"table-header col-last\">Description</div>\n"
+                + "<div class=\"col-first even-row-color\"><a href=\"a/package-summary.html\">a</a></div>\n"
+                + "<div class=\"col-last even-row-color\"><div class=\"block\">A</div></div>\n"
+                + "<div class=\"col-first odd-row-color\"><a href=\"b/package-summary.html\">b</a></div>\n"
+                + "<div class=\"col-last odd-row-color\">&nbsp;</div>\n"
+                + "</div>");
+
+        assertThat(JavadocShards.mergeSummaryTables(content, other))
+                .isEqualTo(page("<div class=\"summary-table two-column-summary\">\n"
+                        + "<div class=\"table-header col-first\">Package</div>\n"
+                        + "<div class=\"table-header col-last\">Description</div>\n"
+                        + "<div class=\"col-first even-row-color\"><a href=\"a/package-summary.html\">a</a></div>\n"
+                        + "<div class=\"col-last even-row-color\"><div class=\"block\">A</div></div>\n"
+                        + "<div class=\"col-first odd-row-color\"><a href=\"b/package-summary.html\">b</a></div>\n"
+                        + "<div class=\"col-last odd-row-color\">&nbsp;</div>\n"
+                        + "<div class=\"col-first even-row-color\"><a href=\"c/package-summary.html\">c</a></div>\n"
+                        + "<div class=\"col-last even-row-color\">&nbsp;</div>\n"
+                        + "</div>"));
+    }
+
+    @Test
+    public void testMergeIndex() {
+        String content = page("<a href=\"#I:A\">A</a>&nbsp;<a href=\"#I:C\">C</a>&nbsp;\n"
+                + "<h2 class=\"title\" id=\"I:A\">A</h2>\n"
+                + "<dl class=\"index\">\n<dt><a href=\"a/Alpha.html\">Alpha</a></dt>\n<dd>&nbsp;</dd>\n</dl>\n"
+                + "<h2 class=\"title\" id=\"I:C\">C</h2>\n"
+                + "<dl class=\"index\">\n<dt><a href=\"c/Cat.html\">Cat</a></dt>\n<dd>&nbsp;</dd>\n</dl>");
+        String other = page("<a href=\"#I:A\">A</a>&nbsp;<a href=\"#I:B\">B</a>&nbsp;\n"
+                + "<h2 class=\"title\" id=\"I:A\">A</h2>\n"
+                + "<dl class=\"index\">\n<dt><a href=\"b/Ant.html\">Ant</a></dt>\n<dd>&nbsp;</dd>\n</dl>\n"
+                + "<h2 class=\"title\" id=\"I:B\">B</h2>\n"
+                + "<dl class=\"index\">\n<dt><a href=\"b/Bee.html\">Bee</a></dt>\n<dd>&nbsp;</dd>\n</dl>");
+
+        assertThat(JavadocShards.mergeIndex(content, other))
+                .isEqualTo(page("<a href=\"#I:A\">A</a>&nbsp;<a href=\"#I:B\">B</a>&nbsp;<a href=\"#I:C\">C</a>&nbsp;\n"
+                        + "<h2 class=\"title\" id=\"I:A\">A</h2>\n"
+                        + "<dl class=\"index\">\n<dt><a href=\"a/Alpha.html\">Alpha</a></dt>\n<dd>&nbsp;</dd>\n"
+                        + "<dt><a href=\"b/Ant.html\">Ant</a></dt>\n<dd>&nbsp;</dd>\n</dl>\n"
+                        + "<h2 class=\"title\" id=\"I:B\">B</h2>\n"
+                        + "<dl class=\"index\">\n<dt><a href=\"b/Bee.html\">Bee</a></dt>\n<dd>&nbsp;</dd>\n</dl>\n"
+                        + "<h2 class=\"title\" id=\"I:C\">C</h2>\n"
+                        + "<dl class=\"index\">\n<dt><a href=\"c/Cat.html\">Cat</a></dt>\n<dd>&nbsp;</dd>\n</dl>"));
+    }
+
+    @Test
+    public void testAppendMainContent() {
+        String content = page("<div class=\"header\"><h1>Hierarchy</h1></div>\n<ul><li>a.A</li></ul>");
+        String other = page("<div class=\"header\"><h1>Hierarchy</h1></div>\n<ul><li>b.B</li></ul>");
+
+        assertThat(JavadocShards.appendMainContent(content, other))
+                .isEqualTo(page("<div class=\"header\"><h1>Hierarchy</h1></div>\n<ul><li>a.A</li></ul>"
+                        + "<ul><li>b.B</li></ul>\n"));
+        assertThat(JavadocShards.appendMainContent(content, "<html></html>")).isNull();
+    }
+
+    @Test
+    public void testMergeInDocencoding() throws Exception {
+        Path first = temporaryFolder.newFolder("0").toPath();
+        Path second = temporaryFolder.newFolder("1").toPath();
+        Path output = temporaryFolder.newFolder("apidocs").toPath();
+        Files.write(
+                first.resolve("overview-tree.html"),
+                page("<ul><li>a.Caf\u00e9</li></ul>").getBytes(StandardCharsets.ISO_8859_1));
+        Files.write(
+                second.resolve("overview-tree.html"),
+                page("<ul><li>b.Na\u00efve</li></ul>").getBytes(StandardCharsets.ISO_8859_1));
+
+        JavadocShards.merge(Arrays.asList(first, second), output, StandardCharsets.ISO_8859_1);
+
+        assertThat(new String(Files.readAllBytes(output.resolve("overview-tree.html")), StandardCharsets.ISO_8859_1))
+                .isEqualTo(page("<ul><li>a.Caf\u00e9</li></ul><ul><li>b.Na\u00efve</li></ul>\n"));
+    }
+
+    @Test
+    public void testRelativizeLinks() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        Path page = directory.resolve("a/b/A.html");
+        Files.createDirectories(page.getParent());
+        write(
+                page,
+                "<a href=\"https://example.org/b/apidocs/c/C.html\">C</a>"
+                        + "<a href=\"https://example.org/apidocs/D.html\">D</a>");
+        Path index = directory.resolve("index.html");
+        write(index, "<a href=\"https://example.org/b/apidocs/c/package-summary.html\">c</a>");
+
+        JavadocShards.relativizeLinks(
+                directory, Collections.singleton("https://example.org/b/apidocs"), StandardCharsets.UTF_8);
+
+        assertThat(read(page))
+                .isEqualTo("<a href=\"../../c/C.html\">C</a><a href=\"https://example.org/apidocs/D.html\">D</a>");
+        assertThat(read(index)).isEqualTo("<a href=\"c/package-summary.html\">c</a>");
+    }
+
+    @Test
+    public void testWriteNavigation() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        write(
+                directory.resolve("allpackages-index.html"),
+                "<html><head><title>All Packages (Module A 1.0 API)</title></head>\n"
+                        + "<body class=\"all-packages-index-page\">\n"
+                        + "<ul><li><a href=\"index.html\">Overview</a></li></ul>\n"
+                        + "<main role=\"main\">\n<div class=\"header\">\n<h1 class=\"title\">All Packages</h1>\n</div>\n"
+                        + "<div class=\"summary-table\"></div>\n</main></body></html>");
+        write(directory.resolve("overview-tree.html"), "<html><head><title>Class Hierarchy</title></head></html>");
+
+        JavadocShards.writeNavigation(directory, "All & Co 1.0 API", "All <b>modules</b>", StandardCharsets.UTF_8);
+
+        assertThat(read(directory.resolve("overview-tree.html")))
+                .isEqualTo("<html><head><title>Class Hierarchy (All &amp; Co 1.0 API)</title></head></html>");
+        assertThat(read(directory.resolve("allpackages-index.html")))
+                .startsWith("<html><head><title>All Packages (All &amp; Co 1.0 API)</title></head>");
+        assertThat(read(directory.resolve("index.html")))
+                .isEqualTo("<html><head><title>Overview (All &amp; Co 1.0 API)</title></head>\n"
+                        + "<body class=\"package-index-page\">\n"
+                        + "<ul><li class=\"nav-bar-cell1-rev\">Overview</li></ul>\n"
+                        + "<main role=\"main\">\n<div class=\"header\">\n<h1 class=\"title\">All <b>modules</b></h1>\n</div>\n"
+                        + "<div class=\"summary-table\"></div>\n</main></body></html>");
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    private static String page(String main) {
+        return "<html><body>\n<main role=\"main\">\n" + main + "</main>\n</body></html>";
+    }
+}
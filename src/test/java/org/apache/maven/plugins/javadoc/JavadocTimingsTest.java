@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class JavadocTimingsTest {
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPackages() throws Exception {
+        File sources = folder.newFolder("src");
+        File output = folder.newFolder("apidocs");
+        JavadocTimings timings = new JavadocTimings(Collections.singleton(sources.toPath()), output, 0);
+
+        // javadoc 17, from package names
+        String root = "DirectoryFileObject[" + sources + ":";
+        timings.consumeLine("[search path for source files: " + sources + "]", 5 * MS);
+        timings.consumeLine("Loading source files for package com.example.model...", 300 * MS);
+        timings.consumeLine("Loading source files for package com.example.util...", 310 * MS);
+        timings.consumeLine("[parsing started " + root + "com/example/model/Order.java]]", 320 * MS);
+        timings.consumeLine("[parsing completed 40ms]", 360 * MS);
+        timings.consumeLine("[parsing started " + root + "com/example/model/package-info.java]]", 360 * MS);
+        timings.consumeLine("[parsing completed 2ms]", 362 * MS);
+        timings.consumeLine("[parsing started " + root + "com/example/util/Strings.java]]", 362 * MS);
+        timings.consumeLine("[parsing completed 8ms]", 370 * MS);
+        timings.consumeLine("Constructing Javadoc information...", 400 * MS);
+        timings.consumeLine("Building index for all the packages and classes...", 1000 * MS);
+        timings.consumeLine("Standard Doclet version 17.0.9+9", 1010 * MS);
+        timings.consumeLine("Generating " + output + "/com/example/model/Order.html...", 1100 * MS);
+        timings.consumeLine("Generating " + output + "/com/example/util/Strings.html...", 1400 * MS);
+        timings.consumeLine(sources + "/com/example/util/Strings.java:12: warning: no comment", 1410 * MS);
+        timings.consumeLine("Generating " + output + "/com/example/model/package-summary.html...", 1450 * MS);
+        timings.consumeLine("Generating " + output + "/com/example/model/class-use/Order.html...", 1470 * MS);
+        timings.consumeLine("Generating " + output + "/index-all.html...", 1500 * MS);
+        timings.consumeLine("[done in 1600 ms]", 1700 * MS);
+        timings.finish();
+
+        assertThat(timings.getPhaseMillis())
+                .containsExactly(
+                        entry(JavadocTimings.STARTUP, 300L),
+                        entry(JavadocTimings.PARSE, 100L),
+                        entry(JavadocTimings.ENTER, 600L),
+                        entry(JavadocTimings.GENERATE, 700L));
+        assertThat(timings.getDoneMillis()).isEqualTo(1600);
+
+        List<JavadocTimings.Timing> packages = timings.getSlowestPackages(10);
+        assertThat(packages)
+                .extracting(JavadocTimings.Timing::getName)
+                .containsExactly("com.example.model", "com.example.util");
+        // 40 + 2 ms of parsing, 300 + 20 + 30 ms of generation
+        assertThat(packages.get(0).getParseMillis()).isEqualTo(42);
+        assertThat(packages.get(0).getGenerateMillis()).isEqualTo(350);
+        assertThat(packages.get(0).getFiles()).isEqualTo(2);
+        // the warning is part of the generation of Strings
+        assertThat(packages.get(1).getTotalMillis()).isEqualTo(58);
+
+        assertThat(timings.getSlowestClasses(1))
+                .extracting(JavadocTimings.Timing::getName, JavadocTimings.Timing::getTotalMillis)
+                .containsExactly(tuple("com.example.model.Order", 340L));
+
+        Path report = folder.getRoot().toPath().resolve("target/maven-javadoc-plugin-timings/javadoc.txt");
+        timings.write(report, 20);
+        List<String> lines = Files.readAllLines(report, StandardCharsets.UTF_8);
+        assertThat(lines).contains("Phases:", "Slowest packages:", "Slowest classes:");
+        assertThat(lines.stream()
+                        .filter(l -> l.endsWith("com.example.model.Order"))
+                        .collect(Collectors.toList()))
+                .containsExactly("        340        40       300      1  com.example.model.Order");
+    }
+
+    @Test
+    public void testFilesWithoutDone() {
+        File sources = new File(folder.getRoot(), "src");
+        File output = new File(folder.getRoot(), "apidocs");
+        JavadocTimings timings = new JavadocTimings(Collections.singleton(sources.toPath()), output, 0);
+
+        // javadoc 8, from file names, killed before the end
+        timings.consumeLine("Loading source file " + sources + "/Main.java...", 200 * MS);
+        timings.consumeLine("[parsing started RegularFileObject[" + sources + "/Main.java]]", 210 * MS);
+        timings.consumeLine("[parsing completed 15ms]", 225 * MS);
+        timings.consumeLine("Constructing Javadoc information...", 230 * MS);
+        timings.consumeLine("Generating ./Main.html...", 500 * MS);
+        timings.consumeLine("Generating ./package-summary.html...", 550 * MS);
+        timings.finish();
+
+        assertThat(timings.getPhaseMillis())
+                .containsExactly(
+                        entry(JavadocTimings.STARTUP, 200L),
+                        entry(JavadocTimings.PARSE, 30L),
+                        entry(JavadocTimings.ENTER, 270L),
+                        entry(JavadocTimings.GENERATE, 50L));
+        assertThat(timings.getDoneMillis()).isEqualTo(-1);
+        // the pages of the unnamed package are not attributed
+        assertThat(timings.getSlowestClasses(10))
+                .extracting(JavadocTimings.Timing::getName, JavadocTimings.Timing::getParseMillis)
+                .containsExactly(tuple("Main", 15L));
+    }
+}
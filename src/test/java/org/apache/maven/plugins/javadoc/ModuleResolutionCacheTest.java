@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.apache.maven.plugins.javadoc.ModuleResolutionCache.ResolvedPath;
+import org.codehaus.plexus.languages.java.jpms.ModuleNameSource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ModuleResolutionCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testAutomaticModuleNamePersisted() throws Exception {
+        File jar = new File(folder.getRoot(), "foo.jar");
+        writeJar(jar, "com.foo.one");
+        FileTime lastModified = Files.getLastModifiedTime(jar.toPath());
+
+        ModuleResolutionCache cache = new ModuleResolutionCache();
+        ResolvedPath resolvedPath = cache.resolvePath(jar);
+        assertThat(resolvedPath.getModuleNameSource()).isEqualTo(ModuleNameSource.MANIFEST);
+        assertThat(resolvedPath.getModuleDescriptor().name()).isEqualTo("com.foo.one");
+
+        Path cacheFile = folder.getRoot().toPath().resolve("cache/module-cache.properties");
+        cache.store(cacheFile);
+
+        // same size and same last modification time: the persisted entry is used
+        writeJar(jar, "com.foo.two");
+        Files.setLastModifiedTime(jar.toPath(), lastModified);
+
+        ModuleResolutionCache warmCache = new ModuleResolutionCache();
+        warmCache.load(cacheFile);
+        resolvedPath = warmCache.resolvePath(jar);
+        assertThat(resolvedPath.getModuleNameSource()).isEqualTo(ModuleNameSource.MANIFEST);
+        assertThat(resolvedPath.getModuleDescriptor().name()).isEqualTo("com.foo.one");
+        assertThat(resolvedPath.getModuleDescriptor().isAutomatic()).isTrue();
+
+        // modified jar: resolved again
+        Files.setLastModifiedTime(jar.toPath(), FileTime.fromMillis(lastModified.toMillis() + 10_000));
+        resolvedPath = warmCache.resolvePath(jar);
+        assertThat(resolvedPath.getModuleDescriptor().name()).isEqualTo("com.foo.two");
+    }
+
+    @Test
+    public void testModuleDescriptorPersisted() throws Exception {
+        Path moduleInfo = folder.getRoot().toPath().resolve("module-info.java");
+        Files.write(
+                moduleInfo,
+                ("module com.foo {\n"
+                                + "  requires transitive java.sql;\n"
+                                + "  requires static java.desktop;\n"
+                                + "  exports com.foo.api;\n"
+                                + "  exports com.foo.spi to com.bar, com.baz;\n"
+                                + "  uses com.foo.spi.Service;\n"
+                                + "  provides com.foo.spi.Service with com.foo.impl.A, com.foo.impl.B;\n"
+                                + "}\n")
+                        .getBytes(StandardCharsets.UTF_8));
+
+        ModuleResolutionCache cache = new ModuleResolutionCache();
+        ResolvedPath resolvedPath = cache.parseModuleDescriptor(moduleInfo);
+
+        Path cacheFile = folder.getRoot().toPath().resolve("module-cache.properties");
+        cache.store(cacheFile);
+
+        ModuleResolutionCache warmCache = new ModuleResolutionCache();
+        warmCache.load(cacheFile);
+        ResolvedPath persistedPath = warmCache.parseModuleDescriptor(moduleInfo);
+
+        assertThat(persistedPath).isNotSameAs(resolvedPath);
+        assertThat(persistedPath.getModuleNameSource()).isEqualTo(resolvedPath.getModuleNameSource());
+        assertThat(persistedPath.getModuleDescriptor()).isEqualTo(resolvedPath.getModuleDescriptor());
+    }
+
+    @Test
+    public void testLoadMissingOrInvalidFile() throws Exception {
+        ModuleResolutionCache cache = new ModuleResolutionCache();
+        cache.load(folder.getRoot().toPath().resolve("missing.properties"));
+
+        Path invalid = folder.newFile("invalid.properties").toPath();
+        Files.write(invalid, "0.key=foo\n0.source=UNKNOWN\n".getBytes(StandardCharsets.UTF_8));
+        cache.load(invalid);
+
+        File jar = new File(folder.getRoot(), "foo.jar");
+        writeJar(jar, "com.foo");
+        assertThat(cache.resolvePath(jar).getModuleDescriptor().name()).isEqualTo("com.foo");
+    }
+
+    /**
+     * Write a jar with an uncompressed manifest, so that module names of the same length give jars of the same size.
+     */
+    private static void writeJar(File jar, String automaticModuleName) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Automatic-Module-Name", automaticModuleName);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        manifest.write(bytes);
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        JarEntry entry = new JarEntry(JarFile.MANIFEST_NAME);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(bytes.size());
+        entry.setCrc(crc.getValue());
+        entry.setTime(0);
+
+        try (OutputStream out = Files.newOutputStream(jar.toPath());
+                JarOutputStream jarOut = new JarOutputStream(out)) {
+            jarOut.putNextEntry(entry);
+            bytes.writeTo(jarOut);
+            jarOut.closeEntry();
+        }
+    }
+}
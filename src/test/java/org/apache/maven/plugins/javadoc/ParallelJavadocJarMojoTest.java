@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.testing.AbstractMojoTestCase;
+import org.apache.maven.plugin.testing.stubs.MavenProjectStub;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
+import org.eclipse.aether.repository.LocalRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the <code>jar</code> goal for many modules at once, as a build with a high <code>-T</code> value does, with
+ * the files and the caches of the session shared by the modules.
+ */
+public class ParallelJavadocJarMojoTest extends AbstractMojoTestCase {
+    private static final int MODULES = 8;
+
+    public void testParallelModules() throws Exception {
+        File testPom = new File(
+                getBasedir(), "src/test/resources/unit/javadocjar-default/javadocjar-default-plugin-config.xml");
+        File baseDir = new File(getBasedir(), "target/test/unit/parallel-javadocjar");
+        FileUtils.deleteDirectory(baseDir);
+
+        MavenProject topLevelProject = new MavenProjectStub();
+        topLevelProject.setGroupId("GROUPID");
+        topLevelProject.setArtifactId("ARTIFACTID");
+        Build build = new Build();
+        build.setDirectory(baseDir.getPath());
+        topLevelProject.setBuild(build);
+        MavenSession session = newMavenSession(topLevelProject);
+        ((DefaultRepositorySystemSession) session.getRepositorySession())
+                .setLocalRepositoryManager(new SimpleLocalRepositoryManagerFactory()
+                        .newInstance(
+                                session.getRepositorySession(), new LocalRepository(new File("target/local-repo"))));
+
+        // the mojos are created by the main thread, as Maven does
+        List<JavadocJarMojo> mojos = new ArrayList<>();
+        for (int i = 0; i < MODULES; i++) {
+            mojos.add(lookupMojo(testPom, session, baseDir, "module" + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(MODULES);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> executions = new ArrayList<>();
+            for (JavadocJarMojo mojo : mojos) {
+                executions.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    mojo.execute();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> execution : executions) {
+                execution.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<File> cacheDirs = new HashSet<>();
+        for (int i = 0; i < MODULES; i++) {
+            assertThat(new File(baseDir, "module" + i + "/module" + i + "-javadoc.jar"))
+                    .exists();
+            assertThat(new File(baseDir, "module" + i + "/site/apidocs/javadocjar/def/App.html"))
+                    .exists();
+            cacheDirs.add((File) getVariableValueFromObject(mojos.get(i), "claimedSourceDependencyCacheDir"));
+        }
+        // each module unpacks the dependency sources in its own directory
+        assertThat(cacheDirs).hasSize(MODULES);
+        // the summary of the metrics is written by every module, the last one with all the executions
+        String summary = new String(
+                Files.readAllBytes(new File(baseDir, "maven-javadoc-plugin-metrics.json").toPath()),
+                StandardCharsets.UTF_8);
+        assertThat(summary.split("\"id\"", -1)).hasSize(MODULES + 1);
+    }
+
+    private JavadocJarMojo lookupMojo(File testPom, MavenSession session, File baseDir, String module)
+            throws Exception {
+        JavadocJarMojo mojo = (JavadocJarMojo) lookupMojo("jar", testPom);
+
+        Plugin p = new Plugin();
+        p.setGroupId("org.apache.maven.plugins");
+        p.setArtifactId("maven-javadoc-plugin");
+        setVariableValueToObject(mojo, "mojoExecution", new MojoExecution(p, "jar", null));
+        setVariableValueToObject(mojo, "session", session);
+        setVariableValueToObject(mojo, "repoSession", session.getRepositorySession());
+
+        MavenProject project = (MavenProject) getVariableValueFromObject(mojo, "project");
+        project.setArtifactId(module);
+        project.setDependencyArtifacts(new HashSet<>());
+        ((MavenProjectStub) project).setTestArtifacts(new ArrayList<>());
+
+        File moduleDir = new File(baseDir, module);
+        setVariableValueToObject(mojo, "finalName", module);
+        setVariableValueToObject(mojo, "jarOutputDirectory", moduleDir.getPath());
+        setVariableValueToObject(mojo, "outputDirectory", new File(moduleDir, "site"));
+        setVariableValueToObject(mojo, "javadocOptionsDir", new File(moduleDir, "javadoc-bundle-options"));
+        setVariableValueToObject(mojo, "staleDataPath", new File(moduleDir, "stale-data.txt"));
+
+        // shared by all the modules
+        setVariableValueToObject(mojo, "includeDependencySources", true);
+        setVariableValueToObject(mojo, "sourceDependencyCacheDir", new File(baseDir, "distro-javadoc-sources"));
+        setVariableValueToObject(mojo, "moduleResolutionCachePath", new File(baseDir, "module-cache.properties"));
+        setVariableValueToObject(mojo, "metrics", true);
+        return mojo;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceLocatorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFindResource() throws Exception {
+        File directory = folder.newFolder("javadoc");
+        Files.write(new File(directory, "help-doc.html").toPath(), "help".getBytes(StandardCharsets.UTF_8));
+
+        File jar = new File(folder.getRoot(), "skin.jar");
+        try (OutputStream out = Files.newOutputStream(jar.toPath());
+                ZipOutputStream zipOut = new ZipOutputStream(out)) {
+            zipOut.putNextEntry(new ZipEntry("css/skin.css"));
+            zipOut.write("body {}".getBytes(StandardCharsets.UTF_8));
+            zipOut.closeEntry();
+        }
+
+        ResourceLocator locator = new ResourceLocator();
+        File missing = new File(folder.getRoot(), "missing");
+
+        URL helpFile = locator.findResource(Arrays.asList(missing, directory, jar), "help-doc.html");
+        assertThat(helpFile)
+                .isEqualTo(new File(directory, "help-doc.html").toURI().toURL());
+
+        URL stylesheet = locator.findResource(Arrays.asList(missing, directory, jar), "css/skin.css");
+        assertThat(stylesheet).isNotNull();
+        try (InputStream in = stylesheet.openStream()) {
+            assertThat(IOUtils.toString(in, StandardCharsets.UTF_8)).isEqualTo("body {}");
+        }
+
+        assertThat(locator.findResource(Arrays.asList(directory, jar), "css/other.css"))
+                .isNull();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceSynchronizerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCopyOnlyOutdatedFiles() throws Exception {
+        File source = folder.newFolder("source");
+        File output = new File(folder.getRoot(), "output");
+        Path diagram = write(source, "diagram.svg", "<svg/>");
+        write(source, "sub/example.txt", "example");
+
+        try (ResourceSynchronizer synchronizer = new ResourceSynchronizer(false, 2)) {
+            assertThat(synchronizer.synchronize(source, output, Collections.emptyList()))
+                    .isEqualTo(2);
+            assertThat(new File(output, "sub/example.txt")).hasContent("example");
+
+            assertThat(synchronizer.synchronize(source, output, Collections.emptyList()))
+                    .isEqualTo(0);
+
+            Files.setLastModifiedTime(
+                    diagram,
+                    FileTime.fromMillis(Files.getLastModifiedTime(diagram).toMillis() + 10_000));
+            assertThat(synchronizer.synchronize(source, output, Collections.emptyList()))
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testExcludes() throws Exception {
+        File source = folder.newFolder("source");
+        File output = new File(folder.getRoot(), "output");
+        write(source, "included/a.txt", "a");
+        write(source, "excluded/b.txt", "b");
+        write(output, "excluded/c.txt", "left by a previous execution");
+
+        try (ResourceSynchronizer synchronizer = new ResourceSynchronizer(false, 1)) {
+            assertThat(synchronizer.synchronize(source, output, Arrays.asList("**/excluded/**")))
+                    .isEqualTo(1);
+        }
+
+        assertThat(new File(output, "included/a.txt")).exists();
+        assertThat(new File(output, "excluded")).doesNotExist();
+    }
+
+    @Test
+    public void testHardlink() throws Exception {
+        File source = folder.newFolder("source");
+        File output = new File(folder.getRoot(), "output");
+        Path file = write(source, "diagram.svg", "<svg/>");
+
+        try (ResourceSynchronizer synchronizer = new ResourceSynchronizer(true, 1)) {
+            synchronizer.synchronize(source, output, Collections.emptyList());
+        }
+
+        Path target = output.toPath().resolve("diagram.svg");
+        assertThat(target).hasContent("<svg/>");
+        assertThat(Files.getLastModifiedTime(target).toMillis())
+                .isEqualTo(Files.getLastModifiedTime(file).toMillis());
+    }
+
+    private static Path write(File directory, String name, String content) throws Exception {
+        Path file = directory.toPath().resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourcesArtifactsMarkerTest {
+    private static final String MARKER = ".resources-artifacts";
+
+    private static final String KEY = "org.example:skin:";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testUnchangedArtifactIsUpToDate() throws Exception {
+        File output = folder.newFolder("apidocs");
+        File artifact = writeZip("skin-1.0.jar", "skin.css", "images/logo.png", "META-INF/MANIFEST.MF");
+
+        ResourcesArtifactsMarker marker = new ResourcesArtifactsMarker(output, MARKER);
+        assertThat(marker.isUpToDate(KEY, artifact)).isFalse();
+        extract(output, "skin.css", "images/logo.png");
+        marker.extracted(KEY, artifact);
+        marker.store();
+
+        marker = new ResourcesArtifactsMarker(output, MARKER);
+        assertThat(marker.isUpToDate(KEY, artifact)).isTrue();
+        marker.store();
+
+        // the marker still records the artifact once checked
+        marker = new ResourcesArtifactsMarker(output, MARKER);
+        assertThat(marker.isUpToDate(KEY, artifact)).isTrue();
+
+        // an extracted entry has been removed
+        Files.delete(new File(output, "images/logo.png").toPath());
+        marker = new ResourcesArtifactsMarker(output, MARKER);
+        assertThat(marker.isUpToDate(KEY, artifact)).isFalse();
+    }
+
+    @Test
+    public void testNewVersionRemovesStaleEntries() throws Exception {
+        File output = folder.newFolder("apidocs");
+        File artifact = writeZip("skin-1.0.jar", "skin.css", "images/old.png");
+
+        ResourcesArtifactsMarker marker = new ResourcesArtifactsMarker(output, MARKER);
+        extract(output, "skin.css", "images/old.png");
+        marker.extracted(KEY, artifact);
+        marker.store();
+
+        File newArtifact = writeZip("skin-2.0.jar", "skin.css", "images/new.png");
+        marker = new ResourcesArtifactsMarker(output, MARKER);
+        assertThat(marker.isUpToDate(KEY, newArtifact)).isFalse();
+        extract(output, "skin.css", "images/new.png");
+        marker.extracted(KEY, newArtifact);
+        marker.store();
+
+        assertThat(new File(output, "skin.css")).exists();
+        assertThat(new File(output, "images/new.png")).exists();
+        assertThat(new File(output, "images/old.png")).doesNotExist();
+        assertThat(new ResourcesArtifactsMarker(output, MARKER).isUpToDate(KEY, newArtifact))
+                .isTrue();
+    }
+
+    @Test
+    public void testRemovedArtifactEntriesAreRemoved() throws Exception {
+        File output = folder.newFolder("apidocs");
+        File skin = writeZip("skin-1.0.jar", "skin.css", "shared.png");
+        File logo = writeZip("logo-1.0.jar", "logo.png", "shared.png");
+
+        ResourcesArtifactsMarker marker = new ResourcesArtifactsMarker(output, MARKER);
+        extract(output, "skin.css", "logo.png", "shared.png");
+        marker.extracted(KEY, skin);
+        marker.extracted("org.example:logo:", logo);
+        marker.store();
+
+        // the skin is no longer configured
+        marker = new ResourcesArtifactsMarker(output, MARKER);
+        assertThat(marker.isUpToDate("org.example:logo:", logo)).isTrue();
+        marker.store();
+
+        assertThat(new File(output, "skin.css")).doesNotExist();
+        assertThat(new File(output, "logo.png")).exists();
+        assertThat(new File(output, "shared.png")).exists();
+
+        // no artifact is configured anymore
+        new ResourcesArtifactsMarker(output, MARKER).store();
+        assertThat(new File(output, "logo.png")).doesNotExist();
+        assertThat(new File(output, MARKER)).doesNotExist();
+    }
+
+    @Test
+    public void testEntriesOutsideOutputDirectoryAreIgnored() throws Exception {
+        File output = folder.newFolder("apidocs");
+        File outside = folder.newFile("outside.txt");
+        File artifact = writeZip("skin-1.0.jar", "skin.css");
+        Files.write(
+                new File(output, MARKER).toPath(),
+                ("org.example\\:skin\\:.checksum=0\n"
+                                + "org.example\\:skin\\:.entries=../outside.txt\\n"
+                                + new File(outside.getAbsolutePath()).getPath().replace("\\", "/") + "\n")
+                        .getBytes(StandardCharsets.ISO_8859_1));
+
+        ResourcesArtifactsMarker marker = new ResourcesArtifactsMarker(output, MARKER);
+        assertThat(marker.isUpToDate(KEY, artifact)).isFalse();
+        extract(output, "skin.css");
+        marker.extracted(KEY, artifact);
+        marker.store();
+
+        assertThat(outside).exists();
+        assertThat(new File(output, "skin.css")).exists();
+    }
+
+    private File writeZip(String name, String... entries) throws IOException {
+        File zip = new File(folder.getRoot(), name);
+        try (OutputStream out = Files.newOutputStream(zip.toPath());
+                ZipOutputStream zipOut = new ZipOutputStream(out)) {
+            for (String entry : entries) {
+                zipOut.putNextEntry(new ZipEntry(entry));
+                zipOut.write((name + "/" + entry).getBytes(StandardCharsets.UTF_8));
+                zipOut.closeEntry();
+            }
+        }
+        return zip;
+    }
+
+    private static void extract(File output, String... entries) throws IOException {
+        for (String entry : entries) {
+            File file = new File(output, entry);
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), entry.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}